@@ -1,9 +1,11 @@
 package com.skyeai.jarvis.cognition;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
@@ -13,8 +15,15 @@ public class CognitionServiceApplication {
         SpringApplication.run(CognitionServiceApplication.class, args);
     }
     
+    /**
+     * 下游服务停止响应时调用不会无限阻塞
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${cognition.http.connect_timeout_ms:5000}") int connectTimeoutMs,
+                                     @Value("${cognition.http.read_timeout_ms:300000}") int readTimeoutMs) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(factory);
     }
 }
@@ -1,14 +1,27 @@
 package com.skyeai.jarvis.cognition.controller;
 
 import com.skyeai.jarvis.cognition.service.ReactControllerAdapterService;
+import com.skyeai.jarvis.cognition.service.ReactService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * React控制器
@@ -21,6 +34,37 @@ public class ReactController {
     @Autowired
     private ReactControllerAdapterService reactControllerAdapterService;
     
+    @Value("${cognition.react.timeout_seconds:300}")
+    private int timeoutSeconds;
+    
+    // 流式ReAct在独立线程上执行，直到最后一步生成结束
+    @Value("${cognition.react.stream.concurrency:32}")
+    private int streamConcurrency;
+    
+    @Value("${cognition.react.stream.queue_capacity:64}")
+    private int streamQueueCapacity;
+    
+    private ThreadPoolExecutor streamExecutor;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        streamExecutor = new ThreadPoolExecutor(streamConcurrency, streamConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(streamQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "react-stream-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        streamExecutor.allowCoreThreadTimeOut(true);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (streamExecutor != null) {
+            streamExecutor.shutdownNow();
+        }
+    }
+    
     /**
      * 执行ReAct决策流程
      */
@@ -39,6 +83,34 @@ public class ReactController {
         }
     }
     
+    /**
+     * 流式执行ReAct决策流程（SSE）
+     * 每个事件的 data 为JSON，事件类型见 {@link ReactControllerAdapterService#executeReactStream}；客户端断开后停止生成
+     */
+    @PostMapping(value = "/react/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> executeReactStream(@RequestBody Map<String, Object> request) {
+        String query = (String) request.get("query");
+        if (query == null || query.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutSeconds * 1000L);
+        SseStreamListener listener = new SseStreamListener(emitter);
+        emitter.onCompletion(listener::cancel);
+        emitter.onTimeout(listener::cancel);
+        emitter.onError(e -> listener.cancel());
+        try {
+            streamExecutor.execute(() -> {
+                reactControllerAdapterService.executeReactStream(query, listener);
+                emitter.complete();
+            });
+        } catch (RejectedExecutionException e) {
+            listener.onEvent("done", Map.of("success", false, "answer", "抱歉，当前请求过多，请稍后再试"));
+            emitter.complete();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+    
     /**
      * 获取工具调用提示
      */
@@ -56,4 +128,38 @@ public class ReactController {
             return ResponseEntity.badRequest().body("Error generating tool prompt: " + e.getMessage());
         }
     }
+    
+    /**
+     * 把ReAct事件写成SSE事件，发送失败（客户端已断开）时标记为取消
+     */
+    private static class SseStreamListener implements ReactService.ReactStreamListener {
+        
+        private final SseEmitter emitter;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        
+        SseStreamListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        @Override
+        public void onEvent(String type, Map<String, Object> data) {
+            if (cancelled.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(type).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                cancelled.set(true);
+            }
+        }
+        
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+        
+        void cancel() {
+            cancelled.set(true);
+        }
+    }
 }
@@ -13,6 +13,12 @@ public interface MultimodalService {
      */
     ImageProcessingResult processImage(InputStream imageStream, String imageType);
 
+    /**
+     * 处理图像
+     * @param contentLength 图像字节数，未知时为 -1；已知且超过大小上限时不发起请求直接拒绝
+     */
+    ImageProcessingResult processImage(InputStream imageStream, String imageType, long contentLength);
+
     /**
      * 处理语音
      */
@@ -11,6 +11,13 @@ public interface ReactControllerAdapterService {
      */
     String executeReact(String query);
     
+    /**
+     * 流式执行ReAct决策流程
+     * 过程事件见 {@link ReactService.ReactStreamListener}，最后推送 done {"success","answer","totalSteps","executionTimeMs"}，
+     * answer 与 {@link #executeReact(String)} 的返回值相同
+     */
+    void executeReactStream(String query, ReactService.ReactStreamListener listener);
+    
     /**
      * 获取工具调用提示
      */
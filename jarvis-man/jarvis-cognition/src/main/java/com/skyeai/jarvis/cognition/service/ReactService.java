@@ -1,5 +1,6 @@
 package com.skyeai.jarvis.cognition.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +16,11 @@ public interface ReactService {
      */
     ReactResult executeReact(String goal, List<String> observations, Map<String, Object> context);
 
+    /**
+     * 流式执行ReAct决策过程，思考、行动、观察和最终回答随模型生成逐步推送给监听器
+     */
+    ReactResult executeReactStream(String goal, List<String> observations, Map<String, Object> context, ReactStreamListener listener);
+
     /**
      * 执行单步ReAct决策
      */
@@ -35,6 +41,22 @@ public interface ReactService {
      */
     Map<String, Object> analyzeReactProcess(ReactResult result);
 
+    /**
+     * ReAct流式事件监听器
+     * 事件类型：step {"step"} 开始新步骤；thought {"step","text"} 思考片段；action {"step","action","actionInput"} 决定的行动（一步可以有多个）；
+     * observation {"step","action","observation"} 行动结果，并行执行的行动按给出的顺序推送；answer {"text"} 最终回答片段
+     */
+    interface ReactStreamListener {
+        void onEvent(String type, Map<String, Object> data);
+
+        /**
+         * 下游已断开时返回true，正在进行的生成和剩余步骤随即中止
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
     /**
      * 数据模型：ReAct决策结果
      */
@@ -46,6 +68,7 @@ public interface ReactService {
         private String errorMessage;
         private long executionTimeMs;
         private int totalSteps;
+        private boolean budgetExhausted;
 
         // Getters and Setters
         public String getGoal() {
@@ -103,10 +126,22 @@ public interface ReactService {
         public void setTotalSteps(int totalSteps) {
             this.totalSteps = totalSteps;
         }
+
+        /**
+         * 是否因超出延迟预算而提前结束
+         */
+        public boolean isBudgetExhausted() {
+            return budgetExhausted;
+        }
+
+        public void setBudgetExhausted(boolean budgetExhausted) {
+            this.budgetExhausted = budgetExhausted;
+        }
     }
 
     /**
      * 数据模型：ReAct步骤
+     * 一步有多个行动时，action/actionInput 为第一个行动（有 finish 时为 finish），observation 为各行动结果的汇总
      */
     class ReactStep {
         private int stepNumber;
@@ -114,6 +149,9 @@ public interface ReactService {
         private String action;
         private String actionInput;
         private String observation;
+        private List<ReactAction> actions = new ArrayList<>();
+        private long llmTimeMs;
+        private long toolTimeMs;
         private long stepTimeMs;
 
         // Getters and Setters
@@ -157,6 +195,36 @@ public interface ReactService {
             this.observation = observation;
         }
 
+        public List<ReactAction> getActions() {
+            return actions;
+        }
+
+        public void setActions(List<ReactAction> actions) {
+            this.actions = actions;
+        }
+
+        /**
+         * 模型生成本步输出的耗时
+         */
+        public long getLlmTimeMs() {
+            return llmTimeMs;
+        }
+
+        public void setLlmTimeMs(long llmTimeMs) {
+            this.llmTimeMs = llmTimeMs;
+        }
+
+        /**
+         * 生成结束后等待行动结果的耗时，即行动在关键路径上的耗时
+         */
+        public long getToolTimeMs() {
+            return toolTimeMs;
+        }
+
+        public void setToolTimeMs(long toolTimeMs) {
+            this.toolTimeMs = toolTimeMs;
+        }
+
         public long getStepTimeMs() {
             return stepTimeMs;
         }
@@ -166,6 +234,52 @@ public interface ReactService {
         }
     }
 
+    /**
+     * 数据模型：ReAct行动
+     */
+    class ReactAction {
+        private String action;
+        private String actionInput;
+        private String observation;
+        private long durationMs;
+
+        // Getters and Setters
+        public String getAction() {
+            return action;
+        }
+
+        public void setAction(String action) {
+            this.action = action;
+        }
+
+        public String getActionInput() {
+            return actionInput;
+        }
+
+        public void setActionInput(String actionInput) {
+            this.actionInput = actionInput;
+        }
+
+        public String getObservation() {
+            return observation;
+        }
+
+        public void setObservation(String observation) {
+            this.observation = observation;
+        }
+
+        /**
+         * 行动从开始执行到得到结果的耗时
+         */
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+        }
+    }
+
     /**
      * 数据模型：ReAct步骤结果
      */
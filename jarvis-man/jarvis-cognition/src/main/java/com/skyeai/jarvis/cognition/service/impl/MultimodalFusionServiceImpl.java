@@ -6,6 +6,8 @@ import com.skyeai.jarvis.cognition.service.MultimodalFusionService;
 import com.skyeai.jarvis.cognition.service.MultimodalInputProcessor;
 import com.skyeai.jarvis.cognition.service.ImageUnderstandingService;
 import com.skyeai.jarvis.cognition.service.SpeechRecognitionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -16,6 +18,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 多模态融合服务实现，用于将语音、文本、图像信息融合处理
@@ -31,25 +44,86 @@ public class MultimodalFusionServiceImpl implements MultimodalFusionService {
     @Value("${jarvis.services.llm.url:http://jarvis-llm:8080/api/llm}")
     private String llmServiceUrl;
 
+    // 并发融合配置：各模态在有界线程池中并发处理
+    @Value("${cognition.multimodal.fusion.concurrency:8}")
+    private int fusionConcurrency;
+
+    @Value("${cognition.multimodal.fusion.queue_capacity:256}")
+    private int fusionQueueCapacity;
+
+    // 各模态的处理超时（毫秒），超时的输入不参与融合
+    @Value("${cognition.multimodal.fusion.timeout.text:1000}")
+    private long textTimeoutMs;
+
+    @Value("${cognition.multimodal.fusion.timeout.speech:10000}")
+    private long speechTimeoutMs;
+
+    @Value("${cognition.multimodal.fusion.timeout.image:10000}")
+    private long imageTimeoutMs;
+
+    @Value("${cognition.multimodal.fusion.timeout.video:30000}")
+    private long videoTimeoutMs;
+
+    private ThreadPoolExecutor fusionExecutor;
+    private ScheduledExecutorService timeoutScheduler;
+
     @Autowired
     public MultimodalFusionServiceImpl(RestTemplate restTemplate, ImageUnderstandingService imageUnderstandingService, SpeechRecognitionService speechRecognitionService) {
-        this.inputProcessor = new MultimodalInputProcessor();
+        this(new MultimodalInputProcessor(), restTemplate, imageUnderstandingService, speechRecognitionService);
+    }
+
+    /**
+     * 使用指定的输入处理器，测试中可替换为桩处理器
+     */
+    MultimodalFusionServiceImpl(MultimodalInputProcessor inputProcessor, RestTemplate restTemplate,
+                                ImageUnderstandingService imageUnderstandingService,
+                                SpeechRecognitionService speechRecognitionService) {
+        this.inputProcessor = inputProcessor;
         this.restTemplate = restTemplate;
         this.imageUnderstandingService = imageUnderstandingService;
         this.speechRecognitionService = speechRecognitionService;
     }
 
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        fusionExecutor = new ThreadPoolExecutor(fusionConcurrency, fusionConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(fusionQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "multimodal-fusion-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        fusionExecutor.allowCoreThreadTimeOut(true);
+        timeoutScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "multimodal-fusion-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fusionExecutor.shutdownNow();
+        timeoutScheduler.shutdownNow();
+    }
+
     @Override
     public MultimodalFusionResult processMultimodalInput(List<MultimodalInput> inputs) throws Exception {
-        // 处理每个输入
-        List<MultimodalFusionResult.ProcessedInput> processedInputs = new ArrayList<>();
-        for (MultimodalInput input : inputs) {
-            MultimodalFusionResult.ProcessedInput processedInput = inputProcessor.processInput(input);
-            processedInputs.add(processedInput);
+        long start = System.nanoTime();
+
+        // 并发处理每个输入，总耗时取决于最慢的模态而不是各模态之和
+        List<CompletableFuture<MultimodalFusionResult.ProcessedInput>> futures = submitInputs(inputs);
+        List<Map<String, Object>> skippedInputs = new ArrayList<>();
+        List<MultimodalFusionResult.ProcessedInput> processedInputs = collectInputs(inputs, futures, skippedInputs);
+        if (processedInputs.isEmpty()) {
+            throw new Exception("多模态输入处理失败: " + skippedInputs);
         }
 
-        // 融合处理结果
-        return fuseInputs(processedInputs);
+        // 融合已完成的处理结果，超时或出错的模态不阻塞融合
+        MultimodalFusionResult result = fuseInputs(processedInputs);
+        markSkippedInputs(result, skippedInputs);
+        result.setProcessingTime(elapsedMillis(start));
+        return result;
     }
 
     @Override
@@ -58,7 +132,7 @@ public class MultimodalFusionServiceImpl implements MultimodalFusionService {
         List<MultimodalInput> inputs = new ArrayList<>();
         inputs.add(input);
 
-        // 调用现有的处理方法
+        // 调用现有的处理方法，处理时间由其实际测量
         MultimodalFusionResult result = processMultimodalInput(inputs);
 
         // 设置额外的字段
@@ -66,7 +140,6 @@ public class MultimodalFusionServiceImpl implements MultimodalFusionService {
         inputTypes.add(input.getType());
         result.setInputTypes(inputTypes);
         result.setConfidence(0.95); // 设置默认置信度
-        result.setProcessingTime(100); // 设置默认处理时间（毫秒）
 
         return result;
     }
@@ -123,13 +196,188 @@ public class MultimodalFusionServiceImpl implements MultimodalFusionService {
 
     @Override
     public List<MultimodalFusionResult> batchProcessMultimodalInput(List<MultimodalInput> inputs) throws Exception {
-        List<MultimodalFusionResult> results = new ArrayList<>();
-        for (MultimodalInput input : inputs) {
-            results.add(fuse(input));
+        long start = System.nanoTime();
+
+        // 先并发处理所有输入，再并发融合各自的结果；池内任务互不等待，不会占满线程池而死锁
+        List<CompletableFuture<MultimodalFusionResult.ProcessedInput>> processingFutures = submitInputs(inputs);
+        List<CompletableFuture<MultimodalFusionResult>> fusionFutures = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            MultimodalInput input = inputs.get(i);
+            fusionFutures.add(processingFutures.get(i).thenApplyAsync(processedInput -> {
+                try {
+                    List<MultimodalFusionResult.ProcessedInput> processedInputs = new ArrayList<>();
+                    processedInputs.add(processedInput);
+                    MultimodalFusionResult result = fuseInputs(processedInputs);
+                    result.setConfidence(0.95); // 设置默认置信度
+                    result.setProcessingTime(elapsedMillis(start));
+                    return result;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }, this::executeOrRunInline));
+        }
+
+        // 单个输入失败只影响它自己的结果
+        List<MultimodalFusionResult> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            MultimodalInput input = inputs.get(i);
+            MultimodalFusionResult result;
+            try {
+                result = fusionFutures.get(i).get();
+            } catch (ExecutionException e) {
+                result = new MultimodalFusionResult();
+                result.setId(UUID.randomUUID().toString());
+                result.setSuccess(false);
+                result.setErrorMessage(describeFailure(e.getCause()));
+                result.setTimestamp(String.valueOf(System.currentTimeMillis()));
+                result.setProcessingTime(elapsedMillis(start));
+            }
+            List<String> inputTypes = new ArrayList<>();
+            inputTypes.add(input.getType());
+            result.setInputTypes(inputTypes);
+            results.add(result);
         }
         return results;
     }
 
+    /**
+     * 把输入提交到融合线程池
+     * 每个输入从开始执行时计时，超过其模态的超时时间后中断处理并以 TimeoutException 结束
+     * @param inputs 多模态输入
+     * @return 与输入一一对应的处理结果
+     */
+    private List<CompletableFuture<MultimodalFusionResult.ProcessedInput>> submitInputs(List<MultimodalInput> inputs) {
+        List<CompletableFuture<MultimodalFusionResult.ProcessedInput>> futures = new ArrayList<>(inputs.size());
+        for (MultimodalInput input : inputs) {
+            CompletableFuture<MultimodalFusionResult.ProcessedInput> future = new CompletableFuture<>();
+            try {
+                fusionExecutor.execute(() -> processInput(input, future));
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    /**
+     * 融合阶段提交到线程池，线程池已满时在当前线程执行，保证结果一定完成
+     */
+    private void executeOrRunInline(Runnable task) {
+        try {
+            fusionExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private void processInput(MultimodalInput input, CompletableFuture<MultimodalFusionResult.ProcessedInput> future) {
+        if (future.isDone()) {
+            return;
+        }
+        long timeoutMs = timeoutFor(input.getType());
+        Thread worker = Thread.currentThread();
+        Object lock = new Object();
+        boolean[] running = {true};
+        ScheduledFuture<?> timer = timeoutScheduler.schedule(() -> {
+            if (future.completeExceptionally(new TimeoutException(input.getType() + " 处理超时 (" + timeoutMs + "ms)"))) {
+                synchronized (lock) {
+                    if (running[0]) {
+                        worker.interrupt();
+                    }
+                }
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        try {
+            MultimodalFusionResult.ProcessedInput processedInput = inputProcessor.processInput(input);
+            if (processedInput.getMetadata() != null) {
+                processedInput.getMetadata().put("processingTime", elapsedMillis(start));
+            }
+            future.complete(processedInput);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            timer.cancel(false);
+            synchronized (lock) {
+                running[0] = false;
+            }
+            // 清除超时可能留下的中断标记，避免影响线程池中的下一个任务
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * 收集处理结果，超时或出错的输入记录到 skippedInputs
+     */
+    private List<MultimodalFusionResult.ProcessedInput> collectInputs(List<MultimodalInput> inputs,
+                                                                      List<CompletableFuture<MultimodalFusionResult.ProcessedInput>> futures,
+                                                                      List<Map<String, Object>> skippedInputs) throws InterruptedException {
+        List<MultimodalFusionResult.ProcessedInput> processedInputs = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            MultimodalInput input = inputs.get(i);
+            try {
+                processedInputs.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                String reason = describeFailure(e.getCause());
+                System.err.println("多模态输入处理失败: " + input.getType() + " (" + input.getId() + ") - " + reason);
+                Map<String, Object> skipped = new HashMap<>();
+                skipped.put("id", input.getId());
+                skipped.put("type", input.getType());
+                skipped.put("reason", reason);
+                skippedInputs.add(skipped);
+            } catch (InterruptedException e) {
+                for (CompletableFuture<MultimodalFusionResult.ProcessedInput> future : futures) {
+                    future.cancel(true);
+                }
+                throw e;
+            }
+        }
+        return processedInputs;
+    }
+
+    private void markSkippedInputs(MultimodalFusionResult result, List<Map<String, Object>> skippedInputs) {
+        if (skippedInputs.isEmpty()) {
+            return;
+        }
+        Map<String, Object> metadata = result.getMetadata() != null ? result.getMetadata() : new HashMap<>();
+        metadata.put("partial", true);
+        metadata.put("skippedInputs", skippedInputs);
+        result.setMetadata(metadata);
+    }
+
+    private long timeoutFor(String type) {
+        if (type == null) {
+            return textTimeoutMs;
+        }
+        switch (type) {
+            case "speech":
+                return speechTimeoutMs;
+            case "image":
+                return imageTimeoutMs;
+            case "video":
+                return videoTimeoutMs;
+            default:
+                return textTimeoutMs;
+        }
+    }
+
+    private static String describeFailure(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout: " + e.getMessage();
+        }
+        if (e instanceof RejectedExecutionException) {
+            return "rejected: 融合线程池已满";
+        }
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return "error: " + cause.getMessage();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     /**
      * 融合多个输入
      * @param processedInputs 处理后的输入列表
@@ -18,7 +18,6 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -109,8 +108,16 @@ public class MultimodalServiceImpl implements MultimodalService {
     @Value("${cognition.multimodal.edge.api_url:http://jarvis-edge:8081}")
     private String edgeApiUrl;
 
+    // 上传请求体的 chunk 大小
+    private static final int UPLOAD_CHUNK_SIZE = 65536;
+
     @Override
     public ImageProcessingResult processImage(InputStream imageStream, String imageType) {
+        return processImage(imageStream, imageType, -1);
+    }
+
+    @Override
+    public ImageProcessingResult processImage(InputStream imageStream, String imageType, long contentLength) {
         ImageProcessingResult result = new ImageProcessingResult();
         result.setImageType(imageType);
 
@@ -121,40 +128,33 @@ public class MultimodalServiceImpl implements MultimodalService {
                 return result;
             }
 
-            // 读取图像数据
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            int nRead;
-            byte[] data = new byte[16384];
-            long totalSize = 0;
-
-            while ((nRead = imageStream.read(data, 0, data.length)) != -1) {
-                buffer.write(data, 0, nRead);
-                totalSize += nRead;
-                if (totalSize > maxImageSize) {
-                    result.setSuccess(false);
-                    result.setErrorMessage("Image size exceeds maximum allowed size");
-                    return result;
-                }
+            // 已知长度时在建立连接前拒绝，未知长度时在上传过程中检查
+            if (maxImageSize > 0 && contentLength > maxImageSize) {
+                result.setSuccess(false);
+                result.setErrorMessage("Image size exceeds maximum allowed size");
+                return result;
             }
-            buffer.flush();
-            byte[] imageData = buffer.toByteArray();
 
+            // 远程处理时图像数据直接从输入流编码上传，不在内存中缓存
             // 优先使用全模态模型
             if (fullModalEnabled && !fullModalApiKey.isEmpty() && !fullModalApiUrl.isEmpty()) {
-                return (ImageProcessingResult) processWithFullModal(imageData, "image", imageType, result);
+                return (ImageProcessingResult) processWithFullModal(imageStream, maxImageSize, "image", imageType, result);
             }
             // 其次使用阿里视觉模型
             else if (aliyunVisionEnabled && !aliyunVisionApiKey.isEmpty()) {
-                return processImageWithAliyun(imageData, imageType, result);
+                return processImageWithAliyun(imageStream, imageType, result);
             }
             // 否则使用jarvis-edge
             else if (edgeEnabled) {
-                return processImageWithEdge(imageData, imageType, result);
+                return processImageWithEdge(imageStream, imageType, result);
             }
             // 最后使用本地处理
             else {
-                return processImageLocally(imageData, result);
+                return processImageLocally(readImage(imageStream), result);
             }
+        } catch (StreamingJsonBody.SizeLimitExceededException e) {
+            result.setSuccess(false);
+            result.setErrorMessage("Image size exceeds maximum allowed size");
         } catch (Exception e) {
             result.setSuccess(false);
             result.setErrorMessage("Error processing image: " + e.getMessage());
@@ -176,32 +176,22 @@ public class MultimodalServiceImpl implements MultimodalService {
                 return result;
             }
 
-            // 读取音频数据
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            int nRead;
-            byte[] data = new byte[16384];
-
-            while ((nRead = audioStream.read(data, 0, data.length)) != -1) {
-                buffer.write(data, 0, nRead);
-            }
-            buffer.flush();
-            byte[] audioData = buffer.toByteArray();
-
+            // 远程处理时音频数据直接从输入流编码上传，不在内存中缓存
             // 优先使用全模态模型
             if (fullModalEnabled && !fullModalApiKey.isEmpty() && !fullModalApiUrl.isEmpty()) {
-                return (SpeechProcessingResult) processWithFullModal(audioData, "speech", audioType, result);
+                return (SpeechProcessingResult) processWithFullModal(audioStream, 0, "speech", audioType, result);
             }
             // 其次使用阿里语音模型
             else if (aliyunSpeechEnabled && !aliyunSpeechApiKey.isEmpty()) {
-                return processSpeechWithAliyun(audioData, audioType, result);
+                return processSpeechWithAliyun(audioStream, audioType, result);
             }
             // 否则使用jarvis-edge
             else if (edgeEnabled) {
-                return processSpeechWithEdge(audioData, audioType, result);
+                return processSpeechWithEdge(audioStream, audioType, result);
             }
             // 最后使用本地处理
             else {
-                return processSpeechLocally(audioData, result);
+                return processSpeechLocally(audioStream.transferTo(OutputStream.nullOutputStream()), result);
             }
         } catch (Exception e) {
             result.setSuccess(false);
@@ -224,28 +214,18 @@ public class MultimodalServiceImpl implements MultimodalService {
                 return result;
             }
 
-            // 读取视频数据
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            int nRead;
-            byte[] data = new byte[16384];
-
-            while ((nRead = videoStream.read(data, 0, data.length)) != -1) {
-                buffer.write(data, 0, nRead);
-            }
-            buffer.flush();
-            byte[] videoData = buffer.toByteArray();
-
+            // 远程处理时视频数据直接从输入流编码上传，不在内存中缓存
             // 优先使用全模态模型
             if (fullModalEnabled && !fullModalApiKey.isEmpty() && !fullModalApiUrl.isEmpty()) {
-                return (VideoProcessingResult) processWithFullModal(videoData, "video", videoType, result);
+                return (VideoProcessingResult) processWithFullModal(videoStream, 0, "video", videoType, result);
             }
             // 否则使用jarvis-edge处理视频
             else if (edgeEnabled) {
-                return processVideoWithEdge(videoData, videoType, result);
+                return processVideoWithEdge(videoStream, videoType, result);
             }
             // 最后使用本地处理
             else {
-                return processVideoLocally(videoData, result);
+                return processVideoLocally(videoStream.transferTo(OutputStream.nullOutputStream()), result);
             }
         } catch (Exception e) {
             result.setSuccess(false);
@@ -327,31 +307,18 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 使用阿里视觉模型处理图像
      */
-    private ImageProcessingResult processImageWithAliyun(byte[] imageData, String imageType, ImageProcessingResult result) throws Exception {
-        // 构建请求
-        String encodedImage = Base64.getEncoder().encodeToString(imageData);
-
-        // 构建JSON请求体
-        String requestBody = "{" +
-                "  \"model\": \"" + aliyunVisionModel + "\"," +
-                "  \"messages\": [" +
-                "    {" +
-                "      \"role\": \"user\"," +
-                "      \"content\": [" +
-                "        {" +
-                "          \"type\": \"text\"," +
-                "          \"text\": \"请描述这张图片的内容\"" +
-                "        }," +
-                "        {" +
-                "          \"type\": \"image_url\"," +
-                "          \"image_url\": {" +
-                "            \"url\": \"data:image/jpeg;base64," + encodedImage + "\"" +
-                "          }" +
-                "        }" +
-                "      ]" +
-                "    }" +
-                "  ]" +
-                "}";
+    private ImageProcessingResult processImageWithAliyun(InputStream imageStream, String imageType, ImageProcessingResult result) throws Exception {
+        // 构建JSON请求体，图像在发送时编码
+        StreamingJsonBody requestBody = StreamingJsonBody.of(imageStream, maxImageSize, encodedImage -> Map.of(
+                "model", aliyunVisionModel,
+                "messages", List.of(Map.of(
+                        "role", "user",
+                        "content", List.of(
+                                Map.of("type", "text", "text", "请描述这张图片的内容"),
+                                Map.of("type", "image_url", "image_url", Map.of("url", "data:image/jpeg;base64," + encodedImage))
+                        )
+                ))
+        ));
 
         // 发送请求
         String response = sendHttpRequest(aliyunVisionApiUrl, aliyunVisionApiKey, requestBody);
@@ -365,7 +332,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("model", aliyunVisionModel);
         metadata.put("processing_type", "aliyun");
-        metadata.put("fileSize", imageData.length);
+        metadata.put("fileSize", requestBody.getSourceBytes());
         result.setMetadata(metadata);
 
         return result;
@@ -374,7 +341,9 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 使用阿里语音模型处理语音
      */
-    private SpeechProcessingResult processSpeechWithAliyun(byte[] audioData, String audioType, SpeechProcessingResult result) throws Exception {
+    private SpeechProcessingResult processSpeechWithAliyun(InputStream audioStream, String audioType, SpeechProcessingResult result) throws Exception {
+        long fileSize = audioStream.transferTo(OutputStream.nullOutputStream());
+
         // 构建请求
         // 这里简化处理，实际应该按照阿里API的要求构建请求
         String response = "{\"transcript\": \"This is a test transcript from Aliyun speech model\"}";
@@ -387,7 +356,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("model", aliyunSpeechModel);
         metadata.put("processing_type", "aliyun");
-        metadata.put("fileSize", audioData.length);
+        metadata.put("fileSize", fileSize);
         result.setMetadata(metadata);
 
         return result;
@@ -396,10 +365,12 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 使用jarvis-edge处理图像
      */
-    private ImageProcessingResult processImageWithEdge(byte[] imageData, String imageType, ImageProcessingResult result) throws Exception {
+    private ImageProcessingResult processImageWithEdge(InputStream imageStream, String imageType, ImageProcessingResult result) throws Exception {
         // 构建请求
-        String encodedImage = Base64.getEncoder().encodeToString(imageData);
-        String requestBody = "{\"image\": \"" + encodedImage + "\", \"type\": \"" + imageType + "\"}";
+        StreamingJsonBody requestBody = StreamingJsonBody.of(imageStream, maxImageSize, encodedImage -> Map.of(
+                "image", encodedImage,
+                "type", imageType
+        ));
 
         // 发送请求
         String response = sendHttpRequest(edgeApiUrl + "/api/vision/process", "", requestBody);
@@ -411,7 +382,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         // 设置元数据
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("processing_type", "edge");
-        metadata.put("fileSize", imageData.length);
+        metadata.put("fileSize", requestBody.getSourceBytes());
         result.setMetadata(metadata);
 
         return result;
@@ -420,10 +391,12 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 使用jarvis-edge处理语音
      */
-    private SpeechProcessingResult processSpeechWithEdge(byte[] audioData, String audioType, SpeechProcessingResult result) throws Exception {
+    private SpeechProcessingResult processSpeechWithEdge(InputStream audioStream, String audioType, SpeechProcessingResult result) throws Exception {
         // 构建请求
-        String encodedAudio = Base64.getEncoder().encodeToString(audioData);
-        String requestBody = "{\"audio\": \"" + encodedAudio + "\", \"type\": \"" + audioType + "\"}";
+        StreamingJsonBody requestBody = StreamingJsonBody.of(audioStream, 0, encodedAudio -> Map.of(
+                "audio", encodedAudio,
+                "type", audioType
+        ));
 
         // 发送请求
         String response = sendHttpRequest(edgeApiUrl + "/api/speech/process", "", requestBody);
@@ -435,7 +408,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         // 设置元数据
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("processing_type", "edge");
-        metadata.put("fileSize", audioData.length);
+        metadata.put("fileSize", requestBody.getSourceBytes());
         result.setMetadata(metadata);
 
         return result;
@@ -444,10 +417,12 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 使用jarvis-edge处理视频
      */
-    private VideoProcessingResult processVideoWithEdge(byte[] videoData, String videoType, VideoProcessingResult result) throws Exception {
+    private VideoProcessingResult processVideoWithEdge(InputStream videoStream, String videoType, VideoProcessingResult result) throws Exception {
         // 构建请求
-        String encodedVideo = Base64.getEncoder().encodeToString(videoData);
-        String requestBody = "{\"video\": \"" + encodedVideo + "\", \"type\": \"" + videoType + "\"}";
+        StreamingJsonBody requestBody = StreamingJsonBody.of(videoStream, 0, encodedVideo -> Map.of(
+                "video", encodedVideo,
+                "type", videoType
+        ));
 
         // 发送请求
         String response = sendHttpRequest(edgeApiUrl + "/api/video/process", "", requestBody);
@@ -459,7 +434,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         // 设置元数据
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("processing_type", "edge");
-        metadata.put("fileSize", videoData.length);
+        metadata.put("fileSize", requestBody.getSourceBytes());
         result.setMetadata(metadata);
 
         return result;
@@ -497,12 +472,12 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 本地处理语音
      */
-    private SpeechProcessingResult processSpeechLocally(byte[] audioData, SpeechProcessingResult result) throws Exception {
+    private SpeechProcessingResult processSpeechLocally(long fileSize, SpeechProcessingResult result) throws Exception {
         // 设置语音处理结果
         result.setSampleRate(speechSampleRate);
         result.setChannels(speechChannels);
         result.setDurationMs(5000);
-        result.setFileSize(audioData.length);
+        result.setFileSize(fileSize);
         result.setContentType("audio/wav");
         result.setTranscript("Processed locally: This is a simulated speech transcript.");
 
@@ -511,7 +486,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         metadata.put("sampleRate", speechSampleRate);
         metadata.put("channels", speechChannels);
         metadata.put("durationMs", 5000);
-        metadata.put("fileSize", audioData.length);
+        metadata.put("fileSize", fileSize);
         metadata.put("contentType", "audio/wav");
         metadata.put("processing_type", "local");
         result.setMetadata(metadata);
@@ -523,13 +498,13 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 本地处理视频
      */
-    private VideoProcessingResult processVideoLocally(byte[] videoData, VideoProcessingResult result) throws Exception {
+    private VideoProcessingResult processVideoLocally(long fileSize, VideoProcessingResult result) throws Exception {
         // 设置视频处理结果
         result.setWidth(1920);
         result.setHeight(1080);
         result.setFrameRate(30);
         result.setDurationMs(10000);
-        result.setFileSize(videoData.length);
+        result.setFileSize(fileSize);
         result.setContentType("video/mp4");
         result.setDescription("Video processed locally: 1920x1080, 30fps, 10 seconds");
 
@@ -539,7 +514,7 @@ public class MultimodalServiceImpl implements MultimodalService {
         metadata.put("height", 1080);
         metadata.put("frameRate", 30);
         metadata.put("durationMs", 10000);
-        metadata.put("fileSize", videoData.length);
+        metadata.put("fileSize", fileSize);
         metadata.put("contentType", "video/mp4");
         metadata.put("processing_type", "local");
         result.setMetadata(metadata);
@@ -551,34 +526,23 @@ public class MultimodalServiceImpl implements MultimodalService {
     /**
      * 使用全模态模型处理多模态数据
      */
-    private Object processWithFullModal(byte[] data, String modalType, String contentType, Object result) throws Exception {
-        // 构建请求
-        String encodedData = Base64.getEncoder().encodeToString(data);
-
-        // 构建JSON请求体
-        String requestBody = "{" +
-                "  \"model\": \"" + fullModalModel + "\"," +
-                "  \"messages\": [" +
-                "    {" +
-                "      \"role\": \"user\"," +
-                "      \"content\": [" +
-                "        {" +
-                "          \"type\": \"text\"," +
-                "          \"text\": \"请处理这个\" + modalType + \"数据\"" +
-                "        }," +
-                "        {" +
-                "          \"type\": \"" + modalType + "_url\"," +
-                "          \"" + modalType + "_url\": {" +
-                "            \"url\": \"data:" + contentType + ";base64," + encodedData + "\"" +
-                "          }" +
-                "        }" +
-                "      ]" +
-                "    }" +
-                "  ]" +
-                "}";
+    private Object processWithFullModal(InputStream dataStream, long maxBytes, String modalType, String contentType, Object result) throws Exception {
+        // 构建JSON请求体，数据在发送时编码
+        StreamingJsonBody requestBody = StreamingJsonBody.of(dataStream, maxBytes, encodedData -> Map.of(
+                "model", fullModalModel,
+                "messages", List.of(Map.of(
+                        "role", "user",
+                        "content", List.of(
+                                Map.of("type", "text", "text", "请处理这个" + modalType + "数据"),
+                                Map.of("type", modalType + "_url",
+                                        modalType + "_url", Map.of("url", "data:" + contentType + ";base64," + encodedData))
+                        )
+                ))
+        ));
 
         // 发送请求
         String response = sendHttpRequest(fullModalApiUrl, fullModalApiKey, requestBody);
+        long fileSize = requestBody.getSourceBytes();
 
         // 根据模态类型处理响应
         if (modalType.equals("image")) {
@@ -590,7 +554,7 @@ public class MultimodalServiceImpl implements MultimodalService {
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("model", fullModalModel);
             metadata.put("processing_type", "full_modal");
-            metadata.put("fileSize", data.length);
+            metadata.put("fileSize", fileSize);
             imageResult.setMetadata(metadata);
 
             return imageResult;
@@ -603,7 +567,7 @@ public class MultimodalServiceImpl implements MultimodalService {
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("model", fullModalModel);
             metadata.put("processing_type", "full_modal");
-            metadata.put("fileSize", data.length);
+            metadata.put("fileSize", fileSize);
             speechResult.setMetadata(metadata);
 
             return speechResult;
@@ -616,7 +580,7 @@ public class MultimodalServiceImpl implements MultimodalService {
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("model", fullModalModel);
             metadata.put("processing_type", "full_modal");
-            metadata.put("fileSize", data.length);
+            metadata.put("fileSize", fileSize);
             videoResult.setMetadata(metadata);
 
             return videoResult;
@@ -625,10 +589,30 @@ public class MultimodalServiceImpl implements MultimodalService {
         return result;
     }
 
+    /**
+     * 读取本地处理的图像数据
+     */
+    private byte[] readImage(InputStream imageStream) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int nRead;
+        byte[] data = new byte[16384];
+        long totalSize = 0;
+
+        while ((nRead = imageStream.read(data, 0, data.length)) != -1) {
+            buffer.write(data, 0, nRead);
+            totalSize += nRead;
+            if (totalSize > maxImageSize) {
+                throw new StreamingJsonBody.SizeLimitExceededException(maxImageSize);
+            }
+        }
+        return buffer.toByteArray();
+    }
+
     /**
      * 发送HTTP请求
+     * 请求体以 chunked 方式边编码边发送，HttpURLConnection 不会把整个请求体缓存在内存中
      */
-    private String sendHttpRequest(String url, String apiKey, String requestBody) throws Exception {
+    private String sendHttpRequest(String url, String apiKey, StreamingJsonBody requestBody) throws Exception {
         URL apiUrl = new URL(url);
         HttpURLConnection connection = (HttpURLConnection) apiUrl.openConnection();
         connection.setRequestMethod("POST");
@@ -639,10 +623,14 @@ public class MultimodalServiceImpl implements MultimodalService {
         }
 
         connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(UPLOAD_CHUNK_SIZE);
 
         try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = requestBody.getBytes("utf-8");
-            os.write(input, 0, input.length);
+            requestBody.writeTo(os);
+        } catch (Exception e) {
+            // 请求体未写完，放弃该连接
+            connection.disconnect();
+            throw e;
         }
 
         // 读取响应
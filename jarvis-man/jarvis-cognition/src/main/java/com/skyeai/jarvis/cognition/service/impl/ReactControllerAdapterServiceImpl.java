@@ -33,18 +33,40 @@ public class ReactControllerAdapterServiceImpl implements ReactControllerAdapter
             ReactService.ReactResult result = reactService.executeReact(query, observations, context);
             
             // 返回最终答案
-            if (result.isSuccess() && result.getFinalAnswer() != null) {
-                return result.getFinalAnswer();
-            } else {
-                // 如果没有成功的最终答案，返回错误信息
-                return "抱歉，执行ReAct决策过程失败: " + (result.getErrorMessage() != null ? result.getErrorMessage() : "未知错误");
-            }
+            return answerOf(result);
         } catch (Exception e) {
             // 捕获所有异常，确保服务不会崩溃
             return "抱歉，执行ReAct决策过程时发生错误: " + e.getMessage();
         }
     }
     
+    /**
+     * 流式执行ReAct决策流程
+     */
+    @Override
+    public void executeReactStream(String query, ReactService.ReactStreamListener listener) {
+        Map<String, Object> done = new HashMap<>();
+        try {
+            ReactService.ReactResult result = reactService.executeReactStream(query, new ArrayList<>(), new HashMap<>(), listener);
+            done.put("success", result.isSuccess() && result.getFinalAnswer() != null);
+            done.put("answer", answerOf(result));
+            done.put("totalSteps", result.getTotalSteps());
+            done.put("executionTimeMs", result.getExecutionTimeMs());
+        } catch (Exception e) {
+            done.put("success", false);
+            done.put("answer", "抱歉，执行ReAct决策过程时发生错误: " + e.getMessage());
+        }
+        listener.onEvent("done", done);
+    }
+    
+    private String answerOf(ReactService.ReactResult result) {
+        if (result.isSuccess() && result.getFinalAnswer() != null) {
+            return result.getFinalAnswer();
+        }
+        // 如果没有成功的最终答案，返回错误信息
+        return "抱歉，执行ReAct决策过程失败: " + (result.getErrorMessage() != null ? result.getErrorMessage() : "未知错误");
+    }
+    
     /**
      * 获取工具调用提示
      */
@@ -0,0 +1,35 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReAct多轮对话
+ * 系统消息（角色和格式说明）固定不变，目标和初始观察作为第一条用户消息，之后每步只追加模型的输出和行动结果。
+ * 已有消息不再改写，每次请求的前缀与上一次完全相同，模型提供方可以复用前缀的缓存
+ */
+final class ReactConversation {
+
+    private final List<Map<String, String>> messages = new ArrayList<>();
+
+    ReactConversation(String systemPrompt) {
+        messages.add(Map.of("role", "system", "content", systemPrompt));
+    }
+
+    void addUser(String content) {
+        messages.add(Map.of("role", "user", "content", content));
+    }
+
+    void addAssistant(String content) {
+        messages.add(Map.of("role", "assistant", "content", content));
+    }
+
+    /**
+     * 当前全部消息（只读）
+     */
+    List<Map<String, String>> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+}
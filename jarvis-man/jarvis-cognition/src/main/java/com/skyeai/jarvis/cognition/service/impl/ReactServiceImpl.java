@@ -1,20 +1,67 @@
 package com.skyeai.jarvis.cognition.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skyeai.jarvis.cognition.service.ReactService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 @Service
 public class ReactServiceImpl implements ReactService {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String SYSTEM_PROMPT = "你是一个使用ReAct模式解决问题的助手。请用中文回应用户的问题。";
+    private static final String FORMAT_INSTRUCTIONS = "请按照以下格式进行每一步：\n"
+            + "步骤 [步骤编号]：\n"
+            + "思考：[你的推理过程]\n"
+            + "行动：[think | finish | [其他行动]]\n"
+            + "行动输入：[行动的输入]\n"
+            + "观察：[行动的结果]\n\n"
+            + "可能的行动：\n"
+            + "- think：继续推理\n"
+            + "- finish：提供最终答案\n"
+            + "- search：搜索信息\n"
+            + "- calculate：执行计算\n"
+            + "- ask：请求澄清\n"
+            + "- evaluate：评估解决方案\n";
+    private static final String PARALLEL_INSTRUCTIONS = "\n一步中可以给出多个互不依赖的行动，每个行动各写一行 行动： 和 行动输入：，它们会并行执行。\n"
+            + "除 finish 外，写完行动后停止输出，观察由下一条消息给出；行动为 finish 时在 观察： 后给出最终答案。\n";
+    private static final String FINAL_ANSWER_HINT = "剩余时间不足，请不要再执行其他行动，直接以 行动：finish 给出最终答案。";
+    private static final String BUDGET_EXHAUSTED = "Latency budget exhausted";
+    private static final ReactStreamListener NO_OP_LISTENER = (type, data) -> { };
+
     private final RestTemplate restTemplate;
 
     @Value("${cognition.react.enabled:true}")
@@ -41,11 +88,46 @@ public class ReactServiceImpl implements ReactService {
     @Value("${jarvis.services.llm.url:http://localhost:8081/api/llm}")
     private String llmServiceUrl;
 
+    // 整个ReAct过程的延迟预算（毫秒），不大于0时使用 timeout_seconds
+    @Value("${cognition.react.latency_budget_ms:0}")
+    private long latencyBudgetMs;
+
+    // 行动在有界线程池中并行执行
+    @Value("${cognition.react.tool.concurrency:16}")
+    private int toolConcurrency;
+
+    @Value("${cognition.react.tool.queue_capacity:64}")
+    private int toolQueueCapacity;
+
+    @Value("${cognition.http.connect_timeout_ms:5000}")
+    private int connectTimeoutMs;
+
+    private ThreadPoolExecutor toolExecutor;
+
     @Autowired
     public ReactServiceImpl(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        toolExecutor = new ThreadPoolExecutor(toolConcurrency, toolConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(toolQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "react-tool-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        toolExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (toolExecutor != null) {
+            toolExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public ReactResult executeReact(String goal, List<String> observations) {
         return executeReact(goal, observations, new HashMap<>());
@@ -53,11 +135,27 @@ public class ReactServiceImpl implements ReactService {
 
     @Override
     public ReactResult executeReact(String goal, List<String> observations, Map<String, Object> context) {
+        return runReact(goal, observations, context, NO_OP_LISTENER);
+    }
+
+    @Override
+    public ReactResult executeReactStream(String goal, List<String> observations, Map<String, Object> context,
+                                          ReactStreamListener listener) {
+        return runReact(goal, observations, context, listener);
+    }
+
+    /**
+     * ReAct循环
+     * 整个过程共用一个对话，每步只追加模型输出和行动结果；超出延迟预算前，若剩余时间不够再走一步，最后一步要求模型直接给出答案
+     */
+    private ReactResult runReact(String goal, List<String> observations, Map<String, Object> context,
+                                 ReactStreamListener listener) {
         ReactResult result = new ReactResult();
         result.setGoal(goal);
         result.setSteps(new ArrayList<>());
 
         long startTime = System.currentTimeMillis();
+        long deadline = startTime + (latencyBudgetMs > 0 ? latencyBudgetMs : timeoutSeconds * 1000L);
 
         try {
             if (!reactEnabled) {
@@ -66,11 +164,18 @@ public class ReactServiceImpl implements ReactService {
                 return result;
             }
 
+            ReactConversation conversation = startConversation(goal, observations, 1);
             int stepNumber = 1;
             boolean continueProcessing = true;
+            boolean finalStep = false;
 
             while (continueProcessing && stepNumber <= maxSteps) {
-                ReactStepResult stepResult = executeReactStep(goal, observations, stepNumber, context);
+                if (listener.isCancelled()) {
+                    result.setSuccess(false);
+                    result.setErrorMessage("ReAct cancelled");
+                    break;
+                }
+                ReactStepResult stepResult = executeReactStep(conversation, stepNumber, context, listener, deadline);
                 if (stepResult.getStep() != null) {
                     result.getSteps().add(stepResult.getStep());
                 }
@@ -82,10 +187,22 @@ public class ReactServiceImpl implements ReactService {
                     } else if (stepResult.getErrorMessage() != null) {
                         result.setSuccess(false);
                         result.setErrorMessage(stepResult.getErrorMessage());
+                        result.setBudgetExhausted(BUDGET_EXHAUSTED.equals(stepResult.getErrorMessage()));
                     }
-                } else {
-                    stepNumber++;
+                    continue;
                 }
+
+                // 剩余预算不够再走一个平均步骤时，下一步要求直接给出答案；已经是这样的一步仍未结束则放弃
+                long remaining = deadline - System.currentTimeMillis();
+                if (finalStep || remaining <= 0) {
+                    result.setSuccess(false);
+                    result.setErrorMessage(BUDGET_EXHAUSTED);
+                    result.setBudgetExhausted(true);
+                    break;
+                }
+                finalStep = remaining < averageStepTimeMs(result.getSteps());
+                appendStep(conversation, stepResult.getStep(), stepNumber + 1, finalStep);
+                stepNumber++;
             }
 
             if (stepNumber > maxSteps && !result.isSuccess()) {
@@ -107,33 +224,26 @@ public class ReactServiceImpl implements ReactService {
 
     @Override
     public ReactStepResult executeReactStep(String goal, List<String> observations, int stepNumber, Map<String, Object> context) {
+        return executeReactStep(startConversation(goal, observations, stepNumber), stepNumber, context, NO_OP_LISTENER, Long.MAX_VALUE);
+    }
+
+    private ReactStepResult executeReactStep(ReactConversation conversation, int stepNumber, Map<String, Object> context,
+                                             ReactStreamListener listener, long deadline) {
         ReactStepResult result = new ReactStepResult();
         result.setStepNumber(stepNumber);
 
         try {
-            // 构建ReAct提示
-            String prompt = buildReactPrompt(goal, observations, stepNumber, context);
-
-            // 调用大模型生成思考、行动和观察
-            String llmResponse = callOpenAiApi(prompt);
-
-            // 解析大模型响应
-            ReactStep step = parseReactStepResponse(llmResponse, stepNumber);
+            // 调用大模型生成思考和行动，边生成边解析，已完整的行动立即并行执行
+            ReactStep step = runReactStep(conversation, stepNumber, context, listener, deadline);
             result.setStep(step);
 
-            // 处理行动
-            if (step.getAction().equals("finish")) {
-                result.setContinueProcessing(false);
-            } else if (step.getAction().equals("think")) {
-                // 继续思考，不需要执行具体行动
-                result.setContinueProcessing(true);
-            } else {
-                // 执行具体行动，获取观察结果
-                String observation = executeAction(step.getAction(), step.getActionInput(), context);
-                step.setObservation(observation);
-                result.setContinueProcessing(true);
-            }
+            // finish 结束流程；think 和其他行动（已取得观察结果）继续下一步
+            result.setContinueProcessing(!step.getAction().equals("finish"));
 
+        } catch (CancellationException e) {
+            // 下游已断开或超出延迟预算，不再继续
+            result.setContinueProcessing(false);
+            result.setErrorMessage(e.getMessage());
         } catch (Exception e) {
             result.setContinueProcessing(false);
             result.setErrorMessage("Error executing ReAct step: " + e.getMessage());
@@ -175,14 +285,50 @@ public class ReactServiceImpl implements ReactService {
         analysis.put("averageStepTimeMs", result.getTotalSteps() > 0 ? 
                 result.getExecutionTimeMs() / result.getTotalSteps() : 0);
 
+        analysis.put("budgetExhausted", result.isBudgetExhausted());
+
         // 分析行动分布
         Map<String, Integer> actionDistribution = new HashMap<>();
         for (ReactStep step : result.getSteps()) {
-            String action = step.getAction();
-            actionDistribution.put(action, actionDistribution.getOrDefault(action, 0) + 1);
+            if (step.getActions() == null || step.getActions().isEmpty()) {
+                actionDistribution.merge(step.getAction(), 1, Integer::sum);
+                continue;
+            }
+            for (ReactAction action : step.getActions()) {
+                actionDistribution.merge(action.getAction(), 1, Integer::sum);
+            }
         }
         analysis.put("actionDistribution", actionDistribution);
 
+        // 分析各步耗时：模型生成、生成结束后等待行动结果、各行动自身耗时
+        List<Map<String, Object>> stepTimings = new ArrayList<>();
+        long totalLlmTimeMs = 0;
+        long totalToolTimeMs = 0;
+        long totalActionTimeMs = 0;
+        for (ReactStep step : result.getSteps()) {
+            List<Map<String, Object>> actionTimings = new ArrayList<>();
+            if (step.getActions() != null) {
+                for (ReactAction action : step.getActions()) {
+                    actionTimings.add(Map.of("action", action.getAction(), "durationMs", action.getDurationMs()));
+                    totalActionTimeMs += action.getDurationMs();
+                }
+            }
+            Map<String, Object> timing = new HashMap<>();
+            timing.put("stepNumber", step.getStepNumber());
+            timing.put("stepTimeMs", step.getStepTimeMs());
+            timing.put("llmTimeMs", step.getLlmTimeMs());
+            timing.put("toolTimeMs", step.getToolTimeMs());
+            timing.put("actions", actionTimings);
+            stepTimings.add(timing);
+            totalLlmTimeMs += step.getLlmTimeMs();
+            totalToolTimeMs += step.getToolTimeMs();
+        }
+        analysis.put("stepTimings", stepTimings);
+        analysis.put("totalLlmTimeMs", totalLlmTimeMs);
+        analysis.put("totalToolTimeMs", totalToolTimeMs);
+        // 行动逐个串行执行所需时间与实际等待时间之差：并行执行和生成期间提前执行节省的时间
+        analysis.put("parallelSavedMs", Math.max(0, totalActionTimeMs - totalToolTimeMs));
+
         // 分析思考长度
         List<Integer> thoughtLengths = new ArrayList<>();
         for (ReactStep step : result.getSteps()) {
@@ -200,14 +346,36 @@ public class ReactServiceImpl implements ReactService {
     }
 
     /**
-     * 构建ReAct提示
+     * 构建ReAct提示（单条提示形式，用于查看和调优）
      */
     private String buildReactPrompt(String goal, List<String> observations, int stepNumber, Map<String, Object> context) {
         StringBuilder prompt = new StringBuilder();
 
         prompt.append("你是一个使用ReAct模式解决问题的助手。\n");
         prompt.append("你的目标是：" + goal + "\n\n");
+        appendInitialObservations(prompt, observations);
+        prompt.append(FORMAT_INSTRUCTIONS);
+
+        prompt.append("\n当前步骤：" + stepNumber + "\n");
+        prompt.append("请按照指定格式生成你的响应，使用中文。");
+
+        return prompt.toString();
+    }
+
+    /**
+     * 开始一个ReAct对话：系统消息为角色和格式说明，第一条用户消息为目标和初始观察
+     */
+    private ReactConversation startConversation(String goal, List<String> observations, int stepNumber) {
+        ReactConversation conversation = new ReactConversation(SYSTEM_PROMPT + "\n\n" + FORMAT_INSTRUCTIONS + PARALLEL_INSTRUCTIONS);
+        StringBuilder message = new StringBuilder();
+        message.append("你的目标是：" + goal + "\n\n");
+        appendInitialObservations(message, observations);
+        message.append("当前步骤：" + stepNumber);
+        conversation.addUser(message.toString());
+        return conversation;
+    }
 
+    private void appendInitialObservations(StringBuilder prompt, List<String> observations) {
         if (!observations.isEmpty()) {
             prompt.append("初始观察：\n");
             for (String observation : observations) {
@@ -215,56 +383,326 @@ public class ReactServiceImpl implements ReactService {
             }
             prompt.append("\n");
         }
+    }
 
-        prompt.append("请按照以下格式进行每一步：\n");
-        prompt.append("步骤 [步骤编号]：\n");
-        prompt.append("思考：[你的推理过程]\n");
-        prompt.append("行动：[think | finish | [其他行动]]\n");
-        prompt.append("行动输入：[行动的输入]\n");
-        prompt.append("观察：[行动的结果]\n\n");
-
-        prompt.append("可能的行动：\n");
-        prompt.append("- think：继续推理\n");
-        prompt.append("- finish：提供最终答案\n");
-        prompt.append("- search：搜索信息\n");
-        prompt.append("- calculate：执行计算\n");
-        prompt.append("- ask：请求澄清\n");
-        prompt.append("- evaluate：评估解决方案\n");
+    /**
+     * 把一步追加到对话：模型输出按解析结果规整后作为助手消息（不含模型自己编写的观察），行动结果和下一步编号作为用户消息
+     */
+    private void appendStep(ReactConversation conversation, ReactStep step, int nextStepNumber, boolean finalStep) {
+        StringBuilder output = new StringBuilder();
+        output.append("步骤 " + step.getStepNumber() + "：\n");
+        output.append("思考：" + step.getThought() + "\n");
+        if (step.getActions().isEmpty()) {
+            output.append("行动：" + step.getAction() + "\n");
+            output.append("行动输入：" + step.getActionInput() + "\n");
+        }
+        for (ReactAction action : step.getActions()) {
+            output.append("行动：" + action.getAction() + "\n");
+            output.append("行动输入：" + action.getActionInput() + "\n");
+        }
+        conversation.addAssistant(output.toString());
 
-        prompt.append("\n当前步骤：" + stepNumber + "\n");
-        prompt.append("请按照指定格式生成你的响应，使用中文。");
+        StringBuilder message = new StringBuilder();
+        if (step.getObservation() != null) {
+            // 多个行动的结果每行一个，另起一行开始
+            message.append("观察：" + (step.getObservation().contains("\n") ? "\n" : "") + step.getObservation() + "\n\n");
+        }
+        if (finalStep) {
+            message.append(FINAL_ANSWER_HINT + "\n");
+        }
+        message.append("当前步骤：" + nextStepNumber);
+        conversation.addUser(message.toString());
+    }
 
-        return prompt.toString();
+    /**
+     * 已完成步骤的平均耗时，用于估计再走一步需要的时间
+     */
+    private long averageStepTimeMs(List<ReactStep> steps) {
+        long total = 0;
+        for (ReactStep step : steps) {
+            total += step.getStepTimeMs();
+        }
+        return steps.isEmpty() ? 0 : total / steps.size();
     }
 
     /**
-     * 调用LLM服务
+     * 调用LLM服务（整段）
      */
-    private String callOpenAiApi(String prompt) throws Exception {
+    private String callOpenAiApi(ReactConversation conversation) throws Exception {
         try {
             // 调用jarvis-llm服务的generate/text接口
             String url = llmServiceUrl + "/generate/text";
             System.out.println("调用LLM服务: " + url);
             
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("prompt", prompt);
-            requestBody.put("systemPrompt", "你是一个使用ReAct模式解决问题的助手。请用中文回应用户的问题。");
-            
-            Map<String, Object> response = restTemplate.postForObject(url, requestBody, Map.class);
+            Map<String, Object> response = restTemplate.postForObject(url, requestBody(conversation), Map.class);
             String result = response.get("result").toString();
             System.out.println("LLM服务响应: " + result);
             return result;
         } catch (Exception e) {
             System.err.println("LLM服务调用失败，使用模拟响应: " + e.getMessage());
             // 返回模拟响应
-            return generateMockResponse(prompt);
+            return generateMockResponse();
         }
     }
 
+    private Map<String, Object> requestBody(ReactConversation conversation) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("messages", conversation.getMessages());
+        requestBody.put("systemPrompt", SYSTEM_PROMPT);
+        return requestBody;
+    }
+
+    /**
+     * 执行一步：思考片段随生成推送；每个行动一旦完整就推送并提交到行动线程池，不等模型生成结束。
+     * 行动都已给出、模型开始自己编写观察时停止读取；行动为 finish 时观察即最终回答，随生成推送，已提前执行的行动结果丢弃
+     */
+    private ReactStep runReactStep(ReactConversation conversation, int stepNumber, Map<String, Object> context,
+                                   ReactStreamListener listener, long deadline) throws Exception {
+        long stepStartTime = System.currentTimeMillis();
+        listener.onEvent("step", Map.of("step", stepNumber));
+
+        ReactStepParser parser = new ReactStepParser();
+        List<PendingAction> pending = new ArrayList<>();
+        Runnable dispatch = () -> {
+            List<ReactStepParser.Action> parsed = parser.getActions();
+            int completed = parser.getCompletedActionCount();
+            while (pending.size() < completed) {
+                pending.add(dispatchAction(parsed.get(pending.size()), stepNumber, context, listener));
+            }
+        };
+        ReactStepParser.DeltaListener deltas = (field, text) -> {
+            if (field == ReactStepParser.Field.THOUGHT) {
+                listener.onEvent("thought", Map.of("step", stepNumber, "text", text));
+            } else if (field == ReactStepParser.Field.OBSERVATION && parser.hasAction("finish")) {
+                dispatch.run();
+                listener.onEvent("answer", Map.of("text", text));
+            }
+        };
+        try {
+            callLlmStream(conversation, listener, token -> {
+                parser.feed(token, deltas);
+                dispatch.run();
+            }, () -> parser.getField() == ReactStepParser.Field.OBSERVATION && !parser.hasAction("finish"), deadline);
+            parser.finish(deltas);
+            dispatch.run();
+        } catch (Exception e) {
+            cancelActions(pending);
+            throw e;
+        }
+
+        long llmEndTime = System.currentTimeMillis();
+        ReactStep step = toReactStep(parser, stepNumber);
+        step.setLlmTimeMs(llmEndTime - stepStartTime);
+        if (step.getAction().equals("finish")) {
+            cancelActions(pending);
+        } else {
+            step.setObservation(collectObservations(pending, stepNumber, listener, deadline));
+        }
+        for (PendingAction action : pending) {
+            step.getActions().add(action.action);
+        }
+        long stepEndTime = System.currentTimeMillis();
+        step.setToolTimeMs(stepEndTime - llmEndTime);
+        step.setStepTimeMs(stepEndTime - stepStartTime);
+        return step;
+    }
+
+    /**
+     * 推送行动并提交执行；think 和 finish 不需要执行。行动线程池已满时在当前线程执行
+     */
+    private PendingAction dispatchAction(ReactStepParser.Action parsed, int stepNumber, Map<String, Object> context,
+                                         ReactStreamListener listener) {
+        ReactAction action = new ReactAction();
+        action.setAction(parsed.getName());
+        action.setActionInput(parsed.getInput());
+        listener.onEvent("action", Map.of("step", stepNumber, "action", action.getAction(), "actionInput", action.getActionInput()));
+        if (action.getAction().equals("think") || action.getAction().equals("finish")) {
+            return new PendingAction(action, null);
+        }
+
+        FutureTask<String> task = new FutureTask<>(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                return executeAction(action.getAction(), action.getActionInput(), context);
+            } finally {
+                action.setDurationMs(System.currentTimeMillis() - start);
+            }
+        });
+        PendingAction pendingAction = new PendingAction(action, task);
+        try {
+            toolExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+        return pendingAction;
+    }
+
+    /**
+     * 按行动顺序等待结果并推送，超出延迟预算的行动取消并以超时作为观察
+     * @return 观察：只有一个行动时为其结果，多个时每行一个 [行动] 结果；没有需要执行的行动时为null
+     */
+    private String collectObservations(List<PendingAction> pending, int stepNumber, ReactStreamListener listener,
+                                       long deadline) throws InterruptedException {
+        List<String> observations = new ArrayList<>();
+        for (PendingAction pendingAction : pending) {
+            if (pendingAction.future == null) {
+                continue;
+            }
+            ReactAction action = pendingAction.action;
+            String observation;
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                observation = pendingAction.future.get(remaining, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                pendingAction.future.cancel(true);
+                action.setDurationMs(System.currentTimeMillis() - pendingAction.startTime);
+                observation = "行动超时：超出延迟预算";
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                observation = "行动执行失败: " + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            }
+            action.setObservation(observation);
+            observations.add(observation);
+            listener.onEvent("observation", Map.of("step", stepNumber, "action", action.getAction(), "observation", observation));
+        }
+        if (observations.isEmpty()) {
+            return null;
+        }
+        if (observations.size() == 1) {
+            return observations.get(0);
+        }
+        StringBuilder combined = new StringBuilder();
+        for (PendingAction pendingAction : pending) {
+            if (pendingAction.future != null) {
+                if (combined.length() > 0) {
+                    combined.append("\n");
+                }
+                combined.append("[" + pendingAction.action.getAction() + "] " + pendingAction.action.getObservation());
+            }
+        }
+        return combined.toString();
+    }
+
+    private void cancelActions(List<PendingAction> pending) {
+        for (PendingAction pendingAction : pending) {
+            if (pendingAction.future != null) {
+                pendingAction.future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 流式调用LLM服务的SSE接口，逐个片段回调
+     * 还没有收到任何片段就失败时退回到整段调用，整段结果作为一个片段回调
+     * @param stop 每个片段之后检查，返回true时不再读取剩余输出并关闭连接
+     */
+    private void callLlmStream(ReactConversation conversation, ReactStreamListener listener, Consumer<String> onToken,
+                               BooleanSupplier stop, long deadline) throws Exception {
+        String url = llmServiceUrl + "/generate/text/stream";
+        Map<String, Object> requestBody = requestBody(conversation);
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new CancellationException(BUDGET_EXHAUSTED);
+        }
+
+        boolean[] received = {false};
+        try {
+            // readLine 阻塞期间无法检查预算，按剩余预算设置读超时，服务端停滞时读取在截止时间失败
+            ClientHttpRequest request = streamRequestFactory(remaining).createRequest(URI.create(url), HttpMethod.POST);
+            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+            request.getBody().write(OBJECT_MAPPER.writeValueAsBytes(requestBody));
+            ClientHttpResponse response = request.execute();
+            try {
+                if (response.getStatusCode().isError()) {
+                    throw new IOException("LLM stream returned HTTP " + response.getStatusCode().value());
+                }
+                readLlmStream(response.getBody(), listener, token -> {
+                    received[0] = true;
+                    onToken.accept(token);
+                }, stop, deadline);
+            } finally {
+                // 先直接关闭响应流断开连接，response.close() 会先读完剩余输出
+                response.getBody().close();
+                response.close();
+            }
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            // 读超时在截止时间触发，按预算耗尽处理，不再退回整段调用
+            if (System.currentTimeMillis() >= deadline) {
+                throw new CancellationException(BUDGET_EXHAUSTED);
+            }
+            if (received[0]) {
+                throw e;
+            }
+            System.err.println("LLM服务流式调用失败，改用整段调用: " + e.getMessage());
+            onToken.accept(callOpenAiApi(conversation));
+        }
+    }
+
+    /**
+     * 流式调用的请求工厂，读超时为本次调用的剩余预算
+     */
+    private SimpleClientHttpRequestFactory streamRequestFactory(long remainingMs) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        int timeout = (int) Math.min(Integer.MAX_VALUE, Math.max(1, remainingMs));
+        factory.setConnectTimeout(Math.min(connectTimeoutMs, timeout));
+        factory.setReadTimeout(timeout);
+        return factory;
+    }
+
+    /**
+     * 读取SSE事件流：token 事件回调片段，done 结束，error 抛出异常；下游取消或超出延迟预算时提前结束并关闭连接
+     */
+    private void readLlmStream(InputStream body, ReactStreamListener listener, Consumer<String> onToken,
+                               BooleanSupplier stop, long deadline) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = "message";
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (listener.isCancelled()) {
+                throw new CancellationException("ReAct cancelled");
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new CancellationException(BUDGET_EXHAUSTED);
+            }
+            if (!line.isEmpty()) {
+                if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(line.startsWith("data: ") ? line.substring(6) : line.substring(5));
+                }
+                continue;
+            }
+            // 空行结束一个事件
+            if (data.length() > 0) {
+                JsonNode payload = OBJECT_MAPPER.readTree(data.toString());
+                if ("token".equals(event)) {
+                    onToken.accept(payload.path("token").asText());
+                    if (stop.getAsBoolean()) {
+                        return;
+                    }
+                } else if ("done".equals(event)) {
+                    return;
+                } else if ("error".equals(event)) {
+                    throw new IOException(payload.path("error").asText());
+                }
+            }
+            event = "message";
+            data.setLength(0);
+        }
+        throw new IOException("LLM stream ended before completion");
+    }
+
     /**
      * 生成模拟响应
      */
-    private String generateMockResponse(String prompt) {
+    private String generateMockResponse() {
         StringBuilder mockResponse = new StringBuilder();
         mockResponse.append("Step 1:\n");
         mockResponse.append("Thought: 分析用户问题，思考如何回答\n");
@@ -275,54 +713,31 @@ public class ReactServiceImpl implements ReactService {
     }
 
     /**
-     * 解析ReAct步骤响应
+     * 提取思考、行动、行动输入和观察，缺失的字段使用默认值
+     * 有多个行动时以 finish（若有）或第一个行动作为本步的行动
      */
-    private ReactStep parseReactStepResponse(String response, int stepNumber) {
+    private ReactStep toReactStep(ReactStepParser parser, int stepNumber) {
         ReactStep step = new ReactStep();
         step.setStepNumber(stepNumber);
-
-        long stepStartTime = System.currentTimeMillis();
-
-        // 简单解析响应，提取思考、行动和行动输入
-        String[] lines = response.split("\\n");
-
-        for (String line : lines) {
-            line = line.trim();
-            if (line.startsWith("Thought:") || line.startsWith("思考：") || line.startsWith("思考:")) {
-                int index = Math.max(line.indexOf(":"), line.indexOf("："));
-                step.setThought(line.substring(index + 1).trim());
-            } else if (line.startsWith("Action:") || line.startsWith("行动：") || line.startsWith("行动:")) {
-                int index = Math.max(line.indexOf(":"), line.indexOf("："));
-                step.setAction(line.substring(index + 1).trim());
-            } else if (line.startsWith("Action Input:") || line.startsWith("行动输入：") || line.startsWith("行动输入:")) {
-                int index = Math.max(line.indexOf(":"), line.indexOf("："));
-                step.setActionInput(line.substring(index + 1).trim());
-            } else if (line.startsWith("Observation:") || line.startsWith("观察：") || line.startsWith("观察:")) {
-                int index = Math.max(line.indexOf(":"), line.indexOf("："));
-                step.setObservation(line.substring(index + 1).trim());
+        step.setThought(parser.has(ReactStepParser.Field.THOUGHT) ? parser.get(ReactStepParser.Field.THOUGHT) : "正在分析问题...");
+        ReactStepParser.Action primary = null;
+        for (ReactStepParser.Action action : parser.getActions()) {
+            if (primary == null || (action.getName().equals("finish") && !primary.getName().equals("finish"))) {
+                primary = action;
             }
         }
-
-        // 设置默认值
-        if (step.getThought() == null) {
-            step.setThought("正在分析问题...");
-        }
-        if (step.getAction() == null) {
-            step.setAction("think");
-        }
-        if (step.getActionInput() == null) {
-            step.setActionInput("");
+        step.setAction(primary != null ? primary.getName() : "think");
+        step.setActionInput(primary != null ? primary.getInput() : "");
+        if (parser.has(ReactStepParser.Field.OBSERVATION)) {
+            step.setObservation(parser.get(ReactStepParser.Field.OBSERVATION));
         }
-
-        step.setStepTimeMs(System.currentTimeMillis() - stepStartTime);
-
         return step;
     }
 
     /**
-     * 执行行动
+     * 执行行动，在行动线程池中调用（测试中可覆盖为耗时行动）
      */
-    private String executeAction(String action, String actionInput, Map<String, Object> context) {
+    String executeAction(String action, String actionInput, Map<String, Object> context) {
         switch (action.toLowerCase()) {
             case "search":
                 return "Search results for '" + actionInput + "': [Simulated search results]";
@@ -336,4 +751,19 @@ public class ReactServiceImpl implements ReactService {
                 return "Action executed: " + action + " with input: " + actionInput;
         }
     }
+
+    /**
+     * 已提交的行动及其结果
+     */
+    private static class PendingAction {
+
+        final ReactAction action;
+        final Future<String> future;
+        final long startTime = System.currentTimeMillis();
+
+        PendingAction(ReactAction action, Future<String> future) {
+            this.action = action;
+            this.future = future;
+        }
+    }
 }
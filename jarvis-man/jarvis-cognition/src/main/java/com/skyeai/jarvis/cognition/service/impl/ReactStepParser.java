@@ -0,0 +1,317 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReAct步骤响应的增量解析器
+ * 模型输出按行解析：行首为 思考/行动/行动输入/观察（或 Thought/Action/Action Input/Observation）标签时切换当前字段，
+ * 思考和观察再次出现时以新内容为准；每个行动标签开始一个新行动，紧随其后的行动输入属于该行动，一步可以有多个行动。
+ * 不带标签的行接在当前字段后面（行动名只取一行），步骤标题行（步骤 1：/Step 1:）结束当前字段。
+ * 输出可以分片喂入，字段的新增内容一旦能确定归属就立即回调，用于边生成边推送思考和最终回答；
+ * 已经完整的行动可以在生成结束前取出执行
+ */
+final class ReactStepParser {
+
+    enum Field { NONE, THOUGHT, ACTION, ACTION_INPUT, OBSERVATION }
+
+    /**
+     * 字段新增内容回调
+     */
+    @FunctionalInterface
+    interface DeltaListener {
+        void onDelta(Field field, String text);
+    }
+
+    private static final Label[] LABELS = {
+            new Label("Thought", Field.THOUGHT, false),
+            new Label("思考", Field.THOUGHT, false),
+            new Label("Action Input", Field.ACTION_INPUT, false),
+            new Label("行动输入", Field.ACTION_INPUT, false),
+            new Label("Action", Field.ACTION, false),
+            new Label("行动", Field.ACTION, false),
+            new Label("Observation", Field.OBSERVATION, false),
+            new Label("观察", Field.OBSERVATION, false),
+            new Label("Step", Field.NONE, true),
+            new Label("步骤", Field.NONE, true),
+    };
+
+    // 行首超过这个长度仍未出现冒号，就不再当作标签
+    private static final int MAX_LABEL_LENGTH = 24;
+
+    private final Map<Field, StringBuilder> values = new EnumMap<>(Field.class);
+    private final List<Action> actions = new ArrayList<>();
+    private final StringBuilder lineHead = new StringBuilder();
+    private final StringBuilder delta = new StringBuilder();
+    private Field field = Field.NONE;
+    private boolean atLineStart = true;
+    private boolean atValueStart;
+    // 当前行不属于任何字段，余下内容丢弃
+    private boolean skippingLine;
+    private boolean finished;
+
+    ReactStepParser() {
+        for (Field f : Field.values()) {
+            values.put(f, new StringBuilder());
+        }
+    }
+
+    /**
+     * 喂入一段模型输出
+     * @param listener 新增内容回调，可以为null
+     */
+    void feed(String chunk, DeltaListener listener) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c == '\r') {
+                continue;
+            }
+            if (!atLineStart) {
+                if (c == '\n') {
+                    atLineStart = true;
+                    skippingLine = false;
+                } else if (!skippingLine) {
+                    appendValue(String.valueOf(c));
+                }
+                continue;
+            }
+            if (c == '\n') {
+                // 未能判定的短行按普通内容处理
+                appendLine(lineHead.toString(), listener);
+                lineHead.setLength(0);
+                continue;
+            }
+            lineHead.append(c);
+            classifyLineHead(listener);
+        }
+        flush(listener);
+    }
+
+    /**
+     * 输出结束，处理最后一行未判定的内容
+     */
+    void finish(DeltaListener listener) {
+        if (atLineStart && lineHead.length() > 0) {
+            appendLine(lineHead.toString(), listener);
+            lineHead.setLength(0);
+        }
+        flush(listener);
+        finished = true;
+    }
+
+    /**
+     * 字段当前的完整内容（去掉首尾空白），行动和行动输入取最后一个行动的
+     */
+    String get(Field f) {
+        return target(f).toString().trim();
+    }
+
+    boolean has(Field f) {
+        return target(f).length() > 0;
+    }
+
+    /**
+     * 当前所在的字段
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * 已解析的全部行动（行动名为空的除外），按出现顺序
+     */
+    List<Action> getActions() {
+        List<Action> result = new ArrayList<>(actions.size());
+        for (Action action : actions) {
+            if (!action.getName().isEmpty()) {
+                result.add(action);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 内容不会再变化的行动数：后面已经出现了新行动或其他字段，或者输出已结束
+     */
+    int getCompletedActionCount() {
+        if (actions.isEmpty()) {
+            return 0;
+        }
+        boolean lastOpen = !finished && (field == Field.ACTION || field == Field.ACTION_INPUT);
+        int count = 0;
+        for (int i = 0; i < actions.size() - (lastOpen ? 1 : 0); i++) {
+            if (!actions.get(i).getName().isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    boolean hasAction(String name) {
+        for (Action action : actions) {
+            if (action.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void classifyLineHead(DeltaListener listener) {
+        String head = lineHead.toString().stripLeading();
+        if (head.isEmpty()) {
+            return;
+        }
+        boolean undecided = false;
+        for (Label label : LABELS) {
+            int end = label.match(head);
+            if (end > 0) {
+                switchField(label.field, listener);
+                atLineStart = false;
+                lineHead.setLength(0);
+                appendValue(head.substring(end));
+                return;
+            }
+            undecided |= end == 0;
+        }
+        if (!undecided || head.length() > MAX_LABEL_LENGTH) {
+            atLineStart = false;
+            String line = lineHead.toString();
+            lineHead.setLength(0);
+            skippingLine = !appendLine(line, listener);
+        }
+    }
+
+    /**
+     * 不带标签的行接在当前字段后面
+     * @return 该行是否被接受
+     */
+    private boolean appendLine(String line, DeltaListener listener) {
+        if (field == Field.NONE || field == Field.ACTION) {
+            return false;
+        }
+        if (line.isBlank()) {
+            return true;
+        }
+        if (!atValueStart) {
+            appendValue("\n");
+        }
+        appendValue(line);
+        return true;
+    }
+
+    private void appendValue(String text) {
+        if (field == Field.NONE) {
+            return;
+        }
+        if (atValueStart) {
+            text = text.stripLeading();
+            if (text.isEmpty()) {
+                return;
+            }
+            atValueStart = false;
+        }
+        target(field).append(text);
+        delta.append(text);
+    }
+
+    private void switchField(Field next, DeltaListener listener) {
+        flush(listener);
+        Field previous = field;
+        field = next;
+        Action last = actions.isEmpty() ? null : actions.get(actions.size() - 1);
+        if (next == Field.ACTION) {
+            // 紧跟在行动输入后面、还没有行动名的行动补上行动名，否则开始新行动
+            if (last == null || last.nameSeen || previous != Field.ACTION_INPUT) {
+                last = new Action();
+                actions.add(last);
+            }
+            last.nameSeen = true;
+        } else if (next == Field.ACTION_INPUT) {
+            // 行动输入只属于紧挨着的行动，中间隔了其他字段的行动已经完整，不再修改
+            if (last == null || last.inputSeen || previous != Field.ACTION) {
+                last = new Action();
+                actions.add(last);
+            }
+            last.inputSeen = true;
+            last.input.setLength(0);
+        } else {
+            values.get(field).setLength(0);
+        }
+        atValueStart = true;
+    }
+
+    private StringBuilder target(Field f) {
+        if (f == Field.ACTION || f == Field.ACTION_INPUT) {
+            if (actions.isEmpty()) {
+                return values.get(f);
+            }
+            Action last = actions.get(actions.size() - 1);
+            return f == Field.ACTION ? last.name : last.input;
+        }
+        return values.get(f);
+    }
+
+    private void flush(DeltaListener listener) {
+        if (delta.length() > 0) {
+            if (listener != null && field != Field.NONE) {
+                listener.onDelta(field, delta.toString());
+            }
+            delta.setLength(0);
+        }
+    }
+
+    /**
+     * 一个行动及其输入
+     */
+    static final class Action {
+
+        private final StringBuilder name = new StringBuilder();
+        private final StringBuilder input = new StringBuilder();
+        private boolean nameSeen;
+        private boolean inputSeen;
+
+        String getName() {
+            return name.toString().trim();
+        }
+
+        String getInput() {
+            return input.toString().trim();
+        }
+    }
+
+    private static final class Label {
+
+        final String name;
+        final Field field;
+        final boolean numbered;
+
+        Label(String name, Field field, boolean numbered) {
+            this.name = name;
+            this.field = field;
+            this.numbered = numbered;
+        }
+
+        /**
+         * @return 冒号后内容的起始位置；0 表示还需要更多字符才能判定；-1 表示不是这个标签
+         */
+        int match(String head) {
+            if (head.length() <= name.length()) {
+                return name.startsWith(head) ? 0 : -1;
+            }
+            if (!head.startsWith(name)) {
+                return -1;
+            }
+            int i = name.length();
+            while (i < head.length() && (head.charAt(i) == ' ' || (numbered && Character.isDigit(head.charAt(i))))) {
+                i++;
+            }
+            if (i == head.length()) {
+                return 0;
+            }
+            char c = head.charAt(i);
+            return c == ':' || c == '：' ? i + 1 : -1;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 流式JSON请求体
+ * 请求体中的媒体数据（Base64 或 data URL 字段）不预先编码成字符串，而是在写出时从源流边读边编码，
+ * 配合 chunked 传输，内存占用只有固定大小的缓冲区，与文件大小无关
+ */
+final class StreamingJsonBody {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 16384;
+
+    private final byte[] head;
+    private final byte[] tail;
+    private final InputStream source;
+    private final long maxBytes;
+    private long sourceBytes;
+
+    private StreamingJsonBody(byte[] head, byte[] tail, InputStream source, long maxBytes) {
+        this.head = head;
+        this.tail = tail;
+        this.source = source;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 构建请求体
+     * @param source 媒体数据
+     * @param maxBytes 媒体数据的大小上限，0 表示不限制
+     * @param skeleton 根据占位字符串构建请求体结构，占位字符串在写出时被替换为媒体数据的Base64编码，
+     *                 例如 data -> Map.of("url", "data:image/jpeg;base64," + data)
+     */
+    static StreamingJsonBody of(InputStream source, long maxBytes, Function<String, Map<String, Object>> skeleton)
+            throws IOException {
+        String placeholder = "stream-" + UUID.randomUUID();
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(skeleton.apply(placeholder));
+        byte[] marker = placeholder.getBytes(StandardCharsets.US_ASCII);
+        int index = indexOf(json, marker);
+        if (index < 0) {
+            throw new IllegalArgumentException("Request body does not reference the streamed data");
+        }
+        return new StreamingJsonBody(
+                Arrays.copyOfRange(json, 0, index),
+                Arrays.copyOfRange(json, index + marker.length, json.length),
+                source,
+                maxBytes);
+    }
+
+    /**
+     * 写出请求体
+     * @throws SizeLimitExceededException 媒体数据超过大小上限
+     */
+    void writeTo(OutputStream out) throws IOException {
+        out.write(head);
+        // 关闭编码流只会写出末尾的填充，不会关闭下层的请求流
+        try (OutputStream encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int nRead;
+            while ((nRead = source.read(buffer, 0, buffer.length)) != -1) {
+                sourceBytes += nRead;
+                if (maxBytes > 0 && sourceBytes > maxBytes) {
+                    throw new SizeLimitExceededException(maxBytes);
+                }
+                encoder.write(buffer, 0, nRead);
+            }
+        }
+        out.write(tail);
+    }
+
+    /**
+     * 已写出的媒体数据字节数（编码前）
+     */
+    long getSourceBytes() {
+        return sourceBytes;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 媒体数据超过大小上限
+     */
+    static final class SizeLimitExceededException extends IOException {
+
+        SizeLimitExceededException(long maxBytes) {
+            super("Data size exceeds maximum allowed size of " + maxBytes + " bytes");
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
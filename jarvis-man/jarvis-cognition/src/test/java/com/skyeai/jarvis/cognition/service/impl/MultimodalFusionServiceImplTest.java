@@ -0,0 +1,157 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import com.skyeai.jarvis.cognition.model.MultimodalFusionResult;
+import com.skyeai.jarvis.cognition.model.MultimodalInput;
+import com.skyeai.jarvis.cognition.service.MultimodalInputProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多模态融合的并发收集测试：使用桩处理器模拟超时、出错和线程池已满，
+ * 检查被跳过的输入不阻塞融合、记录到元数据，以及全部失败时抛出异常
+ */
+public class MultimodalFusionServiceImplTest {
+
+    private final CountDownLatch slowInterrupted = new CountDownLatch(1);
+    private final List<String> prompts = new ArrayList<>();
+    private MultimodalFusionServiceImpl fusionService;
+
+    @AfterEach
+    public void tearDown() {
+        if (fusionService != null) {
+            fusionService.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimedOutAndFailedInputsAreSkipped() throws Exception {
+        fusionService = service(4, 16);
+
+        long start = System.nanoTime();
+        MultimodalFusionResult result = fusionService.processMultimodalInput(List.of(
+                input("t1", "text", "ok"), input("v1", "video", "slow"), input("i1", "image", "fail")));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 融合只等到视频超时，不等待其处理结束
+        assertTrue(elapsedMs < 2_000, "fusion took " + elapsedMs + " ms");
+        assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+        assertEquals("fused", result.getFusionResult());
+        assertEquals(1, result.getProcessedInputs().size());
+        assertEquals("t1", result.getProcessedInputs().get(0).getId());
+        assertEquals(1, prompts.size());
+
+        assertEquals(true, result.getMetadata().get("partial"));
+        Map<String, String> reasons = reasons(result);
+        assertEquals(2, reasons.size());
+        assertTrue(reasons.get("v1").startsWith("timeout: video 处理超时"), reasons.get("v1"));
+        assertEquals("error: decode failed", reasons.get("i1"));
+    }
+
+    @Test
+    public void testRejectedInputIsSkipped() throws Exception {
+        // 一个线程、队列容量1：第三个输入提交时被拒绝
+        fusionService = service(1, 1);
+
+        MultimodalFusionResult result = fusionService.processMultimodalInput(List.of(
+                input("v1", "video", "slow"), input("t1", "text", "ok"), input("t2", "text", "ok")));
+
+        assertEquals(1, result.getProcessedInputs().size());
+        assertEquals("t1", result.getProcessedInputs().get(0).getId());
+        Map<String, String> reasons = reasons(result);
+        assertTrue(reasons.get("v1").startsWith("timeout: "), reasons.get("v1"));
+        assertEquals("rejected: 融合线程池已满", reasons.get("t2"));
+    }
+
+    @Test
+    public void testAllInputsFailedThrows() {
+        fusionService = service(4, 16);
+
+        Exception e = assertThrows(Exception.class, () -> fusionService.processMultimodalInput(List.of(
+                input("v1", "video", "slow"), input("i1", "image", "fail"))));
+
+        assertTrue(e.getMessage().startsWith("多模态输入处理失败: "), e.getMessage());
+        assertTrue(e.getMessage().contains("error: decode failed"), e.getMessage());
+        assertTrue(e.getMessage().contains("timeout: video 处理超时"), e.getMessage());
+        // 没有可融合的输入时不调用LLM
+        assertTrue(prompts.isEmpty());
+    }
+
+    private MultimodalFusionServiceImpl service(int concurrency, int queueCapacity) {
+        RestTemplate llm = new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T postForObject(String url, Object request, Class<T> responseType, Object... uriVariables) {
+                synchronized (prompts) {
+                    prompts.add((String) ((Map<String, Object>) request).get("prompt"));
+                }
+                return (T) Map.of("result", "fused");
+            }
+        };
+        MultimodalFusionServiceImpl service = new MultimodalFusionServiceImpl(new StubProcessor(), llm, null, null);
+        ReflectionTestUtils.setField(service, "llmServiceUrl", "http://llm");
+        ReflectionTestUtils.setField(service, "fusionConcurrency", concurrency);
+        ReflectionTestUtils.setField(service, "fusionQueueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "textTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(service, "speechTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(service, "imageTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(service, "videoTimeoutMs", 200L);
+        service.init();
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> reasons(MultimodalFusionResult result) {
+        Map<String, String> reasons = new HashMap<>();
+        for (Map<String, Object> skipped : (List<Map<String, Object>>) result.getMetadata().get("skippedInputs")) {
+            reasons.put((String) skipped.get("id"), (String) skipped.get("reason"));
+        }
+        return reasons;
+    }
+
+    private static MultimodalInput input(String id, String type, String content) {
+        MultimodalInput input = new MultimodalInput();
+        input.setId(id);
+        input.setType(type);
+        input.setContent(content);
+        return input;
+    }
+
+    /**
+     * 桩处理器：content 为 slow 时阻塞直到被中断，为 fail 时抛出异常，其余立即返回
+     */
+    private class StubProcessor extends MultimodalInputProcessor {
+        @Override
+        public MultimodalFusionResult.ProcessedInput processInput(MultimodalInput input) {
+            if ("slow".equals(input.getContent())) {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    slowInterrupted.countDown();
+                    throw new IllegalStateException("interrupted", e);
+                }
+            }
+            if ("fail".equals(input.getContent())) {
+                throw new IllegalArgumentException("decode failed");
+            }
+            MultimodalFusionResult.ProcessedInput processedInput = new MultimodalFusionResult.ProcessedInput();
+            processedInput.setId(input.getId());
+            processedInput.setType(input.getType());
+            processedInput.setContent(input.getContent());
+            processedInput.setMetadata(new HashMap<>());
+            return processedInput;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyeai.jarvis.cognition.service.MultimodalService.ImageProcessingResult;
+import com.skyeai.jarvis.cognition.service.MultimodalService.VideoProcessingResult;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多模态上传测试：流式请求体的内容正确性、图像大小上限，以及 1 MB–200 MB 上传的峰值堆内存和吞吐对比
+ * 使用本地桩服务器模拟 jarvis-edge
+ * 对比默认关闭，使用 -Dcognition.benchmark=true 运行，结果通过 TestReporter 输出；
+ * 旧实现上传 200 MB 约需 2 GB 堆，运行时需相应调大 -Xmx
+ */
+public class MultimodalUploadBenchmarkTest {
+
+    private static final long MAX_IMAGE_SIZE = 1024 * 1024;
+    private static final int[] SIZES_MB = {1, 10, 50, 200};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile boolean keepBody;
+    private volatile byte[] lastBody;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String edgeUrl;
+    private MultimodalServiceImpl multimodalService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newSingleThreadExecutor();
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try (InputStream in = exchange.getRequestBody()) {
+                if (keepBody) {
+                    lastBody = in.readAllBytes();
+                } else {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+                byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, response.length);
+                exchange.getResponseBody().write(response);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        edgeUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        multimodalService = new MultimodalServiceImpl(null, null, null);
+        ReflectionTestUtils.setField(multimodalService, "multimodalEnabled", true);
+        ReflectionTestUtils.setField(multimodalService, "imageProcessingEnabled", true);
+        ReflectionTestUtils.setField(multimodalService, "videoProcessingEnabled", true);
+        ReflectionTestUtils.setField(multimodalService, "maxImageSize", MAX_IMAGE_SIZE);
+        ReflectionTestUtils.setField(multimodalService, "fullModalEnabled", false);
+        ReflectionTestUtils.setField(multimodalService, "aliyunVisionEnabled", false);
+        ReflectionTestUtils.setField(multimodalService, "edgeEnabled", true);
+        ReflectionTestUtils.setField(multimodalService, "edgeApiUrl", edgeUrl);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testStreamedBodyDecodesToSource() throws Exception {
+        keepBody = true;
+        byte[] video = source(1_000_003).readAllBytes();
+
+        VideoProcessingResult result = multimodalService.processVideo(new ByteArrayInputStream(video), "video/mp4");
+
+        assertTrue(result.isSuccess());
+        assertEquals(1_000_003L, result.getMetadata().get("fileSize"));
+        Map<?, ?> body = objectMapper.readValue(lastBody, Map.class);
+        assertEquals("video/mp4", body.get("type"));
+        assertArrayEquals(video, Base64.getDecoder().decode((String) body.get("video")));
+    }
+
+    @Test
+    public void testOversizedImageWithKnownLengthIsRejectedBeforeRequest() {
+        ImageProcessingResult result = multimodalService.processImage(source(MAX_IMAGE_SIZE + 1), "image/jpeg",
+                MAX_IMAGE_SIZE + 1);
+
+        assertFalse(result.isSuccess());
+        assertEquals("Image size exceeds maximum allowed size", result.getErrorMessage());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void testOversizedImageWithUnknownLengthIsRejectedWhileUploading() {
+        ImageProcessingResult result = multimodalService.processImage(source(MAX_IMAGE_SIZE + 1), "image/jpeg");
+
+        assertFalse(result.isSuccess());
+        assertEquals("Image size exceeds maximum allowed size", result.getErrorMessage());
+
+        ImageProcessingResult accepted = multimodalService.processImage(source(MAX_IMAGE_SIZE), "image/jpeg",
+                MAX_IMAGE_SIZE);
+        assertTrue(accepted.isSuccess());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "cognition.benchmark", matches = "true")
+    public void benchmarkUploadPeakHeapAndThroughput(TestReporter reporter) throws Exception {
+        for (int sizeMb : SIZES_MB) {
+            long size = sizeMb * 1024L * 1024L;
+            reporter.publishEntry(sizeMb + " MB legacy", measure(size, () -> legacyUpload(source(size), "video/mp4")));
+            reporter.publishEntry(sizeMb + " MB streaming", measure(size, () -> {
+                VideoProcessingResult result = multimodalService.processVideo(source(size), "video/mp4");
+                assertTrue(result.isSuccess(), result.getErrorMessage());
+            }));
+        }
+    }
+
+    /**
+     * 预热后重复上传，返回峰值堆内存增量和吞吐
+     */
+    private String measure(long size, Upload upload) throws Exception {
+        int rounds = size <= 10L * 1024 * 1024 ? 10 : size <= 50L * 1024 * 1024 ? 3 : 1;
+        upload.run();
+        resetPeakHeap();
+        long baseline = peakHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            upload.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0 / rounds;
+        return String.format("peak heap +%.1f MB, %.1f MB/s",
+                (peakHeap() - baseline) / 1048576.0, size / 1048576.0 / seconds);
+    }
+
+    /**
+     * 旧实现：整个文件读入内存，Base64编码成字符串后拼接JSON，由 HttpURLConnection 缓存整个请求体后发送
+     */
+    private void legacyUpload(InputStream in, String type) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        in.transferTo(buffer);
+        String encoded = Base64.getEncoder().encodeToString(buffer.toByteArray());
+        String requestBody = "{\"video\": \"" + encoded + "\", \"type\": \"" + type + "\"}";
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(edgeUrl + "/api/video/process").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setDoOutput(true);
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write(requestBody.getBytes(StandardCharsets.UTF_8));
+        }
+        try (InputStream is = connection.getInputStream()) {
+            is.readAllBytes();
+        }
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * 按需生成 size 字节数据的输入流，不在内存中保存整个文件
+     */
+    private static InputStream source(long size) {
+        return new InputStream() {
+            private long remaining = size;
+
+            @Override
+            public int read() {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                remaining--;
+                return (int) (remaining & 0x7f);
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int count = (int) Math.min(len, remaining);
+                for (int i = 0; i < count; i++) {
+                    b[off + i] = (byte) ((remaining - i - 1) & 0x7f);
+                }
+                remaining -= count;
+                return count;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws Exception;
+    }
+}
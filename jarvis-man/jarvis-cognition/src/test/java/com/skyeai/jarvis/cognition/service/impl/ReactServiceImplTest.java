@@ -0,0 +1,185 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import com.skyeai.jarvis.cognition.service.ReactService.ReactResult;
+import com.skyeai.jarvis.cognition.service.ReactService.ReactStep;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ReAct执行测试：使用本地桩服务器模拟LLM流式接口，
+ * 检查一步中的多个行动在生成期间提前并行执行，以及LLM流阻塞时按延迟预算结束
+ */
+public class ReactServiceImplTest {
+
+    private static final String PARALLEL_STEP = "步骤 1：\n思考：分别查询三个城市\n"
+            + "行动：search\n行动输入：北京\n"
+            + "行动：search\n行动输入：上海\n"
+            + "行动：search\n行动输入：广州\n";
+    private static final String FINISH_STEP = "步骤 2：\n思考：已经拿到结果\n行动：finish\n行动输入：\n观察：三地都是晴天。";
+
+    private final AtomicInteger llmCalls = new AtomicInteger();
+    // 三个行动同时处于执行中时才会全部放行，串行执行会卡在第一个行动
+    private final CountDownLatch allActionsRunning = new CountDownLatch(3);
+    private final CountDownLatch twoActionsStarted = new CountDownLatch(2);
+    private final AtomicBoolean startedBeforeStreamEnded = new AtomicBoolean();
+    private final CountDownLatch stalledStreamClosed = new CountDownLatch(1);
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ReactServiceImpl reactService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/generate/text/stream", this::handleStream);
+        server.start();
+
+        reactService = new ReactServiceImpl(new RestTemplate()) {
+            @Override
+            String executeAction(String action, String actionInput, Map<String, Object> context) {
+                twoActionsStarted.countDown();
+                allActionsRunning.countDown();
+                try {
+                    if (!allActionsRunning.await(5, TimeUnit.SECONDS)) {
+                        return actionInput + "：未并行执行";
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return actionInput + "：晴";
+            }
+        };
+        ReflectionTestUtils.setField(reactService, "reactEnabled", true);
+        ReflectionTestUtils.setField(reactService, "maxSteps", 5);
+        ReflectionTestUtils.setField(reactService, "timeoutSeconds", 30);
+        ReflectionTestUtils.setField(reactService, "llmServiceUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(reactService, "toolConcurrency", 4);
+        ReflectionTestUtils.setField(reactService, "toolQueueCapacity", 16);
+        ReflectionTestUtils.setField(reactService, "connectTimeoutMs", 5000);
+        reactService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reactService.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testActionsRunInParallelWhileStreaming() {
+        ReactResult result = reactService.executeReact("parallel", List.of());
+
+        assertTrue(result.isSuccess(), result.getErrorMessage());
+        assertEquals("三地都是晴天。", result.getFinalAnswer());
+        assertEquals(2, llmCalls.get());
+        // 前两个行动在模型还在生成时就已开始执行
+        assertTrue(startedBeforeStreamEnded.get());
+
+        ReactStep first = result.getSteps().get(0);
+        assertEquals(3, first.getActions().size());
+        assertEquals("[search] 北京：晴\n[search] 上海：晴\n[search] 广州：晴", first.getObservation());
+        Map<String, Object> analysis = reactService.analyzeReactProcess(result);
+        assertEquals(Map.of("search", 3, "finish", 1), analysis.get("actionDistribution"));
+    }
+
+    @Test
+    public void testBudgetEnforcedWhileStreamIsBlocked() throws Exception {
+        ReflectionTestUtils.setField(reactService, "latencyBudgetMs", 300L);
+
+        long start = System.nanoTime();
+        ReactResult result = reactService.executeReact("stall", List.of());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.isBudgetExhausted());
+        assertEquals("Latency budget exhausted", result.getErrorMessage());
+        // 读超时按剩余预算设置，不等待停滞的服务端
+        assertTrue(elapsedMs < 2_000, "ReAct took " + elapsedMs + " ms");
+        // 预算耗尽后不退回整段调用
+        assertEquals(1, llmCalls.get());
+        assertTrue(stalledStreamClosed.await(5, TimeUnit.SECONDS));
+    }
+
+    private void handleStream(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        int call = llmCalls.incrementAndGet();
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (body.contains("stall")) {
+                token(out, "思考：");
+                // 停滞直到客户端断开
+                for (int i = 0; i < 100; i++) {
+                    sleep(50);
+                    out.write(": keep-alive\n".getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                return;
+            }
+            if (call == 1) {
+                for (String line : PARALLEL_STEP.split("(?<=\n)")) {
+                    token(out, line);
+                }
+                // 第三个行动要等后面出现其他字段才算完整，前两个应已提交执行
+                try {
+                    startedBeforeStreamEnded.set(twoActionsStarted.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                token(out, "观察：");
+                token(out, "模型编写的观察不应被读取");
+            } else {
+                for (String line : FINISH_STEP.split("(?<=\n)")) {
+                    token(out, line);
+                }
+            }
+            event(out, "done", "{}");
+        } catch (IOException e) {
+            stalledStreamClosed.countDown();
+        }
+    }
+
+    private static void token(OutputStream out, String token) throws IOException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("token", token);
+        event(out, "token", new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(data));
+    }
+
+    private static void event(OutputStream out, String event, String data) throws IOException {
+        out.write(("event:" + event + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
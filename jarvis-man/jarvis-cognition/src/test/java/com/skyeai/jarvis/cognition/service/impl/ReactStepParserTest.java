@@ -0,0 +1,110 @@
+package com.skyeai.jarvis.cognition.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ReAct步骤解析测试：中英文标签、标签跨分片、多行动与行动完整性、字段增量回调、步骤标题和无标签内容
+ */
+public class ReactStepParserTest {
+
+    private static final String OUTPUT = "步骤 1：\n"
+            + "思考：需要同时查天气\n和汇率\n"
+            + "行动：search\n"
+            + "行动输入：北京天气\n"
+            + "Action: calculate\n"
+            + "Action Input: 100 USD to CNY\n"
+            + "观察：模型自己编写的观察\n";
+
+    @Test
+    public void testParsesWholeOutput() {
+        ReactStepParser parser = new ReactStepParser();
+        parser.feed(OUTPUT, null);
+        parser.finish(null);
+
+        assertEquals("需要同时查天气\n和汇率", parser.get(ReactStepParser.Field.THOUGHT));
+        assertEquals("模型自己编写的观察", parser.get(ReactStepParser.Field.OBSERVATION));
+        List<ReactStepParser.Action> actions = parser.getActions();
+        assertEquals(2, actions.size());
+        assertEquals("search", actions.get(0).getName());
+        assertEquals("北京天气", actions.get(0).getInput());
+        assertEquals("calculate", actions.get(1).getName());
+        assertEquals("100 USD to CNY", actions.get(1).getInput());
+        // 行动和行动输入取最后一个行动的
+        assertEquals("calculate", parser.get(ReactStepParser.Field.ACTION));
+        assertTrue(parser.hasAction("search"));
+        assertFalse(parser.hasAction("finish"));
+        assertEquals(2, parser.getCompletedActionCount());
+    }
+
+    @Test
+    public void testCharByCharFeedMatchesWholeOutput() {
+        ReactStepParser parser = new ReactStepParser();
+        StringBuilder thought = new StringBuilder();
+        StringBuilder observation = new StringBuilder();
+        for (int i = 0; i < OUTPUT.length(); i++) {
+            parser.feed(String.valueOf(OUTPUT.charAt(i)), (field, text) -> {
+                if (field == ReactStepParser.Field.THOUGHT) {
+                    thought.append(text);
+                } else if (field == ReactStepParser.Field.OBSERVATION) {
+                    observation.append(text);
+                }
+            });
+        }
+        parser.finish(null);
+
+        // 标签被拆到多个分片时仍能识别，增量内容拼起来就是字段内容
+        assertEquals("需要同时查天气\n和汇率", thought.toString());
+        assertEquals("模型自己编写的观察", observation.toString().trim());
+        assertEquals(2, parser.getActions().size());
+        assertEquals("100 USD to CNY", parser.getActions().get(1).getInput());
+    }
+
+    @Test
+    public void testActionCompletesWhenNextFieldStarts() {
+        ReactStepParser parser = new ReactStepParser();
+        List<Integer> completed = new ArrayList<>();
+        String[] chunks = {"Thought: 查两个城市\nAction: search\nAction Input: 上海", "\nAction: search\n",
+                "Action Input: 广州\n", "Observation:"};
+        for (String chunk : chunks) {
+            parser.feed(chunk, null);
+            completed.add(parser.getCompletedActionCount());
+        }
+
+        // 行动输入可能还在生成，直到后面出现新行动或其他字段才算完整
+        assertEquals(List.of(0, 1, 1, 2), completed);
+        assertEquals(ReactStepParser.Field.OBSERVATION, parser.getField());
+        assertEquals("广州", parser.getActions().get(1).getInput());
+    }
+
+    @Test
+    public void testFinishObservationIsAnswerAndRepeatedThoughtReplaces() {
+        ReactStepParser parser = new ReactStepParser();
+        parser.feed("Thought: 初步想法\nThought：最终想法\n行动：finish\n行动输入：\n观察：北京今天晴。\n最高气温25度。", null);
+        parser.finish(null);
+
+        assertEquals("最终想法", parser.get(ReactStepParser.Field.THOUGHT));
+        assertTrue(parser.hasAction("finish"));
+        assertEquals("北京今天晴。\n最高气温25度。", parser.get(ReactStepParser.Field.OBSERVATION));
+        assertEquals(1, parser.getCompletedActionCount());
+    }
+
+    @Test
+    public void testUnlabelledLinesOutsideFieldsAreIgnored() {
+        ReactStepParser parser = new ReactStepParser();
+        parser.feed("好的，我来回答。\nStep 2:\n思考：继续\n行动：think\n多余的一行\n", null);
+        parser.finish(null);
+
+        assertEquals("继续", parser.get(ReactStepParser.Field.THOUGHT));
+        // 行动名只取一行
+        assertEquals("think", parser.getActions().get(0).getName());
+        assertEquals(1, parser.getActions().size());
+        assertFalse(parser.has(ReactStepParser.Field.OBSERVATION));
+    }
+}
@@ -1,79 +1,149 @@
 package com.skyeai.jarvis.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyeai.jarvis.vector.VectorCollection;
+import com.skyeai.jarvis.vector.VectorMath;
+import com.skyeai.jarvis.vector.VectorMetric;
+import com.skyeai.jarvis.vector.VectorSearchResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * 向量服务类，用于处理向量数据库相关操作
- * 注意：当前使用内存存储作为Qdrant向量数据库的占位符实现
+ * 注意：当前使用进程内HNSW索引作为Qdrant向量数据库的替代实现，
+ * 配置 vector.storage.path 后向量以内存映射段文件持久化，重启时后台重建索引
  */
 @Service
 public class VectorService {
 
     private static final String CHAT_HISTORY_COLLECTION = "chat_history";
     private static final String USER_PREFERENCE_COLLECTION = "user_preference";
-    
-    // 内存存储作为占位符
-    private final Map<String, List<Map<String, Object>>> collections;
 
-    public VectorService() {
-        this.collections = new HashMap<>();
-        initCollections();
-    }
+    // HNSW索引参数
+    private static final int HNSW_M = 16;
+    private static final int HNSW_EF_CONSTRUCTION = 200;
+    private static final int HNSW_EF_SEARCH = 64;
+
+    // 向量存储目录，为空时仅保存在内存中
+    @Value("${vector.storage.path:}")
+    private String storagePath;
+
+    // 每个段文件容纳 2^segmentBits 个向量
+    @Value("${vector.storage.segment-bits:16}")
+    private int segmentBits;
+
+    // 向量和点日志的刷盘间隔：0 为每次写入后刷盘，大于0 为按间隔批量刷盘，小于0 为交给操作系统
+    @Value("${vector.storage.sync-interval-ms:200}")
+    private long syncIntervalMs;
+
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
+    // 集合名 -> 向量集合
+    private final Map<String, VectorCollection> collections = new ConcurrentHashMap<>();
 
     /**
      * 初始化向量集合
      */
-    private void initCollections() {
+    @PostConstruct
+    public void initCollections() throws IOException {
+        if (objectMapper == null) {
+            objectMapper = new ObjectMapper();
+        }
+        // 启动时未带 --add-modules jdk.incubator.vector 会静默退化为标量实现，这里明确输出实际使用的实现
+        System.out.println("Vector kernel: " + VectorMath.kernelName());
+
         // 初始化聊天历史集合
-        collections.put(CHAT_HISTORY_COLLECTION, new ArrayList<>());
-        
+        collections.put(CHAT_HISTORY_COLLECTION, createCollection(CHAT_HISTORY_COLLECTION));
+
         // 初始化用户偏好集合
-        collections.put(USER_PREFERENCE_COLLECTION, new ArrayList<>());
+        collections.put(USER_PREFERENCE_COLLECTION, createCollection(USER_PREFERENCE_COLLECTION));
+    }
+
+    /**
+     * 关闭集合，刷写段文件与日志
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        for (VectorCollection collection : collections.values()) {
+            collection.close();
+        }
+        collections.clear();
+    }
+
+    private VectorCollection createCollection(String name) throws IOException {
+        if (storagePath == null || storagePath.isBlank()) {
+            return VectorCollection.inMemory(name, VectorMetric.COSINE, HNSW_M, HNSW_EF_CONSTRUCTION, HNSW_EF_SEARCH);
+        }
+        Path directory = Paths.get(storagePath, name);
+        return VectorCollection.open(name, directory, objectMapper, VectorMetric.COSINE,
+                HNSW_M, HNSW_EF_CONSTRUCTION, HNSW_EF_SEARCH, segmentBits, syncIntervalMs);
+    }
+
+    /**
+     * 添加聊天历史向量
+     * @return 向量点ID（即文档ID，重复写入会覆盖）
+     */
+    public String addChatHistoryVector(String documentId, List<Double> vector, Map<String, Object> payload) {
+        return addChatHistoryVector(documentId, toFloatArray(vector), payload);
     }
 
     /**
      * 添加聊天历史向量
      */
-    public void addChatHistoryVector(String documentId, List<Double> vector, Map<String, Object> payload) {
+    public String addChatHistoryVector(String documentId, float[] vector, Map<String, Object> payload) {
         try {
-            // 创建点结构
-            Map<String, Object> point = new HashMap<>();
-            point.put("id", UUID.randomUUID().toString());
-            point.put("vector", vector);
-            point.put("payload", payload);
-            
-            // 添加到内存集合
-            collections.get(CHAT_HISTORY_COLLECTION).add(point);
-            
-            // 打印日志，模拟向量存储操作
-            System.out.println("Added chat history vector to in-memory storage");
+            collections.get(CHAT_HISTORY_COLLECTION).add(documentId, vector, payload);
+            return documentId;
         } catch (Exception e) {
             throw new RuntimeException("Failed to add chat history vector", e);
         }
     }
 
+    /**
+     * 批量添加聊天历史向量，三个列表按下标一一对应
+     */
+    public void addChatHistoryVectors(List<String> documentIds, List<float[]> vectors, List<Map<String, Object>> payloads) {
+        try {
+            VectorCollection collection = collections.get(CHAT_HISTORY_COLLECTION);
+            for (int i = 0; i < documentIds.size(); i++) {
+                collection.add(documentIds.get(i), vectors.get(i), payloads.get(i));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to add chat history vectors", e);
+        }
+    }
+
     /**
      * 添加用户偏好向量
+     * @return 向量点ID（用户ID与偏好键组合，同一偏好重复写入会覆盖）
      */
-    public void addUserPreferenceVector(String userId, String preferenceKey, List<Double> vector, Map<String, Object> payload) {
+    public String addUserPreferenceVector(String userId, String preferenceKey, List<Double> vector, Map<String, Object> payload) {
+        return addUserPreferenceVector(userId, preferenceKey, toFloatArray(vector), payload);
+    }
+
+    /**
+     * 添加用户偏好向量
+     */
+    public String addUserPreferenceVector(String userId, String preferenceKey, float[] vector, Map<String, Object> payload) {
         try {
-            // 创建点结构
-            Map<String, Object> point = new HashMap<>();
-            point.put("id", UUID.randomUUID().toString());
-            point.put("vector", vector);
-            point.put("payload", payload);
-            
-            // 添加到内存集合
-            collections.get(USER_PREFERENCE_COLLECTION).add(point);
-            
-            // 打印日志，模拟向量存储操作
-            System.out.println("Added user preference vector to in-memory storage");
+            String pointId = userId + ":" + preferenceKey;
+            collections.get(USER_PREFERENCE_COLLECTION).add(pointId, vector, payload);
+            return pointId;
         } catch (Exception e) {
             throw new RuntimeException("Failed to add user preference vector", e);
         }
@@ -81,40 +151,18 @@ public class VectorService {
 
     /**
      * 搜索相似的聊天历史
+     * @return 按相似度降序排列的结果，每项包含id、score和payload
      */
     public List<Map<String, Object>> searchSimilarChatHistory(List<Double> queryVector, int limit, Map<String, Object> filter) {
+        return searchSimilarChatHistory(toFloatArray(queryVector), limit, filter);
+    }
+
+    /**
+     * 搜索相似的聊天历史
+     */
+    public List<Map<String, Object>> searchSimilarChatHistory(float[] queryVector, int limit, Map<String, Object> filter) {
         try {
-            // 从内存集合中获取数据
-            List<Map<String, Object>> points = collections.get(CHAT_HISTORY_COLLECTION);
-            List<Map<String, Object>> results = new ArrayList<>();
-            
-            // 简单过滤和限制结果数量
-            int count = 0;
-            for (Map<String, Object> point : points) {
-                if (count >= limit) break;
-                
-                // 简单过滤逻辑
-                if (filter != null) {
-                    Map<String, Object> payload = (Map<String, Object>) point.get("payload");
-                    boolean match = true;
-                    for (Map.Entry<String, Object> entry : filter.entrySet()) {
-                        if (!payload.containsKey(entry.getKey()) || !payload.get(entry.getKey()).equals(entry.getValue())) {
-                            match = false;
-                            break;
-                        }
-                    }
-                    if (!match) continue;
-                }
-                
-                // 添加到结果中
-                results.add(point);
-                count++;
-            }
-            
-            // 打印日志，模拟向量搜索操作
-            System.out.println("Searched similar chat history in in-memory storage");
-            
-            return results;
+            return search(CHAT_HISTORY_COLLECTION, queryVector, limit, filter);
         } catch (Exception e) {
             throw new RuntimeException("Failed to search similar chat history", e);
         }
@@ -122,40 +170,18 @@ public class VectorService {
 
     /**
      * 搜索相似的用户偏好
+     * @return 按相似度降序排列的结果，每项包含id、score和payload
      */
     public List<Map<String, Object>> searchSimilarUserPreference(List<Double> queryVector, int limit, Map<String, Object> filter) {
+        return searchSimilarUserPreference(toFloatArray(queryVector), limit, filter);
+    }
+
+    /**
+     * 搜索相似的用户偏好
+     */
+    public List<Map<String, Object>> searchSimilarUserPreference(float[] queryVector, int limit, Map<String, Object> filter) {
         try {
-            // 从内存集合中获取数据
-            List<Map<String, Object>> points = collections.get(USER_PREFERENCE_COLLECTION);
-            List<Map<String, Object>> results = new ArrayList<>();
-            
-            // 简单过滤和限制结果数量
-            int count = 0;
-            for (Map<String, Object> point : points) {
-                if (count >= limit) break;
-                
-                // 简单过滤逻辑
-                if (filter != null) {
-                    Map<String, Object> payload = (Map<String, Object>) point.get("payload");
-                    boolean match = true;
-                    for (Map.Entry<String, Object> entry : filter.entrySet()) {
-                        if (!payload.containsKey(entry.getKey()) || !payload.get(entry.getKey()).equals(entry.getValue())) {
-                            match = false;
-                            break;
-                        }
-                    }
-                    if (!match) continue;
-                }
-                
-                // 添加到结果中
-                results.add(point);
-                count++;
-            }
-            
-            // 打印日志，模拟向量搜索操作
-            System.out.println("Searched similar user preference in in-memory storage");
-            
-            return results;
+            return search(USER_PREFERENCE_COLLECTION, queryVector, limit, filter);
         } catch (Exception e) {
             throw new RuntimeException("Failed to search similar user preference", e);
         }
@@ -166,12 +192,7 @@ public class VectorService {
      */
     public void deleteChatHistoryVector(String pointId) {
         try {
-            // 从内存集合中删除数据
-            List<Map<String, Object>> points = collections.get(CHAT_HISTORY_COLLECTION);
-            points.removeIf(point -> point.get("id").equals(pointId));
-            
-            // 打印日志，模拟向量删除操作
-            System.out.println("Deleted chat history vector from in-memory storage");
+            collections.get(CHAT_HISTORY_COLLECTION).delete(pointId);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete chat history vector", e);
         }
@@ -182,12 +203,7 @@ public class VectorService {
      */
     public void deleteUserPreferenceVector(String pointId) {
         try {
-            // 从内存集合中删除数据
-            List<Map<String, Object>> points = collections.get(USER_PREFERENCE_COLLECTION);
-            points.removeIf(point -> point.get("id").equals(pointId));
-            
-            // 打印日志，模拟向量删除操作
-            System.out.println("Deleted user preference vector from in-memory storage");
+            collections.get(USER_PREFERENCE_COLLECTION).delete(pointId);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete user preference vector", e);
         }
@@ -198,18 +214,75 @@ public class VectorService {
      */
     public Map<String, Object> getCollectionInfo(String collectionName) {
         try {
-            // 从内存集合中获取统计信息
-            List<Map<String, Object>> points = collections.get(collectionName);
+            VectorCollection collection = collections.get(collectionName);
             Map<String, Object> info = new HashMap<>();
             info.put("collection_name", collectionName);
-            info.put("point_count", points != null ? points.size() : 0);
-            
-            // 打印日志，模拟获取集合信息操作
-            System.out.println("Got collection info from in-memory storage");
-            
+            if (collection == null) {
+                info.put("point_count", 0);
+                return info;
+            }
+            info.putAll(collection.stats());
             return info;
         } catch (Exception e) {
             throw new RuntimeException("Failed to get collection info", e);
         }
     }
+
+    private List<Map<String, Object>> search(String collectionName, float[] queryVector, int limit, Map<String, Object> filter) {
+        List<VectorSearchResult> hits = collections.get(collectionName).search(queryVector, limit, toPredicate(filter));
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (VectorSearchResult hit : hits) {
+            Map<String, Object> point = new HashMap<>();
+            point.put("id", hit.getId());
+            point.put("score", hit.getScore());
+            point.put("payload", hit.getPayload());
+            results.add(point);
+        }
+        return results;
+    }
+
+    /**
+     * 将等值过滤条件转换为payload断言
+     */
+    static Predicate<Map<String, Object>> toPredicate(Map<String, Object> filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        return payload -> {
+            if (payload == null) {
+                return false;
+            }
+            for (Map.Entry<String, Object> entry : filter.entrySet()) {
+                if (!payload.containsKey(entry.getKey()) || !valueEquals(payload.get(entry.getKey()), entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * 数值按值比较：payload经JSON重放后Long可能变为Integer，Double也可能与整数条件比较
+     */
+    private static boolean valueEquals(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return a.longValue() == b.longValue();
+            }
+            return Double.compare(a.doubleValue(), b.doubleValue()) == 0;
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private float[] toFloatArray(List<Double> vector) {
+        float[] result = new float[vector.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = vector.get(i).floatValue();
+        }
+        return result;
+    }
 }
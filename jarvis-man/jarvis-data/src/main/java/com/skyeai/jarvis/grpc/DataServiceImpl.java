@@ -3,12 +3,16 @@ package com.skyeai.jarvis.grpc;
 import com.skyeai.jarvis.model.*;
 import com.skyeai.jarvis.protobuf.*;
 import com.skyeai.jarvis.service.*;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +30,12 @@ public class DataServiceImpl extends DataServiceGrpc.DataServiceImplBase {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    // 分页读取的默认与最大页大小
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_EXPORT_PAGE_SIZE = 500;
+    private static final int MAX_EXPORT_PAGE_SIZE = 1000;
+
     @Autowired
     public DataServiceImpl(ChatHistoryService chatHistoryService, 
                           StockPriceService stockPriceService, 
@@ -42,24 +52,12 @@ public class DataServiceImpl extends DataServiceGrpc.DataServiceImplBase {
     // 聊天历史相关方法
     @Override
     public void saveChatHistory(SaveChatHistoryRequest request, StreamObserver<SaveChatHistoryResponse> responseObserver) {
-        ChatHistory chatHistory = new ChatHistory();
-        chatHistory.setUserId(request.getUserId());
-        chatHistory.setContent(request.getContent());
-        chatHistory.setRole(request.getRole());
-        chatHistory.setSessionId(request.getSessionId());
-        chatHistory.setCreatedAt(LocalDateTime.now());
-        
-        // 添加多模态字段
-        if (!request.getContentType().isEmpty()) {
-            chatHistory.setContentType(request.getContentType());
-        } else {
-            chatHistory.setContentType("text");
-        }
-        if (!request.getMediaUrl().isEmpty()) {
-            chatHistory.setMediaUrl(request.getMediaUrl());
-        }
-        if (!request.getMetadata().isEmpty()) {
-            chatHistory.setMetadata(request.getMetadata());
+        ChatHistory chatHistory;
+        try {
+            chatHistory = convertToChatHistory(request);
+        } catch (DateTimeParseException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Invalid created_at: " + e.getParsedString()).asRuntimeException());
+            return;
         }
 
         ChatHistory saved = chatHistoryService.saveChatHistory(chatHistory);
@@ -80,6 +78,66 @@ public class DataServiceImpl extends DataServiceGrpc.DataServiceImplBase {
         responseObserver.onCompleted();
     }
 
+    @Override
+    public void saveChatHistoryBatch(SaveChatHistoryBatchRequest request, StreamObserver<SaveChatHistoryBatchResponse> responseObserver) {
+        List<ChatHistory> chatHistories = new ArrayList<>(request.getChatHistoriesCount());
+        try {
+            for (SaveChatHistoryRequest item : request.getChatHistoriesList()) {
+                chatHistories.add(convertToChatHistory(item));
+            }
+        } catch (DateTimeParseException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Invalid created_at: " + e.getParsedString()).asRuntimeException());
+            return;
+        }
+
+        List<ChatHistory> saved = chatHistoryService.saveChatHistoryBatch(chatHistories);
+        SaveChatHistoryBatchResponse.Builder builder = SaveChatHistoryBatchResponse.newBuilder().setSavedCount(saved.size());
+        for (ChatHistory chatHistory : saved) {
+            builder.addIds(chatHistory.getId());
+        }
+        responseObserver.onNext(builder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listChatHistory(ListChatHistoryRequest request, StreamObserver<ListChatHistoryResponse> responseObserver) {
+        int limit = request.getLimit() > 0 ? Math.min(request.getLimit(), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (!request.getPageToken().isEmpty()) {
+            try {
+                int separator = request.getPageToken().lastIndexOf(',');
+                cursorCreatedAt = LocalDateTime.parse(request.getPageToken().substring(0, separator), DATE_TIME_FORMATTER);
+                cursorId = Long.parseLong(request.getPageToken().substring(separator + 1));
+            } catch (RuntimeException e) {
+                responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Invalid page_token").asRuntimeException());
+                return;
+            }
+        }
+
+        List<ChatHistory> page = chatHistoryService.getChatHistoryPage(request.getUserId(), limit, cursorCreatedAt, cursorId);
+        ListChatHistoryResponse.Builder builder = ListChatHistoryResponse.newBuilder();
+        for (ChatHistory chatHistory : page) {
+            builder.addChatHistories(convertToChatHistoryProto(chatHistory));
+        }
+        if (page.size() == limit) {
+            builder.setNextPageToken(pageToken(page.get(page.size() - 1)));
+        }
+        responseObserver.onNext(builder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void exportChatHistory(ExportChatHistoryRequest request, StreamObserver<ExportChatHistoryResponse> responseObserver) {
+        int pageSize = request.getPageSize() > 0 ? Math.min(request.getPageSize(), MAX_EXPORT_PAGE_SIZE) : DEFAULT_EXPORT_PAGE_SIZE;
+        ChatHistoryExport export = new ChatHistoryExport(request.getUserId(), pageSize, responseObserver);
+        if (responseObserver instanceof ServerCallStreamObserver) {
+            // 客户端消费变慢时发送缓冲不再就绪，暂停读库，待 onReady 回调后继续下一页
+            ((ServerCallStreamObserver<ExportChatHistoryResponse>) responseObserver).setOnReadyHandler(export::drain);
+        }
+        export.drain();
+    }
+
     @Override
     public void getChatHistoryBySessionId(GetChatHistoryBySessionIdRequest request, StreamObserver<GetChatHistoryBySessionIdResponse> responseObserver) {
         List<ChatHistory> chatHistories = chatHistoryService.getChatHistoryBySessionId(request.getSessionId());
@@ -201,6 +259,35 @@ public class DataServiceImpl extends DataServiceGrpc.DataServiceImplBase {
         responseObserver.onCompleted();
     }
 
+    @Override
+    public void saveUserPreferencesBatch(SaveUserPreferencesBatchRequest request, StreamObserver<SaveUserPreferencesBatchResponse> responseObserver) {
+        List<UserPreference> preferences = new ArrayList<>(request.getPreferencesCount());
+        for (SaveUserPreferenceRequest item : request.getPreferencesList()) {
+            // 批量接口按外层 user_id 保存，逐条指定其他用户会被静默改写，直接拒绝
+            if (!item.getUserId().isEmpty() && !item.getUserId().equals(request.getUserId())) {
+                responseObserver.onError(Status.INVALID_ARGUMENT
+                        .withDescription("preferences[].user_id must be empty or equal to user_id: " + item.getUserId())
+                        .asRuntimeException());
+                return;
+            }
+            UserPreference userPreference = new UserPreference();
+            userPreference.setUserId(request.getUserId());
+            userPreference.setPreferenceKey(item.getPreferenceKey());
+            userPreference.setValue(item.getValue());
+            userPreference.setPreferenceType(item.getPreferenceType());
+            userPreference.setPriority(item.getPriority());
+            preferences.add(userPreference);
+        }
+
+        List<UserPreference> saved = userPreferenceService.saveUserPreferencesBatch(request.getUserId(), preferences);
+        SaveUserPreferencesBatchResponse.Builder builder = SaveUserPreferencesBatchResponse.newBuilder();
+        for (UserPreference userPreference : saved) {
+            builder.addUserPreferences(convertToUserPreferenceProto(userPreference));
+        }
+        responseObserver.onNext(builder.build());
+        responseObserver.onCompleted();
+    }
+
     @Override
     public void getUserPreferences(GetUserPreferencesRequest request, StreamObserver<GetUserPreferencesResponse> responseObserver) {
         List<UserPreference> userPreferences;
@@ -346,7 +433,90 @@ public class DataServiceImpl extends DataServiceGrpc.DataServiceImplBase {
                 .build();
     }
 
+    private static boolean isCancelled(StreamObserver<?> responseObserver) {
+        return responseObserver instanceof ServerCallStreamObserver
+                && ((ServerCallStreamObserver<?>) responseObserver).isCancelled();
+    }
+
+    private static boolean isReady(StreamObserver<?> responseObserver) {
+        return !(responseObserver instanceof ServerCallStreamObserver)
+                || ((ServerCallStreamObserver<?>) responseObserver).isReady();
+    }
+
+    /**
+     * 聊天历史导出：按 (createdAt, id) 游标逐页读取并推送，服务端内存只保留一页
+     * 只在响应流就绪时读取下一页，不就绪时返回，由 onReady 回调继续
+     */
+    private final class ChatHistoryExport {
+        private final String userId;
+        private final int pageSize;
+        private final StreamObserver<ExportChatHistoryResponse> responseObserver;
+        private LocalDateTime cursorCreatedAt;
+        private Long cursorId;
+        private boolean completed;
+
+        private ChatHistoryExport(String userId, int pageSize, StreamObserver<ExportChatHistoryResponse> responseObserver) {
+            this.userId = userId;
+            this.pageSize = pageSize;
+            this.responseObserver = responseObserver;
+        }
+
+        synchronized void drain() {
+            while (!completed && !isCancelled(responseObserver) && isReady(responseObserver)) {
+                List<ChatHistory> page = chatHistoryService.getChatHistoryPageAscending(
+                        userId, pageSize, cursorCreatedAt, cursorId);
+                if (!page.isEmpty()) {
+                    ExportChatHistoryResponse.Builder builder = ExportChatHistoryResponse.newBuilder();
+                    for (ChatHistory chatHistory : page) {
+                        builder.addChatHistories(convertToChatHistoryProto(chatHistory));
+                    }
+                    responseObserver.onNext(builder.build());
+                }
+                if (page.size() < pageSize) {
+                    completed = true;
+                    responseObserver.onCompleted();
+                    return;
+                }
+                ChatHistory last = page.get(page.size() - 1);
+                cursorCreatedAt = last.getCreatedAt();
+                cursorId = last.getId();
+            }
+        }
+    }
+
+    private String pageToken(ChatHistory chatHistory) {
+        return chatHistory.getCreatedAt().format(DATE_TIME_FORMATTER) + "," + chatHistory.getId();
+    }
+
     // 转换方法：Proto类到实体类
+    private ChatHistory convertToChatHistory(SaveChatHistoryRequest request) {
+        ChatHistory chatHistory = new ChatHistory();
+        chatHistory.setUserId(request.getUserId());
+        chatHistory.setContent(request.getContent());
+        chatHistory.setRole(request.getRole());
+        chatHistory.setSessionId(request.getSessionId());
+        // 对于字符串类型，protobuf默认值是空字符串，所以检查是否为空
+        if (!request.getCreatedAt().isEmpty()) {
+            chatHistory.setCreatedAt(LocalDateTime.parse(request.getCreatedAt(), DATE_TIME_FORMATTER));
+        } else {
+            chatHistory.setCreatedAt(LocalDateTime.now());
+        }
+
+        // 添加多模态字段
+        if (!request.getContentType().isEmpty()) {
+            chatHistory.setContentType(request.getContentType());
+        } else {
+            chatHistory.setContentType("text");
+        }
+        if (!request.getMediaUrl().isEmpty()) {
+            chatHistory.setMediaUrl(request.getMediaUrl());
+        }
+        if (!request.getMetadata().isEmpty()) {
+            chatHistory.setMetadata(request.getMetadata());
+        }
+        return chatHistory;
+    }
+
     private StockPrice convertToStockPrice(StockPriceProto proto) {
         StockPrice stockPrice = new StockPrice();
         // 对于long类型，protobuf默认值是0，所以只有当id大于0时才设置
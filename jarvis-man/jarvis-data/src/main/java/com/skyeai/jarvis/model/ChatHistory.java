@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
  * 聊天历史实体类
  */
 @Entity
-@Table(name = "chat_history")
+@Table(name = "chat_history", indexes = {
+        @Index(name = "idx_chat_history_user_created", columnList = "user_id, created_at, id")
+})
 public class ChatHistory {
 
     @Id
@@ -0,0 +1,68 @@
+package com.skyeai.jarvis.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 聊天历史向量化发件箱实体类
+ * 与聊天历史在同一事务中写入，后台索引器向量化成功后删除
+ */
+@Entity
+@Table(name = "chat_history_vector_outbox")
+public class ChatHistoryVectorOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, name = "chat_history_id")
+    private Long chatHistoryId;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    public ChatHistoryVectorOutbox() {
+    }
+
+    public ChatHistoryVectorOutbox(Long chatHistoryId, LocalDateTime createdAt) {
+        this.chatHistoryId = chatHistoryId;
+        this.createdAt = createdAt;
+    }
+
+    // Getter and Setter methods
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getChatHistoryId() {
+        return chatHistoryId;
+    }
+
+    public void setChatHistoryId(Long chatHistoryId) {
+        this.chatHistoryId = chatHistoryId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -669,6 +669,130 @@ public final class DataServiceGrpc {
     return getSearchSimilarUserPreferencesMethod;
   }
 
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> getSaveChatHistoryBatchMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "SaveChatHistoryBatch",
+      requestType = com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> getSaveChatHistoryBatchMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest, com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> getSaveChatHistoryBatchMethod;
+    if ((getSaveChatHistoryBatchMethod = DataServiceGrpc.getSaveChatHistoryBatchMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getSaveChatHistoryBatchMethod = DataServiceGrpc.getSaveChatHistoryBatchMethod) == null) {
+          DataServiceGrpc.getSaveChatHistoryBatchMethod = getSaveChatHistoryBatchMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest, com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "SaveChatHistoryBatch"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("SaveChatHistoryBatch"))
+              .build();
+        }
+      }
+    }
+    return getSaveChatHistoryBatchMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> getSaveUserPreferencesBatchMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "SaveUserPreferencesBatch",
+      requestType = com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> getSaveUserPreferencesBatchMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest, com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> getSaveUserPreferencesBatchMethod;
+    if ((getSaveUserPreferencesBatchMethod = DataServiceGrpc.getSaveUserPreferencesBatchMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getSaveUserPreferencesBatchMethod = DataServiceGrpc.getSaveUserPreferencesBatchMethod) == null) {
+          DataServiceGrpc.getSaveUserPreferencesBatchMethod = getSaveUserPreferencesBatchMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest, com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "SaveUserPreferencesBatch"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("SaveUserPreferencesBatch"))
+              .build();
+        }
+      }
+    }
+    return getSaveUserPreferencesBatchMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ListChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ListChatHistoryResponse> getListChatHistoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "ListChatHistory",
+      requestType = com.skyeai.jarvis.protobuf.ListChatHistoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.ListChatHistoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ListChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ListChatHistoryResponse> getListChatHistoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ListChatHistoryRequest, com.skyeai.jarvis.protobuf.ListChatHistoryResponse> getListChatHistoryMethod;
+    if ((getListChatHistoryMethod = DataServiceGrpc.getListChatHistoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getListChatHistoryMethod = DataServiceGrpc.getListChatHistoryMethod) == null) {
+          DataServiceGrpc.getListChatHistoryMethod = getListChatHistoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.ListChatHistoryRequest, com.skyeai.jarvis.protobuf.ListChatHistoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "ListChatHistory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ListChatHistoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ListChatHistoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("ListChatHistory"))
+              .build();
+        }
+      }
+    }
+    return getListChatHistoryMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> getExportChatHistoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "ExportChatHistory",
+      requestType = com.skyeai.jarvis.protobuf.ExportChatHistoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.ExportChatHistoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> getExportChatHistoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest, com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> getExportChatHistoryMethod;
+    if ((getExportChatHistoryMethod = DataServiceGrpc.getExportChatHistoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getExportChatHistoryMethod = DataServiceGrpc.getExportChatHistoryMethod) == null) {
+          DataServiceGrpc.getExportChatHistoryMethod = getExportChatHistoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest, com.skyeai.jarvis.protobuf.ExportChatHistoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "ExportChatHistory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ExportChatHistoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ExportChatHistoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("ExportChatHistory"))
+              .build();
+        }
+      }
+    }
+    return getExportChatHistoryMethod;
+  }
+
   /**
    * Creates a new async stub that supports all call types for the service
    */
@@ -887,6 +1011,37 @@ public final class DataServiceGrpc {
         io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> responseObserver) {
       io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSearchSimilarUserPreferencesMethod(), responseObserver);
     }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    default void saveChatHistoryBatch(com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSaveChatHistoryBatchMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void saveUserPreferencesBatch(com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSaveUserPreferencesBatchMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void listChatHistory(com.skyeai.jarvis.protobuf.ListChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ListChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getListChatHistoryMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void exportChatHistory(com.skyeai.jarvis.protobuf.ExportChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getExportChatHistoryMethod(), responseObserver);
+    }
   }
 
   /**
@@ -1110,6 +1265,41 @@ public final class DataServiceGrpc {
       io.grpc.stub.ClientCalls.asyncUnaryCall(
           getChannel().newCall(getSearchSimilarUserPreferencesMethod(), getCallOptions()), request, responseObserver);
     }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    public void saveChatHistoryBatch(com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getSaveChatHistoryBatchMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void saveUserPreferencesBatch(com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getSaveUserPreferencesBatchMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void listChatHistory(com.skyeai.jarvis.protobuf.ListChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ListChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getListChatHistoryMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void exportChatHistory(com.skyeai.jarvis.protobuf.ExportChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncServerStreamingCall(
+          getChannel().newCall(getExportChatHistoryMethod(), getCallOptions()), request, responseObserver);
+    }
   }
 
   /**
@@ -1298,6 +1488,38 @@ public final class DataServiceGrpc {
       return io.grpc.stub.ClientCalls.blockingUnaryCall(
           getChannel(), getSearchSimilarUserPreferencesMethod(), getCallOptions(), request);
     }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    public com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse saveChatHistoryBatch(com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getSaveChatHistoryBatchMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse saveUserPreferencesBatch(com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getSaveUserPreferencesBatchMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.ListChatHistoryResponse listChatHistory(com.skyeai.jarvis.protobuf.ListChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getListChatHistoryMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public java.util.Iterator<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> exportChatHistory(
+        com.skyeai.jarvis.protobuf.ExportChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingServerStreamingCall(
+          getChannel(), getExportChatHistoryMethod(), getCallOptions(), request);
+    }
   }
 
   /**
@@ -1507,6 +1729,33 @@ public final class DataServiceGrpc {
       return io.grpc.stub.ClientCalls.futureUnaryCall(
           getChannel().newCall(getSearchSimilarUserPreferencesMethod(), getCallOptions()), request);
     }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> saveChatHistoryBatch(
+        com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getSaveChatHistoryBatchMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> saveUserPreferencesBatch(
+        com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getSaveUserPreferencesBatchMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.ListChatHistoryResponse> listChatHistory(
+        com.skyeai.jarvis.protobuf.ListChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getListChatHistoryMethod(), getCallOptions()), request);
+    }
   }
 
   private static final int METHODID_SAVE_CHAT_HISTORY = 0;
@@ -1530,6 +1779,10 @@ public final class DataServiceGrpc {
   private static final int METHODID_GET_RECENT_INTERACTIONS = 18;
   private static final int METHODID_SEARCH_SIMILAR_CHAT_HISTORY = 19;
   private static final int METHODID_SEARCH_SIMILAR_USER_PREFERENCES = 20;
+  private static final int METHODID_SAVE_CHAT_HISTORY_BATCH = 21;
+  private static final int METHODID_SAVE_USER_PREFERENCES_BATCH = 22;
+  private static final int METHODID_LIST_CHAT_HISTORY = 23;
+  private static final int METHODID_EXPORT_CHAT_HISTORY = 24;
 
   private static final class MethodHandlers<Req, Resp> implements
       io.grpc.stub.ServerCalls.UnaryMethod<Req, Resp>,
@@ -1632,6 +1885,22 @@ public final class DataServiceGrpc {
           serviceImpl.searchSimilarUserPreferences((com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest) request,
               (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse>) responseObserver);
           break;
+        case METHODID_SAVE_CHAT_HISTORY_BATCH:
+          serviceImpl.saveChatHistoryBatch((com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse>) responseObserver);
+          break;
+        case METHODID_SAVE_USER_PREFERENCES_BATCH:
+          serviceImpl.saveUserPreferencesBatch((com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse>) responseObserver);
+          break;
+        case METHODID_LIST_CHAT_HISTORY:
+          serviceImpl.listChatHistory((com.skyeai.jarvis.protobuf.ListChatHistoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ListChatHistoryResponse>) responseObserver);
+          break;
+        case METHODID_EXPORT_CHAT_HISTORY:
+          serviceImpl.exportChatHistory((com.skyeai.jarvis.protobuf.ExportChatHistoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse>) responseObserver);
+          break;
         default:
           throw new AssertionError();
       }
@@ -1797,6 +2066,34 @@ public final class DataServiceGrpc {
               com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest,
               com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse>(
                 service, METHODID_SEARCH_SIMILAR_USER_PREFERENCES)))
+        .addMethod(
+          getSaveChatHistoryBatchMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest,
+              com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse>(
+                service, METHODID_SAVE_CHAT_HISTORY_BATCH)))
+        .addMethod(
+          getSaveUserPreferencesBatchMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest,
+              com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse>(
+                service, METHODID_SAVE_USER_PREFERENCES_BATCH)))
+        .addMethod(
+          getListChatHistoryMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.ListChatHistoryRequest,
+              com.skyeai.jarvis.protobuf.ListChatHistoryResponse>(
+                service, METHODID_LIST_CHAT_HISTORY)))
+        .addMethod(
+          getExportChatHistoryMethod(),
+          io.grpc.stub.ServerCalls.asyncServerStreamingCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.ExportChatHistoryRequest,
+              com.skyeai.jarvis.protobuf.ExportChatHistoryResponse>(
+                service, METHODID_EXPORT_CHAT_HISTORY)))
         .build();
   }
 
@@ -1866,6 +2163,10 @@ public final class DataServiceGrpc {
               .addMethod(getGetRecentInteractionsMethod())
               .addMethod(getSearchSimilarChatHistoryMethod())
               .addMethod(getSearchSimilarUserPreferencesMethod())
+              .addMethod(getSaveChatHistoryBatchMethod())
+              .addMethod(getSaveUserPreferencesBatchMethod())
+              .addMethod(getListChatHistoryMethod())
+              .addMethod(getExportChatHistoryMethod())
               .build();
         }
       }
@@ -189,6 +189,46 @@ public final class DataServiceProto {
   static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_com_skyeai_jarvis_DeleteUserPreferenceResponse_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_SaveChatHistoryBatchRequest_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_SaveChatHistoryBatchRequest_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_SaveChatHistoryBatchResponse_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_SaveChatHistoryBatchResponse_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchRequest_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchRequest_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchResponse_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchResponse_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_ListChatHistoryRequest_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_ListChatHistoryRequest_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_ListChatHistoryResponse_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_ListChatHistoryResponse_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_ExportChatHistoryRequest_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_ExportChatHistoryRequest_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_skyeai_jarvis_ExportChatHistoryResponse_descriptor;
+  static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_com_skyeai_jarvis_ExportChatHistoryResponse_fieldAccessorTable;
   static final com.google.protobuf.Descriptors.Descriptor
     internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryRequest_descriptor;
   static final 
@@ -282,157 +322,187 @@ public final class DataServiceProto {
       "\022\026\n\016preference_key\030\003 \001(\t\022\r\n\005value\030\004 \001(\t\022" +
       "\022\n\ncreated_at\030\005 \001(\t\022\022\n\nupdated_at\030\006 \001(\t\022" +
       "\027\n\017preference_type\030\007 \001(\t\022\020\n\010priority\030\010 \001" +
-      "(\005\"\227\001\n\026SaveChatHistoryRequest\022\017\n\007user_id" +
+      "(\005\"\253\001\n\026SaveChatHistoryRequest\022\017\n\007user_id" +
       "\030\001 \001(\t\022\017\n\007content\030\002 \001(\t\022\014\n\004role\030\003 \001(\t\022\022\n" +
       "\nsession_id\030\004 \001(\t\022\024\n\014content_type\030\005 \001(\t\022" +
-      "\021\n\tmedia_url\030\006 \001(\t\022\020\n\010metadata\030\007 \001(\t\"T\n\027" +
-      "SaveChatHistoryResponse\0229\n\014chat_history\030" +
-      "\001 \001(\0132#.com.skyeai.jarvis.ChatHistoryPro" +
-      "to\".\n\033GetRecentChatHistoryRequest\022\017\n\007use" +
-      "r_id\030\001 \001(\t\"[\n\034GetRecentChatHistoryRespon" +
-      "se\022;\n\016chat_histories\030\001 \003(\0132#.com.skyeai." +
-      "jarvis.ChatHistoryProto\"6\n GetChatHistor" +
-      "yBySessionIdRequest\022\022\n\nsession_id\030\001 \001(\t\"" +
-      "`\n!GetChatHistoryBySessionIdResponse\022;\n\016" +
-      "chat_histories\030\001 \003(\0132#.com.skyeai.jarvis" +
-      ".ChatHistoryProto\"3\n ExtractKeyInfoFromC" +
-      "ontextRequest\022\017\n\007user_id\030\001 \001(\t\"5\n!Extrac" +
-      "tKeyInfoFromContextResponse\022\020\n\010key_info\030" +
-      "\001 \001(\t\"P\n\025SaveStockPriceRequest\0227\n\013stock_" +
-      "price\030\001 \001(\0132\".com.skyeai.jarvis.StockPri" +
-      "ceProto\"Q\n\026SaveStockPriceResponse\0227\n\013sto" +
-      "ck_price\030\001 \001(\0132\".com.skyeai.jarvis.Stock" +
-      "PriceProto\":\n\"GetRecentStockPriceBySymbo" +
-      "lRequest\022\024\n\014stock_symbol\030\001 \001(\t\"^\n#GetRec" +
-      "entStockPriceBySymbolResponse\0227\n\013stock_p" +
-      "rice\030\001 \001(\0132\".com.skyeai.jarvis.StockPric" +
-      "eProto\"`\n\032SavePriceChangeInfoRequest\022B\n\021" +
-      "price_change_info\030\001 \001(\0132\'.com.skyeai.jar" +
-      "vis.PriceChangeInfoProto\"a\n\033SavePriceCha" +
-      "ngeInfoResponse\022B\n\021price_change_info\030\001 \001" +
-      "(\0132\'.com.skyeai.jarvis.PriceChangeInfoPr" +
-      "oto\"F\n\037GetRecentPriceChangeInfoRequest\022\024" +
-      "\n\014stock_symbol\030\001 \001(\t\022\r\n\005limit\030\002 \001(\005\"g\n G" +
-      "etRecentPriceChangeInfoResponse\022C\n\022price" +
-      "_change_infos\030\001 \003(\0132\'.com.skyeai.jarvis." +
-      "PriceChangeInfoProto\"Y\n\030SaveScheduleEven" +
-      "tRequest\022=\n\016schedule_event\030\001 \001(\0132%.com.s" +
-      "kyeai.jarvis.ScheduleEventProto\"Z\n\031SaveS" +
-      "cheduleEventResponse\022=\n\016schedule_event\030\001" +
-      " \001(\0132%.com.skyeai.jarvis.ScheduleEventPr" +
-      "oto\"#\n!GetAllActiveScheduleEventsRequest" +
-      "\"d\n\"GetAllActiveScheduleEventsResponse\022>" +
-      "\n\017schedule_events\030\001 \003(\0132%.com.skyeai.jar" +
-      "vis.ScheduleEventProto\"[\n\032UpdateSchedule" +
-      "EventRequest\022=\n\016schedule_event\030\001 \001(\0132%.c" +
-      "om.skyeai.jarvis.ScheduleEventProto\".\n\033U" +
-      "pdateScheduleEventResponse\022\017\n\007success\030\001 " +
-      "\001(\010\"(\n\032DeleteScheduleEventRequest\022\n\n\002id\030" +
-      "\001 \001(\003\".\n\033DeleteScheduleEventResponse\022\017\n\007" +
-      "success\030\001 \001(\010\"~\n\031SaveUserPreferenceReque" +
-      "st\022\017\n\007user_id\030\001 \001(\t\022\026\n\016preference_key\030\002 " +
-      "\001(\t\022\r\n\005value\030\003 \001(\t\022\027\n\017preference_type\030\004 " +
-      "\001(\t\022\020\n\010priority\030\005 \001(\005\"]\n\032SaveUserPrefere" +
-      "nceResponse\022?\n\017user_preference\030\001 \001(\0132&.c" +
-      "om.skyeai.jarvis.UserPreferenceProto\"D\n\031" +
-      "GetUserPreferencesRequest\022\017\n\007user_id\030\001 \001" +
-      "(\t\022\026\n\016preference_key\030\002 \001(\t\"^\n\032GetUserPre" +
-      "ferencesResponse\022@\n\020user_preferences\030\001 \003" +
-      "(\0132&.com.skyeai.jarvis.UserPreferencePro" +
-      "to\"F\n\033DeleteUserPreferenceRequest\022\017\n\007use" +
-      "r_id\030\001 \001(\t\022\026\n\016preference_key\030\002 \001(\t\"/\n\034De" +
-      "leteUserPreferenceResponse\022\017\n\007success\030\001 " +
-      "\001(\010\"P\n\037SearchSimilarChatHistoryRequest\022\r" +
-      "\n\005query\030\001 \001(\t\022\017\n\007user_id\030\002 \001(\t\022\r\n\005limit\030" +
-      "\003 \001(\005\"_\n SearchSimilarChatHistoryRespons" +
-      "e\022;\n\016chat_histories\030\001 \003(\0132#.com.skyeai.j" +
-      "arvis.ChatHistoryProto\"T\n#SearchSimilarU" +
-      "serPreferencesRequest\022\r\n\005query\030\001 \001(\t\022\017\n\007" +
-      "user_id\030\002 \001(\t\022\r\n\005limit\030\003 \001(\005\"h\n$SearchSi" +
-      "milarUserPreferencesResponse\022@\n\020user_pre" +
-      "ferences\030\001 \003(\0132&.com.skyeai.jarvis.UserP" +
-      "referenceProto\".\n\036CleanExpiredChatHistor" +
-      "yRequest\022\014\n\004days\030\001 \001(\005\"H\n\037CleanExpiredCh" +
-      "atHistoryResponse\022\017\n\007success\030\001 \001(\010\022\024\n\014de" +
-      "letedCount\030\002 \001(\005\")\n\026ResetUserMemoryReque" +
-      "st\022\017\n\007user_id\030\001 \001(\t\"*\n\027ResetUserMemoryRe" +
-      "sponse\022\017\n\007success\030\001 \001(\010\"K\n\037GetUserPrefer" +
-      "encesByTypeRequest\022\017\n\007user_id\030\001 \001(\t\022\027\n\017p" +
-      "reference_type\030\002 \001(\t\"d\n GetUserPreferenc" +
-      "esByTypeResponse\022@\n\020user_preferences\030\001 \003" +
-      "(\0132&.com.skyeai.jarvis.UserPreferencePro" +
-      "to\">\n\034GetRecentInteractionsRequest\022\017\n\007us" +
-      "er_id\030\001 \001(\t\022\r\n\005hours\030\002 \001(\005\"\\\n\035GetRecentI" +
-      "nteractionsResponse\022;\n\016chat_histories\030\001 " +
-      "\003(\0132#.com.skyeai.jarvis.ChatHistoryProto" +
-      "2\302\024\n\013DataService\022h\n\017SaveChatHistory\022).co" +
-      "m.skyeai.jarvis.SaveChatHistoryRequest\032*" +
-      ".com.skyeai.jarvis.SaveChatHistoryRespon" +
-      "se\022w\n\024GetRecentChatHistory\022..com.skyeai." +
-      "jarvis.GetRecentChatHistoryRequest\032/.com" +
-      ".skyeai.jarvis.GetRecentChatHistoryRespo" +
-      "nse\022\206\001\n\031GetChatHistoryBySessionId\0223.com." +
-      "skyeai.jarvis.GetChatHistoryBySessionIdR" +
-      "equest\0324.com.skyeai.jarvis.GetChatHistor" +
-      "yBySessionIdResponse\022\206\001\n\031ExtractKeyInfoF" +
-      "romContext\0223.com.skyeai.jarvis.ExtractKe" +
-      "yInfoFromContextRequest\0324.com.skyeai.jar" +
-      "vis.ExtractKeyInfoFromContextResponse\022e\n" +
-      "\016SaveStockPrice\022(.com.skyeai.jarvis.Save" +
-      "StockPriceRequest\032).com.skyeai.jarvis.Sa" +
-      "veStockPriceResponse\022\214\001\n\033GetRecentStockP" +
-      "riceBySymbol\0225.com.skyeai.jarvis.GetRece" +
-      "ntStockPriceBySymbolRequest\0326.com.skyeai" +
-      ".jarvis.GetRecentStockPriceBySymbolRespo" +
-      "nse\022t\n\023SavePriceChangeInfo\022-.com.skyeai." +
-      "jarvis.SavePriceChangeInfoRequest\032..com." +
-      "skyeai.jarvis.SavePriceChangeInfoRespons" +
-      "e\022\203\001\n\030GetRecentPriceChangeInfo\0222.com.sky" +
-      "eai.jarvis.GetRecentPriceChangeInfoReque" +
-      "st\0323.com.skyeai.jarvis.GetRecentPriceCha" +
-      "ngeInfoResponse\022n\n\021SaveScheduleEvent\022+.c" +
-      "om.skyeai.jarvis.SaveScheduleEventReques" +
-      "t\032,.com.skyeai.jarvis.SaveScheduleEventR" +
-      "esponse\022\211\001\n\032GetAllActiveScheduleEvents\0224" +
-      ".com.skyeai.jarvis.GetAllActiveScheduleE" +
-      "ventsRequest\0325.com.skyeai.jarvis.GetAllA" +
-      "ctiveScheduleEventsResponse\022t\n\023UpdateSch" +
-      "eduleEvent\022-.com.skyeai.jarvis.UpdateSch" +
-      "eduleEventRequest\032..com.skyeai.jarvis.Up" +
-      "dateScheduleEventResponse\022t\n\023DeleteSched" +
-      "uleEvent\022-.com.skyeai.jarvis.DeleteSched" +
-      "uleEventRequest\032..com.skyeai.jarvis.Dele" +
-      "teScheduleEventResponse\022q\n\022SaveUserPrefe" +
-      "rence\022,.com.skyeai.jarvis.SaveUserPrefer" +
-      "enceRequest\032-.com.skyeai.jarvis.SaveUser" +
-      "PreferenceResponse\022q\n\022GetUserPreferences" +
-      "\022,.com.skyeai.jarvis.GetUserPreferencesR" +
-      "equest\032-.com.skyeai.jarvis.GetUserPrefer" +
-      "encesResponse\022w\n\024DeleteUserPreference\022.." +
-      "com.skyeai.jarvis.DeleteUserPreferenceRe" +
-      "quest\032/.com.skyeai.jarvis.DeleteUserPref" +
-      "erenceResponse\022\200\001\n\027CleanExpiredChatHisto" +
-      "ry\0221.com.skyeai.jarvis.CleanExpiredChatH" +
-      "istoryRequest\0322.com.skyeai.jarvis.CleanE" +
-      "xpiredChatHistoryResponse\022h\n\017ResetUserMe" +
-      "mory\022).com.skyeai.jarvis.ResetUserMemory" +
-      "Request\032*.com.skyeai.jarvis.ResetUserMem" +
-      "oryResponse\022\203\001\n\030GetUserPreferencesByType" +
-      "\0222.com.skyeai.jarvis.GetUserPreferencesB" +
-      "yTypeRequest\0323.com.skyeai.jarvis.GetUser" +
-      "PreferencesByTypeResponse\022z\n\025GetRecentIn" +
-      "teractions\022/.com.skyeai.jarvis.GetRecent" +
-      "InteractionsRequest\0320.com.skyeai.jarvis." +
-      "GetRecentInteractionsResponse\022\203\001\n\030Search" +
-      "SimilarChatHistory\0222.com.skyeai.jarvis.S" +
-      "earchSimilarChatHistoryRequest\0323.com.sky" +
-      "eai.jarvis.SearchSimilarChatHistoryRespo" +
-      "nse\022\217\001\n\034SearchSimilarUserPreferences\0226.c" +
-      "om.skyeai.jarvis.SearchSimilarUserPrefer" +
-      "encesRequest\0327.com.skyeai.jarvis.SearchS" +
-      "imilarUserPreferencesResponseB0\n\032com.sky" +
-      "eai.jarvis.protobufB\020DataServiceProtoP\001b" +
-      "\006proto3"
+      "\021\n\tmedia_url\030\006 \001(\t\022\020\n\010metadata\030\007 \001(\t\022\022\n\n" +
+      "created_at\030\010 \001(\t\"T\n\027SaveChatHistoryRespo" +
+      "nse\0229\n\014chat_history\030\001 \001(\0132#.com.skyeai.j" +
+      "arvis.ChatHistoryProto\".\n\033GetRecentChatH" +
+      "istoryRequest\022\017\n\007user_id\030\001 \001(\t\"[\n\034GetRec" +
+      "entChatHistoryResponse\022;\n\016chat_histories" +
+      "\030\001 \003(\0132#.com.skyeai.jarvis.ChatHistoryPr" +
+      "oto\"6\n GetChatHistoryBySessionIdRequest\022" +
+      "\022\n\nsession_id\030\001 \001(\t\"`\n!GetChatHistoryByS" +
+      "essionIdResponse\022;\n\016chat_histories\030\001 \003(\013" +
+      "2#.com.skyeai.jarvis.ChatHistoryProto\"3\n" +
+      " ExtractKeyInfoFromContextRequest\022\017\n\007use" +
+      "r_id\030\001 \001(\t\"5\n!ExtractKeyInfoFromContextR" +
+      "esponse\022\020\n\010key_info\030\001 \001(\t\"P\n\025SaveStockPr" +
+      "iceRequest\0227\n\013stock_price\030\001 \001(\0132\".com.sk" +
+      "yeai.jarvis.StockPriceProto\"Q\n\026SaveStock" +
+      "PriceResponse\0227\n\013stock_price\030\001 \001(\0132\".com" +
+      ".skyeai.jarvis.StockPriceProto\":\n\"GetRec" +
+      "entStockPriceBySymbolRequest\022\024\n\014stock_sy" +
+      "mbol\030\001 \001(\t\"^\n#GetRecentStockPriceBySymbo" +
+      "lResponse\0227\n\013stock_price\030\001 \001(\0132\".com.sky" +
+      "eai.jarvis.StockPriceProto\"`\n\032SavePriceC" +
+      "hangeInfoRequest\022B\n\021price_change_info\030\001 " +
+      "\001(\0132\'.com.skyeai.jarvis.PriceChangeInfoP" +
+      "roto\"a\n\033SavePriceChangeInfoResponse\022B\n\021p" +
+      "rice_change_info\030\001 \001(\0132\'.com.skyeai.jarv" +
+      "is.PriceChangeInfoProto\"F\n\037GetRecentPric" +
+      "eChangeInfoRequest\022\024\n\014stock_symbol\030\001 \001(\t" +
+      "\022\r\n\005limit\030\002 \001(\005\"g\n GetRecentPriceChangeI" +
+      "nfoResponse\022C\n\022price_change_infos\030\001 \003(\0132" +
+      "\'.com.skyeai.jarvis.PriceChangeInfoProto" +
+      "\"Y\n\030SaveScheduleEventRequest\022=\n\016schedule" +
+      "_event\030\001 \001(\0132%.com.skyeai.jarvis.Schedul" +
+      "eEventProto\"Z\n\031SaveScheduleEventResponse" +
+      "\022=\n\016schedule_event\030\001 \001(\0132%.com.skyeai.ja" +
+      "rvis.ScheduleEventProto\"#\n!GetAllActiveS" +
+      "cheduleEventsRequest\"d\n\"GetAllActiveSche" +
+      "duleEventsResponse\022>\n\017schedule_events\030\001 " +
+      "\003(\0132%.com.skyeai.jarvis.ScheduleEventPro" +
+      "to\"[\n\032UpdateScheduleEventRequest\022=\n\016sche" +
+      "dule_event\030\001 \001(\0132%.com.skyeai.jarvis.Sch" +
+      "eduleEventProto\".\n\033UpdateScheduleEventRe" +
+      "sponse\022\017\n\007success\030\001 \001(\010\"(\n\032DeleteSchedul" +
+      "eEventRequest\022\n\n\002id\030\001 \001(\003\".\n\033DeleteSched" +
+      "uleEventResponse\022\017\n\007success\030\001 \001(\010\"~\n\031Sav" +
+      "eUserPreferenceRequest\022\017\n\007user_id\030\001 \001(\t\022" +
+      "\026\n\016preference_key\030\002 \001(\t\022\r\n\005value\030\003 \001(\t\022\027" +
+      "\n\017preference_type\030\004 \001(\t\022\020\n\010priority\030\005 \001(" +
+      "\005\"]\n\032SaveUserPreferenceResponse\022?\n\017user_" +
+      "preference\030\001 \001(\0132&.com.skyeai.jarvis.Use" +
+      "rPreferenceProto\"D\n\031GetUserPreferencesRe" +
+      "quest\022\017\n\007user_id\030\001 \001(\t\022\026\n\016preference_key" +
+      "\030\002 \001(\t\"^\n\032GetUserPreferencesResponse\022@\n\020" +
+      "user_preferences\030\001 \003(\0132&.com.skyeai.jarv" +
+      "is.UserPreferenceProto\"F\n\033DeleteUserPref" +
+      "erenceRequest\022\017\n\007user_id\030\001 \001(\t\022\026\n\016prefer" +
+      "ence_key\030\002 \001(\t\"/\n\034DeleteUserPreferenceRe" +
+      "sponse\022\017\n\007success\030\001 \001(\010\"`\n\033SaveChatHisto" +
+      "ryBatchRequest\022A\n\016chat_histories\030\001 \003(\0132)" +
+      ".com.skyeai.jarvis.SaveChatHistoryReques" +
+      "t\"@\n\034SaveChatHistoryBatchResponse\022\023\n\013sav" +
+      "ed_count\030\001 \001(\005\022\013\n\003ids\030\002 \003(\003\"u\n\037SaveUserP" +
+      "referencesBatchRequest\022\017\n\007user_id\030\001 \001(\t\022" +
+      "A\n\013preferences\030\002 \003(\0132,.com.skyeai.jarvis" +
+      ".SaveUserPreferenceRequest\"d\n SaveUserPr" +
+      "eferencesBatchResponse\022@\n\020user_preferenc" +
+      "es\030\001 \003(\0132&.com.skyeai.jarvis.UserPrefere" +
+      "nceProto\"L\n\026ListChatHistoryRequest\022\017\n\007us" +
+      "er_id\030\001 \001(\t\022\r\n\005limit\030\002 \001(\005\022\022\n\npage_token" +
+      "\030\003 \001(\t\"o\n\027ListChatHistoryResponse\022;\n\016cha" +
+      "t_histories\030\001 \003(\0132#.com.skyeai.jarvis.Ch" +
+      "atHistoryProto\022\027\n\017next_page_token\030\002 \001(\t\"" +
+      ">\n\030ExportChatHistoryRequest\022\017\n\007user_id\030\001" +
+      " \001(\t\022\021\n\tpage_size\030\002 \001(\005\"X\n\031ExportChatHis" +
+      "toryResponse\022;\n\016chat_histories\030\001 \003(\0132#.c" +
+      "om.skyeai.jarvis.ChatHistoryProto\"P\n\037Sea" +
+      "rchSimilarChatHistoryRequest\022\r\n\005query\030\001 " +
+      "\001(\t\022\017\n\007user_id\030\002 \001(\t\022\r\n\005limit\030\003 \001(\005\"_\n S" +
+      "earchSimilarChatHistoryResponse\022;\n\016chat_" +
+      "histories\030\001 \003(\0132#.com.skyeai.jarvis.Chat" +
+      "HistoryProto\"T\n#SearchSimilarUserPrefere" +
+      "ncesRequest\022\r\n\005query\030\001 \001(\t\022\017\n\007user_id\030\002 " +
+      "\001(\t\022\r\n\005limit\030\003 \001(\005\"h\n$SearchSimilarUserP" +
+      "referencesResponse\022@\n\020user_preferences\030\001" +
+      " \003(\0132&.com.skyeai.jarvis.UserPreferenceP" +
+      "roto\".\n\036CleanExpiredChatHistoryRequest\022\014" +
+      "\n\004days\030\001 \001(\005\"H\n\037CleanExpiredChatHistoryR" +
+      "esponse\022\017\n\007success\030\001 \001(\010\022\024\n\014deletedCount" +
+      "\030\002 \001(\005\")\n\026ResetUserMemoryRequest\022\017\n\007user" +
+      "_id\030\001 \001(\t\"*\n\027ResetUserMemoryResponse\022\017\n\007" +
+      "success\030\001 \001(\010\"K\n\037GetUserPreferencesByTyp" +
+      "eRequest\022\017\n\007user_id\030\001 \001(\t\022\027\n\017preference_" +
+      "type\030\002 \001(\t\"d\n GetUserPreferencesByTypeRe" +
+      "sponse\022@\n\020user_preferences\030\001 \003(\0132&.com.s" +
+      "kyeai.jarvis.UserPreferenceProto\">\n\034GetR" +
+      "ecentInteractionsRequest\022\017\n\007user_id\030\001 \001(" +
+      "\t\022\r\n\005hours\030\002 \001(\005\"\\\n\035GetRecentInteraction" +
+      "sResponse\022;\n\016chat_histories\030\001 \003(\0132#.com." +
+      "skyeai.jarvis.ChatHistoryProto2\235\030\n\013DataS" +
+      "ervice\022h\n\017SaveChatHistory\022).com.skyeai.j" +
+      "arvis.SaveChatHistoryRequest\032*.com.skyea" +
+      "i.jarvis.SaveChatHistoryResponse\022w\n\024GetR" +
+      "ecentChatHistory\022..com.skyeai.jarvis.Get" +
+      "RecentChatHistoryRequest\032/.com.skyeai.ja" +
+      "rvis.GetRecentChatHistoryResponse\022\206\001\n\031Ge" +
+      "tChatHistoryBySessionId\0223.com.skyeai.jar" +
+      "vis.GetChatHistoryBySessionIdRequest\0324.c" +
+      "om.skyeai.jarvis.GetChatHistoryBySession" +
+      "IdResponse\022\206\001\n\031ExtractKeyInfoFromContext" +
+      "\0223.com.skyeai.jarvis.ExtractKeyInfoFromC" +
+      "ontextRequest\0324.com.skyeai.jarvis.Extrac" +
+      "tKeyInfoFromContextResponse\022e\n\016SaveStock" +
+      "Price\022(.com.skyeai.jarvis.SaveStockPrice" +
+      "Request\032).com.skyeai.jarvis.SaveStockPri" +
+      "ceResponse\022\214\001\n\033GetRecentStockPriceBySymb" +
+      "ol\0225.com.skyeai.jarvis.GetRecentStockPri" +
+      "ceBySymbolRequest\0326.com.skyeai.jarvis.Ge" +
+      "tRecentStockPriceBySymbolResponse\022t\n\023Sav" +
+      "ePriceChangeInfo\022-.com.skyeai.jarvis.Sav" +
+      "ePriceChangeInfoRequest\032..com.skyeai.jar" +
+      "vis.SavePriceChangeInfoResponse\022\203\001\n\030GetR" +
+      "ecentPriceChangeInfo\0222.com.skyeai.jarvis" +
+      ".GetRecentPriceChangeInfoRequest\0323.com.s" +
+      "kyeai.jarvis.GetRecentPriceChangeInfoRes" +
+      "ponse\022n\n\021SaveScheduleEvent\022+.com.skyeai." +
+      "jarvis.SaveScheduleEventRequest\032,.com.sk" +
+      "yeai.jarvis.SaveScheduleEventResponse\022\211\001" +
+      "\n\032GetAllActiveScheduleEvents\0224.com.skyea" +
+      "i.jarvis.GetAllActiveScheduleEventsReque" +
+      "st\0325.com.skyeai.jarvis.GetAllActiveSched" +
+      "uleEventsResponse\022t\n\023UpdateScheduleEvent" +
+      "\022-.com.skyeai.jarvis.UpdateScheduleEvent" +
+      "Request\032..com.skyeai.jarvis.UpdateSchedu" +
+      "leEventResponse\022t\n\023DeleteScheduleEvent\022-" +
+      ".com.skyeai.jarvis.DeleteScheduleEventRe" +
+      "quest\032..com.skyeai.jarvis.DeleteSchedule" +
+      "EventResponse\022q\n\022SaveUserPreference\022,.co" +
+      "m.skyeai.jarvis.SaveUserPreferenceReques" +
+      "t\032-.com.skyeai.jarvis.SaveUserPreference" +
+      "Response\022q\n\022GetUserPreferences\022,.com.sky" +
+      "eai.jarvis.GetUserPreferencesRequest\032-.c" +
+      "om.skyeai.jarvis.GetUserPreferencesRespo" +
+      "nse\022w\n\024DeleteUserPreference\022..com.skyeai" +
+      ".jarvis.DeleteUserPreferenceRequest\032/.co" +
+      "m.skyeai.jarvis.DeleteUserPreferenceResp" +
+      "onse\022\200\001\n\027CleanExpiredChatHistory\0221.com.s" +
+      "kyeai.jarvis.CleanExpiredChatHistoryRequ" +
+      "est\0322.com.skyeai.jarvis.CleanExpiredChat" +
+      "HistoryResponse\022h\n\017ResetUserMemory\022).com" +
+      ".skyeai.jarvis.ResetUserMemoryRequest\032*." +
+      "com.skyeai.jarvis.ResetUserMemoryRespons" +
+      "e\022\203\001\n\030GetUserPreferencesByType\0222.com.sky" +
+      "eai.jarvis.GetUserPreferencesByTypeReque" +
+      "st\0323.com.skyeai.jarvis.GetUserPreference" +
+      "sByTypeResponse\022z\n\025GetRecentInteractions" +
+      "\022/.com.skyeai.jarvis.GetRecentInteractio" +
+      "nsRequest\0320.com.skyeai.jarvis.GetRecentI" +
+      "nteractionsResponse\022\203\001\n\030SearchSimilarCha" +
+      "tHistory\0222.com.skyeai.jarvis.SearchSimil" +
+      "arChatHistoryRequest\0323.com.skyeai.jarvis" +
+      ".SearchSimilarChatHistoryResponse\022\217\001\n\034Se" +
+      "archSimilarUserPreferences\0226.com.skyeai." +
+      "jarvis.SearchSimilarUserPreferencesReque" +
+      "st\0327.com.skyeai.jarvis.SearchSimilarUser" +
+      "PreferencesResponse\022w\n\024SaveChatHistoryBa" +
+      "tch\022..com.skyeai.jarvis.SaveChatHistoryB" +
+      "atchRequest\032/.com.skyeai.jarvis.SaveChat" +
+      "HistoryBatchResponse\022\203\001\n\030SaveUserPrefere" +
+      "ncesBatch\0222.com.skyeai.jarvis.SaveUserPr" +
+      "eferencesBatchRequest\0323.com.skyeai.jarvi" +
+      "s.SaveUserPreferencesBatchResponse\022h\n\017Li" +
+      "stChatHistory\022).com.skyeai.jarvis.ListCh" +
+      "atHistoryRequest\032*.com.skyeai.jarvis.Lis" +
+      "tChatHistoryResponse\022p\n\021ExportChatHistor" +
+      "y\022+.com.skyeai.jarvis.ExportChatHistoryR" +
+      "equest\032,.com.skyeai.jarvis.ExportChatHis" +
+      "toryResponse0\001B0\n\032com.skyeai.jarvis.prot" +
+      "obufB\020DataServiceProtoP\001b\006proto3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -473,7 +543,7 @@ public final class DataServiceProto {
     internal_static_com_skyeai_jarvis_SaveChatHistoryRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_SaveChatHistoryRequest_descriptor,
-        new java.lang.String[] { "UserId", "Content", "Role", "SessionId", "ContentType", "MediaUrl", "Metadata", });
+        new java.lang.String[] { "UserId", "Content", "Role", "SessionId", "ContentType", "MediaUrl", "Metadata", "CreatedAt", });
     internal_static_com_skyeai_jarvis_SaveChatHistoryResponse_descriptor =
       getDescriptor().getMessageTypes().get(6);
     internal_static_com_skyeai_jarvis_SaveChatHistoryResponse_fieldAccessorTable = new
@@ -648,74 +718,122 @@ public final class DataServiceProto {
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_DeleteUserPreferenceResponse_descriptor,
         new java.lang.String[] { "Success", });
-    internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryRequest_descriptor =
+    internal_static_com_skyeai_jarvis_SaveChatHistoryBatchRequest_descriptor =
       getDescriptor().getMessageTypes().get(35);
+    internal_static_com_skyeai_jarvis_SaveChatHistoryBatchRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_SaveChatHistoryBatchRequest_descriptor,
+        new java.lang.String[] { "ChatHistories", });
+    internal_static_com_skyeai_jarvis_SaveChatHistoryBatchResponse_descriptor =
+      getDescriptor().getMessageTypes().get(36);
+    internal_static_com_skyeai_jarvis_SaveChatHistoryBatchResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_SaveChatHistoryBatchResponse_descriptor,
+        new java.lang.String[] { "SavedCount", "Ids", });
+    internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchRequest_descriptor =
+      getDescriptor().getMessageTypes().get(37);
+    internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchRequest_descriptor,
+        new java.lang.String[] { "UserId", "Preferences", });
+    internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchResponse_descriptor =
+      getDescriptor().getMessageTypes().get(38);
+    internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_SaveUserPreferencesBatchResponse_descriptor,
+        new java.lang.String[] { "UserPreferences", });
+    internal_static_com_skyeai_jarvis_ListChatHistoryRequest_descriptor =
+      getDescriptor().getMessageTypes().get(39);
+    internal_static_com_skyeai_jarvis_ListChatHistoryRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_ListChatHistoryRequest_descriptor,
+        new java.lang.String[] { "UserId", "Limit", "PageToken", });
+    internal_static_com_skyeai_jarvis_ListChatHistoryResponse_descriptor =
+      getDescriptor().getMessageTypes().get(40);
+    internal_static_com_skyeai_jarvis_ListChatHistoryResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_ListChatHistoryResponse_descriptor,
+        new java.lang.String[] { "ChatHistories", "NextPageToken", });
+    internal_static_com_skyeai_jarvis_ExportChatHistoryRequest_descriptor =
+      getDescriptor().getMessageTypes().get(41);
+    internal_static_com_skyeai_jarvis_ExportChatHistoryRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_ExportChatHistoryRequest_descriptor,
+        new java.lang.String[] { "UserId", "PageSize", });
+    internal_static_com_skyeai_jarvis_ExportChatHistoryResponse_descriptor =
+      getDescriptor().getMessageTypes().get(42);
+    internal_static_com_skyeai_jarvis_ExportChatHistoryResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_com_skyeai_jarvis_ExportChatHistoryResponse_descriptor,
+        new java.lang.String[] { "ChatHistories", });
+    internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryRequest_descriptor =
+      getDescriptor().getMessageTypes().get(43);
     internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryRequest_descriptor,
         new java.lang.String[] { "Query", "UserId", "Limit", });
     internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryResponse_descriptor =
-      getDescriptor().getMessageTypes().get(36);
+      getDescriptor().getMessageTypes().get(44);
     internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_SearchSimilarChatHistoryResponse_descriptor,
         new java.lang.String[] { "ChatHistories", });
     internal_static_com_skyeai_jarvis_SearchSimilarUserPreferencesRequest_descriptor =
-      getDescriptor().getMessageTypes().get(37);
+      getDescriptor().getMessageTypes().get(45);
     internal_static_com_skyeai_jarvis_SearchSimilarUserPreferencesRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_SearchSimilarUserPreferencesRequest_descriptor,
         new java.lang.String[] { "Query", "UserId", "Limit", });
     internal_static_com_skyeai_jarvis_SearchSimilarUserPreferencesResponse_descriptor =
-      getDescriptor().getMessageTypes().get(38);
+      getDescriptor().getMessageTypes().get(46);
     internal_static_com_skyeai_jarvis_SearchSimilarUserPreferencesResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_SearchSimilarUserPreferencesResponse_descriptor,
         new java.lang.String[] { "UserPreferences", });
     internal_static_com_skyeai_jarvis_CleanExpiredChatHistoryRequest_descriptor =
-      getDescriptor().getMessageTypes().get(39);
+      getDescriptor().getMessageTypes().get(47);
     internal_static_com_skyeai_jarvis_CleanExpiredChatHistoryRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_CleanExpiredChatHistoryRequest_descriptor,
         new java.lang.String[] { "Days", });
     internal_static_com_skyeai_jarvis_CleanExpiredChatHistoryResponse_descriptor =
-      getDescriptor().getMessageTypes().get(40);
+      getDescriptor().getMessageTypes().get(48);
     internal_static_com_skyeai_jarvis_CleanExpiredChatHistoryResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_CleanExpiredChatHistoryResponse_descriptor,
         new java.lang.String[] { "Success", "DeletedCount", });
     internal_static_com_skyeai_jarvis_ResetUserMemoryRequest_descriptor =
-      getDescriptor().getMessageTypes().get(41);
+      getDescriptor().getMessageTypes().get(49);
     internal_static_com_skyeai_jarvis_ResetUserMemoryRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_ResetUserMemoryRequest_descriptor,
         new java.lang.String[] { "UserId", });
     internal_static_com_skyeai_jarvis_ResetUserMemoryResponse_descriptor =
-      getDescriptor().getMessageTypes().get(42);
+      getDescriptor().getMessageTypes().get(50);
     internal_static_com_skyeai_jarvis_ResetUserMemoryResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_ResetUserMemoryResponse_descriptor,
         new java.lang.String[] { "Success", });
     internal_static_com_skyeai_jarvis_GetUserPreferencesByTypeRequest_descriptor =
-      getDescriptor().getMessageTypes().get(43);
+      getDescriptor().getMessageTypes().get(51);
     internal_static_com_skyeai_jarvis_GetUserPreferencesByTypeRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_GetUserPreferencesByTypeRequest_descriptor,
         new java.lang.String[] { "UserId", "PreferenceType", });
     internal_static_com_skyeai_jarvis_GetUserPreferencesByTypeResponse_descriptor =
-      getDescriptor().getMessageTypes().get(44);
+      getDescriptor().getMessageTypes().get(52);
     internal_static_com_skyeai_jarvis_GetUserPreferencesByTypeResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_GetUserPreferencesByTypeResponse_descriptor,
         new java.lang.String[] { "UserPreferences", });
     internal_static_com_skyeai_jarvis_GetRecentInteractionsRequest_descriptor =
-      getDescriptor().getMessageTypes().get(45);
+      getDescriptor().getMessageTypes().get(53);
     internal_static_com_skyeai_jarvis_GetRecentInteractionsRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_GetRecentInteractionsRequest_descriptor,
         new java.lang.String[] { "UserId", "Hours", });
     internal_static_com_skyeai_jarvis_GetRecentInteractionsResponse_descriptor =
-      getDescriptor().getMessageTypes().get(46);
+      getDescriptor().getMessageTypes().get(54);
     internal_static_com_skyeai_jarvis_GetRecentInteractionsResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_com_skyeai_jarvis_GetRecentInteractionsResponse_descriptor,
@@ -27,6 +27,7 @@ private static final long serialVersionUID = 0L;
     contentType_ = "";
     mediaUrl_ = "";
     metadata_ = "";
+    createdAt_ = "";
   }
 
   @java.lang.Override
@@ -327,6 +328,53 @@ private static final long serialVersionUID = 0L;
     }
   }
 
+  public static final int CREATED_AT_FIELD_NUMBER = 8;
+  @SuppressWarnings("serial")
+  private volatile java.lang.Object createdAt_ = "";
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The createdAt.
+   */
+  @java.lang.Override
+  public java.lang.String getCreatedAt() {
+    java.lang.Object ref = createdAt_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = 
+          (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      createdAt_ = s;
+      return s;
+    }
+  }
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The bytes for createdAt.
+   */
+  @java.lang.Override
+  public com.google.protobuf.ByteString
+      getCreatedAtBytes() {
+    java.lang.Object ref = createdAt_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b = 
+          com.google.protobuf.ByteString.copyFromUtf8(
+              (java.lang.String) ref);
+      createdAt_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
   private byte memoizedIsInitialized = -1;
   @java.lang.Override
   public final boolean isInitialized() {
@@ -362,6 +410,9 @@ private static final long serialVersionUID = 0L;
     if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(metadata_)) {
       com.google.protobuf.GeneratedMessageV3.writeString(output, 7, metadata_);
     }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(createdAt_)) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 8, createdAt_);
+    }
     getUnknownFields().writeTo(output);
   }
 
@@ -392,6 +443,9 @@ private static final long serialVersionUID = 0L;
     if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(metadata_)) {
       size += com.google.protobuf.GeneratedMessageV3.computeStringSize(7, metadata_);
     }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(createdAt_)) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(8, createdAt_);
+    }
     size += getUnknownFields().getSerializedSize();
     memoizedSize = size;
     return size;
@@ -421,6 +475,8 @@ private static final long serialVersionUID = 0L;
         .equals(other.getMediaUrl())) return false;
     if (!getMetadata()
         .equals(other.getMetadata())) return false;
+    if (!getCreatedAt()
+        .equals(other.getCreatedAt())) return false;
     if (!getUnknownFields().equals(other.getUnknownFields())) return false;
     return true;
   }
@@ -446,6 +502,8 @@ private static final long serialVersionUID = 0L;
     hash = (53 * hash) + getMediaUrl().hashCode();
     hash = (37 * hash) + METADATA_FIELD_NUMBER;
     hash = (53 * hash) + getMetadata().hashCode();
+    hash = (37 * hash) + CREATED_AT_FIELD_NUMBER;
+    hash = (53 * hash) + getCreatedAt().hashCode();
     hash = (29 * hash) + getUnknownFields().hashCode();
     memoizedHashCode = hash;
     return hash;
@@ -586,6 +644,7 @@ private static final long serialVersionUID = 0L;
       contentType_ = "";
       mediaUrl_ = "";
       metadata_ = "";
+      createdAt_ = "";
       return this;
     }
 
@@ -640,6 +699,9 @@ private static final long serialVersionUID = 0L;
       if (((from_bitField0_ & 0x00000040) != 0)) {
         result.metadata_ = metadata_;
       }
+      if (((from_bitField0_ & 0x00000080) != 0)) {
+        result.createdAt_ = createdAt_;
+      }
     }
 
     @java.lang.Override
@@ -721,6 +783,11 @@ private static final long serialVersionUID = 0L;
         bitField0_ |= 0x00000040;
         onChanged();
       }
+      if (!other.getCreatedAt().isEmpty()) {
+        createdAt_ = other.createdAt_;
+        bitField0_ |= 0x00000080;
+        onChanged();
+      }
       this.mergeUnknownFields(other.getUnknownFields());
       onChanged();
       return this;
@@ -782,6 +849,11 @@ private static final long serialVersionUID = 0L;
               bitField0_ |= 0x00000040;
               break;
             } // case 58
+            case 66: {
+              createdAt_ = input.readStringRequireUtf8();
+              bitField0_ |= 0x00000080;
+              break;
+            } // case 66
             default: {
               if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                 done = true; // was an endgroup tag
@@ -1302,6 +1374,98 @@ private static final long serialVersionUID = 0L;
       onChanged();
       return this;
     }
+
+    private java.lang.Object createdAt_ = "";
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @return The createdAt.
+     */
+    public java.lang.String getCreatedAt() {
+      java.lang.Object ref = createdAt_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs =
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        createdAt_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @return The bytes for createdAt.
+     */
+    public com.google.protobuf.ByteString
+        getCreatedAtBytes() {
+      java.lang.Object ref = createdAt_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        createdAt_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @param value The createdAt to set.
+     * @return This builder for chaining.
+     */
+    public Builder setCreatedAt(
+        java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      createdAt_ = value;
+      bitField0_ |= 0x00000080;
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearCreatedAt() {
+      createdAt_ = getDefaultInstance().getCreatedAt();
+      bitField0_ = (bitField0_ & ~0x00000080);
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @param value The bytes for createdAt to set.
+     * @return This builder for chaining.
+     */
+    public Builder setCreatedAtBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) { throw new NullPointerException(); }
+      checkByteStringIsUtf8(value);
+      createdAt_ = value;
+      bitField0_ |= 0x00000080;
+      onChanged();
+      return this;
+    }
     @java.lang.Override
     public final Builder setUnknownFields(
         final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -90,4 +90,24 @@ public interface SaveChatHistoryRequestOrBuilder extends
    */
   com.google.protobuf.ByteString
       getMetadataBytes();
+
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The createdAt.
+   */
+  java.lang.String getCreatedAt();
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The bytes for createdAt.
+   */
+  com.google.protobuf.ByteString
+      getCreatedAtBytes();
 }
@@ -1,16 +1,20 @@
 package com.skyeai.jarvis.repository;
 
 import com.skyeai.jarvis.model.ChatHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * 聊天历史Repository
  */
 @Repository
-public interface ChatHistoryRepository extends JpaRepository<ChatHistory, Long> {
+public interface ChatHistoryRepository extends JpaRepository<ChatHistory, Long>, ChatHistoryRepositoryCustom {
 
     /**
      * 获取指定用户的最近聊天历史
@@ -47,4 +51,48 @@ public interface ChatHistoryRepository extends JpaRepository<ChatHistory, Long>
      * @return 聊天历史列表
      */
     List<ChatHistory> findByUserIdAndCreatedAtAfterOrderByCreatedAtDesc(String userId, java.time.LocalDateTime cutoffTime);
+
+    /**
+     * 获取指定用户最新的一页聊天历史（按时间、ID倒序）
+     * @param userId 用户ID
+     * @param pageable 分页参数，只使用页大小
+     * @return 聊天历史列表
+     */
+    List<ChatHistory> findByUserIdOrderByCreatedAtDescIdDesc(String userId, Pageable pageable);
+
+    /**
+     * 获取游标 (createdAt, id) 之前的一页聊天历史（按时间、ID倒序）
+     * @param userId 用户ID
+     * @param createdAt 游标时间
+     * @param id 游标ID
+     * @param pageable 分页参数，只使用页大小
+     * @return 聊天历史列表
+     */
+    @Query("SELECT c FROM ChatHistory c WHERE c.userId = :userId "
+            + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ChatHistory> findPageBefore(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable pageable);
+
+    /**
+     * 获取指定用户最早的一页聊天历史（按时间、ID正序）
+     * @param userId 用户ID
+     * @param pageable 分页参数，只使用页大小
+     * @return 聊天历史列表
+     */
+    List<ChatHistory> findByUserIdOrderByCreatedAtAscIdAsc(String userId, Pageable pageable);
+
+    /**
+     * 获取游标 (createdAt, id) 之后的一页聊天历史（按时间、ID正序）
+     * @param userId 用户ID
+     * @param createdAt 游标时间
+     * @param id 游标ID
+     * @param pageable 分页参数，只使用页大小
+     * @return 聊天历史列表
+     */
+    @Query("SELECT c FROM ChatHistory c WHERE c.userId = :userId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<ChatHistory> findPageAfter(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.skyeai.jarvis.repository;
+
+import com.skyeai.jarvis.model.ChatHistory;
+
+import java.util.List;
+
+/**
+ * 聊天历史批量写入
+ */
+public interface ChatHistoryRepositoryCustom {
+
+    /**
+     * 批量插入聊天历史，插入后回填ID
+     * @param chatHistories 聊天历史列表
+     */
+    void batchInsert(List<ChatHistory> chatHistories);
+}
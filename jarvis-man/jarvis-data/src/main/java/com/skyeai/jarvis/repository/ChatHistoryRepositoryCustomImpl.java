@@ -0,0 +1,69 @@
+package com.skyeai.jarvis.repository;
+
+import com.skyeai.jarvis.model.ChatHistory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 聊天历史批量写入实现
+ * 实体使用IDENTITY主键，Hibernate不会对其INSERT做JDBC批处理，这里直接按 hibernate.jdbc.batch_size 分批执行，
+ * 每批一次往返，并通过RETURNING回填生成的ID
+ */
+public class ChatHistoryRepositoryCustomImpl implements ChatHistoryRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO chat_history "
+            + "(user_id, content, role, created_at, session_id, content_type, media_url, metadata) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Autowired
+    public ChatHistoryRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<ChatHistory> chatHistories) {
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < chatHistories.size(); from += size) {
+            List<ChatHistory> batch = chatHistories.subList(from, Math.min(chatHistories.size(), from + size));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ChatHistory chatHistory = batch.get(i);
+                            ps.setString(1, chatHistory.getUserId());
+                            ps.setString(2, chatHistory.getContent());
+                            ps.setString(3, chatHistory.getRole());
+                            ps.setTimestamp(4, Timestamp.valueOf(chatHistory.getCreatedAt()));
+                            ps.setString(5, chatHistory.getSessionId());
+                            ps.setString(6, chatHistory.getContentType());
+                            ps.setString(7, chatHistory.getMediaUrl());
+                            ps.setString(8, chatHistory.getMetadata());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+                batch.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+            }
+        }
+    }
+}
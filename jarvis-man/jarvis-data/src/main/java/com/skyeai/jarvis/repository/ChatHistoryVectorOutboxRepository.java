@@ -0,0 +1,60 @@
+package com.skyeai.jarvis.repository;
+
+import com.skyeai.jarvis.model.ChatHistoryVectorOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 聊天历史向量化发件箱Repository
+ */
+@Repository
+public interface ChatHistoryVectorOutboxRepository extends JpaRepository<ChatHistoryVectorOutbox, Long>, ChatHistoryVectorOutboxRepositoryCustom {
+
+    /**
+     * 按写入顺序获取一批待处理的发件箱记录
+     * @param maxAttempts 失败次数上限，达到上限的记录不再处理
+     * @param pageable 分页参数，只使用页大小
+     * @return 发件箱记录列表
+     */
+    List<ChatHistoryVectorOutbox> findByAttemptsLessThanOrderByIdAsc(int maxAttempts, Pageable pageable);
+
+    /**
+     * 统计待处理的发件箱记录数
+     * @param maxAttempts 失败次数上限
+     * @return 记录数
+     */
+    long countByAttemptsLessThan(int maxAttempts);
+
+    /**
+     * 统计达到失败次数上限、不再处理的发件箱记录数（死信）
+     * @param maxAttempts 失败次数上限
+     * @return 记录数
+     */
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+
+    /**
+     * 获取最早一条待处理记录的写入时间
+     * @param maxAttempts 失败次数上限
+     * @return 写入时间，没有待处理记录时为null
+     */
+    @Query("SELECT MIN(o.createdAt) FROM ChatHistoryVectorOutbox o WHERE o.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 增加失败次数
+     * @param ids 发件箱记录ID
+     * @return 更新的记录数
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChatHistoryVectorOutbox o SET o.attempts = o.attempts + 1 WHERE o.id IN :ids")
+    int incrementAttempts(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.skyeai.jarvis.repository;
+
+import java.util.List;
+
+/**
+ * 聊天历史向量化发件箱批量写入
+ */
+public interface ChatHistoryVectorOutboxRepositoryCustom {
+
+    /**
+     * 批量登记待向量化的聊天历史
+     * @param chatHistoryIds 聊天历史ID列表
+     */
+    void enqueue(List<Long> chatHistoryIds);
+
+    /**
+     * 回填：登记ID大于 afterId 的一批已有聊天历史
+     * @param afterId 起始ID（不含）
+     * @param limit 本批最多登记的条数
+     * @return 本批登记的聊天历史ID（升序），没有更多记录时为空
+     */
+    List<Long> enqueueExisting(long afterId, int limit);
+}
@@ -0,0 +1,49 @@
+package com.skyeai.jarvis.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 聊天历史向量化发件箱批量写入实现，按 hibernate.jdbc.batch_size 分批插入
+ */
+public class ChatHistoryVectorOutboxRepositoryCustomImpl implements ChatHistoryVectorOutboxRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO chat_history_vector_outbox "
+            + "(chat_history_id, created_at, attempts) VALUES (?, ?, 0)";
+
+    private static final String SELECT_EXISTING_SQL = "SELECT id FROM chat_history WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Autowired
+    public ChatHistoryVectorOutboxRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void enqueue(List<Long> chatHistoryIds) {
+        if (chatHistoryIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, chatHistoryIds, Math.max(1, batchSize), (ps, chatHistoryId) -> {
+            ps.setLong(1, chatHistoryId);
+            ps.setTimestamp(2, now);
+        });
+    }
+
+    @Override
+    public List<Long> enqueueExisting(long afterId, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXISTING_SQL, Long.class, afterId, limit);
+        enqueue(ids);
+        return ids;
+    }
+}
@@ -10,7 +10,7 @@ import java.util.List;
  * 用户偏好Repository
  */
 @Repository
-public interface UserPreferenceRepository extends JpaRepository<UserPreference, Long> {
+public interface UserPreferenceRepository extends JpaRepository<UserPreference, Long>, UserPreferenceRepositoryCustom {
 
     /**
      * 获取指定用户的所有偏好
@@ -0,0 +1,17 @@
+package com.skyeai.jarvis.repository;
+
+import com.skyeai.jarvis.model.UserPreference;
+
+import java.util.List;
+
+/**
+ * 用户偏好批量写入
+ */
+public interface UserPreferenceRepositoryCustom {
+
+    /**
+     * 批量插入用户偏好，插入后回填ID
+     * @param userPreferences 用户偏好列表
+     */
+    void batchInsert(List<UserPreference> userPreferences);
+}
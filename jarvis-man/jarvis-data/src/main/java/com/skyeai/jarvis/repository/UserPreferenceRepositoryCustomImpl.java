@@ -0,0 +1,71 @@
+package com.skyeai.jarvis.repository;
+
+import com.skyeai.jarvis.model.UserPreference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户偏好批量写入实现，与 {@link ChatHistoryRepositoryCustomImpl} 相同按 hibernate.jdbc.batch_size 分批插入
+ */
+public class UserPreferenceRepositoryCustomImpl implements UserPreferenceRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO user_preference "
+            + "(user_id, preference_key, value, created_at, updated_at, preference_type, priority) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Autowired
+    public UserPreferenceRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<UserPreference> userPreferences) {
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < userPreferences.size(); from += size) {
+            List<UserPreference> batch = userPreferences.subList(from, Math.min(userPreferences.size(), from + size));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            UserPreference preference = batch.get(i);
+                            ps.setString(1, preference.getUserId());
+                            ps.setString(2, preference.getPreferenceKey());
+                            ps.setString(3, preference.getValue());
+                            ps.setTimestamp(4, Timestamp.valueOf(preference.getCreatedAt()));
+                            ps.setTimestamp(5, Timestamp.valueOf(preference.getUpdatedAt()));
+                            ps.setString(6, preference.getPreferenceType());
+                            if (preference.getPriority() != null) {
+                                ps.setInt(7, preference.getPriority());
+                            } else {
+                                ps.setNull(7, Types.INTEGER);
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+                batch.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+            }
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package com.skyeai.jarvis.service;
 
-import com.skyeai.jarvis.config.VectorService;
 import com.skyeai.jarvis.model.ChatHistory;
+import com.skyeai.jarvis.model.ChatHistoryVectorOutbox;
 import com.skyeai.jarvis.repository.ChatHistoryRepository;
+import com.skyeai.jarvis.repository.ChatHistoryVectorOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -19,23 +21,21 @@ import java.util.UUID;
 public class ChatHistoryService {
 
     private final ChatHistoryRepository chatHistoryRepository;
-    private final VectorService vectorService;
-    private final TextEmbeddingService textEmbeddingService;
+    private final ChatHistoryVectorOutboxRepository outboxRepository;
 
     @Autowired
-    public ChatHistoryService(ChatHistoryRepository chatHistoryRepository, 
-                             VectorService vectorService, 
-                             TextEmbeddingService textEmbeddingService) {
+    public ChatHistoryService(ChatHistoryRepository chatHistoryRepository,
+                             ChatHistoryVectorOutboxRepository outboxRepository) {
         this.chatHistoryRepository = chatHistoryRepository;
-        this.vectorService = vectorService;
-        this.textEmbeddingService = textEmbeddingService;
+        this.outboxRepository = outboxRepository;
     }
 
     /**
-     * 保存聊天历史
+     * 保存聊天历史，向量化由 {@link ChatHistoryVectorIndexer} 在后台完成
      * @param chatHistory 聊天历史对象
      * @return 保存后的聊天历史
      */
+    @Transactional
     public ChatHistory saveChatHistory(ChatHistory chatHistory) {
         if (chatHistory.getCreatedAt() == null) {
             chatHistory.setCreatedAt(LocalDateTime.now());
@@ -44,34 +44,39 @@ public class ChatHistoryService {
         // 保存到数据库
         ChatHistory saved = chatHistoryRepository.save(chatHistory);
         
-        // 保存到向量数据库
-        saveToVectorDatabase(saved);
+        // 登记到向量化发件箱
+        enqueueForVectorization(saved);
         
         return saved;
     }
 
     /**
-     * 保存聊天历史到向量数据库
+     * 批量保存聊天历史，按 hibernate.jdbc.batch_size 分批插入
+     * @param chatHistories 聊天历史列表
+     * @return 回填ID后的聊天历史列表
      */
-    private void saveToVectorDatabase(ChatHistory chatHistory) {
-        try {
-            // 生成文本向量
-            List<Double> vector = textEmbeddingService.embedText(chatHistory.getContent());
-            
-            // 构建payload
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("user_id", chatHistory.getUserId());
-            payload.put("content", chatHistory.getContent());
-            payload.put("role", chatHistory.getRole());
-            payload.put("session_id", chatHistory.getSessionId());
-            payload.put("created_at", chatHistory.getCreatedAt().toString());
-            
-            // 保存到向量数据库
-            vectorService.addChatHistoryVector(chatHistory.getId().toString(), vector, payload);
-        } catch (Exception e) {
-            // 向量存储失败不影响主流程，只记录日志
-            System.err.println("Failed to save chat history to vector database: " + e.getMessage());
+    @Transactional
+    public List<ChatHistory> saveChatHistoryBatch(List<ChatHistory> chatHistories) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ChatHistory chatHistory : chatHistories) {
+            if (chatHistory.getCreatedAt() == null) {
+                chatHistory.setCreatedAt(now);
+            }
+        }
+        chatHistoryRepository.batchInsert(chatHistories);
+        List<Long> ids = new ArrayList<>(chatHistories.size());
+        for (ChatHistory chatHistory : chatHistories) {
+            ids.add(chatHistory.getId());
         }
+        outboxRepository.enqueue(ids);
+        return chatHistories;
+    }
+
+    /**
+     * 在保存聊天历史的同一事务中登记发件箱记录，提交后由后台索引器向量化
+     */
+    private void enqueueForVectorization(ChatHistory chatHistory) {
+        outboxRepository.save(new ChatHistoryVectorOutbox(chatHistory.getId(), LocalDateTime.now()));
     }
 
     /**
@@ -81,6 +86,7 @@ public class ChatHistoryService {
      * @param role 角色（user或assistant）
      * @return 保存的聊天历史
      */
+    @Transactional
     public ChatHistory saveChatHistory(String userId, String content, String role) {
         ChatHistory chatHistory = new ChatHistory();
         chatHistory.setUserId(userId);
@@ -89,7 +95,7 @@ public class ChatHistoryService {
         chatHistory.setCreatedAt(LocalDateTime.now());
         chatHistory.setSessionId(UUID.randomUUID().toString());
         chatHistory.setContentType("text");
-        return chatHistoryRepository.save(chatHistory);
+        return saveChatHistory(chatHistory);
     }
 
     /**
@@ -100,6 +106,7 @@ public class ChatHistoryService {
      * @param sessionId 会话ID
      * @return 保存的聊天历史
      */
+    @Transactional
     public ChatHistory saveChatHistory(String userId, String content, String role, String sessionId) {
         ChatHistory chatHistory = new ChatHistory();
         chatHistory.setUserId(userId);
@@ -108,7 +115,7 @@ public class ChatHistoryService {
         chatHistory.setCreatedAt(LocalDateTime.now());
         chatHistory.setSessionId(sessionId);
         chatHistory.setContentType("text");
-        return chatHistoryRepository.save(chatHistory);
+        return saveChatHistory(chatHistory);
     }
 
     /**
@@ -122,6 +129,7 @@ public class ChatHistoryService {
      * @param metadata 元数据
      * @return 保存的聊天历史
      */
+    @Transactional
     public ChatHistory saveMultimodalChatHistory(String userId, String content, String role, String sessionId, 
                                                String contentType, String mediaUrl, String metadata) {
         ChatHistory chatHistory = new ChatHistory();
@@ -133,7 +141,7 @@ public class ChatHistoryService {
         chatHistory.setContentType(contentType);
         chatHistory.setMediaUrl(mediaUrl);
         chatHistory.setMetadata(metadata);
-        return chatHistoryRepository.save(chatHistory);
+        return saveChatHistory(chatHistory);
     }
 
     /**
@@ -145,6 +153,38 @@ public class ChatHistoryService {
         return chatHistoryRepository.findTop50ByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * 按游标分页获取用户聊天历史（由新到旧）
+     * @param userId 用户ID
+     * @param limit 每页条数
+     * @param cursorCreatedAt 上一页最后一条的时间，为null时从最新一条开始
+     * @param cursorId 上一页最后一条的ID
+     * @return 聊天历史列表
+     */
+    public List<ChatHistory> getChatHistoryPage(String userId, int limit, LocalDateTime cursorCreatedAt, Long cursorId) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (cursorCreatedAt == null) {
+            return chatHistoryRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, page);
+        }
+        return chatHistoryRepository.findPageBefore(userId, cursorCreatedAt, cursorId, page);
+    }
+
+    /**
+     * 按游标分页获取用户聊天历史（由旧到新），用于导出
+     * @param userId 用户ID
+     * @param limit 每页条数
+     * @param cursorCreatedAt 上一页最后一条的时间，为null时从最早一条开始
+     * @param cursorId 上一页最后一条的ID
+     * @return 聊天历史列表
+     */
+    public List<ChatHistory> getChatHistoryPageAscending(String userId, int limit, LocalDateTime cursorCreatedAt, Long cursorId) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (cursorCreatedAt == null) {
+            return chatHistoryRepository.findByUserIdOrderByCreatedAtAscIdAsc(userId, page);
+        }
+        return chatHistoryRepository.findPageAfter(userId, cursorCreatedAt, cursorId, page);
+    }
+
     /**
      * 根据会话ID获取聊天历史
      * @param sessionId 会话ID
@@ -0,0 +1,288 @@
+package com.skyeai.jarvis.service;
+
+import com.skyeai.jarvis.config.VectorService;
+import com.skyeai.jarvis.model.ChatHistory;
+import com.skyeai.jarvis.model.ChatHistoryVectorOutbox;
+import com.skyeai.jarvis.repository.ChatHistoryRepository;
+import com.skyeai.jarvis.repository.ChatHistoryVectorOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 聊天历史后台向量化索引器
+ * 聊天历史写入时在同一事务中登记发件箱记录，索引器定期按写入顺序取出一批，
+ * 合并为一次 embedVectors 调用并批量写入向量集合，成功后删除发件箱记录；批次失败时逐条重试，
+ * 只给失败的记录累加失败次数，达到上限的记录作为死信保留在发件箱中不再处理，单独统计。
+ * 向量按聊天历史ID写入，重复处理是幂等的。
+ * 回填模式把已有聊天历史分批登记到发件箱，由同一流程完成向量化。
+ */
+@Service
+public class ChatHistoryVectorIndexer {
+
+    private static final int BACKFILL_CHUNK = 1000;
+
+    private final ChatHistoryVectorOutboxRepository outboxRepository;
+    private final ChatHistoryRepository chatHistoryRepository;
+    private final TextEmbeddingService textEmbeddingService;
+    private final VectorService vectorService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${vector.indexer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vector.indexer.batch-size:64}")
+    private int batchSize;
+
+    @Value("${vector.indexer.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    @Value("${vector.indexer.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${vector.indexer.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "chat-history-vector-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    // 统计信息
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong backfilledCount = new AtomicLong();
+    private volatile long pendingCount;
+    private volatile long deadLetterCount;
+    private volatile long lagMillis;
+    private volatile long lastBatchMillis;
+
+    @Autowired
+    public ChatHistoryVectorIndexer(ChatHistoryVectorOutboxRepository outboxRepository,
+                                    ChatHistoryRepository chatHistoryRepository,
+                                    TextEmbeddingService textEmbeddingService,
+                                    VectorService vectorService,
+                                    TransactionTemplate transactionTemplate) {
+        this.outboxRepository = outboxRepository;
+        this.chatHistoryRepository = chatHistoryRepository;
+        this.textEmbeddingService = textEmbeddingService;
+        this.vectorService = vectorService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (meterRegistry != null) {
+            Gauge.builder("chat_history.vector_index.lag", this, indexer -> indexer.lagMillis / 1000.0)
+                    .description("Age of the oldest chat history row waiting to be vectorised")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("chat_history.vector_index.pending", this, indexer -> indexer.pendingCount)
+                    .description("Chat history rows waiting to be vectorised")
+                    .register(meterRegistry);
+            Gauge.builder("chat_history.vector_index.dead_letter", this, indexer -> indexer.deadLetterCount)
+                    .description("Chat history rows that reached the maximum number of attempts and are no longer retried")
+                    .register(meterRegistry);
+        }
+        if (!enabled) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        if (backfillOnStartup) {
+            executor.execute(this::backfill);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 处理发件箱直到没有完整的批次，返回本次向量化的条数
+     */
+    public int drain() {
+        int total = 0;
+        try {
+            while (true) {
+                int processed = processBatch();
+                total += processed;
+                if (processed < batchSize) {
+                    break;
+                }
+            }
+            refreshLag();
+        } catch (Exception e) {
+            System.err.println("Chat history vector indexer failed: " + e.getMessage());
+        }
+        return total;
+    }
+
+    /**
+     * 回填：把全部已有聊天历史登记到发件箱，已向量化的记录会被覆盖写入
+     * 与 drain 在同一线程执行时交替进行，避免发件箱积压过大
+     * @return 登记的条数
+     */
+    public long backfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return 0;
+        }
+        long enqueued = 0;
+        try {
+            long afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                long from = afterId;
+                List<Long> ids = transactionTemplate.execute(status -> outboxRepository.enqueueExisting(from, BACKFILL_CHUNK));
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                enqueued += ids.size();
+                backfilledCount.addAndGet(ids.size());
+                afterId = ids.get(ids.size() - 1);
+                drain();
+            }
+        } catch (Exception e) {
+            System.err.println("Chat history vector backfill failed: " + e.getMessage());
+        } finally {
+            backfillRunning.set(false);
+        }
+        return enqueued;
+    }
+
+    /**
+     * 在后台线程中启动回填
+     */
+    public void startBackfill() {
+        executor.execute(this::backfill);
+    }
+
+    /**
+     * 获取索引器统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", pendingCount);
+        stats.put("deadLetter", deadLetterCount);
+        stats.put("lagMillis", lagMillis);
+        stats.put("indexed", indexedCount.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("backfilled", backfilledCount.get());
+        stats.put("backfillRunning", backfillRunning.get());
+        stats.put("lastBatchMillis", lastBatchMillis);
+        return stats;
+    }
+
+    /**
+     * 处理一批发件箱记录，返回取出的记录数，有记录失败时返回0
+     */
+    private int processBatch() {
+        List<ChatHistoryVectorOutbox> entries = outboxRepository.findByAttemptsLessThanOrderByIdAsc(
+                maxAttempts, PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            index(entries);
+            return entries.size();
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            System.err.println("Failed to vectorise chat history batch: " + e.getMessage());
+        } finally {
+            lastBatchMillis = (System.nanoTime() - start) / 1_000_000;
+        }
+        if (entries.size() == 1) {
+            outboxRepository.incrementAttempts(List.of(entries.get(0).getId()));
+            return 0;
+        }
+
+        // 逐条重试，只有出错的记录累加失败次数，一条坏数据不会拖住整批
+        List<Long> failedIds = new ArrayList<>();
+        for (ChatHistoryVectorOutbox entry : entries) {
+            try {
+                index(List.of(entry));
+            } catch (Exception e) {
+                failedIds.add(entry.getId());
+                System.err.println("Failed to vectorise chat history " + entry.getChatHistoryId() + ": " + e.getMessage());
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            outboxRepository.incrementAttempts(failedIds);
+        }
+        // 失败的记录等到下一个周期再重试
+        return failedIds.isEmpty() ? entries.size() : 0;
+    }
+
+    /**
+     * 向量化一组发件箱记录并删除，任何一步失败都抛出异常，发件箱记录保持不变
+     */
+    private void index(List<ChatHistoryVectorOutbox> entries) {
+        List<Long> outboxIds = new ArrayList<>(entries.size());
+        List<Long> chatHistoryIds = new ArrayList<>(entries.size());
+        for (ChatHistoryVectorOutbox entry : entries) {
+            outboxIds.add(entry.getId());
+            chatHistoryIds.add(entry.getChatHistoryId());
+        }
+        // 已删除的聊天历史直接跳过，同一条记录被登记多次时只向量化一次
+        Map<Long, ChatHistory> rows = new HashMap<>();
+        for (ChatHistory chatHistory : chatHistoryRepository.findAllById(chatHistoryIds)) {
+            rows.put(chatHistory.getId(), chatHistory);
+        }
+        List<ChatHistory> chatHistories = new ArrayList<>(rows.values());
+        List<String> texts = new ArrayList<>(chatHistories.size());
+        for (ChatHistory chatHistory : chatHistories) {
+            texts.add(chatHistory.getContent());
+        }
+        List<float[]> vectors = texts.isEmpty() ? List.of() : textEmbeddingService.embedVectors(texts);
+
+        List<String> documentIds = new ArrayList<>(chatHistories.size());
+        List<Map<String, Object>> payloads = new ArrayList<>(chatHistories.size());
+        for (ChatHistory chatHistory : chatHistories) {
+            documentIds.add(chatHistory.getId().toString());
+            payloads.add(buildPayload(chatHistory));
+        }
+        vectorService.addChatHistoryVectors(documentIds, vectors, payloads);
+        outboxRepository.deleteAllByIdInBatch(outboxIds);
+        indexedCount.addAndGet(chatHistories.size());
+    }
+
+    private void refreshLag() {
+        pendingCount = outboxRepository.countByAttemptsLessThan(maxAttempts);
+        deadLetterCount = outboxRepository.countByAttemptsGreaterThanEqual(maxAttempts);
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt(maxAttempts);
+        lagMillis = oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+    }
+
+    private static Map<String, Object> buildPayload(ChatHistory chatHistory) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("user_id", chatHistory.getUserId());
+        payload.put("content", chatHistory.getContent());
+        payload.put("role", chatHistory.getRole());
+        payload.put("session_id", chatHistory.getSessionId());
+        payload.put("created_at", chatHistory.getCreatedAt().toString());
+        return payload;
+    }
+}
@@ -1,5 +1,6 @@
 package com.skyeai.jarvis.service;
 
+import com.skyeai.jarvis.vector.VectorMath;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -17,17 +18,35 @@ public class TextEmbeddingService {
     private final Random random = new Random();
 
     /**
-     * 将文本转换为向量
+     * 将文本转换为归一化的float向量，余弦相似度可直接用 {@link #dotProduct} 计算
      */
-    public List<Double> embedText(String text) {
+    public float[] embedVector(String text) {
         // 实际应用中，这里应该使用真实的嵌入模型，如BERT、Sentence Transformers等
         // 这里使用随机向量作为示例
-        List<Double> vector = new ArrayList<>(VECTOR_SIZE);
+        float[] vector = new float[VECTOR_SIZE];
         for (int i = 0; i < VECTOR_SIZE; i++) {
             // 生成-1到1之间的随机数
-            vector.add(random.nextDouble() * 2 - 1);
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return VectorMath.normalize(vector);
+    }
+
+    /**
+     * 批量将文本转换为归一化的float向量
+     */
+    public List<float[]> embedVectors(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embedVector(text));
         }
-        return vector;
+        return vectors;
+    }
+
+    /**
+     * 将文本转换为向量
+     */
+    public List<Double> embedText(String text) {
+        return toList(embedVector(text));
     }
 
     /**
@@ -35,12 +54,26 @@ public class TextEmbeddingService {
      */
     public List<List<Double>> embedTexts(List<String> texts) {
         List<List<Double>> vectors = new ArrayList<>(texts.size());
-        for (String text : texts) {
-            vectors.add(embedText(text));
+        for (float[] vector : embedVectors(texts)) {
+            vectors.add(toList(vector));
         }
         return vectors;
     }
 
+    /**
+     * 计算两个向量的余弦相似度
+     */
+    public float cosineSimilarity(float[] vector1, float[] vector2) {
+        return VectorMath.cosine(vector1, vector2);
+    }
+
+    /**
+     * 计算两个向量的点积，两个向量都已归一化时即为余弦相似度
+     */
+    public float dotProduct(float[] vector1, float[] vector2) {
+        return VectorMath.dot(vector1, vector2);
+    }
+
     /**
      * 计算两个向量的余弦相似度
      */
@@ -54,9 +87,11 @@ public class TextEmbeddingService {
         double norm2 = 0.0;
 
         for (int i = 0; i < vector1.size(); i++) {
-            dotProduct += vector1.get(i) * vector2.get(i);
-            norm1 += Math.pow(vector1.get(i), 2);
-            norm2 += Math.pow(vector2.get(i), 2);
+            double v1 = vector1.get(i);
+            double v2 = vector2.get(i);
+            dotProduct += v1 * v2;
+            norm1 += v1 * v1;
+            norm2 += v2 * v2;
         }
 
         if (norm1 == 0 || norm2 == 0) {
@@ -65,4 +100,12 @@ public class TextEmbeddingService {
 
         return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
     }
+
+    private static List<Double> toList(float[] vector) {
+        List<Double> list = new ArrayList<>(vector.length);
+        for (float v : vector) {
+            list.add((double) v);
+        }
+        return list;
+    }
 }
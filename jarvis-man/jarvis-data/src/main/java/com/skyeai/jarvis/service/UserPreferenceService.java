@@ -5,9 +5,12 @@ import com.skyeai.jarvis.model.UserPreference;
 import com.skyeai.jarvis.repository.UserPreferenceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +54,54 @@ public class UserPreferenceService {
         return saved;
     }
 
+    /**
+     * 批量保存用户偏好：已存在的 (userId, preferenceKey) 更新，其余新增；同一批次内重复的键以最后一条为准
+     * 一次查询读取用户已有偏好，更新由Hibernate按 hibernate.jdbc.batch_size 批量执行，新增按同样的批大小批量插入
+     * @param userId 用户ID
+     * @param preferences 用户偏好列表
+     * @return 保存后的用户偏好列表
+     */
+    @Transactional
+    public List<UserPreference> saveUserPreferencesBatch(String userId, List<UserPreference> preferences) {
+        Map<String, UserPreference> existing = new HashMap<>();
+        for (UserPreference preference : userPreferenceRepository.findByUserId(userId)) {
+            existing.putIfAbsent(preference.getPreferenceKey(), preference);
+        }
+        Map<String, UserPreference> latest = new LinkedHashMap<>();
+        for (UserPreference preference : preferences) {
+            latest.put(preference.getPreferenceKey(), preference);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UserPreference> toUpdate = new ArrayList<>();
+        List<UserPreference> toInsert = new ArrayList<>();
+        List<UserPreference> saved = new ArrayList<>(latest.size());
+        for (UserPreference preference : latest.values()) {
+            UserPreference current = existing.get(preference.getPreferenceKey());
+            if (current != null) {
+                current.setValue(preference.getValue());
+                current.setPreferenceType(preference.getPreferenceType());
+                current.setPriority(preference.getPriority());
+                current.setUpdatedAt(now);
+                toUpdate.add(current);
+                saved.add(current);
+            } else {
+                preference.setUserId(userId);
+                preference.setCreatedAt(now);
+                preference.setUpdatedAt(now);
+                toInsert.add(preference);
+                saved.add(preference);
+            }
+        }
+        userPreferenceRepository.saveAll(toUpdate);
+        userPreferenceRepository.batchInsert(toInsert);
+
+        for (UserPreference preference : saved) {
+            saveToVectorDatabase(preference);
+        }
+        return saved;
+    }
+
     /**
      * 保存用户偏好到向量数据库
      */
@@ -58,7 +109,7 @@ public class UserPreferenceService {
         try {
             // 生成文本向量（使用偏好键和值的组合作为文本）
             String text = preference.getPreferenceKey() + ": " + preference.getValue();
-            List<Double> vector = textEmbeddingService.embedText(text);
+            float[] vector = textEmbeddingService.embedVector(text);
             
             // 构建payload
             Map<String, Object> payload = new HashMap<>();
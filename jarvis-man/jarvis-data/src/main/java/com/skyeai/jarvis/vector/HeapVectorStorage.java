@@ -0,0 +1,99 @@
+package com.skyeai.jarvis.vector;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 堆内向量存储：每页打包 4096 个向量，扩容时只追加新页，不拷贝旧数据
+ */
+class HeapVectorStorage implements VectorStorage {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final ReentrantLock growLock = new ReentrantLock();
+    private volatile float[][] pages = new float[0][];
+    private volatile int dimension;
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public void initDimension(int dimension) {
+        if (this.dimension == 0) {
+            growLock.lock();
+            try {
+                if (this.dimension == 0) {
+                    this.dimension = dimension;
+                }
+            } finally {
+                growLock.unlock();
+            }
+        }
+        if (this.dimension != dimension) {
+            throw new IllegalArgumentException("Vector dimension mismatch: expected " + this.dimension + ", got " + dimension);
+        }
+    }
+
+    @Override
+    public void ensureCapacity(int slot) {
+        int pageIndex = slot >>> PAGE_BITS;
+        if (pageIndex < pages.length) {
+            return;
+        }
+        growLock.lock();
+        try {
+            int count = pages.length;
+            if (pageIndex < count) {
+                return;
+            }
+            int newCount = Math.max(pageIndex + 1, count * 2);
+            float[][] grown = new float[newCount][];
+            System.arraycopy(pages, 0, grown, 0, count);
+            for (int i = count; i < newCount; i++) {
+                grown[i] = new float[PAGE_SIZE * dimension];
+            }
+            pages = grown;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    @Override
+    public void write(int slot, float[] vector) {
+        System.arraycopy(vector, 0, pages[slot >>> PAGE_BITS], (slot & PAGE_MASK) * dimension, dimension);
+    }
+
+    @Override
+    public void read(int slot, float[] target) {
+        System.arraycopy(pages[slot >>> PAGE_BITS], (slot & PAGE_MASK) * dimension, target, 0, dimension);
+    }
+
+    @Override
+    public float dot(float[] query, int slot) {
+        return dot(query, 0, pages[slot >>> PAGE_BITS], (slot & PAGE_MASK) * dimension);
+    }
+
+    @Override
+    public float dot(int slotA, int slotB) {
+        float[][] current = pages;
+        return dot(current[slotA >>> PAGE_BITS], (slotA & PAGE_MASK) * dimension,
+                current[slotB >>> PAGE_BITS], (slotB & PAGE_MASK) * dimension);
+    }
+
+    @Override
+    public int segmentCount() {
+        return pages.length;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return (long) pages.length * PAGE_SIZE * dimension * Float.BYTES;
+    }
+
+    private float dot(float[] a, int aOffset, float[] b, int bOffset) {
+        return VectorMath.dot(a, aOffset, b, bOffset, dimension);
+    }
+}
@@ -0,0 +1,725 @@
+package com.skyeai.jarvis.vector;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 进程内HNSW近似最近邻索引
+ * 向量打包存储在 VectorStorage 中（堆内 float[] 页或内存映射段文件），邻接表按节点加锁、写时复制，
+ * 支持并发写入、删除（逻辑删除）和按payload过滤的Top-K检索
+ */
+public class HnswIndex {
+
+    // 节点按页存放，每页 4096 个，扩容时只追加新页
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final VectorMetric metric;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final int exactSearchThreshold;
+    private volatile int efSearch;
+
+    private final VectorStorage storage;
+    private volatile Node[][] nodePages = new Node[0][];
+
+    private final AtomicInteger nextNodeId = new AtomicInteger();
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private final AtomicInteger deletedCount = new AtomicInteger();
+    private final Map<String, Integer> idToNode = new ConcurrentHashMap<>();
+    // 可复用的槽位：已删除节点和重启后未被占用的空槽
+    private final ConcurrentLinkedQueue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock growLock = new ReentrantLock();
+    private final ReentrantLock entryLock = new ReentrantLock();
+    private volatile int entryPoint = -1;
+    private volatile int maxLevel = -1;
+
+    private final ThreadLocal<VisitedSet> visitedSets = ThreadLocal.withInitial(VisitedSet::new);
+
+    public HnswIndex(VectorMetric metric) {
+        this(metric, 16, 200, 64);
+    }
+
+    /**
+     * @param metric 相似度度量
+     * @param m 每层最大邻居数（第0层为2倍）
+     * @param efConstruction 构建时候选集大小
+     * @param efSearch 检索时候选集大小
+     */
+    public HnswIndex(VectorMetric metric, int m, int efConstruction, int efSearch) {
+        this(metric, m, efConstruction, efSearch, new HeapVectorStorage());
+    }
+
+    HnswIndex(VectorMetric metric, int m, int efConstruction, int efSearch, VectorStorage storage) {
+        if (m < 2) {
+            throw new IllegalArgumentException("m must be >= 2");
+        }
+        this.metric = metric;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.exactSearchThreshold = 1024;
+        this.storage = storage;
+    }
+
+    /**
+     * 写入向量，同一ID重复写入时原地覆盖旧槽位，新ID优先复用空闲槽位
+     * 同一ID的写入和删除需由调用方串行化（VectorCollection 按ID分段加锁）
+     * @return 向量所在槽位
+     */
+    public int add(String id, float[] vector, Map<String, Object> payload) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        float[] stored = prepare(vector, true);
+
+        Integer existing = idToNode.get(id);
+        Integer free = existing == null ? freeSlots.poll() : null;
+        int nodeId;
+        if (existing != null) {
+            nodeId = existing;
+        } else if (free != null) {
+            nodeId = free;
+        } else {
+            nodeId = nextNodeId.getAndIncrement();
+            ensureCapacity(nodeId);
+        }
+        // 复用槽位时沿用原节点的层数，但清空其邻居：原邻居是按旧向量选出的，按新向量重新连接
+        Node previous = node(nodeId);
+        Node node = new Node(id, previous == null ? randomLevel() : previous.level, payload);
+        if (previous != null && entryPoint == nodeId) {
+            handOffEntryPoint(nodeId, previous);
+        }
+        storage.write(nodeId, stored);
+        nodePages[nodeId >>> PAGE_BITS][nodeId & PAGE_MASK] = node;
+        idToNode.put(id, nodeId);
+        if (existing == null) {
+            liveCount.incrementAndGet();
+            if (previous != null && previous.deleted) {
+                deletedCount.decrementAndGet();
+            }
+        }
+
+        link(nodeId, node, stored);
+        return nodeId;
+    }
+
+    /**
+     * 归还未接入图的槽位（重启后的空槽，或恢复前即被覆盖/删除的点）
+     */
+    void release(int slot) {
+        if (node(slot) == null) {
+            freeSlots.offer(slot);
+        }
+    }
+
+    /**
+     * 遍历所有存活的点，用于重写点日志
+     */
+    void forEachPoint(PointVisitor visitor) throws IOException {
+        int total = nextNodeId.get();
+        for (int nodeId = 0; nodeId < total; nodeId++) {
+            Node node = node(nodeId);
+            if (node != null && !node.deleted) {
+                visitor.visit(nodeId, node.externalId, node.payload);
+            }
+        }
+    }
+
+    /**
+     * 预留槽位，重启恢复时保证新写入不会覆盖已持久化的向量
+     */
+    void reserve(int slots) {
+        nextNodeId.accumulateAndGet(slots, Math::max);
+        if (slots > 0) {
+            ensureCapacity(slots - 1);
+        }
+    }
+
+    /**
+     * 将存储中已有的向量重新接入图（向量已归一化，不再写入）
+     * @return 该ID已被重新写入或已存在时返回false
+     */
+    boolean restore(int slot, String id, Map<String, Object> payload) {
+        if (idToNode.putIfAbsent(id, slot) != null) {
+            return false;
+        }
+        Node node = new Node(id, randomLevel(), payload);
+        nodePages[slot >>> PAGE_BITS][slot & PAGE_MASK] = node;
+        liveCount.incrementAndGet();
+        float[] vector = new float[storage.dimension()];
+        storage.read(slot, vector);
+        link(slot, node, vector);
+        return true;
+    }
+
+    /**
+     * 删除向量（逻辑删除，节点保留在图中用于导航，槽位留待新ID复用）
+     */
+    public boolean delete(String id) {
+        Integer nodeId = idToNode.remove(id);
+        if (nodeId == null) {
+            return false;
+        }
+        Node node = node(nodeId);
+        if (!node.deleted) {
+            node.deleted = true;
+            liveCount.decrementAndGet();
+            deletedCount.incrementAndGet();
+            freeSlots.offer(nodeId);
+        }
+        return true;
+    }
+
+    public boolean contains(String id) {
+        return idToNode.containsKey(id);
+    }
+
+    public int size() {
+        return liveCount.get();
+    }
+
+    public void setEfSearch(int efSearch) {
+        this.efSearch = efSearch;
+    }
+
+    /**
+     * 近似Top-K检索
+     * @param query 查询向量
+     * @param k 返回数量
+     * @param filter payload过滤条件，可为null
+     */
+    public List<VectorSearchResult> search(float[] query, int k, Predicate<Map<String, Object>> filter) {
+        if (k <= 0 || liveCount.get() == 0) {
+            return Collections.emptyList();
+        }
+        float[] normalized = prepare(query, false);
+        if (liveCount.get() <= exactSearchThreshold) {
+            return scan(normalized, k, filter);
+        }
+
+        int ep = entryPoint;
+        for (int level = maxLevel; level > 0; level--) {
+            ep = greedyClosest(normalized, ep, level);
+        }
+        LongHeap results = searchLayer(normalized, ep, Math.max(efSearch, k), 0, filter, true);
+        while (results.size() > k) {
+            results.pop();
+        }
+        return toResults(results);
+    }
+
+    /**
+     * 精确Top-K检索（线性扫描），用于小集合和召回率评估
+     */
+    public List<VectorSearchResult> exactSearch(float[] query, int k, Predicate<Map<String, Object>> filter) {
+        if (k <= 0 || liveCount.get() == 0) {
+            return Collections.emptyList();
+        }
+        return scan(prepare(query, false), k, filter);
+    }
+
+    /**
+     * 按索引的度量预处理查询向量（余弦度量时归一化）
+     */
+    float[] prepareQuery(float[] query) {
+        return prepare(query, false);
+    }
+
+    /**
+     * 获取索引统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("metric", metric.name());
+        stats.put("dimension", storage.dimension());
+        stats.put("point_count", liveCount.get());
+        stats.put("deleted_count", deletedCount.get());
+        stats.put("slot_count", nextNodeId.get());
+        stats.put("free_slot_count", freeSlots.size());
+        stats.put("max_level", maxLevel);
+        stats.put("m", m);
+        stats.put("ef_construction", efConstruction);
+        stats.put("ef_search", efSearch);
+        stats.put("segment_count", storage.segmentCount());
+        stats.put("vector_bytes", storage.allocatedBytes());
+        return stats;
+    }
+
+    private List<VectorSearchResult> scan(float[] query, int k, Predicate<Map<String, Object>> filter) {
+        LongHeap results = new LongHeap(k + 1);
+        int total = nextNodeId.get();
+        for (int nodeId = 0; nodeId < total; nodeId++) {
+            Node node = node(nodeId);
+            if (node == null || !accept(node, filter)) {
+                continue;
+            }
+            long key = encode(score(query, nodeId), nodeId);
+            if (results.size() < k) {
+                results.push(key);
+            } else if (key > results.peek()) {
+                results.pop();
+                results.push(key);
+            }
+        }
+        return toResults(results);
+    }
+
+    private void link(int nodeId, Node node, float[] vector) {
+        int level = node.level;
+        // 只有可能成为新入口点的节点才持有入口锁
+        boolean raiseEntry = entryPoint == -1 || level > maxLevel;
+        if (raiseEntry) {
+            entryLock.lock();
+        }
+        try {
+            if (entryPoint == -1) {
+                entryPoint = nodeId;
+                maxLevel = level;
+                return;
+            }
+            if (raiseEntry && level <= maxLevel) {
+                entryLock.unlock();
+                raiseEntry = false;
+            }
+
+            int ep = entryPoint;
+            int currentMax = maxLevel;
+            for (int l = currentMax; l > level; l--) {
+                ep = greedyClosest(vector, ep, l);
+            }
+            for (int l = Math.min(level, currentMax); l >= 0; l--) {
+                LongHeap candidates = searchLayer(vector, ep, efConstruction, l, null, false);
+                // 覆盖写入时节点自身可能已在图中，不能连向自己
+                long[] sorted = withoutNode(candidates.drainDescending(), nodeId);
+                if (sorted.length == 0) {
+                    continue;
+                }
+                int[] neighbors = selectNeighbors(sorted, m);
+                // 与 addLink 使用同一把锁，避免覆盖其他线程刚追加的反向边
+                synchronized (node) {
+                    node.links.set(l, neighbors);
+                }
+                for (int neighbor : neighbors) {
+                    addLink(neighbor, nodeId, l);
+                }
+                ep = decodeId(sorted[0]);
+            }
+            if (raiseEntry) {
+                entryPoint = nodeId;
+                maxLevel = level;
+            }
+        } finally {
+            if (raiseEntry) {
+                entryLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 入口节点被复用前把入口交给它层数最高的邻居，重新连接期间检索和写入仍能从入口遍历全图
+     */
+    private void handOffEntryPoint(int nodeId, Node previous) {
+        entryLock.lock();
+        try {
+            if (entryPoint != nodeId) {
+                return;
+            }
+            int best = -1;
+            int bestLevel = -1;
+            for (int l = previous.level; l >= 0 && best < 0; l--) {
+                for (int neighbor : previous.links.get(l)) {
+                    int neighborLevel = node(neighbor).level;
+                    if (neighborLevel > bestLevel) {
+                        best = neighbor;
+                        bestLevel = neighborLevel;
+                    }
+                }
+            }
+            // 先降低层数再切换入口，并发检索不会在入口上访问超出其层数的邻接表
+            maxLevel = bestLevel;
+            entryPoint = best;
+        } finally {
+            entryLock.unlock();
+        }
+    }
+
+    private void addLink(int from, int to, int level) {
+        Node node = node(from);
+        int maxLinks = level == 0 ? maxM0 : m;
+        synchronized (node) {
+            int[] current = node.links.get(level);
+            for (int neighbor : current) {
+                if (neighbor == to) {
+                    return;
+                }
+            }
+            if (current.length < maxLinks) {
+                int[] updated = new int[current.length + 1];
+                System.arraycopy(current, 0, updated, 0, current.length);
+                updated[current.length] = to;
+                node.links.set(level, updated);
+                return;
+            }
+            // 超出上限时按启发式重新挑选邻居
+            LongHeap candidates = new LongHeap(current.length + 1);
+            candidates.push(encode(storage.dot(from, to), to));
+            for (int neighbor : current) {
+                candidates.push(encode(storage.dot(from, neighbor), neighbor));
+            }
+            node.links.set(level, selectNeighbors(candidates.drainDescending(), maxLinks));
+        }
+    }
+
+    private static long[] withoutNode(long[] keys, int nodeId) {
+        for (int i = 0; i < keys.length; i++) {
+            if (decodeId(keys[i]) == nodeId) {
+                long[] filtered = new long[keys.length - 1];
+                System.arraycopy(keys, 0, filtered, 0, i);
+                System.arraycopy(keys, i + 1, filtered, i, keys.length - i - 1);
+                return filtered;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * HNSW邻居选择启发式：候选按相似度降序，若候选与已选邻居比与目标更近则跳过
+     */
+    private int[] selectNeighbors(long[] sortedDescending, int maxLinks) {
+        int[] selected = new int[Math.min(maxLinks, sortedDescending.length)];
+        int count = 0;
+        for (long candidate : sortedDescending) {
+            if (count >= maxLinks) {
+                break;
+            }
+            int candidateId = decodeId(candidate);
+            float candidateScore = decodeScore(candidate);
+            boolean keep = true;
+            for (int i = 0; i < count; i++) {
+                if (storage.dot(candidateId, selected[i]) > candidateScore) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[count++] = candidateId;
+            }
+        }
+        if (count == selected.length) {
+            return selected;
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(selected, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    private int greedyClosest(float[] query, int ep, int level) {
+        int current = ep;
+        float currentScore = score(query, current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Node node = node(current);
+            if (level >= node.links.length()) {
+                break;
+            }
+            for (int neighbor : node.links.get(level)) {
+                float s = score(query, neighbor);
+                if (s > currentScore) {
+                    currentScore = s;
+                    current = neighbor;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 在单层上做束搜索
+     * 候选集探索所有节点，结果集只收录满足过滤条件（且未删除）的节点
+     */
+    private LongHeap searchLayer(float[] query, int ep, int ef, int level,
+                                 Predicate<Map<String, Object>> filter, boolean filterResults) {
+        VisitedSet visited = visitedSets.get();
+        visited.reset(nextNodeId.get());
+
+        LongHeap candidates = new LongHeap(ef * 2);
+        LongHeap results = new LongHeap(ef + 1);
+
+        long epKey = encode(score(query, ep), ep);
+        visited.visit(ep);
+        candidates.push(~epKey);
+        if (!filterResults || accept(node(ep), filter)) {
+            results.push(epKey);
+        }
+
+        while (candidates.size() > 0) {
+            long current = ~candidates.pop();
+            if (results.size() >= ef && decodeScore(current) < decodeScore(results.peek())) {
+                break;
+            }
+            Node node = node(decodeId(current));
+            if (level >= node.links.length()) {
+                continue;
+            }
+            for (int neighbor : node.links.get(level)) {
+                if (!visited.visit(neighbor)) {
+                    continue;
+                }
+                float s = score(query, neighbor);
+                if (results.size() < ef || s > decodeScore(results.peek())) {
+                    long key = encode(s, neighbor);
+                    candidates.push(~key);
+                    if (!filterResults || accept(node(neighbor), filter)) {
+                        results.push(key);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<VectorSearchResult> toResults(LongHeap heap) {
+        long[] sorted = heap.drainDescending();
+        List<VectorSearchResult> results = new ArrayList<>(sorted.length);
+        for (long key : sorted) {
+            int nodeId = decodeId(key);
+            Node node = node(nodeId);
+            results.add(new VectorSearchResult(node.externalId, decodeScore(key), node.payload));
+        }
+        return results;
+    }
+
+    private boolean accept(Node node, Predicate<Map<String, Object>> filter) {
+        return !node.deleted && (filter == null || filter.test(node.payload));
+    }
+
+    private float[] prepare(float[] vector, boolean copy) {
+        if (vector == null || vector.length == 0) {
+            throw new IllegalArgumentException("vector must not be empty");
+        }
+        storage.initDimension(vector.length);
+        if (metric != VectorMetric.COSINE) {
+            return copy ? vector.clone() : vector;
+        }
+        // 已归一化的向量（如 TextEmbeddingService.embedVector 的输出）无需再次缩放
+        if (VectorMath.isNormalized(vector)) {
+            return copy ? vector.clone() : vector;
+        }
+        return VectorMath.normalize(vector);
+    }
+
+    private int randomLevel() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        return (int) (-Math.log(1.0 - r) * levelMultiplier);
+    }
+
+    private void ensureCapacity(int nodeId) {
+        storage.ensureCapacity(nodeId);
+        int pageIndex = nodeId >>> PAGE_BITS;
+        if (pageIndex < nodePages.length) {
+            return;
+        }
+        growLock.lock();
+        try {
+            int pages = nodePages.length;
+            if (pageIndex < pages) {
+                return;
+            }
+            int newPages = Math.max(pageIndex + 1, pages * 2);
+            Node[][] newNodePages = new Node[newPages][];
+            System.arraycopy(nodePages, 0, newNodePages, 0, pages);
+            for (int i = pages; i < newPages; i++) {
+                newNodePages[i] = new Node[PAGE_SIZE];
+            }
+            nodePages = newNodePages;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private Node node(int nodeId) {
+        Node[][] pages = nodePages;
+        int pageIndex = nodeId >>> PAGE_BITS;
+        return pageIndex < pages.length ? pages[pageIndex][nodeId & PAGE_MASK] : null;
+    }
+
+    private float score(float[] query, int nodeId) {
+        return storage.dot(query, nodeId);
+    }
+
+    /**
+     * 将(分数, 节点)编码为可直接比较大小的long：高32位为可排序的float位，低32位为节点ID
+     */
+    private static long encode(float score, int nodeId) {
+        int bits = Float.floatToIntBits(score);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (nodeId & 0xffffffffL);
+    }
+
+    private static float decodeScore(long key) {
+        int bits = (int) (key >>> 32);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return Float.intBitsToFloat(bits);
+    }
+
+    private static int decodeId(long key) {
+        return (int) key;
+    }
+
+    /**
+     * 图节点
+     */
+    private static final class Node {
+        private final String externalId;
+        private final int level;
+        private final Map<String, Object> payload;
+        // 每层邻居数组整体替换（写时复制），读取无需加锁
+        private final AtomicReferenceArray<int[]> links;
+        private volatile boolean deleted;
+
+        private Node(String externalId, int level, Map<String, Object> payload) {
+            this.externalId = externalId;
+            this.level = level;
+            this.payload = payload;
+            this.links = new AtomicReferenceArray<>(level + 1);
+            for (int i = 0; i <= level; i++) {
+                links.set(i, new int[0]);
+            }
+        }
+    }
+
+    /**
+     * 存活点遍历回调
+     */
+    interface PointVisitor {
+        void visit(int slot, String id, Map<String, Object> payload) throws IOException;
+    }
+
+    /**
+     * 基于代数标记的访问集合，按线程复用避免每次检索分配
+     */
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int generation;
+
+        private void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[Math.max(capacity, marks.length * 2)];
+                generation = 0;
+            }
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                java.util.Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * @return 首次访问返回true
+         */
+        private boolean visit(int nodeId) {
+            if (nodeId >= marks.length) {
+                int[] grown = new int[Math.max(nodeId + 1, marks.length * 2)];
+                System.arraycopy(marks, 0, grown, 0, marks.length);
+                marks = grown;
+            }
+            if (marks[nodeId] == generation) {
+                return false;
+            }
+            marks[nodeId] = generation;
+            return true;
+        }
+    }
+
+    /**
+     * long小顶堆
+     */
+    private static final class LongHeap {
+        private long[] heap;
+        private int size;
+
+        private LongHeap(int capacity) {
+            this.heap = new long[Math.max(capacity, 4)];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private long peek() {
+            return heap[0];
+        }
+
+        private void push(long value) {
+            if (size == heap.length) {
+                long[] grown = new long[heap.length * 2];
+                System.arraycopy(heap, 0, grown, 0, size);
+                heap = grown;
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        private long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        /**
+         * 取出全部元素，按从大到小排列
+         */
+        private long[] drainDescending() {
+            long[] sorted = new long[size];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = pop();
+            }
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.skyeai.jarvis.vector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 堆外向量存储：向量以float32写入定长段文件并内存映射
+ * 段文件格式：32字节头（魔数、版本、维度、段容量）+ 连续的小端float32数据
+ * 重启时只需重新映射段文件，无需把向量读回堆内
+ */
+class MappedVectorStorage implements VectorStorage {
+
+    private static final int MAGIC = 0x4A564543; // "JVEC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".vec";
+
+    private final Path directory;
+    private final int segmentBits;
+    private final int segmentCapacity;
+    private final int segmentMask;
+    private final ReentrantLock growLock = new ReentrantLock();
+
+    private volatile int dimension;
+    private volatile FloatBuffer[] segments = new FloatBuffer[0];
+    // 与 segments 一一对应的小端字节视图，供 SIMD 点积直接加载
+    private volatile ByteBuffer[] byteSegments = new ByteBuffer[0];
+    private final List<MappedByteBuffer> mappedBuffers = new ArrayList<>();
+
+    private MappedVectorStorage(Path directory, int segmentBits) {
+        this.directory = directory;
+        this.segmentBits = segmentBits;
+        this.segmentCapacity = 1 << segmentBits;
+        this.segmentMask = segmentCapacity - 1;
+    }
+
+    /**
+     * 打开（或创建）目录下的段文件
+     * @param segmentBits 每段容纳 2^segmentBits 个向量
+     */
+    static MappedVectorStorage open(Path directory, int segmentBits) throws IOException {
+        Files.createDirectories(directory);
+        MappedVectorStorage storage = new MappedVectorStorage(directory, segmentBits);
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().forEach(files::add);
+        }
+        for (int i = 0; i < files.size(); i++) {
+            Path expected = storage.segmentPath(i);
+            if (!files.get(i).getFileName().equals(expected.getFileName())) {
+                throw new IOException("Missing vector segment: " + expected);
+            }
+            storage.mapSegment(i, false);
+        }
+        return storage;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public void initDimension(int dimension) {
+        if (this.dimension == 0) {
+            growLock.lock();
+            try {
+                if (this.dimension == 0) {
+                    this.dimension = dimension;
+                }
+            } finally {
+                growLock.unlock();
+            }
+        }
+        if (this.dimension != dimension) {
+            throw new IllegalArgumentException("Vector dimension mismatch: expected " + this.dimension + ", got " + dimension);
+        }
+    }
+
+    @Override
+    public void ensureCapacity(int slot) {
+        int segmentIndex = slot >>> segmentBits;
+        if (segmentIndex < segments.length) {
+            return;
+        }
+        growLock.lock();
+        try {
+            for (int i = segments.length; i <= segmentIndex; i++) {
+                mapSegment(i, true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to allocate vector segment", e);
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    @Override
+    public void write(int slot, float[] vector) {
+        FloatBuffer segment = segments[slot >>> segmentBits];
+        int base = (slot & segmentMask) * dimension;
+        for (int i = 0; i < vector.length; i++) {
+            segment.put(base + i, vector[i]);
+        }
+    }
+
+    @Override
+    public void read(int slot, float[] target) {
+        FloatBuffer segment = segments[slot >>> segmentBits];
+        int base = (slot & segmentMask) * dimension;
+        for (int i = 0; i < target.length; i++) {
+            target[i] = segment.get(base + i);
+        }
+    }
+
+    @Override
+    public float dot(float[] query, int slot) {
+        int dim = dimension;
+        return VectorMath.dot(query, byteSegments[slot >>> segmentBits],
+                (slot & segmentMask) * dim * Float.BYTES, dim);
+    }
+
+    @Override
+    public float dot(int slotA, int slotB) {
+        ByteBuffer[] current = byteSegments;
+        int dim = dimension;
+        return VectorMath.dot(current[slotA >>> segmentBits], (slotA & segmentMask) * dim * Float.BYTES,
+                current[slotB >>> segmentBits], (slotB & segmentMask) * dim * Float.BYTES, dim);
+    }
+
+    @Override
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return (long) segments.length * segmentCapacity * dimension * Float.BYTES;
+    }
+
+    @Override
+    public void force(int slot) {
+        MappedByteBuffer buffer;
+        growLock.lock();
+        try {
+            buffer = mappedBuffers.get(slot >>> segmentBits);
+        } finally {
+            growLock.unlock();
+        }
+        int length = dimension * Float.BYTES;
+        buffer.force(HEADER_BYTES + (slot & segmentMask) * length, length);
+    }
+
+    /**
+     * 将脏页刷入磁盘
+     */
+    @Override
+    public void flush() {
+        growLock.lock();
+        try {
+            for (MappedByteBuffer buffer : mappedBuffers) {
+                buffer.force();
+            }
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void mapSegment(int index, boolean create) throws IOException {
+        Path path = segmentPath(index);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (create) {
+                if (dimension == 0) {
+                    throw new IllegalStateException("Vector dimension not initialised");
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(dimension).putInt(segmentCapacity).flip();
+                channel.write(header, 0);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                header.flip();
+                if (header.remaining() < 16 || header.getInt() != MAGIC) {
+                    throw new IOException("Invalid vector segment header: " + path);
+                }
+                header.getInt(); // version
+                int segmentDimension = header.getInt();
+                int capacity = header.getInt();
+                if (capacity != segmentCapacity) {
+                    throw new IOException("Segment capacity mismatch in " + path + ": " + capacity);
+                }
+                initDimension(segmentDimension);
+            }
+            long size = HEADER_BYTES + (long) segmentCapacity * dimension * Float.BYTES;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mappedBuffers.add(mapped);
+            ByteBuffer bytes = mapped.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN);
+            FloatBuffer floats = bytes.asFloatBuffer();
+
+            // 先发布字节视图：读到新 segments 的线程一定能看到对应的字节视图
+            ByteBuffer[] grownBytes = new ByteBuffer[index + 1];
+            System.arraycopy(byteSegments, 0, grownBytes, 0, byteSegments.length);
+            grownBytes[index] = bytes;
+            byteSegments = grownBytes;
+
+            FloatBuffer[] grown = new FloatBuffer[index + 1];
+            System.arraycopy(segments, 0, grown, 0, segments.length);
+            grown[index] = floats;
+            segments = grown;
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+}
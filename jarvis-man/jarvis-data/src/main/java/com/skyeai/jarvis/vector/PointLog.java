@@ -0,0 +1,265 @@
+package com.skyeai.jarvis.vector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 向量点追加日志（ID与payload列）
+ * 记录格式：[长度 int][CRC32 int][操作 byte][槽位 int][ID长度 short][ID][payload长度 int][payload JSON]
+ * 重放时只解析记录头，payload保留为文件偏移，按需解码；
+ * 覆盖和删除会让日志持续增长，由 {@link #rewrite} 只保留存活的点重写
+ */
+class PointLog implements AutoCloseable {
+
+    static final String FILE_NAME = "points.log";
+    static final String REWRITE_FILE_NAME = "points.log.rewrite";
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_DELETE = 2;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final CRC32 crc = new CRC32();
+    // 重写后替换为新文件的通道；历史payload用定位读取，不做内存映射，替换文件时不会被映射占用
+    private volatile FileChannel channel;
+    private long size;
+    private long records;
+
+    private PointLog(Path file, FileChannel channel, ObjectMapper objectMapper, long size, long records) {
+        this.file = file;
+        this.channel = channel;
+        this.objectMapper = objectMapper;
+        this.size = size;
+        this.records = records;
+    }
+
+    /**
+     * 打开日志并重放，截断末尾不完整的记录
+     */
+    static PointLog open(Path directory, ObjectMapper objectMapper, Replay replay) throws IOException {
+        // 上次重写未完成时留下的临时文件，原日志仍完整
+        Files.deleteIfExists(directory.resolve(REWRITE_FILE_NAME));
+        Path file = directory.resolve(FILE_NAME);
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+
+        long[] records = {0};
+        long valid = replay(channel, fileSize, replay, records);
+        if (valid < fileSize) {
+            channel.truncate(valid);
+        }
+        channel.position(valid);
+        return new PointLog(file, channel, objectMapper, valid, records[0]);
+    }
+
+    synchronized void appendAdd(int slot, String id, Map<String, Object> payload) throws IOException {
+        size += write(channel, OP_ADD, slot, id, encode(payload));
+        records++;
+    }
+
+    synchronized void appendDelete(String id) throws IOException {
+        size += write(channel, OP_DELETE, -1, id, new byte[0]);
+        records++;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * 日志中的记录数（含已被覆盖和删除的点）
+     */
+    synchronized long records() {
+        return records;
+    }
+
+    /**
+     * 解码打开日志时已存在的payload
+     * 重写会使旧偏移失效，只能在重写前（即图恢复完成前）调用
+     */
+    Map<String, Object> readPayload(long offset, int length) throws IOException {
+        if (length == 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        FileChannel current = channel;
+        while (buffer.hasRemaining()) {
+            if (current.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Truncated payload at offset " + offset);
+            }
+        }
+        return objectMapper.readValue(buffer.array(), PAYLOAD_TYPE);
+    }
+
+    /**
+     * 只保留存活的点重写日志：先写临时文件并落盘，再原子替换原日志
+     * 重写期间追加被阻塞，之后的记录接在新日志末尾；调用方在重写开始后枚举的点，
+     * 其后续变更都会在重写结束后追加，重放结果与重写前一致
+     */
+    synchronized void rewrite(Rewrite rewrite) throws IOException {
+        Path temp = file.resolveSibling(REWRITE_FILE_NAME);
+        long[] written = {0, 0};
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            rewrite.writeTo((slot, id, payload) -> {
+                written[0] += write(target, OP_ADD, slot, id, encode(payload));
+                written[1]++;
+            });
+            target.force(false);
+        }
+
+        channel.force(false);
+        channel.close();
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            size = written[0];
+            records = written[1];
+        } finally {
+            // 替换失败时重新打开原日志继续追加，临时文件在下次重写或打开时清理
+            FileChannel reopened = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            reopened.position(reopened.size());
+            channel = reopened;
+        }
+    }
+
+    synchronized void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    private byte[] encode(Map<String, Object> payload) throws IOException {
+        return payload == null ? new byte[0] : objectMapper.writeValueAsBytes(payload);
+    }
+
+    private int write(FileChannel target, byte op, int slot, String id, byte[] payloadBytes) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 1 + 4 + 2 + idBytes.length + 4 + payloadBytes.length;
+        ByteBuffer buffer = ByteBuffer.allocate(8 + bodyLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(bodyLength).putInt(0);
+        buffer.put(op).putInt(slot).putShort((short) idBytes.length).put(idBytes)
+                .putInt(payloadBytes.length).put(payloadBytes);
+        crc.reset();
+        crc.update(buffer.array(), 8, bodyLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        return 8 + bodyLength;
+    }
+
+    /**
+     * 顺序分块读取并重放日志
+     * @return 最后一条完整记录的结束位置
+     */
+    private static long replay(FileChannel channel, long fileSize, Replay replay, long[] records) throws IOException {
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        channel.position(0);
+        long position = 0;
+        byte[] idBuffer = new byte[256];
+        while (true) {
+            buffer = fill(channel, buffer, 8);
+            if (buffer.remaining() < 8) {
+                break;
+            }
+            int start = buffer.position();
+            int bodyLength = buffer.getInt(start);
+            int expectedCrc = buffer.getInt(start + 4);
+            if (bodyLength < 11 || position + 8 + bodyLength > fileSize) {
+                break;
+            }
+            buffer = fill(channel, buffer, 8 + bodyLength);
+            start = buffer.position();
+            int body = start + 8;
+            checksum.reset();
+            checksum.update(buffer.slice(body, bodyLength));
+            if ((int) checksum.getValue() != expectedCrc) {
+                break;
+            }
+            byte op = buffer.get(body);
+            int slot = buffer.getInt(body + 1);
+            int idLength = buffer.getShort(body + 5) & 0xffff;
+            if (idBuffer.length < idLength) {
+                idBuffer = new byte[idLength];
+            }
+            buffer.get(body + 7, idBuffer, 0, idLength);
+            String id = new String(idBuffer, 0, idLength, StandardCharsets.UTF_8);
+            int payloadLength = buffer.getInt(body + 7 + idLength);
+            long payloadOffset = position + 8 + 11 + idLength;
+
+            if (op == OP_ADD) {
+                replay.onAdd(slot, id, payloadOffset, payloadLength);
+            } else if (op == OP_DELETE) {
+                replay.onDelete(id);
+            }
+            records[0]++;
+            buffer.position(body + bodyLength);
+            position += 8 + bodyLength;
+        }
+        return position;
+    }
+
+    /**
+     * 保证缓冲区中至少有 required 字节可读（到达文件末尾时可能不足），必要时扩容
+     */
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return buffer;
+        }
+        if (buffer.capacity() < required) {
+            ByteBuffer grown = ByteBuffer.allocate(required).order(ByteOrder.LITTLE_ENDIAN);
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < required) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 重写回调，向 sink 写出所有存活的点
+     */
+    interface Rewrite {
+        void writeTo(HnswIndex.PointVisitor sink) throws IOException;
+    }
+
+    /**
+     * 重放回调
+     */
+    interface Replay {
+        void onAdd(int slot, String id, long payloadOffset, int payloadLength);
+
+        void onDelete(String id);
+    }
+}
@@ -0,0 +1,78 @@
+package com.skyeai.jarvis.vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 基于 jdk.incubator.vector 的 SIMD 实现，使用平台首选宽度（AVX2 为8路，AVX-512 为16路）
+ * 两个向量累加器交替使用以隐藏乘加延迟，尾部不足一个向量宽度的部分按标量处理。
+ * 只能由 {@link VectorMath} 在确认模块可用后加载。
+ */
+final class SimdKernel implements VectorMath.Kernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    @Override
+    public String name() {
+        return "simd-" + LANES;
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i + 2 * LANES <= length; i += 2 * LANES) {
+            acc0 = acc0.add(FloatVector.fromArray(SPECIES, a, aOffset + i)
+                    .mul(FloatVector.fromArray(SPECIES, b, bOffset + i)));
+            acc1 = acc1.add(FloatVector.fromArray(SPECIES, a, aOffset + i + LANES)
+                    .mul(FloatVector.fromArray(SPECIES, b, bOffset + i + LANES)));
+        }
+        for (; i + LANES <= length; i += LANES) {
+            acc0 = acc0.add(FloatVector.fromArray(SPECIES, a, aOffset + i)
+                    .mul(FloatVector.fromArray(SPECIES, b, bOffset + i)));
+        }
+        float sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] a, ByteBuffer b, int bByteOffset, int length) {
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i + LANES <= length; i += LANES) {
+            acc = acc.add(FloatVector.fromArray(SPECIES, a, i)
+                    .mul(FloatVector.fromByteBuffer(SPECIES, b, bByteOffset + i * Float.BYTES, ORDER)));
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[i] * b.getFloat(bByteOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(ByteBuffer a, int aByteOffset, ByteBuffer b, int bByteOffset, int length) {
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i + LANES <= length; i += LANES) {
+            int offset = i * Float.BYTES;
+            acc = acc.add(FloatVector.fromByteBuffer(SPECIES, a, aByteOffset + offset, ORDER)
+                    .mul(FloatVector.fromByteBuffer(SPECIES, b, bByteOffset + offset, ORDER)));
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a.getFloat(aByteOffset + i * Float.BYTES) * b.getFloat(bByteOffset + i * Float.BYTES);
+        }
+        return sum;
+    }
+}
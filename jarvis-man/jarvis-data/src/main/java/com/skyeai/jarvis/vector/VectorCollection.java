@@ -0,0 +1,376 @@
+package com.skyeai.jarvis.vector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * 向量集合：HNSW索引 + 向量存储 + 点日志
+ * 持久化模式下向量写入内存映射段文件，ID与payload写入追加日志；
+ * 重启时只重放日志头并重新映射段文件即可对外提供精确检索，HNSW图在后台线程重建，
+ * 重建完成前检索结果由图检索与未恢复点的线性扫描合并得到。
+ * 覆盖写入复用原槽位，删除释放的槽位由新ID复用；日志记录数远超存活点数时按存活点重写。
+ * 落盘策略由 syncIntervalMs 决定：0 表示每次写入后刷盘，大于0 表示按间隔批量刷盘（组提交），
+ * 小于0 表示交给操作系统；刷盘时先刷向量段再刷日志，日志中的记录不会指向未落盘的向量
+ */
+public class VectorCollection implements Closeable {
+
+    private static final int LOCK_STRIPES = 64;
+    // 日志超过该大小且记录数超过存活点数的 LOG_REWRITE_RATIO 倍时重写
+    private static final long LOG_REWRITE_MIN_BYTES = 4L << 20;
+    private static final int LOG_REWRITE_RATIO = 2;
+
+    private final String name;
+    private final HnswIndex index;
+    private final VectorStorage storage;
+    private final PointLog log;
+    private final long syncIntervalMs;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    // 已持久化但尚未接入HNSW图的点
+    private final Map<String, PendingPoint> pending;
+    private volatile boolean ready;
+    private volatile boolean closed;
+    private final AtomicBoolean rewriting = new AtomicBoolean();
+    // 上次刷盘后是否有新写入
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // 重写失败后，日志再增长该大小之前不重试
+    private volatile long nextRewriteBytes;
+    private Thread restoreThread;
+    private ScheduledExecutorService syncExecutor;
+
+    private VectorCollection(String name, HnswIndex index, VectorStorage storage, PointLog log,
+                             long syncIntervalMs, Map<String, PendingPoint> pending) {
+        this.name = name;
+        this.index = index;
+        this.storage = storage;
+        this.log = log;
+        this.syncIntervalMs = syncIntervalMs;
+        this.pending = pending;
+        this.ready = pending.isEmpty();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 创建纯内存集合
+     */
+    public static VectorCollection inMemory(String name, VectorMetric metric, int m, int efConstruction, int efSearch) {
+        HeapVectorStorage storage = new HeapVectorStorage();
+        return new VectorCollection(name, new HnswIndex(metric, m, efConstruction, efSearch, storage), storage,
+                null, -1, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * 打开（或创建）持久化集合，返回时即可读写，HNSW图在后台恢复
+     * @param directory 集合目录
+     * @param segmentBits 每个段文件容纳 2^segmentBits 个向量
+     * @param syncIntervalMs 刷盘间隔，0 为每次写入后刷盘，小于0 为不主动刷盘
+     */
+    public static VectorCollection open(String name, Path directory, ObjectMapper objectMapper, VectorMetric metric,
+                                        int m, int efConstruction, int efSearch, int segmentBits,
+                                        long syncIntervalMs) throws IOException {
+        MappedVectorStorage storage = MappedVectorStorage.open(directory, segmentBits);
+        Map<String, PendingPoint> pending = new ConcurrentHashMap<>();
+        int[] slotCount = {0};
+        PointLog log = PointLog.open(directory, objectMapper, new PointLog.Replay() {
+            @Override
+            public void onAdd(int slot, String id, long payloadOffset, int payloadLength) {
+                pending.put(id, new PendingPoint(slot, payloadOffset, payloadLength));
+                slotCount[0] = Math.max(slotCount[0], slot + 1);
+            }
+
+            @Override
+            public void onDelete(String id) {
+                pending.remove(id);
+            }
+        });
+
+        HnswIndex index = new HnswIndex(metric, m, efConstruction, efSearch, storage);
+        index.reserve(slotCount[0]);
+        // 日志中不再被任何点占用的槽位（覆盖或删除后留下的）交给新写入复用
+        BitSet used = new BitSet(slotCount[0]);
+        for (PendingPoint point : pending.values()) {
+            used.set(point.slot);
+        }
+        for (int slot = used.nextClearBit(0); slot < slotCount[0]; slot = used.nextClearBit(slot + 1)) {
+            index.release(slot);
+        }
+        VectorCollection collection = new VectorCollection(name, index, storage, log, syncIntervalMs, pending);
+        if (!collection.ready) {
+            collection.restoreThread = new Thread(collection::restore, "vector-restore-" + name);
+            collection.restoreThread.setDaemon(true);
+            collection.restoreThread.start();
+        }
+        if (syncIntervalMs > 0) {
+            collection.syncExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "vector-sync-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            collection.syncExecutor.scheduleWithFixedDelay(collection::syncIfDirty,
+                    syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return collection;
+    }
+
+    /**
+     * 写入向量，同一ID重复写入时覆盖旧向量
+     */
+    public void add(String id, float[] vector, Map<String, Object> payload) {
+        synchronized (lockFor(id)) {
+            PendingPoint stale = pending.remove(id);
+            int slot = index.add(id, vector, payload);
+            if (stale != null) {
+                index.release(stale.slot);
+            }
+            if (log != null) {
+                try {
+                    log.appendAdd(slot, id, payload);
+                    afterAppend(slot);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to append vector log for " + name, e);
+                }
+            }
+        }
+        maybeCompactLog();
+    }
+
+    /**
+     * 删除向量
+     */
+    public boolean delete(String id) {
+        boolean removed;
+        synchronized (lockFor(id)) {
+            PendingPoint stale = pending.remove(id);
+            removed = stale != null | index.delete(id);
+            if (stale != null) {
+                index.release(stale.slot);
+            }
+            if (removed && log != null) {
+                try {
+                    log.appendDelete(id);
+                    afterAppend(-1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to append vector log for " + name, e);
+                }
+            }
+        }
+        if (removed) {
+            maybeCompactLog();
+        }
+        return removed;
+    }
+
+    /**
+     * 按当前存活的点重写点日志，图恢复完成前（日志偏移仍被引用）不执行
+     * @return 是否执行了重写
+     */
+    public boolean compactLog() throws IOException {
+        if (log == null || !ready || closed || !rewriting.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            log.rewrite(index::forEachPoint);
+            return true;
+        } finally {
+            rewriting.set(false);
+        }
+    }
+
+    public int size() {
+        return index.size() + pending.size();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top-K检索，图恢复完成前合并未恢复点的精确扫描结果
+     */
+    public List<VectorSearchResult> search(float[] query, int k, Predicate<Map<String, Object>> filter) {
+        List<VectorSearchResult> results = index.search(query, k, filter);
+        if (ready || k <= 0) {
+            return results;
+        }
+
+        float[] prepared = index.prepareQuery(query);
+        Map<String, VectorSearchResult> merged = new HashMap<>();
+        for (VectorSearchResult result : results) {
+            merged.put(result.getId(), result);
+        }
+        for (Map.Entry<String, PendingPoint> entry : pending.entrySet()) {
+            PendingPoint point = entry.getValue();
+            Map<String, Object> payload = payload(point);
+            if (filter != null && (payload == null || !filter.test(payload))) {
+                continue;
+            }
+            float score = storage.dot(prepared, point.slot);
+            // 恢复线程可能已将该点接入图，保留得分较高的一条
+            merged.merge(entry.getKey(), new VectorSearchResult(entry.getKey(), score, payload),
+                    (a, b) -> a.getScore() >= b.getScore() ? a : b);
+        }
+
+        List<VectorSearchResult> sorted = new ArrayList<>(merged.values());
+        sorted.sort(Comparator.comparing(VectorSearchResult::getScore).reversed());
+        return sorted.size() > k ? new ArrayList<>(sorted.subList(0, k)) : sorted;
+    }
+
+    /**
+     * 获取集合统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(index.stats());
+        stats.put("point_count", size());
+        stats.put("persistent", log != null);
+        stats.put("log_bytes", log == null ? 0L : log.size());
+        stats.put("log_records", log == null ? 0L : log.records());
+        stats.put("pending_restore", pending.size());
+        stats.put("ready", ready);
+        return stats;
+    }
+
+    /**
+     * 等待HNSW图恢复完成
+     */
+    public void awaitReady() throws InterruptedException {
+        Thread thread = restoreThread;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            awaitReady();
+            if (syncExecutor != null) {
+                syncExecutor.shutdown();
+                syncExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        storage.close();
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private void restore() {
+        for (Map.Entry<String, PendingPoint> entry : pending.entrySet()) {
+            if (closed) {
+                return;
+            }
+            String id = entry.getKey();
+            PendingPoint point = entry.getValue();
+            synchronized (lockFor(id)) {
+                if (pending.get(id) == point) {
+                    index.restore(point.slot, id, payload(point));
+                    pending.remove(id, point);
+                }
+            }
+        }
+        ready = true;
+        maybeCompactLog();
+    }
+
+    /**
+     * 按落盘策略处理刚追加的记录
+     * @param slot 写入的槽位，删除时为-1
+     */
+    private void afterAppend(int slot) throws IOException {
+        if (syncIntervalMs == 0) {
+            if (slot >= 0) {
+                storage.force(slot);
+            }
+            log.flush();
+        } else if (syncIntervalMs > 0) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * 组提交：刷入上次刷盘以来的所有写入
+     */
+    private void syncIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            storage.flush();
+            log.flush();
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            System.err.println("Failed to sync vector log for " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void maybeCompactLog() {
+        if (log == null || !ready || log.size() < Math.max(LOG_REWRITE_MIN_BYTES, nextRewriteBytes)
+                || log.records() <= (long) LOG_REWRITE_RATIO * Math.max(index.size(), 1)) {
+            return;
+        }
+        // 写入本身已落日志，重写失败不影响本次写入，原日志继续追加；
+        // 之后每次写入都会满足重写条件，失败后等日志再增长 LOG_REWRITE_MIN_BYTES 才重试，避免每次写入都重写并输出错误
+        try {
+            compactLog();
+        } catch (IOException e) {
+            nextRewriteBytes = log.size() + LOG_REWRITE_MIN_BYTES;
+            System.err.println("Failed to rewrite vector log for " + name + ", retrying after "
+                    + nextRewriteBytes + " bytes: " + e);
+        }
+    }
+
+    /**
+     * 按需解码日志中的payload并缓存
+     */
+    private Map<String, Object> payload(PendingPoint point) {
+        if (!point.decoded) {
+            try {
+                point.payload = log.readPayload(point.payloadOffset, point.payloadLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode payload in " + name, e);
+            }
+            point.decoded = true;
+        }
+        return point.payload;
+    }
+
+    private Object lockFor(String id) {
+        return locks[(id.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static final class PendingPoint {
+        final int slot;
+        final long payloadOffset;
+        final int payloadLength;
+        volatile Map<String, Object> payload;
+        volatile boolean decoded;
+
+        PendingPoint(int slot, long payloadOffset, int payloadLength) {
+            this.slot = slot;
+            this.payloadOffset = payloadOffset;
+            this.payloadLength = payloadLength;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.skyeai.jarvis.vector;
+
+import java.nio.ByteBuffer;
+
+/**
+ * float32 向量运算：点积、平方和、余弦相似度和归一化
+ * 运行时带有 jdk.incubator.vector 模块（--add-modules jdk.incubator.vector）时使用 SIMD 实现，
+ * 否则退化为四路累加的标量实现；可用 -Dvector.simd.disabled=true 强制使用标量实现。
+ * 向量预先归一化后，余弦相似度等于点积，检索路径只需调用 {@link #dot}。
+ */
+public final class VectorMath {
+
+    private static final Kernel KERNEL = loadKernel();
+
+    private VectorMath() {
+    }
+
+    /**
+     * 当前使用的实现名称（simd 或 scalar）
+     */
+    public static String kernelName() {
+        return KERNEL.name();
+    }
+
+    public static float dot(float[] a, float[] b) {
+        checkLength(a, b);
+        return KERNEL.dot(a, 0, b, 0, a.length);
+    }
+
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        return KERNEL.dot(a, aOffset, b, bOffset, length);
+    }
+
+    /**
+     * 与小端 float32 缓冲区中从 bByteOffset 开始的向量做点积
+     */
+    public static float dot(float[] a, ByteBuffer b, int bByteOffset, int length) {
+        return KERNEL.dot(a, b, bByteOffset, length);
+    }
+
+    /**
+     * 两个小端 float32 缓冲区中向量的点积
+     */
+    public static float dot(ByteBuffer a, int aByteOffset, ByteBuffer b, int bByteOffset, int length) {
+        return KERNEL.dot(a, aByteOffset, b, bByteOffset, length);
+    }
+
+    public static float sumOfSquares(float[] a) {
+        return KERNEL.dot(a, 0, a, 0, a.length);
+    }
+
+    /**
+     * 余弦相似度，任一向量为零向量时返回0
+     */
+    public static float cosine(float[] a, float[] b) {
+        checkLength(a, b);
+        float dot = KERNEL.dot(a, 0, b, 0, a.length);
+        double norms = (double) KERNEL.dot(a, 0, a, 0, a.length) * KERNEL.dot(b, 0, b, 0, b.length);
+        if (norms == 0) {
+            return 0f;
+        }
+        return (float) (dot / Math.sqrt(norms));
+    }
+
+    /**
+     * 归一化为单位向量，返回新数组；零向量返回全零数组
+     */
+    public static float[] normalize(float[] vector) {
+        float[] normalized = new float[vector.length];
+        double norm = sumOfSquares(vector);
+        if (norm == 0) {
+            return normalized;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inv;
+        }
+        return normalized;
+    }
+
+    /**
+     * 向量是否已是单位向量（允许 float32 舍入误差）
+     */
+    public static boolean isNormalized(float[] vector) {
+        return Math.abs(sumOfSquares(vector) - 1f) <= 1e-4f;
+    }
+
+    private static void checkLength(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Vectors must have the same size");
+        }
+    }
+
+    private static Kernel loadKernel() {
+        if (Boolean.getBoolean("vector.simd.disabled")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarKernel.INSTANCE;
+        }
+        try {
+            return new SimdKernel();
+        } catch (Throwable e) {
+            // 模块存在但无法加载（如被安全策略限制），退化为标量实现
+            return ScalarKernel.INSTANCE;
+        }
+    }
+
+    /**
+     * 向量运算实现，ByteBuffer 参数均为小端 float32
+     */
+    interface Kernel {
+
+        String name();
+
+        float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+        float dot(float[] a, ByteBuffer b, int bByteOffset, int length);
+
+        float dot(ByteBuffer a, int aByteOffset, ByteBuffer b, int bByteOffset, int length);
+    }
+
+    /**
+     * 标量实现：四个独立累加器打破加法依赖链
+     */
+    static final class ScalarKernel implements Kernel {
+
+        static final ScalarKernel INSTANCE = new ScalarKernel();
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+
+        @Override
+        public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int i = 0;
+            for (; i + 3 < length; i += 4) {
+                s0 += a[aOffset + i] * b[bOffset + i];
+                s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+                s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+                s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+            }
+            for (; i < length; i++) {
+                s0 += a[aOffset + i] * b[bOffset + i];
+            }
+            return s0 + s1 + s2 + s3;
+        }
+
+        @Override
+        public float dot(float[] a, ByteBuffer b, int bByteOffset, int length) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int i = 0;
+            for (; i + 3 < length; i += 4) {
+                int offset = bByteOffset + i * Float.BYTES;
+                s0 += a[i] * b.getFloat(offset);
+                s1 += a[i + 1] * b.getFloat(offset + 4);
+                s2 += a[i + 2] * b.getFloat(offset + 8);
+                s3 += a[i + 3] * b.getFloat(offset + 12);
+            }
+            for (; i < length; i++) {
+                s0 += a[i] * b.getFloat(bByteOffset + i * Float.BYTES);
+            }
+            return s0 + s1 + s2 + s3;
+        }
+
+        @Override
+        public float dot(ByteBuffer a, int aByteOffset, ByteBuffer b, int bByteOffset, int length) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int i = 0;
+            for (; i + 3 < length; i += 4) {
+                int offset = i * Float.BYTES;
+                s0 += a.getFloat(aByteOffset + offset) * b.getFloat(bByteOffset + offset);
+                s1 += a.getFloat(aByteOffset + offset + 4) * b.getFloat(bByteOffset + offset + 4);
+                s2 += a.getFloat(aByteOffset + offset + 8) * b.getFloat(bByteOffset + offset + 8);
+                s3 += a.getFloat(aByteOffset + offset + 12) * b.getFloat(bByteOffset + offset + 12);
+            }
+            for (; i < length; i++) {
+                s0 += a.getFloat(aByteOffset + i * Float.BYTES) * b.getFloat(bByteOffset + i * Float.BYTES);
+            }
+            return s0 + s1 + s2 + s3;
+        }
+    }
+}
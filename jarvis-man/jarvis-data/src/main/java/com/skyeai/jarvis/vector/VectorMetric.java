@@ -0,0 +1,17 @@
+package com.skyeai.jarvis.vector;
+
+/**
+ * 向量相似度度量方式
+ */
+public enum VectorMetric {
+
+    /**
+     * 余弦相似度，写入和查询时先归一化，检索时退化为点积
+     */
+    COSINE,
+
+    /**
+     * 原始点积（内积）
+     */
+    DOT_PRODUCT
+}
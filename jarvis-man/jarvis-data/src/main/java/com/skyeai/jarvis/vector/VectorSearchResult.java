@@ -0,0 +1,31 @@
+package com.skyeai.jarvis.vector;
+
+import java.util.Map;
+
+/**
+ * 向量检索结果
+ */
+public class VectorSearchResult {
+
+    private final String id;
+    private final float score;
+    private final Map<String, Object> payload;
+
+    public VectorSearchResult(String id, float score, Map<String, Object> payload) {
+        this.id = id;
+        this.score = score;
+        this.payload = payload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,62 @@
+package com.skyeai.jarvis.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 定长float32向量存储，按槽位（slot）寻址
+ */
+interface VectorStorage extends Closeable {
+
+    /**
+     * 向量维度，未写入任何向量前为0
+     */
+    int dimension();
+
+    /**
+     * 首次写入时确定维度，已确定时校验一致性
+     */
+    void initDimension(int dimension);
+
+    /**
+     * 确保槽位可写
+     */
+    void ensureCapacity(int slot);
+
+    void write(int slot, float[] vector);
+
+    void read(int slot, float[] target);
+
+    /**
+     * 查询向量与槽位向量的点积
+     */
+    float dot(float[] query, int slot);
+
+    /**
+     * 两个槽位向量的点积
+     */
+    float dot(int slotA, int slotB);
+
+    int segmentCount();
+
+    /**
+     * 已分配的向量数据字节数
+     */
+    long allocatedBytes();
+
+    /**
+     * 将单个槽位的向量刷入磁盘，堆内存储无需落盘
+     */
+    default void force(int slot) {
+    }
+
+    /**
+     * 将所有已写入的向量刷入磁盘
+     */
+    default void flush() {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,40 @@
+package com.skyeai.jarvis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 向量检索payload过滤条件测试
+ */
+public class VectorServiceFilterTest {
+
+    @Test
+    public void testNumericValuesMatchAfterJsonReload() throws Exception {
+        // 写入时为Long，经点日志JSON重放后变为Integer
+        Map<?, ?> reloaded = new ObjectMapper().readValue(
+                new ObjectMapper().writeValueAsBytes(Map.of("chat_id", 42L, "user_id", "u1")), Map.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payload = (Map<String, Object>) reloaded;
+
+        assertTrue(VectorService.toPredicate(Map.of("chat_id", 42L)).test(payload));
+        assertTrue(VectorService.toPredicate(Map.of("chat_id", 42)).test(payload));
+        assertTrue(VectorService.toPredicate(Map.of("chat_id", 42.0)).test(payload));
+        assertFalse(VectorService.toPredicate(Map.of("chat_id", 43L)).test(payload));
+        assertFalse(VectorService.toPredicate(Map.of("chat_id", "42")).test(payload));
+    }
+
+    @Test
+    public void testNonNumericValuesUseEquals() {
+        Predicate<Map<String, Object>> predicate = VectorService.toPredicate(Map.of("user_id", "u1"));
+        assertTrue(predicate.test(Map.of("user_id", "u1")));
+        assertFalse(predicate.test(Map.of("user_id", "u2")));
+        assertFalse(predicate.test(Map.of("chat_id", 1)));
+        assertFalse(predicate.test(null));
+    }
+}
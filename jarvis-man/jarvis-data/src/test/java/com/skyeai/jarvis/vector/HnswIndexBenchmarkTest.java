@@ -0,0 +1,179 @@
+package com.skyeai.jarvis.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HNSW索引的召回率与QPS测试
+ * 大规模基准默认关闭，使用 -Dvector.benchmark=true 运行 10万 / 100万 向量场景
+ */
+public class HnswIndexBenchmarkTest {
+
+    private static final int DIMENSION = 64;
+    private static final int K = 10;
+    private static final int QUERIES = 500;
+
+    @Test
+    public void testRecallOnSmallCollection() throws Exception {
+        double recall = runBenchmark(20_000, 4);
+        assertTrue(recall >= 0.9, "recall@10 too low: " + recall);
+    }
+
+    @Test
+    public void testFilteredSearchAndDelete() {
+        HnswIndex index = new HnswIndex(VectorMetric.COSINE);
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("user_id", "user-" + (i % 10));
+            index.add("doc-" + i, randomVector(random), payload);
+        }
+
+        float[] query = randomVector(random);
+        List<VectorSearchResult> results = index.search(query, K, payload -> "user-3".equals(payload.get("user_id")));
+        assertEquals(K, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("user-3", results.get(i).getPayload().get("user_id"));
+            if (i > 0) {
+                assertTrue(results.get(i - 1).getScore() >= results.get(i).getScore());
+            }
+        }
+
+        String top = results.get(0).getId();
+        assertTrue(index.delete(top));
+        assertFalse(index.contains(top));
+        for (VectorSearchResult result : index.search(query, K, null)) {
+            assertFalse(top.equals(result.getId()));
+        }
+        assertEquals(4999, index.size());
+    }
+
+    @Test
+    public void testRecallAfterOverwritingEveryPoint() {
+        HnswIndex index = new HnswIndex(VectorMetric.COSINE, 16, 200, 64);
+        Random random = new Random(17);
+        int size = 5000;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < size; i++) {
+                index.add("doc-" + i, randomVector(random), null);
+            }
+        }
+        assertEquals(size, index.size());
+
+        // 覆盖写入复用槽位时旧邻接关系已清空，图中不应残留指向旧向量的边
+        long hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = randomVector(random);
+            Set<String> truth = new HashSet<>();
+            for (VectorSearchResult result : index.exactSearch(query, K, null)) {
+                truth.add(result.getId());
+            }
+            for (VectorSearchResult result : index.search(query, K, null)) {
+                if (truth.contains(result.getId())) {
+                    hits++;
+                }
+            }
+        }
+        double recall = hits / (double) (QUERIES * K);
+        assertTrue(recall >= 0.9, "recall@10 after overwrites too low: " + recall);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "vector.benchmark", matches = "true")
+    public void benchmark100k() throws Exception {
+        runBenchmark(100_000, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "vector.benchmark", matches = "true")
+    public void benchmark1m() throws Exception {
+        runBenchmark(1_000_000, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 并发构建索引，统计 recall@10 和单线程 QPS
+     */
+    private double runBenchmark(int size, int threads) throws Exception {
+        Random random = new Random(42);
+        float[][] data = new float[size][];
+        for (int i = 0; i < size; i++) {
+            data[i] = randomVector(random);
+        }
+        float[][] queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = randomVector(random);
+        }
+
+        HnswIndex index = new HnswIndex(VectorMetric.COSINE, 16, 200, 64);
+        long buildStart = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            futures.add(executor.submit(() -> {
+                for (int i = offset; i < size; i += threads) {
+                    index.add("doc-" + i, data[i], null);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        double buildSeconds = (System.nanoTime() - buildStart) / 1_000_000_000.0;
+        assertEquals(size, index.size());
+
+        List<Set<String>> truth = new ArrayList<>(QUERIES);
+        for (float[] query : queries) {
+            Set<String> ids = new HashSet<>();
+            for (VectorSearchResult result : index.exactSearch(query, K, null)) {
+                ids.add(result.getId());
+            }
+            truth.add(ids);
+        }
+
+        long hits = 0;
+        long searchStart = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            for (VectorSearchResult result : index.search(queries[i], K, null)) {
+                if (truth.get(i).contains(result.getId())) {
+                    hits++;
+                }
+            }
+        }
+        double searchSeconds = (System.nanoTime() - searchStart) / 1_000_000_000.0;
+        double recall = hits / (double) (QUERIES * K);
+
+        System.out.printf("HNSW %d vectors (dim=%d): build %.1fs, recall@%d %.4f, %.0f QPS%n",
+                size, DIMENSION, buildSeconds, K, recall, QUERIES / searchSeconds);
+        return recall;
+    }
+
+    /**
+     * 生成带聚类结构的随机向量，接近真实嵌入的分布
+     */
+    private float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        int cluster = random.nextInt(32);
+        for (int i = 0; i < DIMENSION; i++) {
+            float center = ((cluster * 31 + i * 17) % 13) / 13.0f - 0.5f;
+            vector[i] = center + (float) random.nextGaussian() * 0.3f;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,187 @@
+package com.skyeai.jarvis.vector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 持久化向量集合的重启恢复测试
+ */
+public class VectorCollectionPersistenceTest {
+
+    private static final int DIMENSION = 64;
+    private static final int POINTS = 5_000;
+    private static final int SEGMENT_BITS = 12;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("vector-collection");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReopenServesQueriesBeforeGraphIsRestored() throws Exception {
+        Random random = new Random(11);
+        float[][] data = new float[POINTS][];
+        try (VectorCollection collection = open()) {
+            for (int i = 0; i < POINTS; i++) {
+                data[i] = randomVector(random);
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("user_id", "user-" + (i % 10));
+                collection.add("doc-" + i, data[i], payload);
+            }
+            collection.delete("doc-0");
+            // 覆盖写入，重启后应以最后一次为准
+            collection.add("doc-1", data[2], Map.of("user_id", "user-2"));
+        }
+
+        long reopenStart = System.nanoTime();
+        try (VectorCollection collection = open()) {
+            double reopenMillis = (System.nanoTime() - reopenStart) / 1_000_000.0;
+            System.out.printf("Reopened %d vectors in %.1f ms (ready=%s)%n", POINTS, reopenMillis, collection.isReady());
+
+            assertEquals(POINTS - 1, collection.size());
+            List<VectorSearchResult> early = collection.search(data[5], 1, null);
+            assertEquals("doc-5", early.get(0).getId());
+
+            collection.awaitReady();
+            assertTrue(collection.isReady());
+            assertEquals(0, collection.stats().get("pending_restore"));
+
+            List<VectorSearchResult> results = collection.search(data[7], 10, payload -> "user-7".equals(payload.get("user_id")));
+            assertEquals("doc-7", results.get(0).getId());
+            for (VectorSearchResult result : results) {
+                assertEquals("user-7", result.getPayload().get("user_id"));
+            }
+            for (VectorSearchResult result : collection.search(data[0], 10, null)) {
+                assertFalse("doc-0".equals(result.getId()));
+            }
+            assertEquals("user-2", collection.search(data[2], 2, payload -> "user-2".equals(payload.get("user_id")))
+                    .stream().filter(r -> r.getId().equals("doc-1")).findFirst().orElseThrow()
+                    .getPayload().get("user_id"));
+
+            // 重启后的新写入不能覆盖已有槽位
+            collection.add("doc-new", data[9], null);
+        }
+
+        try (VectorCollection collection = open()) {
+            collection.awaitReady();
+            assertEquals(POINTS, collection.size());
+            assertEquals("doc-9", collection.search(data[9], 2, payload -> payload != null).get(0).getId());
+        }
+    }
+
+    @Test
+    public void testOverwritesReuseSlotsAndLogIsRewritten() throws Exception {
+        Random random = new Random(13);
+        int points = 200;
+        int rounds = 10;
+        float[][] data = new float[points][];
+        try (VectorCollection collection = open()) {
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < points; i++) {
+                    data[i] = randomVector(random);
+                    collection.add("doc-" + i, data[i], Map.of("round", round));
+                }
+            }
+            assertEquals(points, collection.stats().get("slot_count"));
+            assertEquals((long) points * rounds, collection.stats().get("log_records"));
+
+            // 删除释放的槽位由新ID复用
+            collection.delete("doc-0");
+            data[0] = randomVector(random);
+            collection.add("doc-replaced", data[0], Map.of("round", rounds));
+            assertEquals(points, collection.stats().get("slot_count"));
+
+            long bytesBefore = (Long) collection.stats().get("log_bytes");
+            assertTrue(collection.compactLog());
+            assertEquals((long) points, collection.stats().get("log_records"));
+            assertTrue((Long) collection.stats().get("log_bytes") < bytesBefore);
+            // 重写后的日志继续追加
+            collection.add("doc-1", data[1], Map.of("round", rounds + 1));
+        }
+
+        try (VectorCollection collection = open()) {
+            collection.awaitReady();
+            assertEquals(points, collection.size());
+            assertEquals(points, collection.stats().get("slot_count"));
+            assertEquals("doc-replaced", collection.search(data[0], 1, null).get(0).getId());
+            assertEquals(rounds + 1, collection.search(data[1], 1, null).get(0).getPayload().get("round"));
+            assertEquals(rounds - 1, collection.search(data[5], 1, null).get(0).getPayload().get("round"));
+        }
+    }
+
+    @Test
+    public void testSyncPoliciesPersistWrites() throws Exception {
+        Random random = new Random(17);
+        float[][] data = new float[100][];
+        // 每次写入刷盘
+        try (VectorCollection collection = open(0)) {
+            for (int i = 0; i < 50; i++) {
+                data[i] = randomVector(random);
+                collection.add("doc-" + i, data[i], Map.of("i", i));
+            }
+            collection.delete("doc-0");
+        }
+        // 组提交，关闭时刷入剩余写入
+        try (VectorCollection collection = open(20)) {
+            collection.awaitReady();
+            for (int i = 50; i < 100; i++) {
+                data[i] = randomVector(random);
+                collection.add("doc-" + i, data[i], Map.of("i", i));
+                if (i == 75) {
+                    Thread.sleep(100);
+                }
+            }
+        }
+
+        try (VectorCollection collection = open(-1)) {
+            collection.awaitReady();
+            assertEquals(99, collection.size());
+            for (int i = 1; i < 100; i++) {
+                assertEquals("doc-" + i, collection.search(data[i], 1, null).get(0).getId());
+            }
+        }
+    }
+
+    private VectorCollection open() throws IOException {
+        return open(200);
+    }
+
+    private VectorCollection open(long syncIntervalMs) throws IOException {
+        return VectorCollection.open("test", directory, objectMapper, VectorMetric.COSINE, 16, 100, 64, SEGMENT_BITS,
+                syncIntervalMs);
+    }
+
+    private float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
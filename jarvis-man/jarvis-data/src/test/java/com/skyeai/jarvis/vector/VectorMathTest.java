@@ -0,0 +1,151 @@
+package com.skyeai.jarvis.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 向量运算测试：SIMD 与标量实现结果一致，以及装箱 / 标量 / SIMD 三种点积的吞吐对比
+ * 吞吐对比默认关闭，使用 -Dvector.benchmark=true 运行
+ */
+public class VectorMathTest {
+
+    private static final int DIMENSION = 768;
+
+    @Test
+    public void testKernelsAgreeOnArraysAndBuffers() {
+        Random random = new Random(11);
+        List<VectorMath.Kernel> kernels = kernels();
+        // 覆盖不足一个向量宽度、非整数倍宽度和常见嵌入维度
+        for (int length : new int[]{1, 3, 7, 15, 17, 33, 64, 100, 768, 1536}) {
+            float[] a = randomVector(random, length + 5);
+            float[] b = randomVector(random, length + 3);
+            ByteBuffer bufferA = toBuffer(a);
+            ByteBuffer bufferB = toBuffer(b);
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += (double) a[i + 5] * b[i + 3];
+            }
+            float tolerance = 1e-4f * length;
+            for (VectorMath.Kernel kernel : kernels) {
+                String label = kernel.name() + " length " + length;
+                assertEquals(expected, kernel.dot(a, 5, b, 3, length), tolerance, label);
+                assertEquals(expected, kernel.dot(slice(a, 5, length), bufferB, 3 * Float.BYTES, length), tolerance, label);
+                assertEquals(expected, kernel.dot(bufferA, 5 * Float.BYTES, bufferB, 3 * Float.BYTES, length), tolerance, label);
+            }
+        }
+    }
+
+    @Test
+    public void testCosineAndNormalize() {
+        Random random = new Random(5);
+        float[] a = randomVector(random, DIMENSION);
+        float[] b = randomVector(random, DIMENSION);
+        float[] unitA = VectorMath.normalize(a);
+        float[] unitB = VectorMath.normalize(b);
+
+        assertTrue(VectorMath.isNormalized(unitA));
+        assertEquals(1f, VectorMath.sumOfSquares(unitA), 1e-5f);
+        // 预先归一化后点积即余弦相似度
+        assertEquals(VectorMath.cosine(a, b), VectorMath.dot(unitA, unitB), 1e-5f);
+        assertEquals(1f, VectorMath.cosine(a, a), 1e-5f);
+
+        float[] zero = new float[DIMENSION];
+        assertEquals(0f, VectorMath.cosine(a, zero));
+        assertEquals(0f, VectorMath.sumOfSquares(VectorMath.normalize(zero)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "vector.benchmark", matches = "true")
+    public void benchmarkDotProduct() {
+        Random random = new Random(42);
+        int count = 10_000;
+        float[][] vectors = new float[count][];
+        List<List<Double>> boxed = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vectors[i] = randomVector(random, DIMENSION);
+            List<Double> list = new ArrayList<>(DIMENSION);
+            for (float v : vectors[i]) {
+                list.add((double) v);
+            }
+            boxed.add(list);
+        }
+        float[] query = randomVector(random, DIMENSION);
+        List<Double> boxedQuery = boxed.get(0);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            double sink = 0;
+            for (List<Double> vector : boxed) {
+                sink += boxedCosine(boxedQuery, vector);
+            }
+            report("boxed List<Double> cosine", start, count, sink);
+
+            for (VectorMath.Kernel kernel : kernels()) {
+                start = System.nanoTime();
+                sink = 0;
+                for (float[] vector : vectors) {
+                    sink += kernel.dot(query, 0, vector, 0, DIMENSION);
+                }
+                report(kernel.name() + " float[] dot", start, count, sink);
+            }
+        }
+    }
+
+    /**
+     * 原 TextEmbeddingService.calculateCosineSimilarity 的实现
+     */
+    private static double boxedCosine(List<Double> vector1, List<Double> vector2) {
+        double dotProduct = 0.0;
+        double norm1 = 0.0;
+        double norm2 = 0.0;
+        for (int i = 0; i < vector1.size(); i++) {
+            dotProduct += vector1.get(i) * vector2.get(i);
+            norm1 += Math.pow(vector1.get(i), 2);
+            norm2 += Math.pow(vector2.get(i), 2);
+        }
+        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+    }
+
+    private static List<VectorMath.Kernel> kernels() {
+        List<VectorMath.Kernel> kernels = new ArrayList<>();
+        kernels.add(VectorMath.ScalarKernel.INSTANCE);
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            kernels.add(new SimdKernel());
+        }
+        return kernels;
+    }
+
+    private static void report(String kernel, long startNanos, int count, double sink) {
+        long elapsed = System.nanoTime() - startNanos;
+        System.out.println(kernel + ": " + elapsed / count + " ns/op (" + (long) sink + ")");
+    }
+
+    private static float[] randomVector(Random random, int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+
+    private static float[] slice(float[] vector, int offset, int length) {
+        float[] slice = new float[length];
+        System.arraycopy(vector, offset, slice, 0, length);
+        return slice;
+    }
+
+    private static ByteBuffer toBuffer(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer;
+    }
+}
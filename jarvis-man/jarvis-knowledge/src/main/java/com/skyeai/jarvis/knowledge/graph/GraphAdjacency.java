@@ -0,0 +1,760 @@
+package com.skyeai.jarvis.knowledge.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 知识图谱的内存邻接索引
+ * 节点ID驻留为连续整数，出边和入边各存一份CSR数组（offsets + 邻居 + 边序号）；
+ * 增量写入的边先进入按节点的追加列表，删除只清除边的存活位，
+ * 增量超过CSR规模的1/4时整体重建（计数排序，O(V+E)）。
+ * 关系ID只保存64位哈希，用于幂等的增删改，不持有ID字符串。
+ * 读写锁保护：遍历与分析在读锁下并发执行，变更在写锁下执行。
+ */
+public class GraphAdjacency {
+
+    private static final int MIN_REBUILD_DELTA = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 节点
+    private final Map<String, Integer> nodeIndex = new HashMap<>();
+    private String[] nodeIds = new String[16];
+    private final BitSet nodeAlive = new BitSet();
+    private int nodeCount;
+
+    // 边表：edges[0, edgeCount)，csrEdges之前的边已进入CSR
+    private long[] edgeKeys = new long[16];
+    private int[] edgeSources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private final BitSet edgeAlive = new BitSet();
+    private final LongIntMap edgeIndex = new LongIntMap(16);
+    private int edgeCount;
+    private int liveEdgeCount;
+    private int deletedSinceBuild;
+
+    // CSR
+    private int csrNodes;
+    private int csrEdges;
+    private int[] outOffsets = {0};
+    private int[] outTargets = new int[0];
+    private int[] outEdges = new int[0];
+    private int[] inOffsets = {0};
+    private int[] inSources = new int[0];
+    private int[] inEdges = new int[0];
+
+    // 重建前新增的边（边序号）
+    private int[][] overlayOut = new int[16][];
+    private int[] overlayOutSize = new int[16];
+    private int[][] overlayIn = new int[16][];
+    private int[] overlayInSize = new int[16];
+
+    /**
+     * 批量加载节点和关系，只在最后重建一次CSR
+     * @param edges 每行为 {关系ID, 源节点ID, 目标节点ID}
+     */
+    public void load(Collection<String> nodes, Collection<Object[]> edges) {
+        lock.writeLock().lock();
+        try {
+            for (String node : nodes) {
+                nodeAlive.set(intern(node));
+            }
+            for (Object[] edge : edges) {
+                putEdgeInternal(String.valueOf(edge[0]), String.valueOf(edge[1]), String.valueOf(edge[2]), false);
+            }
+            rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addNode(String nodeId) {
+        lock.writeLock().lock();
+        try {
+            nodeAlive.set(intern(nodeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除节点：保留其关系（与数据库一致，关系不会级联删除），遍历时跳过已删除的节点
+     */
+    public void removeNode(String nodeId) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeIndex.get(nodeId);
+            if (node != null) {
+                nodeAlive.clear(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 新增或更新关系，重复调用是幂等的
+     */
+    public void putEdge(String edgeId, String sourceId, String targetId) {
+        lock.writeLock().lock();
+        try {
+            putEdgeInternal(edgeId, sourceId, targetId, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeEdge(String edgeId) {
+        lock.writeLock().lock();
+        try {
+            int edge = edgeIndex.remove(hashId(edgeId));
+            if (edge >= 0) {
+                removeEdgeAt(edge);
+                maybeRebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodeAlive.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int edgeCount() {
+        lock.readLock().lock();
+        try {
+            return liveEdgeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 有向最短路径（双向BFS，每次扩展较小的一侧），不存在时返回空列表
+     */
+    public List<String> shortestPath(String startId, String endId) {
+        lock.readLock().lock();
+        try {
+            int start = aliveIndex(startId);
+            int end = aliveIndex(endId);
+            if (start < 0 || end < 0) {
+                return new ArrayList<>();
+            }
+            if (start == end) {
+                return new ArrayList<>(List.of(startId));
+            }
+            int[] forwardParent = new int[nodeCount];
+            int[] backwardParent = new int[nodeCount];
+            int[] forwardDistance = new int[nodeCount];
+            int[] backwardDistance = new int[nodeCount];
+            Arrays.fill(forwardDistance, -1);
+            Arrays.fill(backwardDistance, -1);
+            forwardDistance[start] = 0;
+            backwardDistance[end] = 0;
+            IntQueue forward = new IntQueue();
+            IntQueue backward = new IntQueue();
+            forward.add(start);
+            backward.add(end);
+
+            int[] meeting = {-1, Integer.MAX_VALUE};
+            while (!forward.isEmpty() && !backward.isEmpty()) {
+                boolean expandForward = forward.size() <= backward.size();
+                IntQueue frontier = expandForward ? forward : backward;
+                int[] distance = expandForward ? forwardDistance : backwardDistance;
+                int[] otherDistance = expandForward ? backwardDistance : forwardDistance;
+                int[] parent = expandForward ? forwardParent : backwardParent;
+                // 完整扩展一层，取该层所有交汇点中总长度最短的
+                for (int i = frontier.size(); i > 0; i--) {
+                    int node = frontier.poll();
+                    forEachNeighbor(node, expandForward, neighbor -> {
+                        if (distance[neighbor] < 0 && nodeAlive.get(neighbor)) {
+                            distance[neighbor] = distance[node] + 1;
+                            parent[neighbor] = node;
+                            frontier.add(neighbor);
+                            if (otherDistance[neighbor] >= 0
+                                    && distance[neighbor] + otherDistance[neighbor] < meeting[1]) {
+                                meeting[0] = neighbor;
+                                meeting[1] = distance[neighbor] + otherDistance[neighbor];
+                            }
+                        }
+                        return true;
+                    });
+                }
+                if (meeting[0] >= 0) {
+                    break;
+                }
+            }
+            if (meeting[0] < 0) {
+                return new ArrayList<>();
+            }
+
+            List<String> path = new ArrayList<>(meeting[1] + 1);
+            for (int node = meeting[0]; node != start; node = forwardParent[node]) {
+                path.add(nodeIds[node]);
+            }
+            path.add(startId);
+            Collections.reverse(path);
+            for (int node = meeting[0]; node != end; ) {
+                node = backwardParent[node];
+                path.add(nodeIds[node]);
+            }
+            return path;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 沿出边枚举从 startId 到 endId、不超过 maxDepth 跳的全部简单路径
+     */
+    public List<List<String>> paths(String startId, String endId, int maxDepth) {
+        lock.readLock().lock();
+        try {
+            List<List<String>> paths = new ArrayList<>();
+            int start = aliveIndex(startId);
+            int end = aliveIndex(endId);
+            if (start < 0 || end < 0 || maxDepth < 0) {
+                return paths;
+            }
+            int[] path = new int[maxDepth + 1];
+            BitSet onPath = new BitSet(nodeCount);
+            dfsPaths(start, end, 0, maxDepth, path, onPath, paths);
+            return paths;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void dfsPaths(int node, int end, int depth, int maxDepth, int[] path, BitSet onPath,
+                          List<List<String>> paths) {
+        path[depth] = node;
+        if (node == end) {
+            List<String> found = new ArrayList<>(depth + 1);
+            for (int i = 0; i <= depth; i++) {
+                found.add(nodeIds[path[i]]);
+            }
+            paths.add(found);
+            return;
+        }
+        if (depth == maxDepth) {
+            return;
+        }
+        onPath.set(node);
+        forEachNeighbor(node, true, neighbor -> {
+            if (!onPath.get(neighbor) && nodeAlive.get(neighbor)) {
+                dfsPaths(neighbor, end, depth + 1, maxDepth, path, onPath, paths);
+            }
+            return true;
+        });
+        onPath.clear(node);
+    }
+
+    /**
+     * 不分方向的 depth 跳以内的邻居（不含起点），按距离由近到远
+     */
+    public List<String> neighbors(String nodeId, int depth) {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            int start = aliveIndex(nodeId);
+            if (start < 0 || depth <= 0) {
+                return result;
+            }
+            BitSet visited = new BitSet(nodeCount);
+            visited.set(start);
+            IntQueue queue = new IntQueue();
+            queue.add(start);
+            for (int level = 0; level < depth && !queue.isEmpty(); level++) {
+                for (int i = queue.size(); i > 0; i--) {
+                    int node = queue.poll();
+                    IntPredicate visit = neighbor -> {
+                        if (!visited.get(neighbor) && nodeAlive.get(neighbor)) {
+                            visited.set(neighbor);
+                            queue.add(neighbor);
+                            result.add(nodeIds[neighbor]);
+                        }
+                        return true;
+                    };
+                    forEachNeighbor(node, true, visit);
+                    forEachNeighbor(node, false, visit);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 连通分量（不分方向，并查集），按分量中最早加入的节点排序
+     */
+    public List<List<String>> components() {
+        lock.readLock().lock();
+        try {
+            int[] parent = new int[nodeCount];
+            int[] size = new int[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+            for (int edge = 0; edge < edgeCount; edge++) {
+                int source = edgeSources[edge];
+                int target = edgeTargets[edge];
+                if (edgeAlive.get(edge) && nodeAlive.get(source) && nodeAlive.get(target)) {
+                    int a = find(parent, source);
+                    int b = find(parent, target);
+                    if (a != b) {
+                        if (size[a] < size[b]) {
+                            int swap = a;
+                            a = b;
+                            b = swap;
+                        }
+                        parent[b] = a;
+                        size[a] += size[b];
+                    }
+                }
+            }
+            Map<Integer, List<String>> groups = new LinkedHashMap<>();
+            for (int node = nodeAlive.nextSetBit(0); node >= 0 && node < nodeCount; node = nodeAlive.nextSetBit(node + 1)) {
+                groups.computeIfAbsent(find(parent, node), k -> new ArrayList<>()).add(nodeIds[node]);
+            }
+            return new ArrayList<>(groups.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    /**
+     * 度中心性：每个节点的入边数+出边数（并行计算）
+     */
+    public Map<String, Double> degreeCentrality() {
+        lock.readLock().lock();
+        try {
+            int[] degree = new int[nodeCount];
+            IntStream.range(0, nodeCount).parallel().forEach(node -> {
+                if (nodeAlive.get(node)) {
+                    int[] count = new int[1];
+                    IntPredicate counter = neighbor -> {
+                        count[0]++;
+                        return true;
+                    };
+                    forEachNeighbor(node, true, counter);
+                    forEachNeighbor(node, false, counter);
+                    degree[node] = count[0];
+                }
+            });
+            Map<String, Double> centrality = new HashMap<>();
+            for (int node = nodeAlive.nextSetBit(0); node >= 0 && node < nodeCount; node = nodeAlive.nextSetBit(node + 1)) {
+                centrality.put(nodeIds[node], (double) degree[node]);
+            }
+            return centrality;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * PageRank：沿入边拉取，每轮按节点并行；无出边节点的分值均匀分给所有节点
+     * @param damping 阻尼系数
+     * @param maxIterations 最大迭代次数
+     * @param tolerance 两轮之间L1变化小于该值时停止
+     */
+    public Map<String, Double> pageRank(double damping, int maxIterations, double tolerance) {
+        lock.readLock().lock();
+        try {
+            int n = nodeCount;
+            int alive = nodeAlive.cardinality();
+            Map<String, Double> result = new HashMap<>();
+            if (alive == 0) {
+                return result;
+            }
+            int[] outDegree = new int[n];
+            IntStream.range(0, n).parallel().forEach(node -> {
+                if (nodeAlive.get(node)) {
+                    int[] count = new int[1];
+                    forEachNeighbor(node, true, neighbor -> {
+                        if (nodeAlive.get(neighbor)) {
+                            count[0]++;
+                        }
+                        return true;
+                    });
+                    outDegree[node] = count[0];
+                }
+            });
+
+            double[] rank = new double[n];
+            double[] next = new double[n];
+            double[] contribution = new double[n];
+            for (int node = 0; node < n; node++) {
+                rank[node] = nodeAlive.get(node) ? 1.0 / alive : 0;
+            }
+            for (int iteration = 0; iteration < maxIterations; iteration++) {
+                double[] current = rank;
+                double dangling = IntStream.range(0, n).parallel()
+                        .filter(node -> nodeAlive.get(node) && outDegree[node] == 0)
+                        .mapToDouble(node -> current[node]).sum();
+                IntStream.range(0, n).parallel().forEach(node ->
+                        contribution[node] = outDegree[node] > 0 ? current[node] / outDegree[node] : 0);
+                double base = (1 - damping) / alive + damping * dangling / alive;
+                double[] target = next;
+                double delta = IntStream.range(0, n).parallel().mapToDouble(node -> {
+                    if (!nodeAlive.get(node)) {
+                        return 0;
+                    }
+                    double[] sum = new double[1];
+                    forEachNeighbor(node, false, neighbor -> {
+                        sum[0] += contribution[neighbor];
+                        return true;
+                    });
+                    target[node] = base + damping * sum[0];
+                    return Math.abs(target[node] - current[node]);
+                }).sum();
+                next = rank;
+                rank = target;
+                if (delta < tolerance) {
+                    break;
+                }
+            }
+            for (int node = nodeAlive.nextSetBit(0); node >= 0 && node < n; node = nodeAlive.nextSetBit(node + 1)) {
+                result.put(nodeIds[node], rank[node]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 遍历节点的出边（outgoing=true）或入边邻居，visitor返回false时停止；调用方需持有锁
+     */
+    private void forEachNeighbor(int node, boolean outgoing, IntPredicate visitor) {
+        if (node < csrNodes) {
+            int[] offsets = outgoing ? outOffsets : inOffsets;
+            int[] neighbors = outgoing ? outTargets : inSources;
+            int[] edges = outgoing ? outEdges : inEdges;
+            for (int k = offsets[node], end = offsets[node + 1]; k < end; k++) {
+                if ((deletedSinceBuild == 0 || edgeAlive.get(edges[k])) && !visitor.test(neighbors[k])) {
+                    return;
+                }
+            }
+        }
+        int size = outgoing ? overlayOutSize[node] : overlayInSize[node];
+        if (size > 0) {
+            int[] overlay = outgoing ? overlayOut[node] : overlayIn[node];
+            for (int k = 0; k < size; k++) {
+                int edge = overlay[k];
+                if (edgeAlive.get(edge) && !visitor.test(outgoing ? edgeTargets[edge] : edgeSources[edge])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int aliveIndex(String nodeId) {
+        Integer node = nodeIndex.get(nodeId);
+        return node != null && nodeAlive.get(node) ? node : -1;
+    }
+
+    private int intern(String nodeId) {
+        Integer existing = nodeIndex.get(nodeId);
+        if (existing != null) {
+            return existing;
+        }
+        int node = nodeCount++;
+        if (node == nodeIds.length) {
+            int capacity = nodeIds.length * 2;
+            nodeIds = Arrays.copyOf(nodeIds, capacity);
+            overlayOut = Arrays.copyOf(overlayOut, capacity);
+            overlayOutSize = Arrays.copyOf(overlayOutSize, capacity);
+            overlayIn = Arrays.copyOf(overlayIn, capacity);
+            overlayInSize = Arrays.copyOf(overlayInSize, capacity);
+        }
+        nodeIds[node] = nodeId;
+        nodeIndex.put(nodeId, node);
+        return node;
+    }
+
+    private void putEdgeInternal(String edgeId, String sourceId, String targetId, boolean allowRebuild) {
+        long key = hashId(edgeId);
+        int source = intern(sourceId);
+        int target = intern(targetId);
+        int existing = edgeIndex.get(key);
+        if (existing >= 0) {
+            if (edgeSources[existing] == source && edgeTargets[existing] == target) {
+                return;
+            }
+            removeEdgeAt(existing);
+        }
+        int edge = edgeCount++;
+        if (edge == edgeKeys.length) {
+            int capacity = edgeKeys.length * 2;
+            edgeKeys = Arrays.copyOf(edgeKeys, capacity);
+            edgeSources = Arrays.copyOf(edgeSources, capacity);
+            edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+        }
+        edgeKeys[edge] = key;
+        edgeSources[edge] = source;
+        edgeTargets[edge] = target;
+        edgeAlive.set(edge);
+        edgeIndex.put(key, edge);
+        liveEdgeCount++;
+        if (allowRebuild) {
+            appendOverlay(true, source, edge);
+            appendOverlay(false, target, edge);
+            maybeRebuild();
+        }
+    }
+
+    private void removeEdgeAt(int edge) {
+        edgeAlive.clear(edge);
+        liveEdgeCount--;
+        deletedSinceBuild++;
+    }
+
+    private void appendOverlay(boolean outgoing, int node, int edge) {
+        int[][] overlay = outgoing ? overlayOut : overlayIn;
+        int[] sizes = outgoing ? overlayOutSize : overlayInSize;
+        int[] list = overlay[node];
+        if (list == null) {
+            list = new int[4];
+        } else if (sizes[node] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+        }
+        list[sizes[node]++] = edge;
+        overlay[node] = list;
+    }
+
+    private void maybeRebuild() {
+        int delta = edgeCount - csrEdges + deletedSinceBuild;
+        if (delta > Math.max(MIN_REBUILD_DELTA, csrEdges / 4)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 压缩边表（丢弃已删除的边并重新编号），再用计数排序生成出边和入边CSR
+     */
+    private void rebuild() {
+        int live = 0;
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (edgeAlive.get(edge)) {
+                edgeKeys[live] = edgeKeys[edge];
+                edgeSources[live] = edgeSources[edge];
+                edgeTargets[live] = edgeTargets[edge];
+                live++;
+            }
+        }
+        edgeCount = live;
+        liveEdgeCount = live;
+        deletedSinceBuild = 0;
+        edgeAlive.clear();
+        edgeAlive.set(0, live);
+        edgeIndex.clear(live);
+        for (int edge = 0; edge < live; edge++) {
+            edgeIndex.put(edgeKeys[edge], edge);
+        }
+
+        int n = nodeCount;
+        outOffsets = new int[n + 1];
+        inOffsets = new int[n + 1];
+        for (int edge = 0; edge < live; edge++) {
+            outOffsets[edgeSources[edge] + 1]++;
+            inOffsets[edgeTargets[edge] + 1]++;
+        }
+        for (int node = 0; node < n; node++) {
+            outOffsets[node + 1] += outOffsets[node];
+            inOffsets[node + 1] += inOffsets[node];
+        }
+        outTargets = new int[live];
+        outEdges = new int[live];
+        inSources = new int[live];
+        inEdges = new int[live];
+        int[] outCursor = Arrays.copyOf(outOffsets, n);
+        int[] inCursor = Arrays.copyOf(inOffsets, n);
+        for (int edge = 0; edge < live; edge++) {
+            int out = outCursor[edgeSources[edge]]++;
+            outTargets[out] = edgeTargets[edge];
+            outEdges[out] = edge;
+            int in = inCursor[edgeTargets[edge]]++;
+            inSources[in] = edgeSources[edge];
+            inEdges[in] = edge;
+        }
+        csrNodes = n;
+        csrEdges = live;
+        Arrays.fill(overlayOut, null);
+        Arrays.fill(overlayOutSize, 0);
+        Arrays.fill(overlayIn, null);
+        Arrays.fill(overlayInSize, 0);
+    }
+
+    /**
+     * 关系ID的64位哈希（FNV-1a），用于按ID定位边
+     */
+    private static long hashId(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 可增长的int队列
+     */
+    private static final class IntQueue {
+        private int[] items = new int[16];
+        private int head;
+        private int tail;
+
+        void add(int value) {
+            if (tail == items.length) {
+                if (head > items.length / 2) {
+                    System.arraycopy(items, head, items, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                } else {
+                    items = Arrays.copyOf(items, items.length * 2);
+                }
+            }
+            items[tail++] = value;
+        }
+
+        int poll() {
+            return items[head++];
+        }
+
+        int size() {
+            return tail - head;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+
+    /**
+     * long -> int 开放寻址哈希表，值为-1表示空槽，-2表示已删除
+     */
+    private static final class LongIntMap {
+        private static final int EMPTY = -1;
+        private static final int DELETED = -2;
+
+        private long[] keys;
+        private int[] values;
+        private int used;
+
+        LongIntMap(int expected) {
+            allocate(expected);
+        }
+
+        int get(long key) {
+            int mask = values.length - 1;
+            for (int slot = mix(key) & mask; values[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (values[slot] != DELETED && keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((used + 1) * 2 > values.length) {
+                rehash();
+            }
+            int mask = values.length - 1;
+            int slot = mix(key) & mask;
+            int firstDeleted = -1;
+            while (values[slot] != EMPTY) {
+                if (values[slot] == DELETED) {
+                    if (firstDeleted < 0) {
+                        firstDeleted = slot;
+                    }
+                } else if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (firstDeleted >= 0) {
+                slot = firstDeleted;
+            } else {
+                used++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        int remove(long key) {
+            int mask = values.length - 1;
+            for (int slot = mix(key) & mask; values[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (values[slot] != DELETED && keys[slot] == key) {
+                    int value = values[slot];
+                    values[slot] = DELETED;
+                    return value;
+                }
+            }
+            return -1;
+        }
+
+        void clear(int expected) {
+            allocate(expected);
+        }
+
+        private void allocate(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, EMPTY);
+            used = 0;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            int live = 0;
+            for (int value : oldValues) {
+                if (value >= 0) {
+                    live++;
+                }
+            }
+            allocate(Math.max(live * 2, 16));
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] >= 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+    }
+}
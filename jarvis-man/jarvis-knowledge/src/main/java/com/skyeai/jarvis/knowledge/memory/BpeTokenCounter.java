@@ -0,0 +1,247 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 字节级BPE计数器，词表为 tiktoken 格式（每行 "base64编码的token 序号"，序号即合并优先级）
+ * 计数时不生成token序列也不创建字符串：UTF-8编码写入线程本地缓冲区，词表查找直接对字节区间做哈希，
+ * 稳态下不分配对象。超过 {@link #MAX_PIECE_BYTES} 的片段（长串中文）按字符边界分块合并，
+ * 块边界处的计数可能比完整合并多一个token。
+ */
+public class BpeTokenCounter implements TokenCounter {
+
+    static final int MAX_PIECE_BYTES = 256;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // 词表：所有token字节拼接在 pool 中，开放寻址哈希表保存偏移、长度和序号
+    private final byte[] pool;
+    private final int[] slotOffset;
+    private final int[] slotLength;
+    private final int[] slotRank;
+    private final int mask;
+    private final int vocabularySize;
+
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    private BpeTokenCounter(byte[] pool, int[] offsets, int[] lengths, int[] ranks, int count) {
+        this.pool = pool;
+        this.vocabularySize = count;
+        int capacity = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slotOffset = new int[capacity];
+        this.slotLength = new int[capacity];
+        this.slotRank = new int[capacity];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) hash(pool, offsets[i], offsets[i] + lengths[i]) & mask;
+            while (slotLength[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slotOffset[slot] = offsets[i];
+            slotLength[slot] = lengths[i];
+            slotRank[slot] = ranks[i];
+        }
+    }
+
+    /**
+     * 从 tiktoken 格式的词表文件加载（如 cl100k_base.tiktoken）
+     */
+    public static BpeTokenCounter load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    public static BpeTokenCounter load(BufferedReader reader) throws IOException {
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        int[] offsets = new int[1024];
+        int[] lengths = new int[1024];
+        int[] ranks = new int[1024];
+        int count = 0;
+        Base64.Decoder decoder = Base64.getDecoder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            int space = line.indexOf(' ');
+            if (space <= 0) {
+                continue;
+            }
+            byte[] token = decoder.decode(line.substring(0, space));
+            if (token.length == 0) {
+                continue;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+                ranks = Arrays.copyOf(ranks, count * 2);
+            }
+            offsets[count] = pool.size();
+            lengths[count] = token.length;
+            ranks[count] = Integer.parseInt(line.substring(space + 1).trim());
+            pool.write(token, 0, token.length);
+            count++;
+        }
+        if (count == 0) {
+            throw new IOException("Empty BPE vocabulary");
+        }
+        return new BpeTokenCounter(pool.toByteArray(), offsets, lengths, ranks, count);
+    }
+
+    public int getVocabularySize() {
+        return vocabularySize;
+    }
+
+    @Override
+    public int count(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        Workspace workspace = workspaces.get();
+        int length = text.length();
+        int tokens = 0;
+        int start = 0;
+        while (start < length) {
+            int end = PreTokenizer.nextPieceEnd(text, start);
+            int size = 0;
+            for (int i = start; i < end; ) {
+                int cp = Character.codePointAt(text, i);
+                i += Character.charCount(cp);
+                size = workspace.appendUtf8(size, cp);
+                if (size >= MAX_PIECE_BYTES && i < end) {
+                    tokens += countBytes(workspace, size);
+                    size = 0;
+                }
+            }
+            tokens += countBytes(workspace, size);
+            start = end;
+        }
+        return tokens;
+    }
+
+    /**
+     * 对 workspace.bytes[0, size) 执行BPE合并，返回合并后的token数
+     * 每轮合并序号最小的相邻对，直到没有可合并的相邻对
+     */
+    private int countBytes(Workspace workspace, int size) {
+        if (size == 0) {
+            return 0;
+        }
+        byte[] bytes = workspace.bytes;
+        if (size == 1 || rank(bytes, 0, size) >= 0) {
+            return 1;
+        }
+        // parts[i] 为第i段的起始位置，pairRanks[i] 为第i段与第i+1段合并后的序号
+        int[] parts = workspace.parts(size + 1);
+        int[] pairRanks = workspace.pairRanks(size + 1);
+        int partCount = size;
+        for (int i = 0; i <= size; i++) {
+            parts[i] = i;
+        }
+        for (int i = 0; i < partCount - 1; i++) {
+            pairRanks[i] = rank(bytes, parts[i], parts[i + 2]);
+        }
+        while (partCount > 1) {
+            int best = -1;
+            int bestRank = Integer.MAX_VALUE;
+            for (int i = 0; i < partCount - 1; i++) {
+                int r = pairRanks[i];
+                if (r >= 0 && r < bestRank) {
+                    bestRank = r;
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            // 删除第 best+1 段的起点，即合并 best 与 best+1
+            System.arraycopy(parts, best + 2, parts, best + 1, partCount - best - 1);
+            System.arraycopy(pairRanks, best + 2, pairRanks, best + 1, Math.max(0, partCount - best - 3));
+            partCount--;
+            if (best < partCount - 1) {
+                pairRanks[best] = rank(bytes, parts[best], parts[best + 2]);
+            }
+            if (best > 0) {
+                pairRanks[best - 1] = rank(bytes, parts[best - 1], parts[best + 1]);
+            }
+        }
+        return partCount;
+    }
+
+    /**
+     * 查找字节区间对应的token序号，不在词表中时返回-1
+     */
+    private int rank(byte[] bytes, int start, int end) {
+        int length = end - start;
+        int slot = (int) hash(bytes, start, end) & mask;
+        while (slotLength[slot] != 0) {
+            if (slotLength[slot] == length
+                    && Arrays.equals(pool, slotOffset[slot], slotOffset[slot] + length, bytes, start, end)) {
+                return slotRank[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static long hash(byte[] bytes, int start, int end) {
+        long h = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            h ^= bytes[i] & 0xff;
+            h *= FNV_PRIME;
+        }
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * 线程本地的计数缓冲区，按需扩容后复用
+     */
+    private static final class Workspace {
+        byte[] bytes = new byte[MAX_PIECE_BYTES + 4];
+        int[] parts = new int[MAX_PIECE_BYTES + 5];
+        int[] pairRanks = new int[MAX_PIECE_BYTES + 5];
+
+        int appendUtf8(int size, int cp) {
+            if (size + 4 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            if (cp < 0x80) {
+                bytes[size++] = (byte) cp;
+            } else if (cp < 0x800) {
+                bytes[size++] = (byte) (0xc0 | (cp >> 6));
+                bytes[size++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (cp < 0x10000) {
+                bytes[size++] = (byte) (0xe0 | (cp >> 12));
+                bytes[size++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                bytes[size++] = (byte) (0x80 | (cp & 0x3f));
+            } else {
+                bytes[size++] = (byte) (0xf0 | (cp >> 18));
+                bytes[size++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                bytes[size++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                bytes[size++] = (byte) (0x80 | (cp & 0x3f));
+            }
+            return size;
+        }
+
+        int[] parts(int size) {
+            if (parts.length < size) {
+                parts = new int[size];
+            }
+            return parts;
+        }
+
+        int[] pairRanks(int size) {
+            if (pairRanks.length < size) {
+                pairRanks = new int[size];
+            }
+            return pairRanks;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+/**
+ * 会话上下文摘要器：token预算不足时把低优先级条目压缩为摘要而不是直接删除
+ * 注册为Spring Bean即可替换默认的抽取式摘要
+ */
+public interface ContextSummarizer {
+
+    /**
+     * 生成不超过 targetTokens 的摘要，无法摘要时返回null
+     */
+    Object summarize(String key, Object value, int targetTokens, TokenCounter tokenCounter);
+}
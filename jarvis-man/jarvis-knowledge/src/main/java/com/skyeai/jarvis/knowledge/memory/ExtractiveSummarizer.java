@@ -0,0 +1,61 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+/**
+ * 默认的抽取式摘要：按句保留开头部分，直到达到目标token数；第一句就超出时按前缀截断
+ * 只处理文本，Map等结构化值原样保留（返回null），避免被截断成字符串后丢失类型
+ * 不调用模型，可以在压缩路径上同步执行
+ */
+public class ExtractiveSummarizer implements ContextSummarizer {
+
+    private static final String ELLIPSIS = "…";
+
+    @Override
+    public Object summarize(String key, Object value, int targetTokens, TokenCounter tokenCounter) {
+        if (!(value instanceof CharSequence) || targetTokens <= 0) {
+            return null;
+        }
+        String text = value.toString();
+        int budget = targetTokens - tokenCounter.count(ELLIPSIS);
+        if (budget <= 0 || tokenCounter.count(text) <= targetTokens) {
+            return null;
+        }
+
+        // 按句累加
+        int end = 0;
+        int tokens = 0;
+        int sentenceStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isSentenceEnd(text.charAt(i)) || i == text.length() - 1) {
+                int sentenceTokens = tokenCounter.count(text.subSequence(sentenceStart, i + 1));
+                if (tokens + sentenceTokens > budget) {
+                    break;
+                }
+                tokens += sentenceTokens;
+                end = i + 1;
+                sentenceStart = i + 1;
+            }
+        }
+        if (end == 0) {
+            // 第一句就超出预算：二分查找最长的前缀
+            int low = 0;
+            int high = text.length();
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (tokenCounter.count(text.subSequence(0, mid)) <= budget) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            end = low;
+            if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return end == 0 ? null : text.substring(0, end).trim() + ELLIPSIS;
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '。' || c == '！' || c == '？' || c == '；' || c == '.' || c == '!' || c == '?' || c == '\n';
+    }
+}
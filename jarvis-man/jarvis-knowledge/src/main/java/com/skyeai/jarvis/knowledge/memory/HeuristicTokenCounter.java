@@ -0,0 +1,51 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+/**
+ * 未配置BPE词表时使用的近似计数器
+ * 与BPE使用相同的预分词；中日韩文字按每2个字3个token计（接近 cl100k 在常见中文上的比例），
+ * 英文单词每5个字母约1个token，数字每3位、符号每2个、空白串各计1个token
+ */
+public class HeuristicTokenCounter implements TokenCounter {
+
+    @Override
+    public int count(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int length = text.length();
+        int tokens = 0;
+        int start = 0;
+        while (start < length) {
+            int end = PreTokenizer.nextPieceEnd(text, start);
+            tokens += countPiece(text, start, end);
+            start = end;
+        }
+        return tokens;
+    }
+
+    private static int countPiece(CharSequence text, int start, int end) {
+        int cjk = 0;
+        int letters = 0;
+        int digits = 0;
+        int symbols = 0;
+        int whitespace = 0;
+        for (int i = start; i < end; ) {
+            int cp = Character.codePointAt(text, i);
+            if (PreTokenizer.isCjk(cp)) {
+                cjk++;
+            } else if (Character.isLetter(cp)) {
+                letters++;
+            } else if (Character.isDigit(cp)) {
+                digits++;
+            } else if (Character.isWhitespace(cp)) {
+                whitespace++;
+            } else {
+                symbols++;
+            }
+            i += Character.charCount(cp);
+        }
+        int tokens = (cjk * 3 + 1) / 2 + (letters + 4) / 5 + (digits + 2) / 3 + (symbols + 1) / 2;
+        // 前导空格与单词合并，只有纯空白片段单独计数
+        return tokens == 0 && whitespace > 0 ? 1 : tokens;
+    }
+}
@@ -0,0 +1,118 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+/**
+ * 预分词：按 cl100k 的切分规则把文本切成片段（字母串连同前导的一个空格或符号、最多3位的数字串、
+ * 符号串、空白串），BPE只在片段内部合并。逐字符扫描，不使用正则，也不分配对象。
+ */
+final class PreTokenizer {
+
+    private PreTokenizer() {
+    }
+
+    /**
+     * 返回从 start 开始的片段的结束位置（不含）
+     */
+    static int nextPieceEnd(CharSequence text, int start) {
+        int length = text.length();
+        int c = Character.codePointAt(text, start);
+        int i = start;
+
+        // 英文缩写 's 't 're 've 'm 'll 'd
+        if (c == '\'' && i + 1 < length) {
+            int contraction = contractionEnd(text, i + 1);
+            if (contraction > 0) {
+                return contraction;
+            }
+        }
+
+        // [^\r\n\p{L}\p{N}]?\p{L}+
+        if (!Character.isLetter(c) && !Character.isDigit(c) && c != '\r' && c != '\n') {
+            int next = i + Character.charCount(c);
+            if (next < length && Character.isLetter(Character.codePointAt(text, next))) {
+                i = next;
+                c = Character.codePointAt(text, i);
+            }
+        }
+        if (Character.isLetter(c)) {
+            i += Character.charCount(c);
+            while (i < length) {
+                int cp = Character.codePointAt(text, i);
+                if (!Character.isLetter(cp)) {
+                    break;
+                }
+                i += Character.charCount(cp);
+            }
+            return i;
+        }
+        i = start;
+        c = Character.codePointAt(text, i);
+
+        // \p{N}{1,3}
+        if (Character.isDigit(c)) {
+            int digits = 0;
+            while (i < length && digits < 3) {
+                int cp = Character.codePointAt(text, i);
+                if (!Character.isDigit(cp)) {
+                    break;
+                }
+                i += Character.charCount(cp);
+                digits++;
+            }
+            return i;
+        }
+
+        // ' ?[^\s\p{L}\p{N}]+[\r\n]*'
+        int symbolStart = c == ' ' && i + 1 < length ? i + 1 : i;
+        if (isSymbol(Character.codePointAt(text, symbolStart))) {
+            i = symbolStart;
+            while (i < length) {
+                int cp = Character.codePointAt(text, i);
+                if (!isSymbol(cp)) {
+                    break;
+                }
+                i += Character.charCount(cp);
+            }
+            while (i < length && (text.charAt(i) == '\r' || text.charAt(i) == '\n')) {
+                i++;
+            }
+            return i;
+        }
+
+        // 空白：连续空白中最后一个空格留给后面的单词
+        while (i < length && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        if (i < length && i - start > 1 && text.charAt(i - 1) == ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * 中日韩文字（汉字、假名、谚文）
+     */
+    static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static boolean isSymbol(int codePoint) {
+        return !Character.isWhitespace(codePoint) && !Character.isLetter(codePoint) && !Character.isDigit(codePoint);
+    }
+
+    private static int contractionEnd(CharSequence text, int i) {
+        int length = text.length();
+        char first = Character.toLowerCase(text.charAt(i));
+        if (first == 's' || first == 't' || first == 'm' || first == 'd') {
+            return i + 1;
+        }
+        if (i + 1 < length) {
+            char second = Character.toLowerCase(text.charAt(i + 1));
+            if ((first == 'r' && second == 'e') || (first == 'v' && second == 'e') || (first == 'l' && second == 'l')) {
+                return i + 2;
+            }
+        }
+        return -1;
+    }
+}
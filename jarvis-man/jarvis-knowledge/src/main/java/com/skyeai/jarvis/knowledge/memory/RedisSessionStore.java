@@ -0,0 +1,463 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 短期记忆的Redis读写
+ * 写入先按Redis键合并（同一键只保留最后一次写入），再在一个pipeline中批量发送 HSET + EXPIRE / DEL；
+ * 写后回写模式下由后台线程按固定间隔或积压达到批大小时刷新，否则每次调用结束时立即刷新。
+ * 过期完全交给Redis原生TTL：上下文键按条目有效期 EXPIRE，会话键与键索引按会话过期时间 PEXPIREAT。
+ * 每个会话维护一个键索引集合 session-keys:{id}，加载会话时用 SMEMBERS + pipeline HGETALL，不再使用 KEYS 扫描；
+ * 全部会话登记在有序集合 session-keys 中（分值为会话过期时间），列出活跃会话时按分值读取并顺带清理已过期的成员。
+ */
+public class RedisSessionStore implements AutoCloseable {
+
+    private static final String SESSION_PREFIX = "session:";
+    private static final String INDEX_PREFIX = "session-keys:";
+    private static final String SESSION_INDEX = "session-keys";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean writeBehind;
+    private final int maxBatch;
+
+    // Redis键 -> 待写入，删除与写入互斥：后到的操作覆盖先到的
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<String, PendingDelete> pendingDeletes = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flushExecutor;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong deletes = new AtomicLong();
+    private final AtomicLong pipelines = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * @param writeBehind 为true时异步批量刷新，否则每次调用 {@link #flushIfSync()} 时立即刷新
+     * @param flushIntervalMs 写后回写模式下的刷新间隔
+     * @param maxBatch 积压达到该数量时提前刷新
+     */
+    public RedisSessionStore(RedisTemplate<String, Object> redisTemplate, boolean writeBehind,
+                             long flushIntervalMs, int maxBatch) {
+        this.redisTemplate = redisTemplate;
+        this.writeBehind = writeBehind;
+        this.maxBatch = Math.max(1, maxBatch);
+        if (writeBehind) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "short-term-memory-redis-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flushExecutor = null;
+        }
+    }
+
+    public static String sessionKey(String sessionId) {
+        return SESSION_PREFIX + sessionId;
+    }
+
+    public static String contextKey(String sessionId, String key) {
+        return SESSION_PREFIX + sessionId + ":" + key;
+    }
+
+    public static String indexKey(String sessionId) {
+        return INDEX_PREFIX + sessionId;
+    }
+
+    /**
+     * 写入上下文键并登记到会话键索引
+     */
+    public void writeContext(String sessionId, String key, Map<String, String> fields, long ttlSeconds) {
+        String redisKey = contextKey(sessionId, key);
+        enqueue(redisKey, new PendingWrite(fields, ttlSeconds * 1000, 0, indexKey(sessionId), key, null));
+    }
+
+    /**
+     * 写入会话元数据，会话键与键索引在 expireAtMillis 过期
+     */
+    public void writeSession(String sessionId, Map<String, String> fields, long expireAtMillis) {
+        enqueue(sessionKey(sessionId), new PendingWrite(fields, 0, expireAtMillis, indexKey(sessionId), null, sessionId));
+    }
+
+    /**
+     * 写入不属于会话的键（临时信息）
+     */
+    public void writeKey(String redisKey, Map<String, String> fields, long ttlSeconds) {
+        enqueue(redisKey, new PendingWrite(fields, ttlSeconds * 1000, 0, null, null, null));
+    }
+
+    public void deleteContext(String sessionId, String key) {
+        enqueueDelete(contextKey(sessionId, key), new PendingDelete(indexKey(sessionId), key));
+    }
+
+    public void deleteKey(String redisKey) {
+        enqueueDelete(redisKey, new PendingDelete(null, null));
+    }
+
+    /**
+     * 删除会话的全部键（会话键、键索引和索引中登记的上下文键），并从会话索引中移除
+     */
+    public void deleteSession(String sessionId) {
+        flush();
+        try {
+            Set<Object> members = redisTemplate.opsForSet().members(indexKey(sessionId));
+            List<String> keys = new ArrayList<>();
+            keys.add(sessionKey(sessionId));
+            keys.add(indexKey(sessionId));
+            if (members != null) {
+                for (Object member : members) {
+                    keys.add(contextKey(sessionId, member.toString()));
+                }
+            }
+            redisTemplate.delete(keys);
+            redisTemplate.opsForZSet().remove(SESSION_INDEX, sessionId);
+            deletes.addAndGet(keys.size());
+            pipelines.incrementAndGet();
+            commands.addAndGet(3);
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            System.err.println("Failed to delete session from Redis: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 非写后回写模式下立即刷新；写后回写模式下只在积压达到批大小时提交一次异步刷新
+     */
+    public void flushIfSync() {
+        if (!writeBehind) {
+            flush();
+        } else if (pendingWrites.size() + pendingDeletes.size() >= maxBatch
+                && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * 加载会话元数据和全部上下文键（两次往返：SMEMBERS + HGETALL 会话键，随后一个pipeline读取所有上下文键）
+     * @return 会话不存在时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public SessionData loadSession(String sessionId) {
+        flush();
+        List<Object> head = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForHash().entries(sessionKey(sessionId));
+                ops.opsForSet().members(indexKey(sessionId));
+                return null;
+            }
+        });
+        pipelines.incrementAndGet();
+        commands.addAndGet(2);
+        Map<Object, Object> metadata = (Map<Object, Object>) head.get(0);
+        if (metadata == null || metadata.isEmpty()) {
+            return null;
+        }
+        SessionData result = new SessionData(metadata);
+
+        Set<Object> members = (Set<Object>) head.get(1);
+        if (members == null || members.isEmpty()) {
+            return result;
+        }
+        List<String> contextKeys = new ArrayList<>(members.size());
+        for (Object member : members) {
+            contextKeys.add(member.toString());
+        }
+        List<Object> values = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String key : contextKeys) {
+                    ops.opsForHash().entries(contextKey(sessionId, key));
+                }
+                return null;
+            }
+        });
+        pipelines.incrementAndGet();
+        commands.addAndGet(contextKeys.size());
+        for (int i = 0; i < contextKeys.size(); i++) {
+            Map<Object, Object> fields = (Map<Object, Object>) values.get(i);
+            // 已被Redis按TTL删除的键返回空哈希
+            if (fields != null && !fields.isEmpty()) {
+                result.contexts.put(contextKeys.get(i), fields);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 列出会话索引中尚未过期的会话ID，并删除已过期的成员（两条命令在一个pipeline中发送）
+     */
+    @SuppressWarnings("unchecked")
+    public Set<String> activeSessionIds() {
+        flush();
+        long now = System.currentTimeMillis();
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForZSet().removeRangeByScore(SESSION_INDEX, Double.NEGATIVE_INFINITY, now);
+                ops.opsForZSet().rangeByScore(SESSION_INDEX, now, Double.POSITIVE_INFINITY);
+                return null;
+            }
+        });
+        pipelines.incrementAndGet();
+        commands.addAndGet(2);
+        Set<String> sessionIds = new HashSet<>();
+        Set<Object> members = (Set<Object>) results.get(1);
+        if (members != null) {
+            for (Object member : members) {
+                sessionIds.add(member.toString());
+            }
+        }
+        return sessionIds;
+    }
+
+    /**
+     * 读取单个哈希键，该键有尚未发送的写入或删除时先刷新
+     */
+    public Map<Object, Object> readHash(String redisKey) {
+        if (pendingWrites.containsKey(redisKey) || pendingDeletes.containsKey(redisKey)) {
+            flush();
+        }
+        commands.incrementAndGet();
+        return redisTemplate.opsForHash().entries(redisKey);
+    }
+
+    /**
+     * 统计会话键索引中登记的上下文键数量
+     */
+    public long countContextKeys(String sessionId) {
+        flush();
+        commands.incrementAndGet();
+        Long size = redisTemplate.opsForSet().size(indexKey(sessionId));
+        return size != null ? size : 0;
+    }
+
+    /**
+     * 在一个pipeline中重设会话下多个上下文键的TTL
+     */
+    @SuppressWarnings("unchecked")
+    public void expireContext(String sessionId, Collection<String> keys, long ttlSeconds) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        flush();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String key : keys) {
+                    ops.expire(contextKey(sessionId, key), ttlSeconds, TimeUnit.SECONDS);
+                }
+                return null;
+            }
+        });
+        pipelines.incrementAndGet();
+        commands.addAndGet(keys.size());
+    }
+
+    /**
+     * 把积压的写入和删除在一个pipeline中发送
+     */
+    @SuppressWarnings("unchecked")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pendingWrites.isEmpty() && pendingDeletes.isEmpty()) {
+                return;
+            }
+            Map<String, PendingDelete> deleteBatch = drain(pendingDeletes);
+            Map<String, PendingWrite> writeBatch = drain(pendingWrites);
+            if (deleteBatch.isEmpty() && writeBatch.isEmpty()) {
+                return;
+            }
+            long[] commandCount = new long[1];
+            try {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        if (!deleteBatch.isEmpty()) {
+                            ops.delete(deleteBatch.keySet());
+                            commandCount[0]++;
+                            for (PendingDelete delete : deleteBatch.values()) {
+                                if (delete.indexKey != null) {
+                                    ops.opsForSet().remove(delete.indexKey, delete.member);
+                                    commandCount[0]++;
+                                }
+                            }
+                        }
+                        // 键索引可能在同一批中才被创建，其过期时间放到所有写入之后设置
+                        Map<String, Long> indexExpirations = new HashMap<>();
+                        for (Map.Entry<String, PendingWrite> entry : writeBatch.entrySet()) {
+                            PendingWrite write = entry.getValue();
+                            ops.opsForHash().putAll(entry.getKey(), write.fields);
+                            commandCount[0]++;
+                            if (write.expireAtMillis > 0) {
+                                ops.expireAt(entry.getKey(), new Date(write.expireAtMillis));
+                                commandCount[0]++;
+                                if (write.indexKey != null) {
+                                    indexExpirations.put(write.indexKey, write.expireAtMillis);
+                                }
+                            } else if (write.ttlMillis > 0) {
+                                ops.expire(entry.getKey(), write.ttlMillis, TimeUnit.MILLISECONDS);
+                                commandCount[0]++;
+                            }
+                            if (write.indexMember != null) {
+                                ops.opsForSet().add(write.indexKey, write.indexMember);
+                                commandCount[0]++;
+                            }
+                            if (write.sessionId != null) {
+                                ops.opsForZSet().add(SESSION_INDEX, write.sessionId, write.expireAtMillis);
+                                commandCount[0]++;
+                            }
+                        }
+                        for (Map.Entry<String, Long> entry : indexExpirations.entrySet()) {
+                            ops.expireAt(entry.getKey(), new Date(entry.getValue()));
+                            commandCount[0]++;
+                        }
+                        return null;
+                    }
+                });
+                pipelines.incrementAndGet();
+                commands.addAndGet(commandCount[0]);
+                deletes.addAndGet(deleteBatch.size());
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                System.err.println("Failed to flush short-term memory to Redis ("
+                        + writeBatch.size() + " writes, " + deleteBatch.size() + " deletes): " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 获取合并与pipeline统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("writeBehind", writeBehind);
+        stats.put("writes", writes.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("deletes", deletes.get());
+        stats.put("pipelines", pipelines.get());
+        stats.put("commands", commands.get());
+        stats.put("failures", failures.get());
+        stats.put("pending", pendingWrites.size() + pendingDeletes.size());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+        }
+        flush();
+    }
+
+    private void enqueue(String redisKey, PendingWrite write) {
+        writes.incrementAndGet();
+        pendingDeletes.remove(redisKey);
+        if (pendingWrites.put(redisKey, write) != null) {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    private void enqueueDelete(String redisKey, PendingDelete delete) {
+        if (pendingWrites.remove(redisKey) != null) {
+            coalesced.incrementAndGet();
+        }
+        pendingDeletes.put(redisKey, delete);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("Failed to flush short-term memory to Redis: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 逐个移除并返回积压项，刷新期间新到的写入留到下一批
+     */
+    private static <T> Map<String, T> drain(Map<String, T> pending) {
+        Map<String, T> batch = new LinkedHashMap<>();
+        for (String key : new ArrayList<>(pending.keySet())) {
+            T value = pending.remove(key);
+            if (value != null) {
+                batch.put(key, value);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * 从Redis加载的会话：会话元数据与上下文键 -> 哈希字段
+     */
+    public static final class SessionData {
+        public final Map<Object, Object> metadata;
+        public final Map<String, Map<Object, Object>> contexts = new LinkedHashMap<>();
+
+        SessionData(Map<Object, Object> metadata) {
+            this.metadata = metadata;
+        }
+    }
+
+    private static final class PendingWrite {
+        final Map<String, String> fields;
+        final long ttlMillis;
+        final long expireAtMillis;
+        final String indexKey;
+        final String indexMember;
+        // 会话元数据写入时非空，登记到会话索引
+        final String sessionId;
+
+        PendingWrite(Map<String, String> fields, long ttlMillis, long expireAtMillis, String indexKey, String indexMember,
+                     String sessionId) {
+            this.fields = fields;
+            this.ttlMillis = ttlMillis;
+            this.expireAtMillis = expireAtMillis;
+            this.indexKey = indexKey;
+            this.indexMember = indexMember;
+            this.sessionId = sessionId;
+        }
+    }
+
+    private static final class PendingDelete {
+        final String indexKey;
+        final String member;
+
+        PendingDelete(String indexKey, String member) {
+            this.indexKey = indexKey;
+            this.member = member;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分层时间轮过期索引
+ * 每层64个槽，第0层每槽一个tick，第l层每槽 64^l 个tick；条目按到期时间与当前tick的距离放入能容纳它的最低层，
+ * 高层槽在对应时间窗口开始时整体降级到低层。登记、取消均为O(1)，推进的摊还代价与到期条目数成正比，
+ * 不再需要周期性扫描全部条目。超出最高层范围的条目先放在最高层，降级时按实际到期时间重新放置。
+ * 线程安全：所有操作在同一把锁内完成，到期回调由调用方在锁外处理。
+ */
+public class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMs;
+    private final Node<K>[][] wheels;
+    private final Map<K, Node<K>> index = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param tickMs 时间精度（每个tick的毫秒数）
+     * @param nowMillis 当前时间，之前的时间不会被推进
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, long nowMillis) {
+        this.tickMs = Math.max(1, tickMs);
+        this.currentTick = nowMillis / this.tickMs;
+        this.wheels = new Node[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Node<K> head = new Node<>(null, 0);
+                head.prev = head;
+                head.next = head;
+                wheels[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * 登记或更新键的到期时间；已经到期的键在下一个tick返回
+     */
+    public synchronized void schedule(K key, long expireAtMillis) {
+        Node<K> existing = index.remove(key);
+        if (existing != null) {
+            unlink(existing);
+        }
+        long deadline = Math.max((expireAtMillis + tickMs - 1) / tickMs, currentTick + 1);
+        Node<K> node = new Node<>(key, deadline);
+        index.put(key, node);
+        insert(node);
+    }
+
+    /**
+     * 取消键的过期登记
+     */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = index.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * 推进到 nowMillis，返回期间到期的键
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMs;
+        List<K> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 从高到低降级：进入新时间窗口的高层槽中的条目重新放到低层
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+                }
+            }
+            Node<K> head = wheels[0][(int) (currentTick & SLOT_MASK)];
+            Node<K> node = head.next;
+            while (node != head) {
+                Node<K> next = node.next;
+                if (node.deadline <= currentTick) {
+                    unlink(node);
+                    index.remove(node.key);
+                    expired.add(node.key);
+                }
+                node = next;
+            }
+            if (index.isEmpty()) {
+                // 没有待到期的条目，直接跳到目标tick
+                currentTick = targetTick;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private void cascade(int level, int slot) {
+        Node<K> head = wheels[level][slot];
+        Node<K> node = head.next;
+        head.next = head;
+        head.prev = head;
+        while (node != head) {
+            Node<K> next = node.next;
+            insert(node);
+            node = next;
+        }
+    }
+
+    private void insert(Node<K> node) {
+        long delta = node.deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        long deadline = node.deadline;
+        if (level == LEVELS - 1 && delta >= (1L << (SLOT_BITS * LEVELS))) {
+            // 超出范围：放在最高层一轮之后的位置，降级时再按实际到期时间放置
+            deadline = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        }
+        Node<K> head = wheels[level][(int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static <K> void unlink(Node<K> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node;
+        node.next = node;
+    }
+
+    private static final class Node<K> {
+        final K key;
+        final long deadline;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+/**
+ * 文本token计数器
+ * 注册为Spring Bean即可替换短期记忆默认使用的计数器
+ */
+public interface TokenCounter {
+
+    /**
+     * 计算文本的token数量
+     */
+    int count(CharSequence text);
+}
@@ -116,6 +116,11 @@ public interface KnowledgeGraphService {
      */
     Map<String, Double> calculateCentrality();
 
+    /**
+     * 计算PageRank
+     */
+    Map<String, Double> calculatePageRank();
+
     /**
      * 从文本中提取知识
      */
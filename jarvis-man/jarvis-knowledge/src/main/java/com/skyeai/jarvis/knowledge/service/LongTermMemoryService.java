@@ -82,7 +82,7 @@ public interface LongTermMemoryService {
     void saveUserPreferencesBatch(String userId, Map<String, String> preferences, String preferenceType);
 
     /**
-     * 导出用户记忆
+     * 导出用户记忆，其中 chatHistory 是按页流式加载的 Iterable，遍历时才从数据服务读取
      */
     Map<String, Object> exportUserMemory(String userId);
 
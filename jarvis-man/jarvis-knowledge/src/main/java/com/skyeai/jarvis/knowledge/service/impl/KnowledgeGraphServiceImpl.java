@@ -1,27 +1,49 @@
 package com.skyeai.jarvis.knowledge.service.impl;
 
+import com.skyeai.jarvis.knowledge.graph.GraphAdjacency;
 import com.skyeai.jarvis.knowledge.model.KnowledgeNode;
 import com.skyeai.jarvis.knowledge.model.KnowledgeRelationship;
 import com.skyeai.jarvis.knowledge.service.KnowledgeGraphService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class KnowledgeGraphServiceImpl implements KnowledgeGraphService {
 
+    private static final int ID_QUERY_CHUNK = 1000;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${knowledge.graph.pagerank.damping:0.85}")
+    private double pageRankDamping;
+
+    @Value("${knowledge.graph.pagerank.max-iterations:50}")
+    private int pageRankMaxIterations;
+
+    @Value("${knowledge.graph.pagerank.tolerance:1e-6}")
+    private double pageRankTolerance;
+
+    // 内存邻接索引，首次遍历时从数据库加载，之后随增删改在事务提交后同步
+    private volatile GraphAdjacency adjacency;
+    private final Object adjacencyLock = new Object();
+
     @Override
     public KnowledgeNode createNode(KnowledgeNode node) {
         node.setCreatedAt(new Date());
         node.setUpdatedAt(new Date());
         entityManager.persist(node);
+        String nodeId = node.getId();
+        syncAdjacency(graph -> graph.addNode(nodeId));
         return node;
     }
 
@@ -41,6 +63,7 @@ public class KnowledgeGraphServiceImpl implements KnowledgeGraphService {
         KnowledgeNode node = entityManager.find(KnowledgeNode.class, nodeId);
         if (node != null) {
             entityManager.remove(node);
+            syncAdjacency(graph -> graph.removeNode(nodeId));
         }
     }
 
@@ -75,6 +98,7 @@ public class KnowledgeGraphServiceImpl implements KnowledgeGraphService {
         relationship.setCreatedAt(new Date());
         relationship.setUpdatedAt(new Date());
         entityManager.persist(relationship);
+        syncEdge(relationship);
         return relationship;
     }
 
@@ -86,7 +110,10 @@ public class KnowledgeGraphServiceImpl implements KnowledgeGraphService {
     @Override
     public KnowledgeRelationship updateRelationship(KnowledgeRelationship relationship) {
         relationship.setUpdatedAt(new Date());
-        return entityManager.merge(relationship);
+        KnowledgeRelationship merged = entityManager.merge(relationship);
+        // 源或目标节点可能已变化，按关系ID重新登记
+        syncEdge(merged);
+        return merged;
     }
 
     @Override
@@ -94,6 +121,7 @@ public class KnowledgeGraphServiceImpl implements KnowledgeGraphService {
         KnowledgeRelationship relationship = entityManager.find(KnowledgeRelationship.class, relationshipId);
         if (relationship != null) {
             entityManager.remove(relationship);
+            syncAdjacency(graph -> graph.removeEdge(relationshipId));
         }
     }
 
@@ -153,138 +181,145 @@ public class KnowledgeGraphServiceImpl implements KnowledgeGraphService {
 
     @Override
     public List<List<KnowledgeNode>> findPaths(String startNodeId, String endNodeId, int maxDepth) {
-        List<List<KnowledgeNode>> paths = new ArrayList<>();
-        List<KnowledgeNode> currentPath = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        dfsFindPaths(startNodeId, endNodeId, maxDepth, 0, currentPath, visited, paths);
-        return paths;
-    }
-
-    private void dfsFindPaths(String currentNodeId, String endNodeId, int maxDepth, int currentDepth, 
-                             List<KnowledgeNode> currentPath, Set<String> visited, List<List<KnowledgeNode>> paths) {
-        if (currentDepth > maxDepth) {
-            return;
-        }
-
-        KnowledgeNode currentNode = getNode(currentNodeId);
-        if (currentNode == null || visited.contains(currentNodeId)) {
-            return;
-        }
-
-        currentPath.add(currentNode);
-        visited.add(currentNodeId);
-
-        if (currentNodeId.equals(endNodeId)) {
-            paths.add(new ArrayList<>(currentPath));
-        } else {
-            List<KnowledgeRelationship> outgoingRelationships = getOutgoingRelationships(currentNodeId);
-            for (KnowledgeRelationship relationship : outgoingRelationships) {
-                dfsFindPaths(relationship.getTargetId(), endNodeId, maxDepth, currentDepth + 1, 
-                           currentPath, visited, paths);
+        List<List<String>> idPaths = adjacency().paths(startNodeId, endNodeId, maxDepth);
+        Set<String> ids = new HashSet<>();
+        idPaths.forEach(ids::addAll);
+        Map<String, KnowledgeNode> nodes = findNodesByIds(ids);
+        List<List<KnowledgeNode>> paths = new ArrayList<>(idPaths.size());
+        for (List<String> idPath : idPaths) {
+            List<KnowledgeNode> path = toNodes(idPath, nodes);
+            if (path.size() == idPath.size()) {
+                paths.add(path);
             }
         }
-
-        currentPath.remove(currentPath.size() - 1);
-        visited.remove(currentNodeId);
+        return paths;
     }
 
     @Override
     public List<KnowledgeNode> findShortestPath(String startNodeId, String endNodeId) {
-        List<List<KnowledgeNode>> allPaths = findPaths(startNodeId, endNodeId, 10);
-        if (allPaths.isEmpty()) {
+        List<String> idPath = adjacency().shortestPath(startNodeId, endNodeId);
+        if (idPath.isEmpty()) {
             return Collections.emptyList();
         }
-
-        return allPaths.stream()
-                .min(Comparator.comparingInt(List::size))
-                .orElse(Collections.emptyList());
+        List<KnowledgeNode> path = toNodes(idPath, findNodesByIds(idPath));
+        return path.size() == idPath.size() ? path : Collections.emptyList();
     }
 
     @Override
     public List<KnowledgeNode> findNeighbors(String nodeId, int depth) {
-        Set<KnowledgeNode> neighbors = new HashSet<>();
-        Set<String> visited = new HashSet<>();
-        bfsFindNeighbors(nodeId, depth, 0, neighbors, visited);
-        return new ArrayList<>(neighbors);
+        List<String> ids = adjacency().neighbors(nodeId, depth);
+        return toNodes(ids, findNodesByIds(ids));
     }
 
-    private void bfsFindNeighbors(String currentNodeId, int maxDepth, int currentDepth, 
-                                 Set<KnowledgeNode> neighbors, Set<String> visited) {
-        if (currentDepth >= maxDepth || visited.contains(currentNodeId)) {
-            return;
-        }
-
-        KnowledgeNode currentNode = getNode(currentNodeId);
-        if (currentNode == null) {
-            return;
+    @Override
+    public Map<String, List<KnowledgeNode>> detectCommunities() {
+        List<List<String>> components = adjacency().components();
+        Map<String, KnowledgeNode> nodes = new HashMap<>();
+        for (KnowledgeNode node : entityManager.createQuery("SELECT n FROM KnowledgeNode n", KnowledgeNode.class).getResultList()) {
+            nodes.put(node.getId(), node);
         }
 
-        visited.add(currentNodeId);
-
-        List<KnowledgeRelationship> allRelationships = getAllRelationships(currentNodeId);
-        for (KnowledgeRelationship relationship : allRelationships) {
-            String neighborId = relationship.getSourceId().equals(currentNodeId) ? 
-                              relationship.getTargetId() : relationship.getSourceId();
-            KnowledgeNode neighbor = getNode(neighborId);
-            if (neighbor != null) {
-                neighbors.add(neighbor);
-                bfsFindNeighbors(neighborId, maxDepth, currentDepth + 1, neighbors, visited);
+        Map<String, List<KnowledgeNode>> communities = new HashMap<>();
+        int communityId = 1;
+        for (List<String> component : components) {
+            List<KnowledgeNode> community = toNodes(component, nodes);
+            if (!community.isEmpty()) {
+                communities.put("community_" + communityId++, community);
             }
         }
+        return communities;
     }
 
     @Override
-    public Map<String, List<KnowledgeNode>> detectCommunities() {
-        Map<String, List<KnowledgeNode>> communities = new HashMap<>();
-        Set<String> visited = new HashSet<>();
-        List<KnowledgeNode> allNodes = entityManager.createQuery("SELECT n FROM KnowledgeNode n", KnowledgeNode.class).getResultList();
+    public Map<String, Double> calculateCentrality() {
+        return adjacency().degreeCentrality();
+    }
 
-        int communityId = 1;
-        for (KnowledgeNode node : allNodes) {
-            if (!visited.contains(node.getId())) {
-                List<KnowledgeNode> community = new ArrayList<>();
-                dfsDetectCommunity(node.getId(), community, visited);
-                if (!community.isEmpty()) {
-                    communities.put("community_" + communityId++, community);
+    @Override
+    public Map<String, Double> calculatePageRank() {
+        return adjacency().pageRank(pageRankDamping, pageRankMaxIterations, pageRankTolerance);
+    }
+
+    /**
+     * 获取邻接索引，首次调用时从数据库加载节点ID和关系端点
+     */
+    private GraphAdjacency adjacency() {
+        GraphAdjacency current = adjacency;
+        if (current == null) {
+            synchronized (adjacencyLock) {
+                current = adjacency;
+                if (current == null) {
+                    current = new GraphAdjacency();
+                    current.load(
+                            entityManager.createQuery("SELECT n.id FROM KnowledgeNode n", String.class).getResultList(),
+                            entityManager.createQuery("SELECT r.id, r.sourceId, r.targetId FROM KnowledgeRelationship r",
+                                    Object[].class).getResultList());
+                    adjacency = current;
                 }
             }
         }
+        return current;
+    }
 
-        return communities;
+    private void syncEdge(KnowledgeRelationship relationship) {
+        String relationshipId = relationship.getId();
+        String sourceId = relationship.getSourceId();
+        String targetId = relationship.getTargetId();
+        syncAdjacency(graph -> graph.putEdge(relationshipId, sourceId, targetId));
     }
 
-    private void dfsDetectCommunity(String nodeId, List<KnowledgeNode> community, Set<String> visited) {
-        if (visited.contains(nodeId)) {
-            return;
+    /**
+     * 事务提交后再更新邻接索引，回滚的变更不会进入索引；没有事务时立即更新
+     * 索引尚未加载时忽略，加载时会从数据库读到最新数据（变更都是幂等的，与加载并发时重复应用无影响）
+     */
+    private void syncAdjacency(Consumer<GraphAdjacency> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyToAdjacency(change);
+                }
+            });
+        } else {
+            applyToAdjacency(change);
         }
+    }
 
-        KnowledgeNode node = getNode(nodeId);
-        if (node == null) {
-            return;
+    private void applyToAdjacency(Consumer<GraphAdjacency> change) {
+        synchronized (adjacencyLock) {
+            if (adjacency != null) {
+                change.accept(adjacency);
+            }
         }
+    }
 
-        visited.add(nodeId);
-        community.add(node);
-
-        List<KnowledgeRelationship> relationships = getAllRelationships(nodeId);
-        for (KnowledgeRelationship relationship : relationships) {
-            String neighborId = relationship.getSourceId().equals(nodeId) ? 
-                              relationship.getTargetId() : relationship.getSourceId();
-            dfsDetectCommunity(neighborId, community, visited);
+    /**
+     * 按ID批量加载节点，IN列表分块避免超出数据库参数上限
+     */
+    private Map<String, KnowledgeNode> findNodesByIds(Collection<String> ids) {
+        Map<String, KnowledgeNode> nodes = new HashMap<>();
+        List<String> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += ID_QUERY_CHUNK) {
+            List<String> chunk = idList.subList(from, Math.min(idList.size(), from + ID_QUERY_CHUNK));
+            for (KnowledgeNode node : entityManager.createQuery(
+                            "SELECT n FROM KnowledgeNode n WHERE n.id IN :ids", KnowledgeNode.class)
+                    .setParameter("ids", chunk)
+                    .getResultList()) {
+                nodes.put(node.getId(), node);
+            }
         }
+        return nodes;
     }
 
-    @Override
-    public Map<String, Double> calculateCentrality() {
-        Map<String, Double> centrality = new HashMap<>();
-        List<KnowledgeNode> allNodes = entityManager.createQuery("SELECT n FROM KnowledgeNode n", KnowledgeNode.class).getResultList();
-
-        for (KnowledgeNode node : allNodes) {
-            int degree = getAllRelationships(node.getId()).size();
-            centrality.put(node.getId(), (double) degree);
+    private static List<KnowledgeNode> toNodes(List<String> ids, Map<String, KnowledgeNode> nodes) {
+        List<KnowledgeNode> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            KnowledgeNode node = nodes.get(id);
+            if (node != null) {
+                result.add(node);
+            }
         }
-
-        return centrality;
+        return result;
     }
 
     @Override
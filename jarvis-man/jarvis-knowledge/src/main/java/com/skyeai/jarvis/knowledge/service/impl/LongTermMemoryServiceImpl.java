@@ -21,6 +21,10 @@ public class LongTermMemoryServiceImpl implements LongTermMemoryService {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    // 分页读取每页上限（与服务端一致）及批量导入每次请求的条数
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int IMPORT_BATCH_SIZE = 500;
+
     @Override
     public UserPreference saveUserPreference(String userId, String preferenceKey, String value, String preferenceType) {
         try {
@@ -146,17 +150,23 @@ public class LongTermMemoryServiceImpl implements LongTermMemoryService {
     @Override
     public List<ChatHistory> getChatHistory(String userId, int limit) {
         try {
-            GetRecentChatHistoryRequest request = GetRecentChatHistoryRequest.newBuilder()
-                    .setUserId(userId)
-                    .build();
-
-            GetRecentChatHistoryResponse response = dataServiceStub.getRecentChatHistory(request);
             List<ChatHistory> chatHistories = new ArrayList<>();
-            int count = 0;
-            for (ChatHistoryProto proto : response.getChatHistoriesList()) {
-                if (count >= limit) break;
-                chatHistories.add(convertToChatHistory(proto));
-                count++;
+            String pageToken = "";
+            while (chatHistories.size() < limit) {
+                ListChatHistoryRequest request = ListChatHistoryRequest.newBuilder()
+                        .setUserId(userId)
+                        .setLimit(Math.min(limit - chatHistories.size(), MAX_PAGE_SIZE))
+                        .setPageToken(pageToken)
+                        .build();
+
+                ListChatHistoryResponse response = dataServiceStub.listChatHistory(request);
+                for (ChatHistoryProto proto : response.getChatHistoriesList()) {
+                    chatHistories.add(convertToChatHistory(proto));
+                }
+                pageToken = response.getNextPageToken();
+                if (pageToken.isEmpty()) {
+                    break;
+                }
             }
             return chatHistories;
         } catch (StatusRuntimeException e) {
@@ -255,9 +265,16 @@ public class LongTermMemoryServiceImpl implements LongTermMemoryService {
     @Override
     public void saveUserPreferencesBatch(String userId, Map<String, String> preferences, String preferenceType) {
         try {
+            SaveUserPreferencesBatchRequest.Builder request = SaveUserPreferencesBatchRequest.newBuilder().setUserId(userId);
             for (Map.Entry<String, String> entry : preferences.entrySet()) {
-                saveUserPreference(userId, entry.getKey(), entry.getValue(), preferenceType);
+                request.addPreferences(SaveUserPreferenceRequest.newBuilder()
+                        .setPreferenceKey(entry.getKey())
+                        .setValue(entry.getValue())
+                        .setPreferenceType(preferenceType)
+                        .setPriority(0)
+                        .build());
             }
+            dataServiceStub.saveUserPreferencesBatch(request.build());
         } catch (Exception e) {
             throw new RuntimeException("Failed to save user preferences batch", e);
         }
@@ -269,6 +286,7 @@ public class LongTermMemoryServiceImpl implements LongTermMemoryService {
             Map<String, Object> memoryData = new HashMap<>();
             memoryData.put("userPreferences", getAllUserPreferences(userId));
             memoryData.put("recentChatHistory", getChatHistory(userId, 100));
+            memoryData.put("chatHistory", exportChatHistory(userId));
             memoryData.put("exportedAt", new Date());
             return memoryData;
         } catch (Exception e) {
@@ -281,8 +299,32 @@ public class LongTermMemoryServiceImpl implements LongTermMemoryService {
         try {
             if (memoryData.containsKey("userPreferences")) {
                 List<UserPreference> preferences = (List<UserPreference>) memoryData.get("userPreferences");
+                SaveUserPreferencesBatchRequest.Builder request = SaveUserPreferencesBatchRequest.newBuilder().setUserId(userId);
                 for (UserPreference preference : preferences) {
-                    saveUserPreference(userId, preference.getPreferenceKey(), preference.getValue(), preference.getPreferenceType());
+                    SaveUserPreferenceRequest.Builder item = SaveUserPreferenceRequest.newBuilder()
+                            .setPreferenceKey(preference.getPreferenceKey())
+                            .setValue(preference.getValue())
+                            .setPriority(preference.getPriority());
+                    if (preference.getPreferenceType() != null) {
+                        item.setPreferenceType(preference.getPreferenceType());
+                    }
+                    request.addPreferences(item.build());
+                }
+                dataServiceStub.saveUserPreferencesBatch(request.build());
+            }
+            if (memoryData.containsKey("chatHistory")) {
+                // 边读边写，导出结果是按页加载的 Iterable 时内存中只保留一批
+                Iterable<ChatHistory> chatHistories = (Iterable<ChatHistory>) memoryData.get("chatHistory");
+                SaveChatHistoryBatchRequest.Builder request = SaveChatHistoryBatchRequest.newBuilder();
+                for (ChatHistory chatHistory : chatHistories) {
+                    request.addChatHistories(convertToSaveChatHistoryRequest(userId, chatHistory));
+                    if (request.getChatHistoriesCount() >= IMPORT_BATCH_SIZE) {
+                        dataServiceStub.saveChatHistoryBatch(request.build());
+                        request = SaveChatHistoryBatchRequest.newBuilder();
+                    }
+                }
+                if (request.getChatHistoriesCount() > 0) {
+                    dataServiceStub.saveChatHistoryBatch(request.build());
                 }
             }
         } catch (Exception e) {
@@ -456,6 +498,54 @@ public class LongTermMemoryServiceImpl implements LongTermMemoryService {
         return preference;
     }
 
+    /**
+     * 通过服务端流式导出读取用户全部聊天历史（由旧到新）
+     * 返回按页加载的 Iterable：每次遍历发起一次 ExportChatHistory 调用，收到一页才转换一页，
+     * 内存中只保留当前页。调用方需完整遍历（例如JSON序列化或 importUserMemory），中途放弃时调用会保持到服务端推送结束
+     */
+    private Iterable<ChatHistory> exportChatHistory(String userId) {
+        ExportChatHistoryRequest request = ExportChatHistoryRequest.newBuilder()
+                .setUserId(userId)
+                .build();
+        return () -> new Iterator<ChatHistory>() {
+            private Iterator<ExportChatHistoryResponse> pages;
+            private Iterator<ChatHistoryProto> page = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                if (pages == null) {
+                    pages = dataServiceStub.exportChatHistory(request);
+                }
+                while (!page.hasNext() && pages.hasNext()) {
+                    page = pages.next().getChatHistoriesList().iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public ChatHistory next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return convertToChatHistory(page.next());
+            }
+        };
+    }
+
+    private SaveChatHistoryRequest convertToSaveChatHistoryRequest(String userId, ChatHistory chatHistory) {
+        SaveChatHistoryRequest.Builder builder = SaveChatHistoryRequest.newBuilder()
+                .setUserId(userId)
+                .setContent(chatHistory.getContent())
+                .setRole(chatHistory.getRole());
+        if (chatHistory.getSessionId() != null) {
+            builder.setSessionId(chatHistory.getSessionId());
+        }
+        if (chatHistory.getCreatedAt() != null) {
+            builder.setCreatedAt(chatHistory.getCreatedAt().format(DATE_TIME_FORMATTER));
+        }
+        return builder.build();
+    }
+
     private ChatHistory convertToChatHistory(ChatHistoryProto proto) {
         ChatHistory chatHistory = new ChatHistory();
         chatHistory.setId(String.valueOf(proto.getId()));
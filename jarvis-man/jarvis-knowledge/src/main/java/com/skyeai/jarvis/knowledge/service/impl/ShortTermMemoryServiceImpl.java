@@ -1,11 +1,23 @@
 package com.skyeai.jarvis.knowledge.service.impl;
 
+import com.skyeai.jarvis.knowledge.memory.BpeTokenCounter;
+import com.skyeai.jarvis.knowledge.memory.ContextSummarizer;
+import com.skyeai.jarvis.knowledge.memory.ExtractiveSummarizer;
+import com.skyeai.jarvis.knowledge.memory.HeuristicTokenCounter;
+import com.skyeai.jarvis.knowledge.memory.RedisSessionStore;
+import com.skyeai.jarvis.knowledge.memory.TimingWheel;
+import com.skyeai.jarvis.knowledge.memory.TokenCounter;
 import com.skyeai.jarvis.knowledge.service.ShortTermMemoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -21,12 +33,30 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         private final long expirationTime;
         private final int priority;
         private final long tokenCount;
+        // 已被压缩为摘要的条目再次被淘汰时直接删除
+        private final boolean summarized;
 
         public ExpiringValue(Object value, long expirationSeconds, int priority, long tokenCount) {
+            this(value, System.currentTimeMillis() + (expirationSeconds * 1000), priority, tokenCount, false);
+        }
+
+        private ExpiringValue(Object value, long expirationTime, int priority, long tokenCount, boolean summarized) {
             this.value = value;
-            this.expirationTime = System.currentTimeMillis() + (expirationSeconds * 1000);
+            this.expirationTime = expirationTime;
             this.priority = priority;
             this.tokenCount = tokenCount;
+            this.summarized = summarized;
+        }
+
+        /**
+         * 以摘要替换值，保留原有的过期时间和优先级
+         */
+        public ExpiringValue withSummary(Object summary, long summaryTokenCount) {
+            return new ExpiringValue(summary, expirationTime, priority, summaryTokenCount, true);
+        }
+
+        public boolean isSummarized() {
+            return summarized;
         }
 
         public Object getValue() {
@@ -46,10 +76,36 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         }
     }
 
+    /**
+     * 淘汰候选：优先级低的先淘汰，同优先级先到期的先淘汰
+     */
+    private static class EvictionCandidate implements Comparable<EvictionCandidate> {
+        private final String key;
+        private final ExpiringValue value;
+
+        public EvictionCandidate(String key, ExpiringValue value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(EvictionCandidate other) {
+            int priorityCompare = Integer.compare(value.getPriority(), other.value.getPriority());
+            if (priorityCompare != 0) {
+                return priorityCompare;
+            }
+            return Long.compare(value.expirationTime, other.value.expirationTime);
+        }
+    }
+
     private static class SessionContext {
         private final Map<String, ExpiringValue> contextMap;
+        // 淘汰候选堆，被覆盖或删除的条目在出堆时跳过
+        private final PriorityQueue<EvictionCandidate> evictionHeap = new PriorityQueue<>();
         private long expirationTime;
         private long maxTokenLimit;
+        // 随写入和删除增量维护的token总数
+        private long totalTokenCount;
 
         public SessionContext(long expirationSeconds, long maxTokenLimit) {
             this.contextMap = new ConcurrentHashMap<>();
@@ -65,6 +121,37 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             return contextMap;
         }
 
+        public synchronized void put(String key, ExpiringValue value) {
+            ExpiringValue previous = contextMap.put(key, value);
+            totalTokenCount += value.getTokenCount() - (previous != null ? previous.getTokenCount() : 0);
+            evictionHeap.add(new EvictionCandidate(key, value));
+            if (evictionHeap.size() > contextMap.size() * 2 + 16) {
+                // 失效条目过多时重建，堆大小保持在上下文条目数的常数倍内
+                evictionHeap.removeIf(candidate -> contextMap.get(candidate.key) != candidate.value);
+            }
+        }
+
+        public synchronized ExpiringValue remove(String key) {
+            ExpiringValue removed = contextMap.remove(key);
+            if (removed != null) {
+                totalTokenCount -= removed.getTokenCount();
+            }
+            return removed;
+        }
+
+        /**
+         * 取出下一个应被淘汰的键，没有可淘汰的条目时返回null
+         */
+        public synchronized String pollEvictionCandidate() {
+            EvictionCandidate candidate;
+            while ((candidate = evictionHeap.poll()) != null) {
+                if (contextMap.get(candidate.key) == candidate.value) {
+                    return candidate.key;
+                }
+            }
+            return null;
+        }
+
         public boolean isExpired() {
             return System.currentTimeMillis() > expirationTime;
         }
@@ -85,11 +172,8 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             this.maxTokenLimit = maxTokenLimit;
         }
 
-        public long getTotalTokenCount() {
-            return contextMap.values().stream()
-                    .filter(value -> !value.isExpired())
-                    .mapToLong(ExpiringValue::getTokenCount)
-                    .sum();
+        public synchronized long getTotalTokenCount() {
+            return totalTokenCount;
         }
     }
 
@@ -102,98 +186,196 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
     
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public ShortTermMemoryServiceImpl() {
-        cleanupExecutor.scheduleWithFixedDelay(this::cleanupExpiredItems, 5, 5, TimeUnit.MINUTES);
+    // 写后回写：上下文写入在内存中按键合并，由后台线程批量刷新到Redis
+    @Value("${memory.redis.write-behind.enabled:true}")
+    private boolean writeBehindEnabled;
+
+    @Value("${memory.redis.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${memory.redis.write-behind.max-batch:512}")
+    private int maxBatch;
+
+    private RedisSessionStore redisStore;
+
+    // 本地过期精度
+    @Value("${memory.expiry.tick-ms:1000}")
+    private long expiryTickMs;
+
+    private TimingWheel<String> sessionExpiry;
+    private TimingWheel<List<String>> contextExpiry;
+    private TimingWheel<String> temporaryExpiry;
+
+    // tiktoken 格式的BPE词表（如 cl100k_base.tiktoken），未配置时使用近似计数
+    @Value("${memory.tokenizer.vocab-path:}")
+    private String tokenizerVocabPath;
+
+    // token预算不足时先把低优先级条目压缩为摘要，再次淘汰时才删除
+    @Value("${memory.compression.summarize.enabled:true}")
+    private boolean summarizeEnabled;
+
+    @Value("${memory.compression.summarize.max-priority:5}")
+    private int summarizeMaxPriority;
+
+    @Value("${memory.compression.summarize.target-tokens:64}")
+    private int summarizeTargetTokens;
+
+    @Autowired(required = false)
+    private TokenCounter tokenCounter;
+
+    @Autowired(required = false)
+    private ContextSummarizer contextSummarizer;
+
+    @PostConstruct
+    public void init() {
+        this.redisStore = new RedisSessionStore(redisTemplate, writeBehindEnabled, flushIntervalMs, maxBatch);
+        long now = System.currentTimeMillis();
+        this.sessionExpiry = new TimingWheel<>(expiryTickMs, now);
+        this.contextExpiry = new TimingWheel<>(expiryTickMs, now);
+        this.temporaryExpiry = new TimingWheel<>(expiryTickMs, now);
+        if (tokenCounter == null) {
+            tokenCounter = createTokenCounter();
+        }
+        if (contextSummarizer == null) {
+            contextSummarizer = new ExtractiveSummarizer();
+        }
+        cleanupExecutor.scheduleWithFixedDelay(this::cleanupExpiredItems, expiryTickMs, expiryTickMs, TimeUnit.MILLISECONDS);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdown();
+        redisStore.close();
+    }
+
+    /**
+     * 推进过期时间轮，只处理到期的会话、上下文键和临时信息；
+     * 只清理本地缓存，Redis中的键都设置了TTL，由Redis自行过期
+     */
     private void cleanupExpiredItems() {
-        Set<String> expiredSessions = new HashSet<>();
-        for (Map.Entry<String, SessionContext> entry : sessions.entrySet()) {
-            if (entry.getValue().isExpired()) {
-                expiredSessions.add(entry.getKey());
-                // 从Redis中删除过期会话
-                redisTemplate.delete("session:" + entry.getKey());
-            } else {
-                Map<String, ExpiringValue> contextMap = entry.getValue().getContextMap();
-                Set<String> expiredKeys = new HashSet<>();
-                for (Map.Entry<String, ExpiringValue> contextEntry : contextMap.entrySet()) {
-                    if (contextEntry.getValue().isExpired()) {
-                        expiredKeys.add(contextEntry.getKey());
+        try {
+            long now = System.currentTimeMillis();
+            for (String sessionId : sessionExpiry.advance(now)) {
+                SessionContext session = sessions.get(sessionId);
+                // 到期前会话可能已被替换或续期
+                if (session != null && session.isExpired()) {
+                    sessions.remove(sessionId, session);
+                }
+            }
+            for (List<String> ref : contextExpiry.advance(now)) {
+                SessionContext session = sessions.get(ref.get(0));
+                if (session != null) {
+                    ExpiringValue value = session.getContextMap().get(ref.get(1));
+                    if (value != null && value.isExpired()) {
+                        session.remove(ref.get(1));
                     }
                 }
-                for (String key : expiredKeys) {
-                    contextMap.remove(key);
-                    // 从Redis中删除过期键
-                    redisTemplate.delete("session:" + entry.getKey() + ":" + key);
+            }
+            for (String key : temporaryExpiry.advance(now)) {
+                ExpiringValue value = temporaryInfo.get(key);
+                if (value != null && value.isExpired()) {
+                    temporaryInfo.remove(key, value);
                 }
-                
-                // 压缩上下文以确保不超过token限制
-                compressSessionContext(entry.getKey(), entry.getValue());
             }
+        } catch (Exception e) {
+            System.err.println("Failed to clean up expired short-term memory: " + e.getMessage());
         }
-        for (String sessionId : expiredSessions) {
-            sessions.remove(sessionId);
-        }
+    }
 
-        Set<String> expiredTemporaryKeys = new HashSet<>();
-        for (Map.Entry<String, ExpiringValue> entry : temporaryInfo.entrySet()) {
-            if (entry.getValue().isExpired()) {
-                expiredTemporaryKeys.add(entry.getKey());
-                // 从Redis中删除过期临时信息
-                redisTemplate.delete("temporary:" + entry.getKey());
+    private TokenCounter createTokenCounter() {
+        if (tokenizerVocabPath != null && !tokenizerVocabPath.isEmpty()) {
+            try {
+                return BpeTokenCounter.load(Paths.get(tokenizerVocabPath));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to load BPE vocabulary from " + tokenizerVocabPath + ": " + e.getMessage());
             }
         }
-        for (String key : expiredTemporaryKeys) {
-            temporaryInfo.remove(key);
-        }
+        return new HeuristicTokenCounter();
+    }
+
+    /**
+     * 写入上下文条目并登记过期时间
+     */
+    private void putContext(String sessionId, SessionContext session, String key, ExpiringValue value) {
+        session.put(key, value);
+        contextExpiry.schedule(List.of(sessionId, key), value.expirationTime);
+    }
+
+    private void removeContext(String sessionId, SessionContext session, String key) {
+        session.remove(key);
+        contextExpiry.cancel(List.of(sessionId, key));
+    }
+
+    /**
+     * 登记（或更新）会话的过期时间
+     */
+    private void scheduleSession(String sessionId, SessionContext session) {
+        sessionExpiry.schedule(sessionId, session.getExpirationTime());
     }
 
     /**
      * 压缩会话上下文，确保不超过token限制
+     * 从淘汰候选堆中依次取出优先级最低、最先到期的项目：可摘要的先替换为摘要，其余直接删除
      */
     private void compressSessionContext(String sessionId, SessionContext session) {
-        long totalTokens = session.getTotalTokenCount();
         long maxTokens = session.getMaxTokenLimit();
+        if (session.getTotalTokenCount() <= maxTokens) {
+            return;
+        }
 
-        if (totalTokens > maxTokens) {
-            // 按优先级和时间排序，删除低优先级的项目
-            List<Map.Entry<String, ExpiringValue>> sortedEntries = new ArrayList<>(session.getContextMap().entrySet());
-            sortedEntries.sort((e1, e2) -> {
-                // 先按优先级排序
-                int priorityCompare = Integer.compare(e2.getValue().getPriority(), e1.getValue().getPriority());
-                if (priorityCompare != 0) {
-                    return priorityCompare;
-                }
-                // 再按过期时间排序（最近的优先）
-                return Long.compare(e2.getValue().expirationTime, e1.getValue().expirationTime);
-            });
-
-            long currentTokens = totalTokens;
-            Iterator<Map.Entry<String, ExpiringValue>> iterator = sortedEntries.iterator();
-
-            while (currentTokens > maxTokens && iterator.hasNext()) {
-                Map.Entry<String, ExpiringValue> entry = iterator.next();
-                currentTokens -= entry.getValue().getTokenCount();
-                session.getContextMap().remove(entry.getKey());
-                // 从Redis中删除被压缩的键
-                redisTemplate.delete("session:" + sessionId + ":" + entry.getKey());
+        String key;
+        while (session.getTotalTokenCount() > maxTokens && (key = session.pollEvictionCandidate()) != null) {
+            ExpiringValue value = session.getContextMap().get(key);
+            if (value == null) {
+                continue;
             }
-            
-            // 更新Redis中的会话信息
-            updateSessionInRedis(sessionId, session);
+            ExpiringValue summarized = summarize(key, value);
+            if (summarized != null) {
+                // 摘要重新进入候选堆，下次被选中时删除
+                session.put(key, summarized);
+                saveContextToRedis(sessionId, key, summarized,
+                        Math.max(1, (summarized.expirationTime - System.currentTimeMillis()) / 1000));
+                continue;
+            }
+            session.remove(key);
+            contextExpiry.cancel(List.of(sessionId, key));
+            // 从Redis中删除被压缩的键，随下一次刷新批量发送
+            redisStore.deleteContext(sessionId, key);
         }
+        
+        // 更新Redis中的会话信息
+        updateSessionInRedis(sessionId, session);
     }
 
     /**
-     * 估算文本的token数量
+     * 把低优先级的大文本条目压缩为摘要，非文本值、不适合摘要或摘要没有变小时返回null
+     */
+    private ExpiringValue summarize(String key, ExpiringValue value) {
+        if (!summarizeEnabled || value.isSummarized() || value.getPriority() > summarizeMaxPriority
+                || value.getTokenCount() <= summarizeTargetTokens || !(value.getValue() instanceof CharSequence)) {
+            return null;
+        }
+        try {
+            Object summary = contextSummarizer.summarize(key, value.getValue(), summarizeTargetTokens, tokenCounter);
+            if (summary == null) {
+                return null;
+            }
+            long summaryTokens = estimateTokenCount(summary);
+            return summaryTokens < value.getTokenCount() ? value.withSummary(summary, summaryTokens) : null;
+        } catch (Exception e) {
+            System.err.println("Failed to summarize context " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 计算值的token数量
      */
     private long estimateTokenCount(Object value) {
         if (value == null) {
             return 0;
         }
-        String text = value.toString();
-        // 简单估算：1 token ≈ 4 characters
-        return text.length() / 4 + 1;
+        return tokenCounter.count(value.toString());
     }
 
     /**
@@ -220,79 +402,27 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
     }
 
     /**
-     * 从Redis加载会话
+     * 从Redis加载会话（会话元数据与全部上下文键共两次往返）
      */
     private SessionContext loadSessionFromRedis(String sessionId) {
         try {
-            String sessionKey = "session:" + sessionId;
-            Map<Object, Object> sessionData = redisTemplate.opsForHash().entries(sessionKey);
-            if (sessionData.isEmpty()) {
+            RedisSessionStore.SessionData data = redisStore.loadSession(sessionId);
+            if (data == null) {
                 return null;
             }
+            Map<Object, Object> sessionData = data.metadata;
             
             // 解析会话数据
-            Long maxTokenLimit = (Long) sessionData.getOrDefault("maxTokenLimit", 4096L);
-            Long expirationTime = (Long) sessionData.getOrDefault("expirationTime", System.currentTimeMillis() + 3600000L);
+            long maxTokenLimit = toLong(sessionData.get("maxTokenLimit"), 4096L);
+            long expirationTime = toLong(sessionData.get("expirationTime"), System.currentTimeMillis() + 3600000L);
             
             SessionContext session = new SessionContext((expirationTime - System.currentTimeMillis()) / 1000, maxTokenLimit);
             
             // 加载会话上下文
-            Set<String> keys = redisTemplate.keys("session:" + sessionId + ":*");
-            if (keys != null) {
-                for (String key : keys) {
-                    String contextKey = key.substring(("session:" + sessionId + ":").length());
-                    Map<Object, Object> valueData = redisTemplate.opsForHash().entries(key);
-                    if (!valueData.isEmpty()) {
-                        Object value = valueData.get("value");
-                        Object expTimeObj = valueData.get("expirationTime");
-                        Object priorityObj = valueData.get("priority");
-                        Object tokenCountObj = valueData.get("tokenCount");
-                        
-                        Long expTime = null;
-                        Integer priority = null;
-                        Long tokenCount = null;
-                        
-                        if (expTimeObj != null) {
-                            if (expTimeObj instanceof String) {
-                                expTime = Long.parseLong((String) expTimeObj);
-                            } else if (expTimeObj instanceof Long) {
-                                expTime = (Long) expTimeObj;
-                            } else if (expTimeObj instanceof Integer) {
-                                expTime = ((Integer) expTimeObj).longValue();
-                            }
-                        }
-                        
-                        if (priorityObj != null) {
-                            if (priorityObj instanceof String) {
-                                priority = Integer.parseInt((String) priorityObj);
-                            } else if (priorityObj instanceof Integer) {
-                                priority = (Integer) priorityObj;
-                            } else if (priorityObj instanceof Long) {
-                                priority = ((Long) priorityObj).intValue();
-                            }
-                        }
-                        
-                        if (tokenCountObj != null) {
-                            if (tokenCountObj instanceof String) {
-                                tokenCount = Long.parseLong((String) tokenCountObj);
-                            } else if (tokenCountObj instanceof Long) {
-                                tokenCount = (Long) tokenCountObj;
-                            } else if (tokenCountObj instanceof Integer) {
-                                tokenCount = ((Integer) tokenCountObj).longValue();
-                            }
-                        }
-                        
-                        if (value != null && expTime != null && priority != null && tokenCount != null) {
-                            // 创建ExpiringValue对象
-                            ExpiringValue expiringValue = new ExpiringValue(
-                                    value,
-                                    (expTime - System.currentTimeMillis()) / 1000,
-                                    priority,
-                                    tokenCount
-                            );
-                            session.getContextMap().put(contextKey, expiringValue);
-                        }
-                    }
+            for (Map.Entry<String, Map<Object, Object>> entry : data.contexts.entrySet()) {
+                ExpiringValue expiringValue = fromFields(entry.getValue(), calculatePriority(entry.getKey(), null));
+                if (expiringValue != null) {
+                    putContext(sessionId, session, entry.getKey(), expiringValue);
                 }
             }
             
@@ -307,32 +437,90 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
      * 更新Redis中的会话信息
      */
     private void updateSessionInRedis(String sessionId, SessionContext session) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("maxTokenLimit", String.valueOf(session.getMaxTokenLimit()));
+        fields.put("expirationTime", String.valueOf(session.getExpirationTime()));
+        redisStore.writeSession(sessionId, fields, session.getExpirationTime());
+    }
+
+    /**
+     * 保存上下文到Redis
+     */
+    private void saveContextToRedis(String sessionId, String key, ExpiringValue value, long expirationSeconds) {
+        redisStore.writeContext(sessionId, key, toFields(value), expirationSeconds);
+    }
+
+    /**
+     * 哈希字段统一以字符串写入（RedisConfig对哈希值使用StringRedisSerializer），值编码为JSON
+     */
+    private Map<String, String> toFields(ExpiringValue value) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("value", encodeValue(value.getValue()));
+        fields.put("expirationTime", String.valueOf(value.expirationTime));
+        fields.put("priority", String.valueOf(value.getPriority()));
+        fields.put("tokenCount", String.valueOf(value.getTokenCount()));
+        fields.put("summarized", String.valueOf(value.isSummarized()));
+        return fields;
+    }
+
+    /**
+     * 从哈希字段还原，已过期或字段不完整时返回null
+     */
+    private ExpiringValue fromFields(Map<Object, Object> fields, int defaultPriority) {
+        if (fields == null || fields.get("value") == null) {
+            return null;
+        }
+        long expTime = toLong(fields.get("expirationTime"), 0L);
+        if (expTime <= System.currentTimeMillis()) {
+            return null;
+        }
+        Object value = decodeValue(fields.get("value"));
+        // token数按当前计数器重新计算，旧数据中保存的是按字符数估算的结果
+        return new ExpiringValue(
+                value,
+                expTime,
+                (int) toLong(fields.get("priority"), defaultPriority),
+                estimateTokenCount(value),
+                "true".equals(fields.get("summarized"))
+        );
+    }
+
+    private String encodeValue(Object value) {
         try {
-            String sessionKey = "session:" + sessionId;
-            redisTemplate.opsForHash().put(sessionKey, "maxTokenLimit", session.getMaxTokenLimit());
-            redisTemplate.opsForHash().put(sessionKey, "expirationTime", session.getExpirationTime());
-            redisTemplate.expireAt(sessionKey, new Date(session.getExpirationTime()));
+            return objectMapper.writeValueAsString(value);
         } catch (Exception e) {
-            System.err.println("Failed to update session in Redis: " + e.getMessage());
+            return String.valueOf(value);
         }
     }
 
     /**
-     * 保存上下文到Redis
+     * 解析JSON值，无法解析的（旧格式写入的原始字符串）按字符串返回
      */
-    private void saveContextToRedis(String sessionId, String key, ExpiringValue value, long expirationSeconds) {
+    private Object decodeValue(Object raw) {
+        if (!(raw instanceof String)) {
+            return raw;
+        }
         try {
-            String contextKey = "session:" + sessionId + ":" + key;
-            redisTemplate.opsForHash().put(contextKey, "value", value.getValue());
-            redisTemplate.opsForHash().put(contextKey, "expirationTime", value.expirationTime);
-            redisTemplate.opsForHash().put(contextKey, "priority", value.getPriority());
-            redisTemplate.opsForHash().put(contextKey, "tokenCount", value.getTokenCount());
-            redisTemplate.expire(contextKey, expirationSeconds, TimeUnit.SECONDS);
+            return objectMapper.readValue((String) raw, Object.class);
         } catch (Exception e) {
-            System.err.println("Failed to save context to Redis: " + e.getMessage());
+            return raw;
         }
     }
 
+    private static long toLong(Object value, long defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public void saveSessionContext(String sessionId, String key, Object value, long expirationSeconds) {
         // 尝试从Redis加载会话，如果不存在则创建新会话
@@ -344,8 +532,9 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         int priority = calculatePriority(key, value);
         long tokenCount = estimateTokenCount(value);
         ExpiringValue expiringValue = new ExpiringValue(value, expirationSeconds, priority, tokenCount);
-        session.getContextMap().put(key, expiringValue);
+        putContext(sessionId, session, key, expiringValue);
         session.setExpirationTime(expirationSeconds);
+        scheduleSession(sessionId, session);
         
         // 保存到Redis
         saveContextToRedis(sessionId, key, expiringValue, expirationSeconds);
@@ -353,57 +542,37 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         
         // 压缩上下文以确保不超过token限制
         compressSessionContext(sessionId, session);
+        redisStore.flushIfSync();
     }
 
     @Override
     public Object getSessionContext(String sessionId, String key) {
-        // 尝试从本地缓存获取
+        // 尝试从本地缓存获取，过期的键由Redis按TTL删除
         SessionContext session = sessions.get(sessionId);
         if (session != null && !session.isExpired()) {
             ExpiringValue value = session.getContextMap().get(key);
             if (value != null && !value.isExpired()) {
                 return value.getValue();
             } else if (value != null && value.isExpired()) {
-                session.getContextMap().remove(key);
-                // 从Redis中删除过期键
-                redisTemplate.delete("session:" + sessionId + ":" + key);
+                removeContext(sessionId, session, key);
             }
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
         // 尝试从Redis获取
         try {
-            String contextKey = "session:" + sessionId + ":" + key;
-            Map<Object, Object> valueData = redisTemplate.opsForHash().entries(contextKey);
-            if (!valueData.isEmpty()) {
-                Object value = valueData.get("value");
-                Long expTime = (Long) valueData.get("expirationTime");
-                
-                if (value != null && expTime != null && expTime > System.currentTimeMillis()) {
-                    // 更新本地缓存
-                    if (session == null || session.isExpired()) {
-                        session = new SessionContext((expTime - System.currentTimeMillis()) / 1000);
-                        sessions.put(sessionId, session);
-                    }
-                    
-                    Integer priority = (Integer) valueData.get("priority");
-                    Long tokenCount = (Long) valueData.get("tokenCount");
-                    ExpiringValue expiringValue = new ExpiringValue(
-                            value,
-                            (expTime - System.currentTimeMillis()) / 1000,
-                            priority != null ? priority : 5,
-                            tokenCount != null ? tokenCount : estimateTokenCount(value)
-                    );
-                    session.getContextMap().put(key, expiringValue);
-                    
-                    return value;
-                } else if (expTime != null && expTime <= System.currentTimeMillis()) {
-                    // 从Redis中删除过期键
-                    redisTemplate.delete(contextKey);
+            ExpiringValue expiringValue = fromFields(
+                    redisStore.readHash(RedisSessionStore.contextKey(sessionId, key)), calculatePriority(key, null));
+            if (expiringValue != null) {
+                // 更新本地缓存
+                if (session == null || session.isExpired()) {
+                    session = new SessionContext((expiringValue.expirationTime - System.currentTimeMillis()) / 1000);
+                    sessions.put(sessionId, session);
+                    scheduleSession(sessionId, session);
                 }
+                putContext(sessionId, session, key, expiringValue);
+                return expiringValue.getValue();
             }
         } catch (Exception e) {
             System.err.println("Failed to get context from Redis: " + e.getMessage());
@@ -427,67 +596,28 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
                 }
             }
             for (String key : expiredKeys) {
-                session.getContextMap().remove(key);
-                // 从Redis中删除过期键
-                redisTemplate.delete("session:" + sessionId + ":" + key);
+                removeContext(sessionId, session, key);
             }
             return result;
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
         // 尝试从Redis获取
-        try {
-            Map<String, Object> result = new HashMap<>();
-            Set<String> keys = redisTemplate.keys("session:" + sessionId + ":*");
-            if (keys != null) {
-                for (String key : keys) {
-                    String contextKey = key.substring(("session:" + sessionId + ":").length());
-                    Map<Object, Object> valueData = redisTemplate.opsForHash().entries(key);
-                    if (!valueData.isEmpty()) {
-                        Object value = valueData.get("value");
-                        Object expTimeObj = valueData.get("expirationTime");
-                        Long expTime = null;
-                        
-                        if (expTimeObj != null) {
-                            if (expTimeObj instanceof String) {
-                                expTime = Long.parseLong((String) expTimeObj);
-                            } else if (expTimeObj instanceof Long) {
-                                expTime = (Long) expTimeObj;
-                            } else if (expTimeObj instanceof Integer) {
-                                expTime = ((Integer) expTimeObj).longValue();
-                            }
-                        }
-                        
-                        if (value != null && expTime != null && expTime > System.currentTimeMillis()) {
-                            result.put(contextKey, value);
-                        } else if (expTime != null && expTime <= System.currentTimeMillis()) {
-                            // 从Redis中删除过期键
-                            redisTemplate.delete(key);
-                        }
-                    }
-                }
-            }
-            
-            // 更新本地缓存
-            if (!result.isEmpty()) {
-                SessionContext newSession = new SessionContext(3600);
-                sessions.put(sessionId, newSession);
-                
-                for (Map.Entry<String, Object> entry : result.entrySet()) {
-                    int priority = calculatePriority(entry.getKey(), entry.getValue());
-                    long tokenCount = estimateTokenCount(entry.getValue());
-                    newSession.getContextMap().put(entry.getKey(), new ExpiringValue(entry.getValue(), 3600, priority, tokenCount));
-                }
-            }
-            
-            return result;
-        } catch (Exception e) {
-            System.err.println("Failed to get all context from Redis: " + e.getMessage());
+        SessionContext redisSession = loadSessionFromRedis(sessionId);
+        if (redisSession == null) {
             return Collections.emptyMap();
         }
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, ExpiringValue> entry : redisSession.getContextMap().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getValue());
+        }
+        // 更新本地缓存
+        if (!result.isEmpty()) {
+            sessions.put(sessionId, redisSession);
+            scheduleSession(sessionId, redisSession);
+        }
+        return result;
     }
 
     @Override
@@ -495,29 +625,29 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         // 从本地缓存删除
         SessionContext session = sessions.get(sessionId);
         if (session != null && !session.isExpired()) {
-            session.getContextMap().remove(key);
+            removeContext(sessionId, session, key);
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
         }
         
         // 从Redis删除
-        redisTemplate.delete("session:" + sessionId + ":" + key);
+        redisStore.deleteContext(sessionId, key);
+        redisStore.flushIfSync();
     }
 
     @Override
     public void clearSessionContext(String sessionId) {
         // 从本地缓存删除
-        sessions.remove(sessionId);
-        
-        // 从Redis删除
-        try {
-            Set<String> keys = redisTemplate.keys("session:" + sessionId + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
+        SessionContext session = sessions.remove(sessionId);
+        if (session != null) {
+            sessionExpiry.cancel(sessionId);
+            for (String key : session.getContextMap().keySet()) {
+                contextExpiry.cancel(List.of(sessionId, key));
             }
-        } catch (Exception e) {
-            System.err.println("Failed to clear session from Redis: " + e.getMessage());
         }
+        
+        // 从Redis删除（按会话键索引删除，不再使用KEYS扫描）
+        redisStore.deleteSession(sessionId);
     }
 
     @Override
@@ -526,18 +656,12 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         long tokenCount = estimateTokenCount(value);
         ExpiringValue expiringValue = new ExpiringValue(value, expirationSeconds, priority, tokenCount);
         temporaryInfo.put(key, expiringValue);
+        temporaryExpiry.schedule(key, expiringValue.expirationTime);
         
         // 保存到Redis
-        try {
-            String redisKey = "temporary:" + key;
-            redisTemplate.opsForHash().put(redisKey, "value", value);
-            redisTemplate.opsForHash().put(redisKey, "expirationTime", expiringValue.expirationTime);
-            redisTemplate.opsForHash().put(redisKey, "priority", priority);
-            redisTemplate.opsForHash().put(redisKey, "tokenCount", tokenCount);
-            redisTemplate.expire(redisKey, expirationSeconds, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            System.err.println("Failed to save temporary info to Redis: " + e.getMessage());
-        }
+        Map<String, String> fields = toFields(expiringValue);
+        redisStore.writeKey("temporary:" + key, fields, expirationSeconds);
+        redisStore.flushIfSync();
     }
 
     @Override
@@ -548,35 +672,16 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             return value.getValue();
         } else if (value != null && value.isExpired()) {
             temporaryInfo.remove(key);
-            // 从Redis中删除过期键
-            redisTemplate.delete("temporary:" + key);
         }
         
         // 从Redis获取
         try {
-            String redisKey = "temporary:" + key;
-            Map<Object, Object> valueData = redisTemplate.opsForHash().entries(redisKey);
-            if (!valueData.isEmpty()) {
-                Object tempValue = valueData.get("value");
-                Long expTime = (Long) valueData.get("expirationTime");
-                
-                if (tempValue != null && expTime != null && expTime > System.currentTimeMillis()) {
-                    // 更新本地缓存
-                    Integer priority = (Integer) valueData.get("priority");
-                    Long tokenCount = (Long) valueData.get("tokenCount");
-                    ExpiringValue expiringValue = new ExpiringValue(
-                            tempValue,
-                            (expTime - System.currentTimeMillis()) / 1000,
-                            priority != null ? priority : 2,
-                            tokenCount != null ? tokenCount : estimateTokenCount(tempValue)
-                    );
-                    temporaryInfo.put(key, expiringValue);
-                    
-                    return tempValue;
-                } else if (expTime != null && expTime <= System.currentTimeMillis()) {
-                    // 从Redis中删除过期键
-                    redisTemplate.delete(redisKey);
-                }
+            ExpiringValue expiringValue = fromFields(redisStore.readHash("temporary:" + key), 2);
+            if (expiringValue != null) {
+                // 更新本地缓存
+                temporaryInfo.put(key, expiringValue);
+                temporaryExpiry.schedule(key, expiringValue.expirationTime);
+                return expiringValue.getValue();
             }
         } catch (Exception e) {
             System.err.println("Failed to get temporary info from Redis: " + e.getMessage());
@@ -589,9 +694,11 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
     public void deleteTemporaryInfo(String key) {
         // 从本地缓存删除
         temporaryInfo.remove(key);
+        temporaryExpiry.cancel(key);
         
         // 从Redis删除
-        redisTemplate.delete("temporary:" + key);
+        redisStore.deleteKey("temporary:" + key);
+        redisStore.flushIfSync();
     }
 
     @Override
@@ -599,20 +706,17 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         SessionContext session = sessions.get(sessionId);
         if (session != null) {
             session.setExpirationTime(expirationSeconds);
+            scheduleSession(sessionId, session);
             // 更新Redis中的会话过期时间
             updateSessionInRedis(sessionId, session);
             
             // 更新Redis中各个上下文键的过期时间
             try {
-                Set<String> keys = redisTemplate.keys("session:" + sessionId + ":*");
-                if (keys != null) {
-                    for (String key : keys) {
-                        redisTemplate.expire(key, expirationSeconds, TimeUnit.SECONDS);
-                    }
-                }
+                redisStore.expireContext(sessionId, new ArrayList<>(session.getContextMap().keySet()), expirationSeconds);
             } catch (Exception e) {
                 System.err.println("Failed to update expiration in Redis: " + e.getMessage());
             }
+            redisStore.flushIfSync();
         }
     }
 
@@ -623,19 +727,13 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             return (session.getExpirationTime() - System.currentTimeMillis()) / 1000;
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
         // 从Redis获取
         try {
-            String sessionKey = "session:" + sessionId;
-            Long expTime = (Long) redisTemplate.opsForHash().get(sessionKey, "expirationTime");
-            if (expTime != null && expTime > System.currentTimeMillis()) {
+            long expTime = toLong(redisStore.readHash(RedisSessionStore.sessionKey(sessionId)).get("expirationTime"), 0L);
+            if (expTime > System.currentTimeMillis()) {
                 return (expTime - System.currentTimeMillis()) / 1000;
-            } else if (expTime != null && expTime <= System.currentTimeMillis()) {
-                // 从Redis中删除过期会话
-                redisTemplate.delete(sessionKey);
             }
         } catch (Exception e) {
             System.err.println("Failed to get session expiration from Redis: " + e.getMessage());
@@ -652,14 +750,11 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             return true;
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
         // 检查Redis
         try {
-            String sessionKey = "session:" + sessionId;
-            return redisTemplate.hasKey(sessionKey);
+            return !redisStore.readHash(RedisSessionStore.sessionKey(sessionId)).isEmpty();
         } catch (Exception e) {
             System.err.println("Failed to check session existence in Redis: " + e.getMessage());
             return false;
@@ -681,21 +776,11 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
         }
         for (String sessionId : expiredSessions) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
-        // 从Redis获取
+        // 从Redis会话索引获取
         try {
-            Set<String> redisKeys = redisTemplate.keys("session:*");
-            if (redisKeys != null) {
-                for (String key : redisKeys) {
-                    if (key.startsWith("session:") && !key.contains(":")) {
-                        String sessionId = key.substring("session:".length());
-                        activeSessions.add(sessionId);
-                    }
-                }
-            }
+            activeSessions.addAll(redisStore.activeSessionIds());
         } catch (Exception e) {
             System.err.println("Failed to get active sessions from Redis: " + e.getMessage());
         }
@@ -725,24 +810,27 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             int priority = calculatePriority(entry.getKey(), entry.getValue());
             long tokenCount = estimateTokenCount(entry.getValue());
             ExpiringValue expiringValue = new ExpiringValue(entry.getValue(), expirationSeconds, priority, tokenCount);
-            session.getContextMap().put(entry.getKey(), expiringValue);
+            putContext(sessionId, session, entry.getKey(), expiringValue);
             
             // 保存到Redis
             saveContextToRedis(sessionId, entry.getKey(), expiringValue, expirationSeconds);
         }
         
         session.setExpirationTime(expirationSeconds);
+        scheduleSession(sessionId, session);
         updateSessionInRedis(sessionId, session);
         
         // 压缩上下文以确保不超过token限制
         compressSessionContext(sessionId, session);
+        redisStore.flushIfSync();
     }
 
     @Override
     public long incrementSessionCounter(String sessionId, String counterName) {
         String counterKey = "counter_" + counterName;
-        Long currentValue = (Long) getSessionContext(sessionId, counterKey);
-        long newValue = (currentValue == null) ? 1 : currentValue + 1;
+        // 从Redis读回的JSON数字可能是Integer
+        Number currentValue = (Number) getSessionContext(sessionId, counterKey);
+        long newValue = (currentValue == null) ? 1 : currentValue.longValue() + 1;
         saveSessionContext(sessionId, counterKey, newValue, 3600);
         return newValue;
     }
@@ -750,8 +838,8 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
     @Override
     public long getSessionCounter(String sessionId, String counterName) {
         String counterKey = "counter_" + counterName;
-        Long value = (Long) getSessionContext(sessionId, counterKey);
-        return (value == null) ? 0 : value;
+        Number value = (Number) getSessionContext(sessionId, counterKey);
+        return (value == null) ? 0 : value.longValue();
     }
 
     @Override
@@ -783,14 +871,11 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             return session.getContextMap().size();
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
         // 从Redis获取
         try {
-            Set<String> keys = redisTemplate.keys("session:" + sessionId + ":*");
-            return keys != null ? keys.size() : 0;
+            return redisStore.countContextKeys(sessionId);
         } catch (Exception e) {
             System.err.println("Failed to get session size from Redis: " + e.getMessage());
             return 0;
@@ -814,17 +899,19 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
                 int priority = calculatePriority(entry.getKey(), entry.getValue());
                 long tokenCount = estimateTokenCount(entry.getValue());
                 ExpiringValue expiringValue = new ExpiringValue(entry.getValue(), 3600, priority, tokenCount);
-                targetSession.getContextMap().put(entry.getKey(), expiringValue);
+                putContext(targetSessionId, targetSession, entry.getKey(), expiringValue);
                 
                 // 保存到Redis
                 saveContextToRedis(targetSessionId, entry.getKey(), expiringValue, 3600);
             }
             
             targetSession.setExpirationTime(3600);
+            scheduleSession(targetSessionId, targetSession);
             updateSessionInRedis(targetSessionId, targetSession);
             
             // 压缩上下文以确保不超过token限制
             compressSessionContext(targetSessionId, targetSession);
+            redisStore.flushIfSync();
         }
     }
 
@@ -834,10 +921,12 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
     public void setSessionMaxTokenLimit(String sessionId, long maxTokenLimit) {
         SessionContext session = sessions.computeIfAbsent(sessionId, k -> new SessionContext(3600, maxTokenLimit));
         session.setMaxTokenLimit(maxTokenLimit);
+        scheduleSession(sessionId, session);
         updateSessionInRedis(sessionId, session);
         
         // 压缩上下文以确保不超过新的token限制
         compressSessionContext(sessionId, session);
+        redisStore.flushIfSync();
     }
 
     /**
@@ -853,37 +942,25 @@ public class ShortTermMemoryServiceImpl implements ShortTermMemoryService {
             return usage;
         } else if (session != null && session.isExpired()) {
             sessions.remove(sessionId);
-            // 从Redis中删除过期会话
-            redisTemplate.delete("session:" + sessionId);
         }
         
         // 从Redis获取
-        try {
-            String sessionKey = "session:" + sessionId;
-            Long maxTokenLimit = (Long) redisTemplate.opsForHash().get(sessionKey, "maxTokenLimit");
-            if (maxTokenLimit != null) {
-                // 计算总token数
-                long totalTokens = 0;
-                Set<String> keys = redisTemplate.keys("session:" + sessionId + ":*");
-                if (keys != null) {
-                    for (String key : keys) {
-                        Long tokenCount = (Long) redisTemplate.opsForHash().get(key, "tokenCount");
-                        if (tokenCount != null) {
-                            totalTokens += tokenCount;
-                        }
-                    }
-                }
-                
-                Map<String, Long> usage = new HashMap<>();
-                usage.put("total", totalTokens);
-                usage.put("limit", maxTokenLimit);
-                usage.put("remaining", maxTokenLimit - totalTokens);
-                return usage;
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to get session token usage from Redis: " + e.getMessage());
+        SessionContext redisSession = loadSessionFromRedis(sessionId);
+        if (redisSession != null) {
+            Map<String, Long> usage = new HashMap<>();
+            usage.put("total", redisSession.getTotalTokenCount());
+            usage.put("limit", redisSession.getMaxTokenLimit());
+            usage.put("remaining", redisSession.getMaxTokenLimit() - redisSession.getTotalTokenCount());
+            return usage;
         }
         
         return Collections.emptyMap();
     }
+
+    /**
+     * 获取Redis写入合并与pipeline统计
+     */
+    public Map<String, Object> getRedisStats() {
+        return redisStore.getStats();
+    }
 }
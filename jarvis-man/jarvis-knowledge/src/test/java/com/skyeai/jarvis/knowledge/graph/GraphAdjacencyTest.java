@@ -0,0 +1,164 @@
+package com.skyeai.jarvis.knowledge.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 邻接索引测试：增量同步、最短路径、路径枚举、邻居、连通分量、中心性，以及百万边图上的遍历与分析耗时
+ * 百万边图测试默认关闭，使用 -Dgraph.benchmark=true 运行
+ */
+public class GraphAdjacencyTest {
+
+    @Test
+    public void testShortestPathIsDirectedAndMinimal() {
+        GraphAdjacency graph = new GraphAdjacency();
+        for (String node : List.of("a", "b", "c", "d", "e")) {
+            graph.addNode(node);
+        }
+        graph.putEdge("r1", "a", "b");
+        graph.putEdge("r2", "b", "c");
+        graph.putEdge("r3", "c", "d");
+        graph.putEdge("r4", "a", "e");
+        graph.putEdge("r5", "e", "d");
+
+        assertEquals(List.of("a", "e", "d"), graph.shortestPath("a", "d"));
+        assertEquals(List.of(), graph.shortestPath("d", "a"));
+        assertEquals(List.of("c"), graph.shortestPath("c", "c"));
+
+        // 删除捷径后走长路径，更新关系端点后路径随之变化
+        graph.removeEdge("r5");
+        assertEquals(List.of("a", "b", "c", "d"), graph.shortestPath("a", "d"));
+        graph.putEdge("r2", "b", "d");
+        assertEquals(List.of("a", "b", "d"), graph.shortestPath("a", "d"));
+        graph.removeNode("b");
+        assertEquals(List.of(), graph.shortestPath("a", "d"));
+    }
+
+    @Test
+    public void testPathsNeighborsAndComponents() {
+        GraphAdjacency graph = new GraphAdjacency();
+        graph.load(List.of("a", "b", "c", "d", "x", "y"), List.of(
+                new Object[]{"r1", "a", "b"},
+                new Object[]{"r2", "b", "c"},
+                new Object[]{"r3", "a", "c"},
+                new Object[]{"r4", "c", "d"},
+                new Object[]{"r5", "y", "x"}));
+
+        List<List<String>> paths = graph.paths("a", "d", 3);
+        assertEquals(2, paths.size());
+        assertTrue(paths.contains(List.of("a", "b", "c", "d")));
+        assertTrue(paths.contains(List.of("a", "c", "d")));
+        assertEquals(1, graph.paths("a", "d", 2).size());
+
+        assertEquals(Set.of("a", "b", "d"), new HashSet<>(graph.neighbors("c", 1)));
+        assertEquals(Set.of("b", "c", "d"), new HashSet<>(graph.neighbors("a", 2)));
+
+        List<List<String>> components = graph.components();
+        assertEquals(2, components.size());
+        assertEquals(Set.of("a", "b", "c", "d"), new HashSet<>(components.get(0)));
+        assertEquals(Set.of("x", "y"), new HashSet<>(components.get(1)));
+
+        Map<String, Double> degree = graph.degreeCentrality();
+        assertEquals(3.0, degree.get("c"));
+        assertEquals(1.0, degree.get("x"));
+
+        Map<String, Double> rank = graph.pageRank(0.85, 100, 1e-9);
+        assertEquals(1.0, rank.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-6);
+        assertTrue(rank.get("d") > rank.get("a"));
+    }
+
+    @Test
+    public void testIncrementalUpdatesSurviveRebuild() {
+        GraphAdjacency graph = new GraphAdjacency();
+        int n = 5000;
+        for (int i = 0; i < n; i++) {
+            graph.addNode("n" + i);
+        }
+        // 链 n0 -> n1 -> ... 逐条写入，期间多次触发重建
+        for (int i = 0; i + 1 < n; i++) {
+            graph.putEdge("chain" + i, "n" + i, "n" + (i + 1));
+            graph.putEdge("chain" + i, "n" + i, "n" + (i + 1));
+        }
+        assertEquals(n - 1, graph.edgeCount());
+        assertEquals(n, graph.shortestPath("n0", "n" + (n - 1)).size());
+        for (int i = 0; i + 1 < n; i += 2) {
+            graph.removeEdge("chain" + i);
+        }
+        assertEquals((n - 1) / 2, graph.edgeCount());
+        assertEquals(List.of(), graph.shortestPath("n0", "n2"));
+        assertEquals(List.of("n1", "n2"), graph.shortestPath("n1", "n2"));
+        assertEquals(n - (n - 1) / 2, graph.components().size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "graph.benchmark", matches = "true")
+    public void testMillionEdgeGraph() {
+        int nodes = 200_000;
+        int edges = 1_000_000;
+        Random random = new Random(42);
+        List<String> nodeIds = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            nodeIds.add("node-" + i);
+        }
+        List<Object[]> relationships = new ArrayList<>(edges);
+        for (int i = 0; i < edges; i++) {
+            relationships.add(new Object[]{"rel-" + i, nodeIds.get(random.nextInt(nodes)), nodeIds.get(random.nextInt(nodes))});
+        }
+
+        GraphAdjacency graph = new GraphAdjacency();
+        long start = System.nanoTime();
+        graph.load(nodeIds, relationships);
+        report("load", start);
+        assertEquals(edges, graph.edgeCount());
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 100; i++) {
+            if (!graph.shortestPath(nodeIds.get(random.nextInt(nodes)), nodeIds.get(random.nextInt(nodes))).isEmpty()) {
+                found++;
+            }
+        }
+        report("100 bidirectional shortest paths (" + found + " found)", start);
+        assertTrue(found > 90);
+
+        start = System.nanoTime();
+        int reached = graph.neighbors(nodeIds.get(0), 3).size();
+        report("3-hop neighbors (" + reached + ")", start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            graph.putEdge("extra-" + i, nodeIds.get(random.nextInt(nodes)), nodeIds.get(random.nextInt(nodes)));
+            graph.removeEdge("rel-" + i);
+        }
+        report("10000 incremental put+remove", start);
+        assertEquals(edges, graph.edgeCount());
+
+        start = System.nanoTime();
+        int components = graph.components().size();
+        report("union-find components (" + components + ")", start);
+
+        start = System.nanoTime();
+        Map<String, Double> degree = graph.degreeCentrality();
+        report("parallel degree centrality", start);
+        assertEquals(nodes, degree.size());
+
+        start = System.nanoTime();
+        Map<String, Double> rank = graph.pageRank(0.85, 30, 1e-9);
+        report("parallel PageRank (30 iterations)", start);
+        assertEquals(1.0, rank.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-6);
+    }
+
+    private static void report(String operation, long startNanos) {
+        System.out.println(operation + ": " + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+    }
+}
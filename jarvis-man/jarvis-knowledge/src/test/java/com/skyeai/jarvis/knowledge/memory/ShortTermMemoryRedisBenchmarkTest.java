@@ -0,0 +1,136 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+import com.skyeai.jarvis.knowledge.config.RedisConfig;
+import com.skyeai.jarvis.knowledge.service.impl.ShortTermMemoryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 短期记忆会话频繁创建/销毁场景下的Redis基准：逐条同步写入 vs 写后回写pipeline
+ * 需要本地Redis：mvn test -Dredis.benchmark=true [-Dredis.host=localhost -Dredis.port=6379]
+ */
+public class ShortTermMemoryRedisBenchmarkTest {
+
+    private static final int SESSIONS = 2000;
+    private static final int TURNS = 5;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "redis.benchmark", matches = "true")
+    public void testSessionChurnSyncVsWriteBehind() {
+        Map<String, Object> sync = churn("bench-sync-", false);
+        Map<String, Object> writeBehind = churn("bench-wb-", true);
+        System.out.println("sync:         " + sync);
+        System.out.println("write-behind: " + writeBehind);
+
+        // 写后回写合并了同一会话的重复写入，往返次数明显减少
+        assertTrue((long) writeBehind.get("pipelines") * 2 < (long) sync.get("pipelines"),
+                "write-behind pipelines: " + writeBehind.get("pipelines") + ", sync: " + sync.get("pipelines"));
+        assertTrue((long) writeBehind.get("coalesced") > 0);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "redis.benchmark", matches = "true")
+    public void testWriteBehindDataVisibleToOtherInstances() {
+        ShortTermMemoryServiceImpl writer = newService(true);
+        writer.saveSessionState("bench-visible", "listening", 60);
+        writer.saveMultimodalContext("bench-visible", "image", Map.of("width", 640, "label", "猫"), 60);
+        for (int i = 0; i < 3; i++) {
+            writer.incrementSessionCounter("bench-visible", "turns");
+        }
+        writer.saveTemporaryInfo("bench-visible-tmp", "token", 60);
+        writer.shutdown();
+
+        ShortTermMemoryServiceImpl reader = newService(true);
+        try {
+            assertEquals("listening", reader.getSessionState("bench-visible"));
+            assertEquals(3L, reader.getSessionCounter("bench-visible", "turns"));
+            assertEquals(Map.of("width", 640, "label", "猫"), reader.getMultimodalContext("bench-visible", "image"));
+            assertEquals("token", reader.getTemporaryInfo("bench-visible-tmp"));
+            assertEquals(3L, reader.getSessionSize("bench-visible"));
+            assertTrue(reader.getSessionExpiration("bench-visible") > 0);
+
+            reader.clearSessionContext("bench-visible");
+            reader.deleteTemporaryInfo("bench-visible-tmp");
+        } finally {
+            reader.shutdown();
+        }
+        ShortTermMemoryServiceImpl after = newService(true);
+        try {
+            assertEquals(0L, after.getSessionSize("bench-visible"));
+            assertEquals(null, after.getSessionState("bench-visible"));
+            assertEquals(null, after.getTemporaryInfo("bench-visible-tmp"));
+        } finally {
+            after.shutdown();
+        }
+    }
+
+    /**
+     * 每个会话写入状态、多模态上下文和计数器后读取全部上下文，随后销毁一半会话
+     */
+    private Map<String, Object> churn(String prefix, boolean writeBehind) {
+        ShortTermMemoryServiceImpl service = newService(writeBehind);
+        long start = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            String sessionId = prefix + i;
+            for (int turn = 0; turn < TURNS; turn++) {
+                service.saveSessionState(sessionId, "turn-" + turn, 300);
+                service.saveMultimodalContext(sessionId, "audio", "transcript of turn " + turn, 300);
+                service.incrementSessionCounter(sessionId, "turns");
+            }
+            service.getSessionAllContext(sessionId);
+            if (i % 2 == 0) {
+                service.clearSessionContext(sessionId);
+            }
+        }
+        service.shutdown();
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<String, Object> stats = new HashMap<>(service.getRedisStats());
+        long operations = (long) SESSIONS * TURNS * 3;
+        stats.put("elapsedMs", elapsedNanos / 1_000_000);
+        stats.put("writesPerSecond", operations * 1_000_000_000L / Math.max(1, elapsedNanos));
+
+        for (int i = 1; i < SESSIONS; i += 2) {
+            service.clearSessionContext(prefix + i);
+        }
+        return stats;
+    }
+
+    private ShortTermMemoryServiceImpl newService(boolean writeBehind) {
+        ShortTermMemoryServiceImpl service = new ShortTermMemoryServiceImpl();
+        ReflectionTestUtils.setField(service, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(service, "writeBehindEnabled", writeBehind);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(service, "maxBatch", 512);
+        ReflectionTestUtils.setField(service, "expiryTickMs", 1000L);
+        service.init();
+        return service;
+    }
+}
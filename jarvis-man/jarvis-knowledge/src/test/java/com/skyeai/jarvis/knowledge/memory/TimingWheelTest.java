@@ -0,0 +1,91 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分层时间轮测试：按秒精确到期、跨层降级、取消与续期
+ */
+public class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    public void testExpiresAtTheScheduledSecond() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+        wheel.schedule("a", START + 3000);
+        wheel.schedule("b", START + 2500);
+        wheel.schedule("past", START - 10_000);
+
+        assertEquals(List.of("past"), wheel.advance(START + 1000));
+        assertTrue(wheel.advance(START + 2000).isEmpty());
+        // 2.5秒的条目向上取整到第3秒
+        List<String> expired = wheel.advance(START + 3000);
+        assertEquals(2, expired.size());
+        assertTrue(expired.contains("a") && expired.contains("b"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+        wheel.schedule("session", START + 5000);
+        wheel.schedule("temp", START + 5000);
+        assertTrue(wheel.cancel("temp"));
+        assertFalse(wheel.cancel("temp"));
+        // 续期替换原来的到期时间
+        wheel.schedule("session", START + 3_600_000);
+
+        assertTrue(wheel.advance(START + 3_599_000).isEmpty());
+        assertEquals(List.of("session"), wheel.advance(START + 3_600_000));
+    }
+
+    @Test
+    public void testRandomDeadlinesAcrossAllLevels() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, START);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        // 覆盖第0层（<64秒）到超出最高层范围（>194天）的到期时间
+        long[] ranges = {60_000L, 3_600_000L, 86_400_000L * 3, 86_400_000L * 400};
+        for (int i = 0; i < 4000; i++) {
+            long deadline = START + 1000 + (long) (random.nextDouble() * ranges[i % ranges.length]);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        List<Integer> expired = new ArrayList<>();
+        long now = START;
+        while (wheel.size() > 0) {
+            // 不规则的推进步长，模拟清理线程的延迟
+            long previous = now;
+            now += 1000 + random.nextInt(3_600_000);
+            for (Integer key : wheel.advance(now)) {
+                long deadline = deadlines.get(key);
+                assertTrue(deadline <= now, "expired early: " + key);
+                assertTrue(deadline > previous - 1000, "expired late: " + key);
+                expired.add(key);
+            }
+        }
+        assertEquals(deadlines.size(), expired.size());
+    }
+
+    @Test
+    public void testPreciseToTheTickUnderFineAdvance() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, START);
+        for (int i = 1; i <= 5000; i++) {
+            wheel.schedule(i, START + i * 1000L);
+        }
+        for (int second = 1; second <= 5000; second++) {
+            assertEquals(List.of(second), wheel.advance(START + second * 1000L));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.skyeai.jarvis.knowledge.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * token计数测试：BPE合并、中英文混合计数、抽取式摘要，以及混合文本的计数吞吐
+ * 吞吐测试默认关闭，使用 -Dtoken.benchmark=true 运行
+ */
+public class TokenCounterTest {
+
+    private static final String MIXED = "用户问：明天上午10点提醒我和 Alice 开会，会议室在3楼。"
+            + " The assistant replied: I'll set a reminder for 10:00 AM tomorrow with Alice.\n"
+            + "语音识别结果置信度为0.93，已保存到短期记忆；multimodal context includes an image of the whiteboard.";
+
+    @Test
+    public void testBpeMergesByRank() throws IOException {
+        BpeTokenCounter counter = vocabulary(List.of(" the", "the", "中", "国"));
+        assertEquals(1, counter.count("the"));
+        assertEquals(2, counter.count("the the"));
+        assertEquals(2, counter.count("中国"));
+        // 词表外的汉字退化为3个字节token
+        assertEquals(3, counter.count("日"));
+        assertEquals(0, counter.count(""));
+    }
+
+    @Test
+    public void testLongPiecesAreChunked() throws IOException {
+        BpeTokenCounter counter = vocabulary(List.of("中"));
+        String text = "中".repeat(1000);
+        assertEquals(1000, counter.count(text));
+    }
+
+    @Test
+    public void testHeuristicCountsCjkDenserThanLengthEstimate() {
+        TokenCounter counter = new HeuristicTokenCounter();
+        String chinese = "今天北京的天气怎么样，适合出去跑步吗";
+        // 原来的 length/4+1 只有5个token
+        assertTrue(counter.count(chinese) >= chinese.length(), "tokens: " + counter.count(chinese));
+        assertEquals(2, counter.count("hello world"));
+        assertTrue(counter.count(MIXED) > MIXED.length() / 4 + 1);
+    }
+
+    @Test
+    public void testExtractiveSummaryFitsTarget() {
+        TokenCounter counter = new HeuristicTokenCounter();
+        ContextSummarizer summarizer = new ExtractiveSummarizer();
+        String text = MIXED.repeat(10);
+        Object summary = summarizer.summarize("multimodal_image", text, 40, counter);
+        assertTrue(summary.toString().startsWith("用户问"));
+        assertTrue(summary.toString().endsWith("…"));
+        assertTrue(counter.count(summary.toString()) <= 40, "summary tokens: " + counter.count(summary.toString()));
+        // 已在预算内的文本无需摘要
+        assertNull(summarizer.summarize("session_state", "listening", 40, counter));
+    }
+
+    @Test
+    public void testExtractiveSummaryLeavesMapValues() {
+        TokenCounter counter = new HeuristicTokenCounter();
+        ContextSummarizer summarizer = new ExtractiveSummarizer();
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("caption", MIXED.repeat(10));
+        image.put("width", 640);
+        assertTrue(counter.count(image.toString()) > 40);
+        // 结构化值不截断成字符串，压缩时保持原样
+        assertNull(summarizer.summarize("multimodal_image", image, 40, counter));
+        assertEquals(640, image.get("width"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "token.benchmark", matches = "true")
+    public void testThroughputOnMixedText() throws IOException {
+        BpeTokenCounter bpe = vocabularyFor(MIXED);
+        TokenCounter heuristic = new HeuristicTokenCounter();
+        String text = MIXED.repeat(20);
+        for (TokenCounter counter : List.of(bpe, heuristic)) {
+            // 预热
+            long tokens = 0;
+            for (int i = 0; i < 200; i++) {
+                tokens += counter.count(text);
+            }
+            int rounds = 2000;
+            tokens = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                tokens += counter.count(text);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.println(counter.getClass().getSimpleName() + ": " + tokens / rounds + " tokens per text, "
+                    + tokens * 1_000_000_000L / elapsed + " tokens/s, "
+                    + (long) text.length() * rounds * 1_000_000_000L / elapsed + " chars/s");
+            assertTrue(tokens > 0);
+        }
+    }
+
+    /**
+     * 构造词表：全部单字节，以及给定token的所有前缀（保证逐对合并可达），按长度分配序号
+     */
+    private static BpeTokenCounter vocabulary(List<String> tokens) throws IOException {
+        List<byte[]> entries = new ArrayList<>();
+        for (int b = 0; b < 256; b++) {
+            entries.add(new byte[]{(byte) b});
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        List<byte[]> merged = new ArrayList<>();
+        for (String token : tokens) {
+            byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+            for (int length = 2; length <= bytes.length; length++) {
+                byte[] prefix = Arrays.copyOf(bytes, length);
+                if (seen.add(Base64.getEncoder().encodeToString(prefix))) {
+                    merged.add(prefix);
+                }
+            }
+        }
+        merged.sort((a, b) -> Integer.compare(a.length, b.length));
+        entries.addAll(merged);
+
+        StringBuilder file = new StringBuilder();
+        for (int rank = 0; rank < entries.size(); rank++) {
+            file.append(Base64.getEncoder().encodeToString(entries.get(rank))).append(' ').append(rank).append('\n');
+        }
+        return BpeTokenCounter.load(new BufferedReader(new StringReader(file.toString())));
+    }
+
+    /**
+     * 以文本中的每个汉字和每个单词（含前导空格）为token构造词表
+     */
+    private static BpeTokenCounter vocabularyFor(String text) throws IOException {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = PreTokenizer.nextPieceEnd(text, start);
+            String piece = text.substring(start, end);
+            if (piece.codePoints().anyMatch(PreTokenizer::isCjk)) {
+                piece.codePoints().forEach(cp -> tokens.add(new String(Character.toChars(cp))));
+            } else {
+                tokens.add(piece);
+            }
+            start = end;
+        }
+        return vocabulary(new ArrayList<>(tokens));
+    }
+}
@@ -0,0 +1,352 @@
+package com.skyeai.jarvis.llm.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 文本生成响应缓存
+ * 精确层：以 模型名+系统提示+消息 规范化后的SHA-256为键，有界LRU，条目超过TTL后失效；
+ * 语义层（可选）：对最后一条用户消息做嵌入，在相同上下文（模型、系统提示和之前的消息）下
+ * 余弦相似度达到阈值即视为命中；
+ * 相同键的并发请求只有第一个访问模型，其余最多等待 waitTimeoutMs；
+ * 等待超时或首个请求失败时移除进行中的条目，后续请求重新访问模型
+ */
+public class ResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Function<String, List<Double>> embedder;
+    private final double similarityThreshold;
+    private final int maxSemanticEntries;
+    private final long waitTimeoutMs;
+
+    private final LinkedHashMap<String, CachedResponse> entries;
+    // 插入顺序，超出上限时淘汰最早的条目
+    private final LinkedHashMap<String, SemanticEntry> semanticEntries = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong semanticHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * @param maxEntries 精确层最大条目数
+     * @param ttlMs 条目有效期
+     * @param embedder 语义层使用的嵌入函数，为null时不启用语义层
+     * @param similarityThreshold 语义命中的最小余弦相似度
+     * @param maxSemanticEntries 语义层最大条目数（命中时线性扫描）
+     * @param waitTimeoutMs 合并的请求等待首个请求结果的最长时间
+     */
+    public ResponseCache(int maxEntries, long ttlMs, Function<String, List<Double>> embedder,
+                         double similarityThreshold, int maxSemanticEntries, long waitTimeoutMs) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMs = ttlMs;
+        this.embedder = embedder;
+        this.similarityThreshold = similarityThreshold;
+        this.maxSemanticEntries = Math.max(1, maxSemanticEntries);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 计算缓存键：内容做NFKC规范化、合并空白并去掉首尾空白
+     */
+    public static String key(String model, String systemPrompt, List<Map<String, String>> messages) {
+        return hash(model, systemPrompt, messages, messages.size());
+    }
+
+    /**
+     * 语义层的上下文键：不含最后一条消息
+     */
+    public static String scope(String model, String systemPrompt, List<Map<String, String>> messages) {
+        return hash(model, systemPrompt, messages, Math.max(0, messages.size() - 1));
+    }
+
+    /**
+     * 查询缓存，未命中时调用loader并缓存结果；loader抛出异常时不缓存，等待同一请求的调用方收到相同异常，
+     * 等待超过 waitTimeoutMs 时抛出 TimeoutException
+     * @param scope 语义层上下文键
+     * @param semanticText 参与语义匹配的文本，为null时跳过语义层
+     */
+    public String getOrLoad(String key, String scope, String semanticText, Callable<String> loader) throws Exception {
+        String cached = getExact(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            try {
+                return existing.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } catch (TimeoutException e) {
+                // 首个请求可能已挂起，移除后让后续请求重新访问模型
+                inFlight.remove(key, existing);
+                throw new TimeoutException("Timed out after " + waitTimeoutMs
+                        + "ms waiting for an identical in-flight request");
+            }
+        }
+
+        try {
+            // 上一个相同请求可能刚刚完成
+            cached = getExact(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                future.complete(cached);
+                return cached;
+            }
+
+            float[] vector = semanticText == null ? null : embed(semanticText);
+            if (vector != null) {
+                cached = findSimilar(scope, vector);
+                if (cached != null) {
+                    semanticHits.incrementAndGet();
+                    putExact(key, cached);
+                    future.complete(cached);
+                    return cached;
+                }
+            }
+
+            misses.incrementAndGet();
+            String value = loader.call();
+            if (value != null) {
+                putExact(key, value);
+                if (vector != null) {
+                    putSemantic(key, scope, vector, value);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        synchronized (semanticEntries) {
+            semanticEntries.clear();
+        }
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long semanticHitCount = semanticHits.get();
+        long missCount = misses.get();
+        long coalescedCount = coalesced.get();
+        long total = hitCount + semanticHitCount + missCount + coalescedCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMs", ttlMs);
+        stats.put("hits", hitCount);
+        stats.put("semanticHits", semanticHitCount);
+        stats.put("misses", missCount);
+        stats.put("coalesced", coalescedCount);
+        stats.put("inFlight", inFlight.size());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("hitRate", total == 0 ? 0.0 : (hitCount + semanticHitCount + coalescedCount) / (double) total);
+        stats.put("semanticEnabled", embedder != null);
+        synchronized (semanticEntries) {
+            stats.put("semanticSize", semanticEntries.size());
+        }
+        return stats;
+    }
+
+    private String getExact(String key) {
+        synchronized (entries) {
+            CachedResponse response = entries.get(key);
+            if (response == null) {
+                return null;
+            }
+            if (response.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                return null;
+            }
+            return response.value;
+        }
+    }
+
+    private void putExact(String key, String value) {
+        synchronized (entries) {
+            entries.put(key, new CachedResponse(value, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    private void putSemantic(String key, String scope, float[] vector, String value) {
+        synchronized (semanticEntries) {
+            semanticEntries.remove(key);
+            semanticEntries.put(key, new SemanticEntry(scope, vector, value, System.currentTimeMillis() + ttlMs));
+            if (semanticEntries.size() > maxSemanticEntries) {
+                Iterator<String> eldest = semanticEntries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private String findSimilar(String scope, float[] vector) {
+        long now = System.currentTimeMillis();
+        String best = null;
+        double bestScore = similarityThreshold;
+        synchronized (semanticEntries) {
+            Iterator<SemanticEntry> iterator = semanticEntries.values().iterator();
+            while (iterator.hasNext()) {
+                SemanticEntry entry = iterator.next();
+                if (entry.expiresAt <= now) {
+                    iterator.remove();
+                    continue;
+                }
+                if (!entry.scope.equals(scope) || entry.vector.length != vector.length) {
+                    continue;
+                }
+                double score = 0;
+                for (int i = 0; i < vector.length; i++) {
+                    score += entry.vector[i] * vector[i];
+                }
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = entry.value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 计算单位化的嵌入向量，嵌入失败时跳过语义层
+     */
+    private float[] embed(String text) {
+        if (embedder == null) {
+            return null;
+        }
+        try {
+            List<Double> embedding = embedder.apply(normalize(text));
+            if (embedding == null || embedding.isEmpty()) {
+                return null;
+            }
+            float[] vector = new float[embedding.size()];
+            double norm = 0;
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = embedding.get(i).floatValue();
+                norm += vector[i] * vector[i];
+            }
+            if (norm == 0) {
+                return null;
+            }
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+            return vector;
+        } catch (Exception e) {
+            System.err.println("Failed to embed prompt for semantic cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String hash(String model, String systemPrompt, List<Map<String, String>> messages, int count) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, model);
+            update(digest, systemPrompt);
+            for (int i = 0; i < count; i++) {
+                Map<String, String> message = messages.get(i);
+                update(digest, message.get("role"));
+                update(digest, message.get("content"));
+            }
+            byte[] hash = digest.digest();
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(normalize(value).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static String normalize(String value) {
+        return WHITESPACE.matcher(Normalizer.normalize(value, Normalizer.Form.NFKC)).replaceAll(" ").trim();
+    }
+
+    private static final class CachedResponse {
+        final String value;
+        final long expiresAt;
+
+        CachedResponse(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class SemanticEntry {
+        final String scope;
+        final float[] vector;
+        final String value;
+        final long expiresAt;
+
+        SemanticEntry(String scope, float[] vector, String value, long expiresAt) {
+            this.scope = scope;
+            this.vector = vector;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.skyeai.jarvis.llm.cache;
+
+import com.skyeai.jarvis.llm.embedding.EmbeddingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 文本生成响应缓存服务
+ * 天气、每日简报这类短时间内被大量用户重复提出的问题直接返回缓存结果，
+ * 相同请求并发到达时只向模型发起一次调用
+ */
+@Component
+public class ResponseCacheService {
+
+    @Value("${llm.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm.response-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${llm.response-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    // 语义层需要为每次未命中的请求额外计算一次嵌入，默认关闭
+    @Value("${llm.response-cache.semantic.enabled:false}")
+    private boolean semanticEnabled;
+
+    @Value("${llm.response-cache.semantic.threshold:0.95}")
+    private double semanticThreshold;
+
+    @Value("${llm.response-cache.semantic.max-entries:500}")
+    private int semanticMaxEntries;
+
+    // 合并的请求最多等待一次模型调用的超时时间
+    @Value("${llm.http.request-timeout-ms:60000}")
+    private long requestTimeoutMs;
+
+    @Autowired
+    private EmbeddingService embeddingService;
+
+    private ResponseCache cache;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        this.cache = new ResponseCache(maxEntries, ttlMs, semanticEnabled ? embeddingService::embed : null,
+                semanticThreshold, semanticMaxEntries, requestTimeoutMs);
+    }
+
+    /**
+     * 按 模型+系统提示+消息 查询缓存，未命中时调用loader
+     * 只有最后一条为用户消息时才参与语义匹配
+     */
+    public String generate(String model, String systemPrompt, List<Map<String, String>> messages,
+                           Callable<String> loader) throws Exception {
+        if (!enabled || messages == null || messages.isEmpty()) {
+            return loader.call();
+        }
+        Map<String, String> last = messages.get(messages.size() - 1);
+        String semanticText = "user".equals(last.get("role")) ? last.get("content") : null;
+        return cache.getOrLoad(ResponseCache.key(model, systemPrompt, messages),
+                ResponseCache.scope(model, systemPrompt, messages), semanticText, loader);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 获取命中、未命中和合并请求统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.putAll(cache.getStats());
+        return stats;
+    }
+}
@@ -1,10 +1,25 @@
 package com.skyeai.jarvis.llm.controller;
 
+import com.skyeai.jarvis.llm.cache.ResponseCacheService;
+import com.skyeai.jarvis.llm.embedding.EmbeddingService;
 import com.skyeai.jarvis.llm.service.LlmService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/api/llm")
@@ -13,22 +28,95 @@ public class LlmController {
     @Autowired
     private LlmService llmService;
 
+    @Autowired
+    private EmbeddingService embeddingService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    // 流式生成在独立线程上阻塞读取模型响应，线程数即同时进行的流式请求数
+    @Value("${llm.stream.concurrency:64}")
+    private int streamConcurrency;
+
+    @Value("${llm.stream.queue-capacity:64}")
+    private int streamQueueCapacity;
+
+    @Value("${llm.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+
+    private ThreadPoolExecutor streamExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        streamExecutor = new ThreadPoolExecutor(streamConcurrency, streamConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(streamQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "llm-stream-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        streamExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (streamExecutor != null) {
+            streamExecutor.shutdownNow();
+        }
+    }
+
     @PostMapping("/react")
     public String executeReact(@RequestBody Map<String, Object> request) {
         String query = (String) request.get("query");
         return llmService.executeReact(query);
     }
 
+    /**
+     * 生成文本
+     * 请求带 messages（完整对话，含 system 消息）时按多轮对话生成，否则使用 systemPrompt + prompt
+     */
     @PostMapping("/generate/text")
     public Map<String, Object> generateText(@RequestBody Map<String, Object> request) {
         String prompt = (String) request.get("prompt");
         String systemPrompt = (String) request.getOrDefault("systemPrompt", "You are a helpful assistant");
-        String result = llmService.generateText(systemPrompt, prompt);
+        List<Map<String, String>> messages = messagesOf(request);
+        String result = messages != null
+                ? llmService.generateText(systemPrompt, messages)
+                : llmService.generateText(systemPrompt, prompt);
         Map<String, Object> response = new java.util.HashMap<>();
         response.put("result", result);
         return response;
     }
 
+    /**
+     * 流式生成文本（SSE）
+     * 请求格式同 /generate/text。事件：token {"token"} 逐个推送生成的片段，done {"result"} 完整结果，error {"error"}。
+     * 客户端断开后停止生成并关闭到模型的连接
+     */
+    @PostMapping(value = "/generate/text/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateTextStream(@RequestBody Map<String, Object> request) {
+        String prompt = (String) request.get("prompt");
+        String systemPrompt = (String) request.getOrDefault("systemPrompt", "You are a helpful assistant");
+        List<Map<String, String>> messages = messagesOf(request);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        SseStreamCallback callback = new SseStreamCallback(emitter);
+        emitter.onCompletion(callback::cancel);
+        emitter.onTimeout(callback::cancel);
+        emitter.onError(e -> callback.cancel());
+        try {
+            streamExecutor.execute(() -> {
+                if (messages != null) {
+                    llmService.generateTextStream(systemPrompt, messages, callback);
+                } else {
+                    llmService.generateTextStream(systemPrompt, prompt, callback);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            callback.onError(new IllegalStateException("Too many concurrent streams"));
+        }
+        return emitter;
+    }
+
     @PostMapping("/task/plan")
     public String generateTaskPlan(@RequestBody Map<String, Object> request) {
         String query = (String) request.get("query");
@@ -78,6 +166,32 @@ public class LlmController {
         return llmService.generateFinalAnswer(query, history, contextInfo, userPreferences, taskPlan);
     }
 
+    @PostMapping("/embed")
+    public Map<String, Object> embedText(@RequestBody Map<String, Object> request) {
+        String text = (String) request.get("text");
+        Map<String, Object> response = new java.util.HashMap<>();
+        response.put("embedding", llmService.embedText(text));
+        return response;
+    }
+
+    @PostMapping("/embed/batch")
+    public Map<String, Object> embedTexts(@RequestBody Map<String, Object> request) {
+        java.util.List<String> texts = (java.util.List<String>) request.getOrDefault("texts", new java.util.ArrayList<>());
+        Map<String, Object> response = new java.util.HashMap<>();
+        response.put("embeddings", llmService.embedTexts(texts));
+        return response;
+    }
+
+    @GetMapping("/embed/stats")
+    public Map<String, Object> embeddingStats() {
+        return embeddingService.getStats();
+    }
+
+    @GetMapping("/cache/stats")
+    public Map<String, Object> responseCacheStats() {
+        return responseCacheService.getStats();
+    }
+
     @GetMapping("/models")
     public java.util.List<String> listModels() {
         return llmService.listModels();
@@ -122,4 +236,67 @@ public class LlmController {
             @RequestBody java.util.Map<String, Object> request) {
         return llmService.fuseMultimodalInformation(request);
     }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, String>> messagesOf(Map<String, Object> request) {
+        Object messages = request.get("messages");
+        return messages instanceof List && !((List<?>) messages).isEmpty() ? (List<Map<String, String>>) messages : null;
+    }
+
+    /**
+     * 把流式生成回调转换为SSE事件，发送失败（客户端已断开）时标记为取消
+     */
+    private static class SseStreamCallback implements LlmService.LlmStreamCallback {
+
+        private final SseEmitter emitter;
+        private final StringBuilder result = new StringBuilder();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        SseStreamCallback(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onToken(String token) {
+            result.append(token);
+            send("token", Map.of("token", token));
+        }
+
+        @Override
+        public void onComplete() {
+            if (send("done", Map.of("result", result.toString()))) {
+                emitter.complete();
+            }
+        }
+
+        @Override
+        public void onError(Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (send("error", Map.of("error", "Error generating text: " + message))) {
+                emitter.complete();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        void cancel() {
+            cancelled.set(true);
+        }
+
+        private boolean send(String event, Map<String, Object> data) {
+            if (cancelled.get()) {
+                return false;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                cancelled.set(true);
+                return false;
+            }
+        }
+    }
 }
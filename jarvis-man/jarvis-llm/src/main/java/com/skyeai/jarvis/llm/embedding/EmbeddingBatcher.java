@@ -0,0 +1,195 @@
+package com.skyeai.jarvis.llm.embedding;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 嵌入请求微批处理器
+ * 并发提交的单条文本在时间窗口内（或达到批大小上限时）合并为一次批量请求，
+ * 同一批内的重复文本只请求一次
+ */
+public class EmbeddingBatcher implements AutoCloseable {
+
+    /**
+     * 批量嵌入函数，返回结果与输入一一对应
+     */
+    @FunctionalInterface
+    public interface BatchFunction {
+        List<List<Double>> embed(List<String> texts) throws Exception;
+    }
+
+    private final BatchFunction batchFunction;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final LinkedBlockingQueue<PendingRequest> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong textCount = new AtomicLong();
+    private final AtomicInteger maxObservedBatch = new AtomicInteger();
+
+    /**
+     * @param batchFunction 批量嵌入函数
+     * @param maxBatchSize 每批最大文本数
+     * @param maxWaitMs 凑批的最长等待时间
+     * @param maxInFlight 同时进行中的批次上限，达到上限时新请求继续排队凑成更大的批
+     */
+    public EmbeddingBatcher(BatchFunction batchFunction, int maxBatchSize, long maxWaitMs, int maxInFlight) {
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.maxInFlight, r -> {
+            Thread thread = new Thread(r, "embedding-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatchLoop, "embedding-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 提交单条文本
+     */
+    public CompletableFuture<List<Double>> submit(String text) {
+        PendingRequest request = new PendingRequest(text);
+        if (!running) {
+            request.future.completeExceptionally(new IllegalStateException("Embedding batcher is closed"));
+            return request.future;
+        }
+        queue.add(request);
+        // 与 close() 竞争时，close 的清空可能已经结束；仍在队列中说明无人会处理，由提交方自己失败
+        if (!running && queue.remove(request)) {
+            request.future.completeExceptionally(new IllegalStateException("Embedding batcher is closed"));
+        }
+        return request.future;
+    }
+
+    /**
+     * 获取批处理统计
+     */
+    public Map<String, Object> getStats() {
+        long batches = batchCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batches", batches);
+        stats.put("requests", requestCount.get());
+        stats.put("texts", textCount.get());
+        stats.put("avgBatchSize", batches == 0 ? 0.0 : requestCount.get() / (double) batches);
+        stats.put("maxBatchSize", maxObservedBatch.get());
+        stats.put("queued", queue.size());
+        stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+        PendingRequest request;
+        while ((request = queue.poll()) != null) {
+            request.future.completeExceptionally(new IllegalStateException("Embedding batcher is closed"));
+        }
+    }
+
+    private void dispatchLoop() {
+        List<PendingRequest> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingRequest next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                List<PendingRequest> toRun = batch;
+                batch = new ArrayList<>(maxBatchSize);
+                try {
+                    workers.execute(() -> {
+                        try {
+                            runBatch(toRun);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // close() 已关闭工作线程池
+                    inFlight.release();
+                    for (PendingRequest request : toRun) {
+                        request.future.completeExceptionally(new IllegalStateException("Embedding batcher is closed"));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (PendingRequest request : batch) {
+            request.future.completeExceptionally(new IllegalStateException("Embedding batcher is closed"));
+        }
+    }
+
+    private void runBatch(List<PendingRequest> batch) {
+        // 同批重复文本合并
+        Map<String, List<PendingRequest>> byText = new LinkedHashMap<>();
+        for (PendingRequest request : batch) {
+            byText.computeIfAbsent(request.text, t -> new ArrayList<>(1)).add(request);
+        }
+        List<String> texts = new ArrayList<>(byText.keySet());
+
+        batchCount.incrementAndGet();
+        requestCount.addAndGet(batch.size());
+        textCount.addAndGet(texts.size());
+        maxObservedBatch.accumulateAndGet(batch.size(), Math::max);
+
+        try {
+            List<List<Double>> embeddings = batchFunction.embed(texts);
+            if (embeddings == null || embeddings.size() != texts.size()) {
+                throw new IllegalStateException("Embedding batch returned " + (embeddings == null ? 0 : embeddings.size())
+                        + " vectors for " + texts.size() + " texts");
+            }
+            for (int i = 0; i < texts.size(); i++) {
+                for (PendingRequest request : byText.get(texts.get(i))) {
+                    request.future.complete(embeddings.get(i));
+                }
+            }
+        } catch (Exception e) {
+            for (PendingRequest request : batch) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class PendingRequest {
+        final String text;
+        final CompletableFuture<List<Double>> future = new CompletableFuture<>();
+
+        PendingRequest(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.skyeai.jarvis.llm.embedding;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 嵌入向量缓存
+ * 以 模型名+文本 的SHA-256为键，内存中为有界LRU，可选磁盘层（每个向量一个文件，按哈希前两位分目录）
+ */
+public class EmbeddingCache {
+
+    private static final String FILE_SUFFIX = ".emb";
+
+    private final int maxEntries;
+    private final Path diskDirectory;
+    private final LinkedHashMap<String, double[]> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxEntries 内存层最大条目数
+     * @param diskDirectory 磁盘层目录，为null时不启用
+     */
+    public EmbeddingCache(int maxEntries, Path diskDirectory) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.diskDirectory = diskDirectory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                if (size() > EmbeddingCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 计算缓存键
+     */
+    public static String key(String model, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 查询缓存，内存未命中时查磁盘层并回填内存
+     * @return 命中时返回向量，否则返回null
+     */
+    public List<Double> get(String key) {
+        double[] vector;
+        synchronized (entries) {
+            vector = entries.get(key);
+        }
+        if (vector != null) {
+            hits.incrementAndGet();
+            return toList(vector);
+        }
+        vector = readFromDisk(key);
+        if (vector != null) {
+            diskHits.incrementAndGet();
+            synchronized (entries) {
+                entries.put(key, vector);
+            }
+            return toList(vector);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 写入缓存（内存层与磁盘层）
+     */
+    public void put(String key, List<Double> embedding) {
+        double[] vector = new double[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i);
+        }
+        synchronized (entries) {
+            entries.put(key, vector);
+        }
+        writeToDisk(key, vector);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStats() {
+        long memoryHits = hits.get();
+        long secondaryHits = diskHits.get();
+        long missCount = misses.get();
+        long total = memoryHits + secondaryHits + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", memoryHits);
+        stats.put("diskHits", secondaryHits);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", total == 0 ? 0.0 : (memoryHits + secondaryHits) / (double) total);
+        stats.put("diskEnabled", diskDirectory != null);
+        return stats;
+    }
+
+    private double[] readFromDisk(String key) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        Path path = diskPath(key);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            double[] vector = new double[in.readInt()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = in.readDouble();
+            }
+            return vector;
+        } catch (IOException e) {
+            System.err.println("Failed to read embedding cache file " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, double[] vector) {
+        if (diskDirectory == null) {
+            return;
+        }
+        Path path = diskPath(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(vector.length);
+                for (double value : vector) {
+                    out.writeDouble(value);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write embedding cache file " + path + ": " + e.getMessage());
+        }
+    }
+
+    private Path diskPath(String key) {
+        return diskDirectory.resolve(key.substring(0, 2)).resolve(key + FILE_SUFFIX);
+    }
+
+    private static List<Double> toList(double[] vector) {
+        List<Double> list = new ArrayList<>(vector.length);
+        for (double value : vector) {
+            list.add(value);
+        }
+        return list;
+    }
+}
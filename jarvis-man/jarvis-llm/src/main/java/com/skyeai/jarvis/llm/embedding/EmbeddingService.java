@@ -0,0 +1,179 @@
+package com.skyeai.jarvis.llm.embedding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.skyeai.jarvis.llm.http.LlmHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 文本嵌入服务
+ * 单条请求经微批处理器合并为批量请求，结果按内容哈希缓存（内存LRU + 可选磁盘层），
+ * 缓存命中时不访问模型
+ */
+@Component
+public class EmbeddingService {
+
+    @Value("${llm.openai.api-key:}")
+    private String apiKey;
+
+    @Value("${llm.openai.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${llm.embedding.model:text-embedding-3-small}")
+    private String model;
+
+    @Value("${llm.embedding.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${llm.embedding.batch.max-size:64}")
+    private int maxBatchSize;
+
+    @Value("${llm.embedding.batch.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${llm.embedding.batch.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${llm.embedding.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // 磁盘缓存目录，为空时只使用内存缓存
+    @Value("${llm.embedding.cache.disk-path:}")
+    private String cacheDiskPath;
+
+    @Autowired
+    private LlmHttpClient llmHttpClient;
+
+    private EmbeddingCache cache;
+    private EmbeddingBatcher batcher;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        this.cache = new EmbeddingCache(cacheMaxEntries,
+                cacheDiskPath == null || cacheDiskPath.isBlank() ? null : Paths.get(cacheDiskPath));
+        this.batcher = new EmbeddingBatcher(this::requestEmbeddings, maxBatchSize, maxWaitMs, maxInFlight);
+    }
+
+    @jakarta.annotation.PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    /**
+     * 嵌入单条文本，与同一时间窗口内的其他请求合并发送
+     */
+    public List<Double> embed(String text) {
+        String key = EmbeddingCache.key(model, text);
+        List<Double> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            List<Double> embedding = batcher.submit(text).get(timeoutMs, TimeUnit.MILLISECONDS);
+            cache.put(key, embedding);
+            return embedding;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Embedding request interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to embed text: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Embedding request timed out after " + timeoutMs + "ms", e);
+        }
+    }
+
+    /**
+     * 批量嵌入文本，仅对未命中缓存的文本发起请求，每次请求最多 maxBatchSize 条
+     */
+    public List<List<Double>> embedAll(List<String> texts) {
+        List<List<Double>> results = new ArrayList<>(texts.size());
+        List<String> missingTexts = new ArrayList<>();
+        List<Integer> missingIndexes = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            List<Double> cached = cache.get(EmbeddingCache.key(model, texts.get(i)));
+            results.add(cached);
+            if (cached == null) {
+                missingTexts.add(texts.get(i));
+                missingIndexes.add(i);
+            }
+        }
+        if (missingTexts.isEmpty()) {
+            return results;
+        }
+        int chunkSize = Math.max(1, maxBatchSize);
+        try {
+            for (int from = 0; from < missingTexts.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, missingTexts.size());
+                List<List<Double>> embeddings = requestEmbeddings(missingTexts.subList(from, to));
+                for (int i = 0; i < embeddings.size(); i++) {
+                    results.set(missingIndexes.get(from + i), embeddings.get(i));
+                    cache.put(EmbeddingCache.key(model, missingTexts.get(from + i)), embeddings.get(i));
+                }
+            }
+            return results;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to embed texts: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取缓存命中率与批大小统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("model", model);
+        stats.put("cache", cache.getStats());
+        stats.put("batching", batcher.getStats());
+        return stats;
+    }
+
+    /**
+     * 调用嵌入接口（OpenAI兼容的 /embeddings），按 index 排序返回
+     */
+    private List<List<Double>> requestEmbeddings(List<String> texts) throws IOException {
+        ObjectMapper objectMapper = llmHttpClient.getObjectMapper();
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("model", model);
+        ArrayNode input = requestBody.putArray("input");
+        texts.forEach(input::add);
+
+        String response = llmHttpClient.postJson(LlmHttpClient.PROVIDER_OPENAI, baseUrl + "/embeddings", apiKey,
+                objectMapper.writeValueAsString(requestBody));
+        JsonNode data = objectMapper.readTree(response).path("data");
+        if (!data.isArray() || data.size() != texts.size()) {
+            throw new IOException("Unexpected embedding response: expected " + texts.size() + " vectors");
+        }
+
+        List<List<Double>> ordered = new ArrayList<>(Collections.nCopies(texts.size(), null));
+        for (JsonNode item : data) {
+            int index = item.path("index").asInt(-1);
+            if (index < 0 || index >= texts.size() || ordered.get(index) != null) {
+                throw new IOException("Unexpected embedding response: invalid index " + item.path("index"));
+            }
+            JsonNode embedding = item.path("embedding");
+            List<Double> vector = new ArrayList<>(embedding.size());
+            for (JsonNode value : embedding) {
+                vector.add(value.doubleValue());
+            }
+            ordered.set(index, vector);
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,269 @@
+package com.skyeai.jarvis.llm.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 大模型HTTP传输层
+ * 按提供方（openai、aliyun、full_modal、edge）复用 HTTP/2 长连接，
+ * 每个提供方独立的连接池、并发上限和超时，全局共享一个 ObjectMapper
+ */
+@Component
+public class LlmHttpClient {
+
+    public static final String PROVIDER_OPENAI = "openai";
+    public static final String PROVIDER_ALIYUN = "aliyun";
+    public static final String PROVIDER_FULL_MODAL = "full_modal";
+    public static final String PROVIDER_EDGE = "edge";
+
+    @Value("${llm.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${llm.http.request-timeout-ms:60000}")
+    private long requestTimeoutMs;
+
+    @Value("${llm.http.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${llm.http.acquire-timeout-ms:3000}")
+    private long acquireTimeoutMs;
+
+    @Value("${llm.http.io-threads:8}")
+    private int ioThreads;
+
+    @Autowired(required = false)
+    private Environment environment;
+
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
+    // 每个提供方一个通道（独立连接池 + 并发闸门）
+    private final Map<String, ProviderChannel> channels = new ConcurrentHashMap<>();
+
+    private ExecutorService ioExecutor;
+
+    /**
+     * 初始化方法，在 @Value 注入后执行
+     */
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        if (objectMapper == null) {
+            objectMapper = new ObjectMapper();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(Math.max(1, ioThreads), r -> {
+            Thread thread = new Thread(r, "llm-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @jakarta.annotation.PreDestroy
+    public void shutdown() {
+        if (ioExecutor != null) {
+            ioExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 共享的 ObjectMapper，线程安全，不要在调用方重复创建
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * 发送JSON POST请求并返回响应体
+     */
+    public String postJson(String provider, String url, String apiKey, String requestBody) throws IOException {
+        ProviderChannel channel = channel(provider);
+        HttpRequest request = buildRequest(channel, url, apiKey, requestBody, "application/json");
+
+        channel.acquire();
+        try {
+            HttpResponse<String> response = channel.client.send(request,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            checkStatus(provider, url, response.statusCode(), response.body());
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("HTTP请求被中断: " + url, e);
+        } finally {
+            channel.release();
+        }
+    }
+
+    /**
+     * 发送JSON POST请求并以流的形式返回响应体（用于SSE）
+     * 并发许可在调用方关闭流时释放
+     */
+    public InputStream postJsonForStream(String provider, String url, String apiKey, String requestBody) throws IOException {
+        ProviderChannel channel = channel(provider);
+        HttpRequest request = buildRequest(channel, url, apiKey, requestBody, "text/event-stream");
+
+        channel.acquire();
+        try {
+            HttpResponse<InputStream> response = channel.client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() / 100 != 2) {
+                String body;
+                try (InputStream errorStream = response.body()) {
+                    body = new String(errorStream.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                checkStatus(provider, url, response.statusCode(), body);
+            }
+            return new PermitReleasingInputStream(response.body(), channel);
+        } catch (InterruptedException e) {
+            channel.release();
+            Thread.currentThread().interrupt();
+            throw new IOException("HTTP请求被中断: " + url, e);
+        } catch (IOException | RuntimeException e) {
+            channel.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取各提供方连接池统计
+     */
+    public Map<String, Map<String, Object>> getPoolStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        channels.forEach((provider, channel) -> {
+            Map<String, Object> providerStats = new LinkedHashMap<>();
+            providerStats.put("maxConcurrent", channel.maxConcurrent);
+            providerStats.put("inFlight", channel.maxConcurrent - channel.permits.availablePermits());
+            providerStats.put("requestTimeoutMs", channel.requestTimeout.toMillis());
+            stats.put(provider, providerStats);
+        });
+        return stats;
+    }
+
+    private HttpRequest buildRequest(ProviderChannel channel, String url, String apiKey, String requestBody, String accept) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(channel.requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", accept)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8));
+        if (apiKey != null && !apiKey.isEmpty()) {
+            builder.header("Authorization", "Bearer " + apiKey);
+        }
+        return builder.build();
+    }
+
+    private void checkStatus(String provider, String url, int statusCode, String body) throws IOException {
+        if (statusCode / 100 != 2) {
+            throw new IOException("HTTP " + statusCode + " from " + provider + " (" + url + "): " + body);
+        }
+    }
+
+    private ProviderChannel channel(String provider) {
+        return channels.computeIfAbsent(provider, this::createChannel);
+    }
+
+    private ProviderChannel createChannel(String provider) {
+        // 提供方级别的配置覆盖全局默认值，例如 llm.http.providers.aliyun.max-concurrent
+        String prefix = "llm.http.providers." + provider + ".";
+        int providerMaxConcurrent = property(prefix + "max-concurrent", Integer.class, maxConcurrent);
+        long providerConnectTimeoutMs = property(prefix + "connect-timeout-ms", Long.class, connectTimeoutMs);
+        long providerRequestTimeoutMs = property(prefix + "request-timeout-ms", Long.class, requestTimeoutMs);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(providerConnectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(ioExecutor)
+                .build();
+
+        return new ProviderChannel(client, Math.max(1, providerMaxConcurrent),
+                Duration.ofMillis(providerRequestTimeoutMs), acquireTimeoutMs, provider);
+    }
+
+    private <T> T property(String key, Class<T> type, T defaultValue) {
+        if (environment == null) {
+            return defaultValue;
+        }
+        return environment.getProperty(key, type, defaultValue);
+    }
+
+    /**
+     * 单个提供方的连接池与并发闸门
+     */
+    private static final class ProviderChannel {
+        private final HttpClient client;
+        private final Semaphore permits;
+        private final int maxConcurrent;
+        private final Duration requestTimeout;
+        private final long acquireTimeoutMs;
+        private final String provider;
+
+        private ProviderChannel(HttpClient client, int maxConcurrent, Duration requestTimeout,
+                                long acquireTimeoutMs, String provider) {
+            this.client = client;
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxConcurrent = maxConcurrent;
+            this.requestTimeout = requestTimeout;
+            this.acquireTimeoutMs = acquireTimeoutMs;
+            this.provider = provider;
+        }
+
+        private void acquire() throws IOException {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("连接池繁忙，等待超时: " + provider);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("等待连接被中断: " + provider, e);
+            }
+        }
+
+        private void release() {
+            permits.release();
+        }
+    }
+
+    /**
+     * 关闭时归还并发许可的输入流
+     */
+    private static final class PermitReleasingInputStream extends FilterInputStream {
+        private final ProviderChannel channel;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private PermitReleasingInputStream(InputStream in, ProviderChannel channel) {
+            super(in);
+            this.channel = channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    channel.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.skyeai.jarvis.llm.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.skyeai.jarvis.llm.service.LlmService.LlmStreamCallback;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * OpenAI兼容的流式对话（SSE）解码器
+ * 在复用的字节缓冲区上按行切分事件，用增量 JsonParser 直接定位 choices[0].delta.content，
+ * 不构建 JsonNode 树，也不为每个事件创建字符串行。
+ * 每个流使用一个实例，非线程安全
+ */
+public class SseChatStreamDecoder {
+
+    private static final byte[] DATA_PREFIX = {'d', 'a', 't', 'a', ':'};
+    private static final byte[] DONE_MARKER = {'[', 'D', 'O', 'N', 'E', ']'};
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /**
+     * 解码结束原因
+     */
+    public enum Outcome {
+        // 收到 [DONE]
+        DONE,
+        // 服务端关闭连接
+        END_OF_STREAM,
+        // 下游取消
+        CANCELLED
+    }
+
+    private final JsonFactory jsonFactory;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private long tokenCount;
+
+    public SseChatStreamDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * 读取事件流并把内容增量回调给 callback，直到 [DONE]、流结束或 callback 取消
+     * 调用方负责关闭输入流（取消时关闭流即中止上游HTTP请求）
+     */
+    public Outcome decode(InputStream in, LlmStreamCallback callback) throws IOException {
+        int start = 0;
+        int end = 0;
+        while (true) {
+            if (callback.isCancelled()) {
+                return Outcome.CANCELLED;
+            }
+            // 缓冲区前部已消费时整体前移，行超过缓冲区时扩容
+            if (end == buffer.length) {
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                } else {
+                    byte[] grown = new byte[buffer.length * 2];
+                    System.arraycopy(buffer, 0, grown, 0, end);
+                    buffer = grown;
+                }
+            }
+            int read = in.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                if (end > start && handleLine(start, end, callback)) {
+                    return Outcome.DONE;
+                }
+                return Outcome.END_OF_STREAM;
+            }
+            int scanFrom = end;
+            end += read;
+
+            for (int i = scanFrom; i < end; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                int lineEnd = i > start && buffer[i - 1] == '\r' ? i - 1 : i;
+                if (handleLine(start, lineEnd, callback)) {
+                    return Outcome.DONE;
+                }
+                start = i + 1;
+                if (callback.isCancelled()) {
+                    return Outcome.CANCELLED;
+                }
+            }
+            if (start == end) {
+                start = 0;
+                end = 0;
+            }
+        }
+    }
+
+    /**
+     * 已回调的内容片段数
+     */
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * 处理一行，收到 [DONE] 时返回 true
+     * 只处理 data 字段，注释、event、id 等字段忽略
+     */
+    private boolean handleLine(int start, int end, LlmStreamCallback callback) throws IOException {
+        if (!startsWith(start, end, DATA_PREFIX)) {
+            return false;
+        }
+        int offset = start + DATA_PREFIX.length;
+        if (offset < end && buffer[offset] == ' ') {
+            offset++;
+        }
+        if (startsWith(offset, end, DONE_MARKER)) {
+            return true;
+        }
+        if (offset < end) {
+            try {
+                String content = extractContent(offset, end - offset);
+                if (content != null && !content.isEmpty()) {
+                    tokenCount++;
+                    callback.onToken(content);
+                }
+            } catch (JsonProcessingException e) {
+                // 忽略无法解析的事件
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 增量解析 choices[0].delta.content，其余字段直接跳过
+     */
+    private String extractContent(int offset, int length) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(buffer, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        return null;
+                    }
+                    return readDeltaContent(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private String readDeltaContent(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("delta".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String deltaField = parser.getCurrentName();
+                    JsonToken deltaValue = parser.nextToken();
+                    if ("content".equals(deltaField)) {
+                        return deltaValue == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private boolean startsWith(int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -20,6 +20,7 @@ public interface AliyunAIService {
      * @param query 用户查询
      * @param context 上下文信息
      * @return 模型响应
+     * @throws IllegalStateException 模型调用失败时抛出
      */
     String callWithContext(String query, String context);
 
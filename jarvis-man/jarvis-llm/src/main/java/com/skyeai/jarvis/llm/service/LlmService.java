@@ -109,6 +109,13 @@ public interface LlmService {
         void onToken(String token);
         void onComplete();
         void onError(Exception e);
+
+        /**
+         * 下游已断开（如WebSocket关闭）时返回true，流式生成随即中止并关闭上游连接
+         */
+        default boolean isCancelled() {
+            return false;
+        }
     }
 
     class ImageProcessingResult {
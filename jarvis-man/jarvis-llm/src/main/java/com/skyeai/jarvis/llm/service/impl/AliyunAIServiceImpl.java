@@ -85,7 +85,7 @@ public class AliyunAIServiceImpl implements AliyunAIService {
             }
 
             // 5. 否则调用LLM服务处理普通查询，带上上下文信息
-            String result = callLlmServiceWithContext(query, contextInfo);
+            String result = callWithContext(query, contextInfo);
             // 异步保存AI回复到聊天历史
             saveChatHistoryAsync("default", result, "assistant");
             return result;
@@ -102,99 +102,14 @@ public class AliyunAIServiceImpl implements AliyunAIService {
 
     @Override
     public String callWithContext(String query, String context) {
-        try {
-            // 使用阿里通用模型
-            String[] modelList = aliyunModels.split(",");
-            String model = modelList[0].trim(); // 使用第一个模型
-            
-            Generation gen = new Generation();
-            Message systemMsg = Message.builder()
-                    .role(Role.SYSTEM.getValue())
-                    .content(systemPrompt + "\n\n聊天上下文:\n" + context)
-                    .build();
-            Message userMsg = Message.builder()
-                    .role(Role.USER.getValue())
-                    .content(query)
-                    .build();
-            
-            GenerationParam param;
-            if (!aliyunApiKey.isEmpty()) {
-                param = GenerationParam.builder()
-                        .apiKey(aliyunApiKey)
-                        .model(model)
-                        .messages(Arrays.asList(systemMsg, userMsg))
-                        .resultFormat(GenerationParam.ResultFormat.MESSAGE)
-                        .build();
-            } else {
-                param = GenerationParam.builder()
-                        .model(model)
-                        .messages(Arrays.asList(systemMsg, userMsg))
-                        .resultFormat(GenerationParam.ResultFormat.MESSAGE)
-                        .build();
-            }
-            
-            System.out.println("调用阿里AI模型(带上下文): " + model);
-            System.out.println("API Key配置: " + (!aliyunApiKey.isEmpty() ? "已配置" : "使用环境变量"));
-            System.out.println("上下文内容: " + context);
-            System.out.println("请求内容: " + query);
-            
-            GenerationResult result = gen.call(param);
-            String response = result.getOutput().getChoices().get(0).getMessage().getContent();
-            
-            System.out.println("阿里AI响应: " + response);
-            
-            return response;
-        } catch (ApiException | NoApiKeyException | InputRequiredException e) {
-            System.err.println("阿里AI调用失败: " + e.getMessage());
-            return "抱歉，AI调用失败：" + e.getMessage();
-        }
+        return generate(systemPrompt + "\n\n聊天上下文:\n" + context, query, context);
     }
 
     @Override
     public String callAIModel(String prompt) {
         try {
-            // 使用阿里通用模型
-            String[] modelList = aliyunModels.split(",");
-            String model = modelList[0].trim(); // 使用第一个模型
-            
-            Generation gen = new Generation();
-            Message systemMsg = Message.builder()
-                    .role(Role.SYSTEM.getValue())
-                    .content(systemPrompt)
-                    .build();
-            Message userMsg = Message.builder()
-                    .role(Role.USER.getValue())
-                    .content(prompt)
-                    .build();
-            
-            GenerationParam param;
-            if (!aliyunApiKey.isEmpty()) {
-                param = GenerationParam.builder()
-                        .apiKey(aliyunApiKey)
-                        .model(model)
-                        .messages(Arrays.asList(systemMsg, userMsg))
-                        .resultFormat(GenerationParam.ResultFormat.MESSAGE)
-                        .build();
-            } else {
-                param = GenerationParam.builder()
-                        .model(model)
-                        .messages(Arrays.asList(systemMsg, userMsg))
-                        .resultFormat(GenerationParam.ResultFormat.MESSAGE)
-                        .build();
-            }
-            
-            System.out.println("调用阿里AI模型: " + model);
-            System.out.println("API Key配置: " + (!aliyunApiKey.isEmpty() ? "已配置" : "使用环境变量"));
-            System.out.println("请求内容: " + prompt);
-            
-            GenerationResult result = gen.call(param);
-            String response = result.getOutput().getChoices().get(0).getMessage().getContent();
-            
-            System.out.println("阿里AI响应: " + response);
-            
-            return response;
-        } catch (ApiException | NoApiKeyException | InputRequiredException e) {
-            System.err.println("阿里AI调用失败: " + e.getMessage());
+            return generate(systemPrompt, prompt, null);
+        } catch (IllegalStateException e) {
             return "抱歉，AI调用失败：" + e.getMessage();
         }
     }
@@ -226,9 +141,10 @@ public class AliyunAIServiceImpl implements AliyunAIService {
     }
 
     /**
-     * 带上下文调用LLM服务处理查询
+     * 使用第一个通用模型生成回复，调用失败时抛出 IllegalStateException，
+     * 由调用方决定是转换为提示文本还是继续向上抛出（例如不让失败结果进入响应缓存）
      */
-    private String callLlmServiceWithContext(String query, String context) {
+    private String generate(String systemContent, String query, String context) {
         try {
             // 使用阿里通用模型
             String[] modelList = aliyunModels.split(",");
@@ -237,7 +153,7 @@ public class AliyunAIServiceImpl implements AliyunAIService {
             Generation gen = new Generation();
             Message systemMsg = Message.builder()
                     .role(Role.SYSTEM.getValue())
-                    .content(systemPrompt + "\n\n聊天上下文:\n" + context)
+                    .content(systemContent)
                     .build();
             Message userMsg = Message.builder()
                     .role(Role.USER.getValue())
@@ -260,9 +176,11 @@ public class AliyunAIServiceImpl implements AliyunAIService {
                         .build();
             }
             
-            System.out.println("调用阿里AI模型(带上下文): " + model);
+            System.out.println("调用阿里AI模型" + (context != null ? "(带上下文): " : ": ") + model);
             System.out.println("API Key配置: " + (!aliyunApiKey.isEmpty() ? "已配置" : "使用环境变量"));
-            System.out.println("上下文内容: " + context);
+            if (context != null) {
+                System.out.println("上下文内容: " + context);
+            }
             System.out.println("请求内容: " + query);
             
             GenerationResult result = gen.call(param);
@@ -273,7 +191,7 @@ public class AliyunAIServiceImpl implements AliyunAIService {
             return response;
         } catch (ApiException | NoApiKeyException | InputRequiredException e) {
             System.err.println("阿里AI调用失败: " + e.getMessage());
-            return "抱歉，AI调用失败：" + e.getMessage();
+            throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
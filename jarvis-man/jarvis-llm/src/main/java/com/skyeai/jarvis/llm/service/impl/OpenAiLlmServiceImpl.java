@@ -1,5 +1,11 @@
 package com.skyeai.jarvis.llm.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyeai.jarvis.llm.cache.ResponseCacheService;
+import com.skyeai.jarvis.llm.embedding.EmbeddingService;
+import com.skyeai.jarvis.llm.http.LlmHttpClient;
+import com.skyeai.jarvis.llm.http.SseChatStreamDecoder;
 import com.skyeai.jarvis.llm.service.LlmService;
 import com.skyeai.jarvis.llm.service.LlmService.ImageProcessingResult;
 import com.skyeai.jarvis.llm.service.LlmService.SpeechProcessingResult;
@@ -19,12 +25,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.Base64;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -146,6 +147,15 @@ public class OpenAiLlmServiceImpl implements LlmService {
     @Autowired
     private AliyunAIServiceImpl aliyunAIService;
 
+    @Autowired
+    private LlmHttpClient llmHttpClient;
+
+    @Autowired
+    private EmbeddingService embeddingService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
     @Value("${ai.system.prompt:You are a helpful assistant}")
     private String systemPrompt;
 
@@ -168,60 +178,52 @@ public class OpenAiLlmServiceImpl implements LlmService {
     @Override
     public String generateText(String systemPrompt, List<Map<String, String>> messages) {
         try {
-            // 优先使用阿里通用模型
-            if (aliyunGeneralEnabled && !aliyunGeneralApiKey.isEmpty()) {
-                // 直接使用最后一个用户消息作为提示
-                String userPrompt = "";
-                String systemMsg = "你是一个有帮助的助手，请用中文回答用户的问题。";
-                for (Map<String, String> message : messages) {
-                    if ("user".equals(message.get("role"))) {
-                        userPrompt = message.get("content");
-                    } else if ("system".equals(message.get("role"))) {
-                        systemMsg = message.get("content");
-                    }
-                }
-                return aliyunAIService.callWithContext(userPrompt, "");
-            }
-            
-            // 否则使用OpenAI模型
-            URL url = new URL(baseUrl + "/chat/completions");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-            connection.setDoOutput(true);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", MODEL);
-            requestBody.put("messages", messages);
-            requestBody.put("temperature", 0.7);
-            requestBody.put("max_tokens", 1024);
-
-            String jsonBody = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(requestBody);
-
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = jsonBody.getBytes("utf-8");
-                os.write(input, 0, input.length);
-            }
-
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(connection.getInputStream(), "utf-8"))) {
-                StringBuilder response = new StringBuilder();
-                String responseLine = null;
-                while ((responseLine = br.readLine()) != null) {
-                    response.append(responseLine.trim());
-                }
-
-                com.fasterxml.jackson.databind.JsonNode jsonNode = new com.fasterxml.jackson.databind.ObjectMapper()
-                        .readTree(response.toString());
-                return jsonNode.path("choices").get(0).path("message").path("content").asText();
-            }
+            // 相同问题短时间内直接返回缓存结果，并发的相同请求合并为一次调用
+            String model = aliyunGeneralEnabled && !aliyunGeneralApiKey.isEmpty() ? "aliyun-general" : MODEL;
+            return responseCacheService.generate(model, systemPrompt, messages,
+                    () -> requestText(systemPrompt, messages));
         } catch (Exception e) {
             e.printStackTrace();
             return "Error generating text: " + e.getMessage();
         }
     }
 
+    /**
+     * 调用模型生成文本，失败时抛出异常（错误结果不进入缓存）
+     */
+    private String requestText(String systemPrompt, List<Map<String, String>> messages) throws Exception {
+        // 优先使用阿里通用模型
+        if (aliyunGeneralEnabled && !aliyunGeneralApiKey.isEmpty()) {
+            // 直接使用最后一个用户消息作为提示
+            String userPrompt = "";
+            String systemMsg = "你是一个有帮助的助手，请用中文回答用户的问题。";
+            for (Map<String, String> message : messages) {
+                if ("user".equals(message.get("role"))) {
+                    userPrompt = message.get("content");
+                } else if ("system".equals(message.get("role"))) {
+                    systemMsg = message.get("content");
+                }
+            }
+            // 调用失败时抛出异常，失败结果不会进入缓存
+            return aliyunAIService.callWithContext(userPrompt, "");
+        }
+        
+        // 否则使用OpenAI模型
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", MODEL);
+        requestBody.put("messages", messages);
+        requestBody.put("temperature", 0.7);
+        requestBody.put("max_tokens", 1024);
+
+        ObjectMapper objectMapper = llmHttpClient.getObjectMapper();
+        String jsonBody = objectMapper.writeValueAsString(requestBody);
+        String response = llmHttpClient.postJson(LlmHttpClient.PROVIDER_OPENAI,
+                baseUrl + "/chat/completions", apiKey, jsonBody);
+
+        JsonNode jsonNode = objectMapper.readTree(response);
+        return jsonNode.path("choices").get(0).path("message").path("content").asText();
+    }
+
     /**
      * 使用阿里通用模型生成文本
      */
@@ -242,14 +244,14 @@ public class OpenAiLlmServiceImpl implements LlmService {
                 requestBody.put("temperature", 0.7);
                 requestBody.put("max_tokens", 1024);
 
-                String jsonBody = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(requestBody);
+                ObjectMapper objectMapper = llmHttpClient.getObjectMapper();
+                String jsonBody = objectMapper.writeValueAsString(requestBody);
                 
                 // 发送请求
-                String response = sendHttpRequest(aliyunGeneralApiUrl, aliyunGeneralApiKey, jsonBody);
+                String response = sendHttpRequest(LlmHttpClient.PROVIDER_ALIYUN, aliyunGeneralApiUrl, aliyunGeneralApiKey, jsonBody);
                 
                 // 解析响应
-                com.fasterxml.jackson.databind.JsonNode jsonNode = new com.fasterxml.jackson.databind.ObjectMapper()
-                        .readTree(response.toString());
+                JsonNode jsonNode = objectMapper.readTree(response);
                 String content = jsonNode.path("choices").get(0).path("message").path("content").asText();
                 
                 long endTime = System.currentTimeMillis();
@@ -291,54 +293,26 @@ public class OpenAiLlmServiceImpl implements LlmService {
 
     @Override
     public void generateTextStream(String systemPrompt, List<Map<String, String>> messages, LlmStreamCallback callback) {
-        // 实现流式生成逻辑
+        // 与 generateText 使用同一提供方：启用阿里通用模型时走其兼容OpenAI的流式接口
+        boolean aliyun = aliyunGeneralEnabled && !aliyunGeneralApiKey.isEmpty();
         try {
-            URL url = new URL(baseUrl + "/chat/completions");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-            connection.setRequestProperty("Accept", "text/event-stream");
-            connection.setDoOutput(true);
-            connection.setChunkedStreamingMode(0);
-            connection.setReadTimeout(0);
-
             Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", MODEL);
+            requestBody.put("model", aliyun ? aliyunGeneralModels.split(",")[0].trim() : MODEL);
             requestBody.put("messages", messages);
             requestBody.put("temperature", 0.7);
             requestBody.put("max_tokens", 1024);
             requestBody.put("stream", true);
 
-            String jsonBody = new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(requestBody);
-
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = jsonBody.getBytes("utf-8");
-                os.write(input, 0, input.length);
-            }
-
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(connection.getInputStream(), "utf-8"))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    if (line.isEmpty()) continue;
-                    if (line.startsWith("data: ")) {
-                        String data = line.substring(6);
-                        if (data.equals("[DONE]")) {
-                            callback.onComplete();
-                            break;
-                        }
-                        try {
-                            com.fasterxml.jackson.databind.JsonNode jsonNode = new com.fasterxml.jackson.databind.ObjectMapper()
-                                    .readTree(data);
-                            String token = jsonNode.path("choices").get(0).path("delta").path("content").asText();
-                            if (!token.isEmpty()) {
-                                callback.onToken(token);
-                            }
-                        } catch (Exception e) {
-                            // 忽略解析错误
-                        }
-                    }
+            ObjectMapper objectMapper = llmHttpClient.getObjectMapper();
+            String jsonBody = objectMapper.writeValueAsString(requestBody);
+            // 关闭流即释放并发许可；取消时提前关闭会中止上游请求
+            InputStream stream = aliyun
+                    ? llmHttpClient.postJsonForStream(LlmHttpClient.PROVIDER_ALIYUN, aliyunGeneralApiUrl, aliyunGeneralApiKey, jsonBody)
+                    : llmHttpClient.postJsonForStream(LlmHttpClient.PROVIDER_OPENAI, baseUrl + "/chat/completions", apiKey, jsonBody);
+            try (InputStream responseStream = stream) {
+                SseChatStreamDecoder decoder = new SseChatStreamDecoder(objectMapper.getFactory());
+                if (decoder.decode(responseStream, callback) != SseChatStreamDecoder.Outcome.CANCELLED) {
+                    callback.onComplete();
                 }
             }
         } catch (Exception e) {
@@ -349,14 +323,13 @@ public class OpenAiLlmServiceImpl implements LlmService {
 
     @Override
     public List<Double> embedText(String text) {
-        // 实现文本嵌入逻辑
-        return new ArrayList<>();
+        // 经嵌入服务微批合并并缓存
+        return embeddingService.embed(text);
     }
 
     @Override
     public List<List<Double>> embedTexts(List<String> texts) {
-        // 实现批量文本嵌入逻辑
-        return new ArrayList<>();
+        return embeddingService.embedAll(texts);
     }
 
     @Override
@@ -675,7 +648,7 @@ public class OpenAiLlmServiceImpl implements LlmService {
         String requestBody = "{\"image\": \"" + encodedImage + "\", \"type\": \"" + imageType + "\"}";
 
         // 发送请求
-        String response = sendHttpRequest(edgeApiUrl + "/api/vision/process", "", requestBody);
+        String response = sendHttpRequest(LlmHttpClient.PROVIDER_EDGE, edgeApiUrl + "/api/vision/process", "", requestBody);
 
         // 解析响应
         result.setDescription("Processed by jarvis-edge");
@@ -699,7 +672,7 @@ public class OpenAiLlmServiceImpl implements LlmService {
         String requestBody = "{\"audio\": \"" + encodedAudio + "\", \"type\": \"" + audioType + "\"}";
 
         // 发送请求
-        String response = sendHttpRequest(edgeApiUrl + "/api/speech/process", "", requestBody);
+        String response = sendHttpRequest(LlmHttpClient.PROVIDER_EDGE, edgeApiUrl + "/api/speech/process", "", requestBody);
 
         // 解析响应
         result.setTranscript("Processed by jarvis-edge");
@@ -723,7 +696,7 @@ public class OpenAiLlmServiceImpl implements LlmService {
         String requestBody = "{\"video\": \"" + encodedVideo + "\", \"type\": \"" + videoType + "\"}";
 
         // 发送请求
-        String response = sendHttpRequest(edgeApiUrl + "/api/video/process", "", requestBody);
+        String response = sendHttpRequest(LlmHttpClient.PROVIDER_EDGE, edgeApiUrl + "/api/video/process", "", requestBody);
 
         // 解析响应
         result.setDescription("Processed by jarvis-edge");
@@ -851,7 +824,7 @@ public class OpenAiLlmServiceImpl implements LlmService {
                 "}";
 
         // 发送请求
-        String response = sendHttpRequest(fullModalApiUrl, fullModalApiKey, requestBody);
+        String response = sendHttpRequest(LlmHttpClient.PROVIDER_FULL_MODAL, fullModalApiUrl, fullModalApiKey, requestBody);
 
         // 处理响应
         result.setDescription("Processed by Full Modal Model: " + fullModalModel);
@@ -897,7 +870,7 @@ public class OpenAiLlmServiceImpl implements LlmService {
                 "}";
 
         // 发送请求
-        String response = sendHttpRequest(fullModalApiUrl, fullModalApiKey, requestBody);
+        String response = sendHttpRequest(LlmHttpClient.PROVIDER_FULL_MODAL, fullModalApiUrl, fullModalApiKey, requestBody);
 
         // 处理响应
         result.setTranscript("Processed by Full Modal Model: " + fullModalModel);
@@ -943,7 +916,7 @@ public class OpenAiLlmServiceImpl implements LlmService {
                 "}";
 
         // 发送请求
-        String response = sendHttpRequest(fullModalApiUrl, fullModalApiKey, requestBody);
+        String response = sendHttpRequest(LlmHttpClient.PROVIDER_FULL_MODAL, fullModalApiUrl, fullModalApiKey, requestBody);
 
         // 处理响应
         result.setDescription("Processed by Full Modal Model: " + fullModalModel);
@@ -960,36 +933,10 @@ public class OpenAiLlmServiceImpl implements LlmService {
     }
 
     /**
-     * 发送HTTP请求
+     * 发送HTTP请求（经由按提供方划分的连接池）
      */
-    private String sendHttpRequest(String url, String apiKey, String requestBody) throws Exception {
-        URL apiUrl = new URL(url);
-        HttpURLConnection connection = (HttpURLConnection) apiUrl.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json");
-
-        if (!apiKey.isEmpty()) {
-            connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-        }
-
-        connection.setDoOutput(true);
-
-        try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = requestBody.getBytes("utf-8");
-            os.write(input, 0, input.length);
-        }
-
-        // 读取响应
-        ByteArrayOutputStream responseBuffer = new ByteArrayOutputStream();
-        try (InputStream is = connection.getInputStream()) {
-            int nRead;
-            byte[] data = new byte[16384];
-            while ((nRead = is.read(data, 0, data.length)) != -1) {
-                responseBuffer.write(data, 0, nRead);
-            }
-        }
-
-        return responseBuffer.toString("utf-8");
+    private String sendHttpRequest(String provider, String url, String apiKey, String requestBody) throws Exception {
+        return llmHttpClient.postJson(provider, url, apiKey, requestBody);
     }
 
     @Override
@@ -0,0 +1,186 @@
+package com.skyeai.jarvis.llm.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 响应缓存测试：精确命中、TTL与容量淘汰、并发请求合并与等待超时、语义命中
+ */
+public class ResponseCacheTest {
+
+    private static final String MODEL = "gpt-4-turbo";
+    private static final String SYSTEM = "You are a helpful assistant";
+
+    @Test
+    public void testExactHitIgnoresWhitespaceAndWidth() throws Exception {
+        ResponseCache cache = new ResponseCache(10, 60_000, null, 0.95, 10, 5_000);
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = load(cache, messages("今天北京天气怎么样？"), calls);
+        String second = load(cache, messages("  今天北京天气怎么样?  "), calls);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+
+        load(cache, messages("明天北京天气怎么样？"), calls);
+        assertEquals(2, calls.get());
+        assertNotEquals(ResponseCache.key(MODEL, SYSTEM, messages("你好")),
+                ResponseCache.key("qwen-max", SYSTEM, messages("你好")));
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+    }
+
+    @Test
+    public void testTtlAndSizeBoundedEviction() throws Exception {
+        ResponseCache expiring = new ResponseCache(10, 0, null, 0.95, 10, 5_000);
+        AtomicInteger calls = new AtomicInteger();
+        load(expiring, messages("每日简报"), calls);
+        load(expiring, messages("每日简报"), calls);
+        assertEquals(2, calls.get());
+        assertEquals(1L, expiring.getStats().get("expirations"));
+
+        ResponseCache bounded = new ResponseCache(2, 60_000, null, 0.95, 10, 5_000);
+        calls.set(0);
+        load(bounded, messages("a"), calls);
+        load(bounded, messages("b"), calls);
+        load(bounded, messages("a"), calls);
+        load(bounded, messages("c"), calls);
+        // b 最久未使用，已被淘汰
+        load(bounded, messages("b"), calls);
+        assertEquals(4, calls.get());
+        assertEquals(2, bounded.size());
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsAreCoalesced() throws Exception {
+        ResponseCache cache = new ResponseCache(100, 60_000, null, 0.95, 10, 5_000);
+        AtomicInteger calls = new AtomicInteger();
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                List<Map<String, String>> messages = messages("给我今天的新闻摘要");
+                return cache.getOrLoad(ResponseCache.key(MODEL, SYSTEM, messages),
+                        ResponseCache.scope(MODEL, SYSTEM, messages), null, () -> {
+                            calls.incrementAndGet();
+                            Thread.sleep(200);
+                            return "摘要";
+                        });
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("摘要", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, calls.get());
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("misses"));
+        assertEquals((long) threads - 1, (long) stats.get("coalesced") + (long) stats.get("hits"));
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws Exception {
+        ResponseCache cache = new ResponseCache(10, 60_000, null, 0.95, 10, 5_000);
+        List<Map<String, String>> messages = messages("你好");
+        String key = ResponseCache.key(MODEL, SYSTEM, messages);
+        String scope = ResponseCache.scope(MODEL, SYSTEM, messages);
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad(key, scope, null, () -> {
+            throw new IllegalStateException("upstream unavailable");
+        }));
+        assertEquals("ok", cache.getOrLoad(key, scope, null, () -> "ok"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCoalescedWaiterTimesOutAndEvictsInFlight() throws Exception {
+        ResponseCache cache = new ResponseCache(10, 60_000, null, 0.95, 10, 100);
+        List<Map<String, String>> messages = messages("每日简报");
+        String key = ResponseCache.key(MODEL, SYSTEM, messages);
+        String scope = ResponseCache.scope(MODEL, SYSTEM, messages);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> stuck = executor.submit(() -> cache.getOrLoad(key, scope, null, () -> {
+            loading.countDown();
+            release.await();
+            return "slow";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TimeoutException.class, () -> cache.getOrLoad(key, scope, null, () -> "unused"));
+        assertEquals(0, cache.getStats().get("inFlight"));
+        // 挂起的请求已被移除，后续请求自行访问模型
+        assertEquals("fresh", cache.getOrLoad(key, scope, null, () -> "fresh"));
+
+        release.countDown();
+        assertEquals("slow", stuck.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSemanticTierMatchesSimilarPrompts() throws Exception {
+        // 以字符集合构造的简易嵌入：措辞相近的问题向量接近
+        ResponseCache cache = new ResponseCache(10, 60_000, ResponseCacheTest::charEmbedding, 0.9, 10, 5_000);
+        AtomicInteger calls = new AtomicInteger();
+        load(cache, messages("今天北京的天气怎么样"), calls);
+        load(cache, messages("今天北京天气怎么样"), calls);
+        assertEquals(1, calls.get());
+        assertEquals(1L, cache.getStats().get("semanticHits"));
+
+        load(cache, messages("帮我写一首关于秋天的诗"), calls);
+        assertEquals(2, calls.get());
+
+        // 上下文不同的对话不参与语义匹配
+        List<Map<String, String>> withHistory = new ArrayList<>(Arrays.asList(
+                Map.of("role", "user", "content", "我在上海"),
+                Map.of("role", "user", "content", "今天北京的天气怎么样")));
+        load(cache, withHistory, calls);
+        assertEquals(3, calls.get());
+    }
+
+    private static String load(ResponseCache cache, List<Map<String, String>> messages, AtomicInteger calls)
+            throws Exception {
+        String prompt = messages.get(messages.size() - 1).get("content");
+        return cache.getOrLoad(ResponseCache.key(MODEL, SYSTEM, messages), ResponseCache.scope(MODEL, SYSTEM, messages),
+                prompt, () -> "answer-" + calls.incrementAndGet());
+    }
+
+    private static List<Map<String, String>> messages(String prompt) {
+        return new ArrayList<>(Arrays.asList(Map.of("role", "system", "content", SYSTEM),
+                Map.of("role", "user", "content", prompt)));
+    }
+
+    private static List<Double> charEmbedding(String text) {
+        double[] vector = new double[64];
+        for (char c : text.toCharArray()) {
+            vector[c % 64] += 1;
+        }
+        List<Double> embedding = new ArrayList<>();
+        for (double value : vector) {
+            embedding.add(value);
+        }
+        return embedding;
+    }
+}
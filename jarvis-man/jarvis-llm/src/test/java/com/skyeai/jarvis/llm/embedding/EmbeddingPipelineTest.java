@@ -0,0 +1,219 @@
+package com.skyeai.jarvis.llm.embedding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.skyeai.jarvis.llm.http.LlmHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 嵌入微批、批量分块与缓存测试
+ */
+public class EmbeddingPipelineTest {
+
+    @Test
+    public void testConcurrentRequestsAreBatched() throws Exception {
+        AtomicInteger modelCalls = new AtomicInteger();
+        EmbeddingBatcher batcher = new EmbeddingBatcher(texts -> {
+            modelCalls.incrementAndGet();
+            Thread.sleep(20); // 模拟模型往返
+            List<List<Double>> result = new ArrayList<>();
+            for (String text : texts) {
+                result.add(Arrays.asList((double) text.length(), (double) text.hashCode()));
+            }
+            return result;
+        }, 32, 10, 2);
+
+        int requests = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<List<Double>>> futures = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            String text = "query-" + (i % 50);
+            texts.add(text);
+            CompletableFuture<List<Double>> future = new CompletableFuture<>();
+            futures.add(future);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    future.complete(batcher.submit(text).get(5, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+        start.countDown();
+        for (int i = 0; i < requests; i++) {
+            List<Double> embedding = futures.get(i).get(10, TimeUnit.SECONDS);
+            assertEquals((double) texts.get(i).hashCode(), embedding.get(1));
+        }
+        executor.shutdown();
+        batcher.close();
+
+        long batches = (Long) batcher.getStats().get("batches");
+        System.out.printf("Embedding batching: %d requests -> %d model calls, avg batch %.1f, max batch %s%n",
+                requests, modelCalls.get(), batcher.getStats().get("avgBatchSize"), batcher.getStats().get("maxBatchSize"));
+        assertEquals(batches, modelCalls.get());
+        assertTrue(modelCalls.get() < requests / 4, "requests were not batched: " + modelCalls.get());
+    }
+
+    @Test
+    public void testSubmitRacingCloseAlwaysCompletes() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            EmbeddingBatcher batcher = new EmbeddingBatcher(texts -> {
+                List<List<Double>> result = new ArrayList<>();
+                for (String text : texts) {
+                    result.add(Arrays.asList((double) text.length()));
+                }
+                return result;
+            }, 8, 1, 2);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<CompletableFuture<List<Double>>>> submitted = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String text = "text-" + i;
+                submitted.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return batcher.submit(text);
+                }, executor));
+            }
+            start.countDown();
+            batcher.close();
+            // 每个请求要么得到结果，要么以关闭异常结束，不能一直挂起
+            for (CompletableFuture<CompletableFuture<List<Double>>> future : submitted) {
+                CompletableFuture<List<Double>> result = future.get(5, TimeUnit.SECONDS);
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException, String.valueOf(e.getCause()));
+                }
+            }
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLruEvictionAndDiskTier() throws Exception {
+        Path directory = Files.createTempDirectory("embedding-cache");
+        EmbeddingCache cache = new EmbeddingCache(2, directory);
+        String a = EmbeddingCache.key("m", "a");
+        String b = EmbeddingCache.key("m", "b");
+        String c = EmbeddingCache.key("m", "c");
+        cache.put(a, Arrays.asList(1.0, 2.0));
+        cache.put(b, Arrays.asList(3.0, 4.0));
+        assertNotNull(cache.get(a));
+        cache.put(c, Arrays.asList(5.0, 6.0));
+        assertEquals(2, cache.size());
+
+        // b已从内存淘汰，从磁盘层读回
+        assertEquals(Arrays.asList(3.0, 4.0), cache.get(b));
+        assertEquals(1L, cache.getStats().get("diskHits"));
+
+        // 新实例仅凭磁盘层命中
+        EmbeddingCache reopened = new EmbeddingCache(2, directory);
+        assertEquals(Arrays.asList(5.0, 6.0), reopened.get(c));
+
+        EmbeddingCache memoryOnly = new EmbeddingCache(1, null);
+        memoryOnly.put(a, Arrays.asList(1.0));
+        memoryOnly.put(b, Arrays.asList(2.0));
+        assertNull(memoryOnly.get(a));
+        assertEquals(0.0, (Double) new EmbeddingCache(1, null).getStats().get("hitRate"));
+        assertTrue(!EmbeddingCache.key("m1", "a").equals(EmbeddingCache.key("m2", "a")));
+    }
+
+    @Test
+    public void testEmbedAllSplitsMissesIntoBatches() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/embeddings", exchange -> {
+            JsonNode input = objectMapper.readTree(exchange.getRequestBody()).path("input");
+            batchSizes.add(input.size());
+            // 按倒序返回，客户端需按 index 还原顺序
+            ObjectNode response = objectMapper.createObjectNode();
+            ArrayNode data = response.putArray("data");
+            for (int i = input.size() - 1; i >= 0; i--) {
+                String text = input.get(i).asText();
+                ObjectNode item = data.addObject();
+                item.put("index", i);
+                item.putArray("embedding").add((double) text.length()).add((double) text.hashCode());
+            }
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        LlmHttpClient llmHttpClient = new LlmHttpClient();
+        ReflectionTestUtils.setField(llmHttpClient, "connectTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(llmHttpClient, "requestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(llmHttpClient, "acquireTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(llmHttpClient, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(llmHttpClient, "ioThreads", 2);
+        llmHttpClient.init();
+
+        EmbeddingService embeddingService = new EmbeddingService();
+        ReflectionTestUtils.setField(embeddingService, "llmHttpClient", llmHttpClient);
+        ReflectionTestUtils.setField(embeddingService, "apiKey", "");
+        ReflectionTestUtils.setField(embeddingService, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(embeddingService, "model", "m");
+        ReflectionTestUtils.setField(embeddingService, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(embeddingService, "maxBatchSize", 4);
+        ReflectionTestUtils.setField(embeddingService, "maxWaitMs", 1L);
+        ReflectionTestUtils.setField(embeddingService, "maxInFlight", 1);
+        ReflectionTestUtils.setField(embeddingService, "cacheMaxEntries", 100);
+        embeddingService.init();
+        try {
+            List<String> texts = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                texts.add("text-" + i);
+            }
+            assertEquals((double) "text-3".hashCode(), embeddingService.embed("text-3").get(1));
+            batchSizes.clear();
+
+            List<List<Double>> embeddings = embeddingService.embedAll(texts);
+            // 命中缓存的 text-3 不再请求，其余 9 条按最多 4 条一批发送
+            assertEquals(Arrays.asList(4, 4, 1), batchSizes);
+            for (int i = 0; i < texts.size(); i++) {
+                assertEquals((double) texts.get(i).hashCode(), embeddings.get(i).get(1));
+            }
+            embeddingService.embedAll(texts);
+            assertEquals(3, batchSizes.size());
+        } finally {
+            embeddingService.shutdown();
+            llmHttpClient.shutdown();
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.skyeai.jarvis.llm.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 对比每次新建 HttpURLConnection 与连接池化 LlmHttpClient 的吞吐量和 p99 延迟
+ * 使用本地桩服务器模拟 /chat/completions
+ * 吞吐对比默认关闭，使用 -Dllm.benchmark=true 运行，结果通过 TestReporter 输出
+ */
+public class LlmHttpClientThroughputTest {
+
+    private static final String RESPONSE_BODY =
+            "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"你好，我是贾维斯\"}}]}";
+    private static final String REQUEST_BODY =
+            "{\"model\":\"gpt-4-turbo\",\"messages\":[{\"role\":\"user\",\"content\":\"今天天气怎么样\"}]}";
+
+    private static final int CONCURRENCY = 16;
+    private static final int REQUESTS = 2000;
+
+    private HttpServer server;
+    private String url;
+    private LlmHttpClient llmHttpClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // 关闭Nagle，避免桩服务器本身的延迟确认掩盖客户端差异
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.createContext("/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(CONCURRENCY));
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/chat/completions";
+
+        llmHttpClient = new LlmHttpClient();
+        ReflectionTestUtils.setField(llmHttpClient, "connectTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(llmHttpClient, "requestTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(llmHttpClient, "acquireTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(llmHttpClient, "maxConcurrent", CONCURRENCY);
+        ReflectionTestUtils.setField(llmHttpClient, "ioThreads", CONCURRENCY);
+        llmHttpClient.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        llmHttpClient.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testPooledClientReleasesPermits() throws Exception {
+        run(CONCURRENCY * 4, this::callWithPooledClient);
+        assertEquals(0, llmHttpClient.getPoolStats().get(LlmHttpClient.PROVIDER_OPENAI).get("inFlight"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "llm.benchmark", matches = "true")
+    public void benchmarkPooledClientThroughput(TestReporter reporter) throws Exception {
+        // 预热
+        run(REQUESTS / 10, this::callWithUrlConnection);
+        run(REQUESTS / 10, this::callWithPooledClient);
+
+        long[] baseline = run(REQUESTS, this::callWithUrlConnection);
+        long[] pooled = run(REQUESTS, this::callWithPooledClient);
+
+        reporter.publishEntry("HttpURLConnection(每次新建)", summary(baseline));
+        reporter.publishEntry("LlmHttpClient(连接池)", summary(pooled));
+
+        assertEquals(REQUESTS, baseline.length - 1);
+        assertEquals(REQUESTS, pooled.length - 1);
+    }
+
+    private String callWithUrlConnection() throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setDoOutput(true);
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write(REQUEST_BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (InputStream is = connection.getInputStream()) {
+            is.transferTo(buffer);
+        }
+        JsonNode jsonNode = new ObjectMapper().readTree(buffer.toString(StandardCharsets.UTF_8));
+        return jsonNode.path("choices").get(0).path("message").path("content").asText();
+    }
+
+    private String callWithPooledClient() throws Exception {
+        String response = llmHttpClient.postJson(LlmHttpClient.PROVIDER_OPENAI, url, "", REQUEST_BODY);
+        JsonNode jsonNode = llmHttpClient.getObjectMapper().readTree(response);
+        return jsonNode.path("choices").get(0).path("message").path("content").asText();
+    }
+
+    /**
+     * 并发执行请求，返回每个请求的耗时（纳秒），最后一个元素为总耗时
+     */
+    private long[] run(int requests, java.util.concurrent.Callable<String> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<Long>> futures = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> {
+                long begin = System.nanoTime();
+                String content = call.call();
+                assertEquals("你好，我是贾维斯", content);
+                return System.nanoTime() - begin;
+            }));
+        }
+        long[] latencies = new long[requests + 1];
+        for (int i = 0; i < requests; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        latencies[requests] = System.nanoTime() - start;
+        executor.shutdown();
+        return latencies;
+    }
+
+    private static String summary(long[] result) {
+        int requests = result.length - 1;
+        List<Long> latencies = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            latencies.add(result[i]);
+        }
+        Collections.sort(latencies);
+        double seconds = result[requests] / 1_000_000_000.0;
+        double p99Ms = latencies.get((int) Math.ceil(requests * 0.99) - 1) / 1_000_000.0;
+        return String.format("%.0f req/s, p99 %.2f ms", requests / seconds, p99Ms);
+    }
+}
@@ -0,0 +1,203 @@
+package com.skyeai.jarvis.llm.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyeai.jarvis.llm.service.LlmService.LlmStreamCallback;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 流式SSE解码器测试
+ * 回放一段 10k 个内容片段的对话流（按OpenAI流式响应格式生成），
+ * 对比旧实现（逐行 readLine + 每片段新建 ObjectMapper + readTree）与增量解码器的耗时和分配量
+ * 耗时对比默认关闭，使用 -Dllm.benchmark=true 运行，结果通过 TestReporter 输出
+ */
+public class SseChatStreamDecoderBenchmarkTest {
+
+    private static final int TOKENS = 10_000;
+    private static final int ROUNDS = 20;
+    private static final String[] WORDS = {"你好", "，", "我是", "贾维斯", "。", " the", " quick", " brown", " fox",
+            "\\n", " \\\"quoted\\\"", " 天气", "晴朗", " 42", "\\t", " emoji 😀"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testDecoderMatchesLegacyParser() throws Exception {
+        byte[] stream = recordedStream(TOKENS);
+        StringBuilder legacy = new StringBuilder();
+        legacyDecode(new ByteArrayInputStream(stream), collector(legacy));
+
+        StringBuilder decoded = new StringBuilder();
+        SseChatStreamDecoder decoder = new SseChatStreamDecoder(objectMapper.getFactory());
+        // 以很小的读块回放，覆盖跨读块的行和缓冲区扩容
+        SseChatStreamDecoder.Outcome outcome = decoder.decode(new TrickleInputStream(stream, 7), collector(decoded));
+
+        assertEquals(SseChatStreamDecoder.Outcome.DONE, outcome);
+        assertEquals(TOKENS, decoder.getTokenCount());
+        assertEquals(legacy.toString(), decoded.toString());
+    }
+
+    @Test
+    public void testCancellationStopsDecoding() throws Exception {
+        byte[] stream = recordedStream(TOKENS);
+        int[] received = {0};
+        LlmStreamCallback callback = new LlmStreamCallback() {
+            @Override
+            public void onToken(String token) {
+                received[0]++;
+            }
+
+            @Override
+            public void onComplete() {
+            }
+
+            @Override
+            public void onError(Exception e) {
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return received[0] >= 100;
+            }
+        };
+        SseChatStreamDecoder decoder = new SseChatStreamDecoder(objectMapper.getFactory());
+        assertEquals(SseChatStreamDecoder.Outcome.CANCELLED, decoder.decode(new ByteArrayInputStream(stream), callback));
+        assertEquals(100, received[0]);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "llm.benchmark", matches = "true")
+    public void benchmarkRecordedStream(TestReporter reporter) throws Exception {
+        byte[] stream = recordedStream(TOKENS);
+        LlmStreamCallback sink = collector(new StringBuilder());
+        // 预热
+        for (int i = 0; i < 5; i++) {
+            legacyDecode(new ByteArrayInputStream(stream), sink);
+            new SseChatStreamDecoder(objectMapper.getFactory()).decode(new ByteArrayInputStream(stream), sink);
+        }
+
+        long[] legacy = measure(() -> legacyDecode(new ByteArrayInputStream(stream), collector(new StringBuilder())));
+        long[] decoder = measure(() -> new SseChatStreamDecoder(objectMapper.getFactory())
+                .decode(new ByteArrayInputStream(stream), collector(new StringBuilder())));
+
+        reporter.publishEntry("SSE " + TOKENS + " tokens (" + stream.length / 1024 + " KB)", String.format(
+                "legacy %.2f ms/stream, %d KB alloc; decoder %.2f ms/stream, %d KB alloc",
+                legacy[0] / 1e6, legacy[1] / 1024, decoder[0] / 1e6, decoder[1] / 1024));
+    }
+
+    /**
+     * 旧实现：逐行读取，每个data片段新建ObjectMapper并构建JsonNode树
+     */
+    private void legacyDecode(InputStream in, LlmStreamCallback callback) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                if (line.startsWith("data: ")) {
+                    String data = line.substring(6);
+                    if (data.equals("[DONE]")) {
+                        callback.onComplete();
+                        break;
+                    }
+                    try {
+                        JsonNode jsonNode = new ObjectMapper().readTree(data);
+                        String token = jsonNode.path("choices").get(0).path("delta").path("content").asText();
+                        if (!token.isEmpty()) {
+                            callback.onToken(token);
+                        }
+                    } catch (Exception e) {
+                        // 忽略解析错误
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 返回 [每流平均耗时ns, 每流平均分配字节]
+     */
+    private long[] measure(StreamTask task) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocStart = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocStart;
+        return new long[]{elapsed / ROUNDS, allocated / ROUNDS};
+    }
+
+    /**
+     * 按OpenAI流式响应格式生成对话流：角色片段、内容片段、结束片段和 [DONE]
+     */
+    private byte[] recordedStream(int tokens) {
+        Random random = new Random(5);
+        StringBuilder sse = new StringBuilder();
+        String prefix = "data: {\"id\":\"chatcmpl-9x8Yq\",\"object\":\"chat.completion.chunk\",\"created\":1718000000,"
+                + "\"model\":\"gpt-4-turbo\",\"system_fingerprint\":\"fp_3bc1b5746c\",\"choices\":[{\"index\":0,";
+        sse.append(prefix).append("\"delta\":{\"role\":\"assistant\",\"content\":\"\"},\"logprobs\":null,\"finish_reason\":null}]}\n\n");
+        for (int i = 0; i < tokens; i++) {
+            sse.append(prefix).append("\"delta\":{\"content\":\"").append(WORDS[random.nextInt(WORDS.length)])
+                    .append("\"},\"logprobs\":null,\"finish_reason\":null}]}\n\n");
+            if (i % 1000 == 0) {
+                sse.append(": keep-alive\n\n");
+            }
+        }
+        sse.append(prefix).append("\"delta\":{},\"logprobs\":null,\"finish_reason\":\"stop\"}]}\n\n");
+        sse.append("data: [DONE]\n\n");
+        return sse.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private LlmStreamCallback collector(StringBuilder target) {
+        return new LlmStreamCallback() {
+            @Override
+            public void onToken(String token) {
+                target.append(token);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+
+            @Override
+            public void onError(Exception e) {
+            }
+        };
+    }
+
+    private interface StreamTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * 每次最多返回 chunk 字节的输入流
+     */
+    private static class TrickleInputStream extends FilterInputStream {
+        private final int chunk;
+
+        TrickleInputStream(byte[] data, int chunk) {
+            super(new ByteArrayInputStream(data));
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, chunk));
+        }
+    }
+}
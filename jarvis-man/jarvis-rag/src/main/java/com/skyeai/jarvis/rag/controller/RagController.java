@@ -4,7 +4,9 @@ import com.skyeai.jarvis.rag.service.RagService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/rag")
@@ -44,6 +46,33 @@ public class RagController {
         return ragService.fuseDocuments(query, documents);
     }
 
+    /**
+     * 写入文档关键词索引
+     * @param request 包含 id、content，可选 collectionName
+     * @return 写入结果
+     */
+    @PostMapping("/documents")
+    public Map<String, Object> indexDocument(@RequestBody Map<String, Object> request) {
+        String collectionName = (String) request.getOrDefault("collectionName", "documents");
+        String id = (String) request.get("id");
+        String content = (String) request.get("content");
+        ragService.indexDocument(collectionName, id, content);
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", id);
+        response.put("collectionName", collectionName);
+        return response;
+    }
+
+    /**
+     * 删除文档关键词索引
+     */
+    @DeleteMapping("/documents/{id}")
+    public boolean removeDocument(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "documents") String collectionName) {
+        return ragService.removeDocument(collectionName, id);
+    }
+
     /**
      * 健康检查
      * @return 健康状态
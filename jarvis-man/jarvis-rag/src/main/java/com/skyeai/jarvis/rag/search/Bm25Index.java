@@ -0,0 +1,214 @@
+package com.skyeai.jarvis.rag.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存BM25倒排索引（每个集合一份，与Qdrant集合并行维护）
+ * 读多写少，检索持读锁并发执行，写入持写锁
+ */
+public class Bm25Index {
+
+    private final float k1;
+    private final float b;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 词 -> (文档ID -> 词频)
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, IndexedDocument> documents = new HashMap<>();
+    private long totalLength;
+
+    public Bm25Index() {
+        this(1.2f, 0.75f);
+    }
+
+    public Bm25Index(float k1, float b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * 写入或覆盖文档
+     */
+    public void add(String id, String content) {
+        List<String> tokens = CjkTokenizer.tokenize(content);
+        Map<String, Integer> termFrequencies = termFrequencies(tokens);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, content, tokens.size(), termFrequencies);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 文档不存在时写入，重建索引时不覆盖期间已写入的新内容
+     * @return 是否写入
+     */
+    public boolean addIfAbsent(String id, String content) {
+        List<String> tokens = CjkTokenizer.tokenize(content);
+        Map<String, Integer> termFrequencies = termFrequencies(tokens);
+        lock.writeLock().lock();
+        try {
+            if (documents.containsKey(id)) {
+                return false;
+            }
+            addLocked(id, content, tokens.size(), termFrequencies);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 Top-K检索
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = CjkTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Map<String, Integer> queryFrequencies = new HashMap<>();
+        for (String term : queryTerms) {
+            queryFrequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new ArrayList<>();
+            }
+            float averageLength = totalLength / (float) documentCount;
+            Map<String, Float> scores = new HashMap<>();
+            for (Map.Entry<String, Integer> queryTerm : queryFrequencies.entrySet()) {
+                Map<String, Integer> termPostings = postings.get(queryTerm.getKey());
+                if (termPostings == null) {
+                    continue;
+                }
+                int df = termPostings.size();
+                float idf = (float) Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                float weight = idf * queryTerm.getValue();
+                for (Map.Entry<String, Integer> posting : termPostings.entrySet()) {
+                    int tf = posting.getValue();
+                    float norm = k1 * (1 - b + b * documents.get(posting.getKey()).length / averageLength);
+                    scores.merge(posting.getKey(), weight * tf * (k1 + 1) / (tf + norm), Float::sum);
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, (x, y) -> Float.compare(x.score, y.score));
+            for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                if (top.size() < limit) {
+                    top.add(new Hit(entry.getKey(), entry.getValue(), null));
+                } else if (entry.getValue() > top.peek().score) {
+                    top.poll();
+                    top.add(new Hit(entry.getKey(), entry.getValue(), null));
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Hit hit = top.poll();
+                hits.add(0, new Hit(hit.id, hit.score, documents.get(hit.id).content));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(List<String> tokens) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        return termFrequencies;
+    }
+
+    private void addLocked(String id, String content, int length, Map<String, Integer> termFrequencies) {
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+        }
+        documents.put(id, new IndexedDocument(content, length, termFrequencies.keySet()));
+        totalLength += length;
+    }
+
+    private boolean removeLocked(String id) {
+        IndexedDocument existing = documents.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        for (String term : existing.terms) {
+            Map<String, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length;
+        return true;
+    }
+
+    /**
+     * 检索命中
+     */
+    public static class Hit {
+        private final String id;
+        private final float score;
+        private final String content;
+
+        public Hit(String id, float score, String content) {
+            this.id = id;
+            this.score = score;
+            this.content = content;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+
+    private static class IndexedDocument {
+        final String content;
+        final int length;
+        final Iterable<String> terms;
+
+        IndexedDocument(String content, int length, Iterable<String> terms) {
+            this.content = content;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
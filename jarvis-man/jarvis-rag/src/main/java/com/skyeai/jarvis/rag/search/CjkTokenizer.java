@@ -0,0 +1,86 @@
+package com.skyeai.jarvis.rag.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 面向中英混合文本的分词器
+ * 拉丁字母和数字按连续片段切分并转小写，中日韩字符切成重叠二元组（单字片段保留单字），
+ * 无需词典即可让中文关键词命中
+ */
+public final class CjkTokenizer {
+
+    private CjkTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        int cjkStart = -1;
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            int next = i + Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                if (cjkStart < 0) {
+                    cjkStart = i;
+                }
+            } else {
+                if (cjkStart >= 0) {
+                    emitCjk(text, cjkStart, i, tokens);
+                    cjkStart = -1;
+                }
+                if (Character.isLetterOrDigit(codePoint)) {
+                    word.appendCodePoint(Character.toLowerCase(codePoint));
+                } else {
+                    flushWord(word, tokens);
+                }
+            }
+            i = next;
+        }
+        if (cjkStart >= 0) {
+            emitCjk(text, cjkStart, length, tokens);
+        }
+        flushWord(word, tokens);
+        return tokens;
+    }
+
+    private static void emitCjk(String text, int start, int end, List<String> tokens) {
+        int first = text.codePointAt(start);
+        int firstEnd = start + Character.charCount(first);
+        if (firstEnd >= end) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        int i = start;
+        while (i < end) {
+            int current = text.codePointAt(i);
+            int currentEnd = i + Character.charCount(current);
+            if (currentEnd >= end) {
+                break;
+            }
+            int following = text.codePointAt(currentEnd);
+            tokens.add(text.substring(i, currentEnd + Character.charCount(following)));
+            i = currentEnd;
+        }
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
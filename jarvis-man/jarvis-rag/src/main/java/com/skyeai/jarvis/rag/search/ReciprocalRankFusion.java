@@ -0,0 +1,34 @@
+package com.skyeai.jarvis.rag.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 倒数排名融合（RRF）：score(d) = Σ 1 / (k + rank_i(d))，rank 从1开始
+ * 只依赖名次，不需要对稠密检索和BM25的分数做归一化
+ */
+public final class ReciprocalRankFusion {
+
+    public static final int DEFAULT_K = 60;
+
+    private ReciprocalRankFusion() {
+    }
+
+    /**
+     * 融合多路有序ID列表
+     * @return 按融合分数降序排列的 (ID, 分数)
+     */
+    public static List<Map.Entry<String, Double>> fuse(List<List<String>> rankings, int k, int limit) {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (List<String> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                scores.merge(ranking.get(rank), 1.0 / (k + rank + 1), Double::sum);
+            }
+        }
+        List<Map.Entry<String, Double>> fused = new ArrayList<>(scores.entrySet());
+        fused.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        return fused.size() > limit ? new ArrayList<>(fused.subList(0, limit)) : fused;
+    }
+}
@@ -1,5 +1,9 @@
 package com.skyeai.jarvis.rag.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyeai.jarvis.rag.search.Bm25Index;
+import com.skyeai.jarvis.rag.search.ReciprocalRankFusion;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.QdrantGrpcClient;
 import io.qdrant.client.grpc.QdrantOuterClass;
@@ -8,9 +12,24 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class RagService {
@@ -27,10 +46,52 @@ public class RagService {
     @Value("${qdrant.api-key}")
     private String qdrantApiKey;
 
+    // 嵌入由jarvis-llm生成，服务端负责微批合并与缓存
+    @Value("${llm.service.url:http://localhost:8081}")
+    private String llmServiceUrl;
+
+    @Value("${llm.service.embed-timeout-ms:30000}")
+    private long embedTimeoutMs;
+
+    // 混合检索配置：每路召回 limit * candidateMultiplier 条候选后做RRF融合
+    @Value("${rag.hybrid.candidate-multiplier:4}")
+    private int candidateMultiplier;
+
+    @Value("${rag.hybrid.rrf-k:60}")
+    private int rrfK;
+
+    @Value("${rag.hybrid.threads:16}")
+    private int retrievalThreads;
+
+    // BM25索引只在内存中，启动时从这些Qdrant集合滚动读取content重建
+    @Value("${rag.hybrid.rebuild-collections:documents}")
+    private String[] rebuildCollections;
+
+    @Value("${rag.hybrid.rebuild-page-size:256}")
+    private int rebuildPageSize;
+
     private QdrantClient qdrantClient;
 
+    // 集合名 -> BM25倒排索引
+    private final Map<String, Bm25Index> sparseIndexes = new ConcurrentHashMap<>();
+
+    private ExecutorService retrievalExecutor;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @PostConstruct
     public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        this.retrievalExecutor = Executors.newFixedThreadPool(Math.max(2, retrievalThreads), r -> {
+            Thread thread = new Thread(r, "rag-retrieval-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
         // 初始化Qdrant客户端
         try {
             this.qdrantClient = new QdrantClient(
@@ -43,19 +104,105 @@ public class RagService {
             System.out.println("Qdrant client initialized successfully");
         } catch (Exception e) {
             System.err.println("Failed to initialize Qdrant client: " + e.getMessage());
+            return;
+        }
+
+        // 后台重建，期间关键词检索只覆盖已恢复的部分
+        for (String collectionName : rebuildCollections) {
+            if (!collectionName.isBlank()) {
+                retrievalExecutor.execute(() -> rebuildSparseIndex(collectionName.trim()));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (retrievalExecutor != null) {
+            retrievalExecutor.shutdownNow();
         }
     }
 
     /**
-     * 检索相关文档
+     * 将文档写入集合的BM25索引（与写入Qdrant的同一文档ID保持一致），重复写入时覆盖
+     * @param collectionName 集合名称
+     * @param id 文档ID
+     * @param content 文档内容
+     */
+    public void indexDocument(String collectionName, String id, String content) {
+        sparseIndexes.computeIfAbsent(collectionName, name -> new Bm25Index()).add(id, content);
+    }
+
+    /**
+     * 分页滚动读取Qdrant集合中所有点的content重建BM25索引
+     * 重建期间通过 indexDocument 写入的文档以新内容为准
+     * @param collectionName 集合名称
+     */
+    public void rebuildSparseIndex(String collectionName) {
+        Bm25Index index = sparseIndexes.computeIfAbsent(collectionName, name -> new Bm25Index());
+        int restored = 0;
+        PointId offset = null;
+        try {
+            do {
+                ScrollPoints.Builder request = ScrollPoints.newBuilder()
+                        .setCollectionName(collectionName)
+                        .setLimit(rebuildPageSize)
+                        .setWithPayload(WithPayloadSelector.newBuilder()
+                                .setInclude(PayloadIncludeSelector.newBuilder().addFields("content").build())
+                                .build());
+                if (offset != null) {
+                    request.setOffset(offset);
+                }
+                ScrollResponse response = qdrantClient.scroll(request.build());
+                for (RetrievedPoint point : response.getResultList()) {
+                    if (point.getPayloadMap().containsKey("content")
+                            && index.addIfAbsent(pointId(point.getId()), point.getPayloadMap().get("content").getStringValue())) {
+                        restored++;
+                    }
+                }
+                offset = response.hasNextPageOffset() ? response.getNextPageOffset() : null;
+            } while (offset != null);
+            System.out.println("Rebuilt BM25 index for " + collectionName + ": " + restored + " documents");
+        } catch (Exception e) {
+            System.err.println("Failed to rebuild BM25 index for " + collectionName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 从集合的BM25索引中删除文档
+     */
+    public boolean removeDocument(String collectionName, String id) {
+        Bm25Index index = sparseIndexes.get(collectionName);
+        return index != null && index.remove(id);
+    }
+
+    /**
+     * 检索相关文档（稠密向量检索与BM25并行执行，RRF融合）
      * @param query 查询文本
      * @param collectionName 集合名称
      * @param limit 检索数量
-     * @return 检索结果
+     * @return 检索结果，score为融合分数
      */
     public List<DocumentResult> retrieveDocuments(String query, String collectionName, int limit) {
+        int candidates = Math.max(limit, limit * candidateMultiplier);
+        // 两路并行，总耗时为两者中的较大值
+        CompletableFuture<List<DocumentResult>> denseFuture = CompletableFuture.supplyAsync(
+                () -> denseSearch(query, collectionName, candidates), retrievalExecutor);
+        CompletableFuture<List<DocumentResult>> sparseFuture = CompletableFuture.supplyAsync(
+                () -> sparseSearch(query, collectionName, candidates), retrievalExecutor);
+        try {
+            return fuseRankings(denseFuture.join(), sparseFuture.join(), limit);
+        } catch (Exception e) {
+            System.err.println("Failed to retrieve documents: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 稠密向量检索
+     */
+    private List<DocumentResult> denseSearch(String query, String collectionName, int limit) {
         try {
-            // 生成查询向量（实际应用中应该使用嵌入模型）
+            // 生成查询向量
             List<Float> queryVector = generateEmbedding(query);
 
             // 构建检索请求
@@ -74,19 +221,69 @@ public class RagService {
             List<DocumentResult> results = new ArrayList<>();
             for (ScoredPoint scoredPoint : response.getResultList()) {
                 DocumentResult result = new DocumentResult();
-                result.setId(scoredPoint.getId().getUuid());
+                result.setId(pointId(scoredPoint.getId()));
                 result.setScore(scoredPoint.getScore());
                 result.setPayload(scoredPoint.getPayloadMap());
+                if (scoredPoint.getPayloadMap().containsKey("content")) {
+                    result.setContent(scoredPoint.getPayloadMap().get("content").getStringValue());
+                }
                 results.add(result);
             }
 
             return results;
         } catch (Exception e) {
-            System.err.println("Failed to retrieve documents: " + e.getMessage());
+            System.err.println("Failed to search dense vectors: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * BM25关键词检索
+     */
+    private List<DocumentResult> sparseSearch(String query, String collectionName, int limit) {
+        Bm25Index index = sparseIndexes.get(collectionName);
+        List<DocumentResult> results = new ArrayList<>();
+        if (index == null) {
+            return results;
+        }
+        for (Bm25Index.Hit hit : index.search(query, limit)) {
+            DocumentResult result = new DocumentResult();
+            result.setId(hit.getId());
+            result.setScore(hit.getScore());
+            result.setContent(hit.getContent());
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * 按文档ID做倒数排名融合，同一文档优先保留稠密检索的payload
+     */
+    private List<DocumentResult> fuseRankings(List<DocumentResult> dense, List<DocumentResult> sparse, int limit) {
+        Map<String, DocumentResult> byId = new HashMap<>();
+        List<String> denseIds = new ArrayList<>(dense.size());
+        for (DocumentResult result : dense) {
+            denseIds.add(result.getId());
+            byId.putIfAbsent(result.getId(), result);
+        }
+        List<String> sparseIds = new ArrayList<>(sparse.size());
+        for (DocumentResult result : sparse) {
+            sparseIds.add(result.getId());
+            DocumentResult existing = byId.putIfAbsent(result.getId(), result);
+            if (existing != null && existing.getContent() == null) {
+                existing.setContent(result.getContent());
+            }
+        }
+
+        List<DocumentResult> fused = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : ReciprocalRankFusion.fuse(Arrays.asList(denseIds, sparseIds), rrfK, limit)) {
+            DocumentResult result = byId.get(entry.getKey());
+            result.setScore(entry.getValue().floatValue());
+            fused.add(result);
+        }
+        return fused;
+    }
+
     /**
      * 融合检索结果到上下文
      * @param query 查询文本
@@ -94,29 +291,51 @@ public class RagService {
      * @return 融合后的上下文
      */
     public String fuseDocuments(String query, List<DocumentResult> documents) {
-        StringBuilder context = new StringBuilder();
-        context.append("Query: " + query + "\n\n");
+        StringBuilder context = new StringBuilder(256);
+        context.append("Query: ").append(query).append("\n\n");
         context.append("Relevant Documents:\n");
 
         for (int i = 0; i < documents.size(); i++) {
             DocumentResult doc = documents.get(i);
-            context.append("Document " + (i + 1) + " (Score: " + doc.getScore() + "):\n");
-            context.append(doc.getPayload().get("content").getStringValue() + "\n\n");
+            context.append("Document ").append(i + 1).append(" (Score: ").append(doc.getScore()).append("):\n");
+            context.append(doc.getContent() == null ? "" : doc.getContent()).append("\n\n");
         }
 
         return context.toString();
     }
 
+    /**
+     * Qdrant点ID的字符串形式：UUID原样返回，整数ID转为十进制字符串，
+     * 稠密检索与BM25索引使用同一形式才能在融合时对上
+     */
+    static String pointId(PointId id) {
+        return id.hasNum() ? Long.toUnsignedString(id.getNum()) : id.getUuid();
+    }
+
     /**
      * 生成文本嵌入向量
      * @param text 文本
      * @return 嵌入向量
      */
-    private List<Float> generateEmbedding(String text) {
-        // 实际应用中应该使用嵌入模型，这里返回模拟向量
-        List<Float> vector = new ArrayList<>();
-        for (int i = 0; i < 1536; i++) {
-            vector.add((float) (Math.random() * 2 - 1));
+    private List<Float> generateEmbedding(String text) throws IOException, InterruptedException {
+        String requestBody = objectMapper.writeValueAsString(Map.of("text", text));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(llmServiceUrl + "/api/llm/embed"))
+                .timeout(Duration.ofMillis(embedTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Embedding service returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+
+        JsonNode embedding = objectMapper.readTree(response.body()).path("embedding");
+        if (!embedding.isArray() || embedding.isEmpty()) {
+            throw new IOException("Embedding service returned no vector");
+        }
+        List<Float> vector = new ArrayList<>(embedding.size());
+        for (JsonNode value : embedding) {
+            vector.add(value.floatValue());
         }
         return vector;
     }
@@ -128,6 +347,7 @@ public class RagService {
         private String id;
         private float score;
         private Map<String, Value> payload;
+        private String content;
 
         // Getters and Setters
         public String getId() {
@@ -153,5 +373,13 @@ public class RagService {
         public void setPayload(Map<String, Value> payload) {
             this.payload = payload;
         }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
     }
 }
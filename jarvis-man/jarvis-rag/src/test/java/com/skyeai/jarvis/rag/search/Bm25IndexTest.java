@@ -0,0 +1,71 @@
+package com.skyeai.jarvis.rag.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * BM25索引、中日韩分词与RRF融合测试
+ */
+public class Bm25IndexTest {
+
+    @Test
+    public void testTokenizerSplitsMixedText() {
+        assertEquals(Arrays.asList("贾维", "维斯", "斯支", "支持", "gpt", "4", "模型"),
+                CjkTokenizer.tokenize("贾维斯支持GPT-4模型"));
+        assertEquals(Arrays.asList("雨"), CjkTokenizer.tokenize("雨"));
+        assertTrue(CjkTokenizer.tokenize("  ，。!").isEmpty());
+    }
+
+    @Test
+    public void testKeywordQueryRanksExactMatchFirst() {
+        Bm25Index index = new Bm25Index();
+        index.add("doc-1", "贾维斯是一个个人智能助理，支持语音和图像输入");
+        index.add("doc-2", "Qdrant 是一个向量数据库，用于相似度检索");
+        index.add("doc-3", "订单号 A-20931 的退款申请已经受理");
+        index.add("doc-4", "今天北京天气晴朗，适合出行");
+
+        List<Bm25Index.Hit> hits = index.search("A-20931 退款", 2);
+        assertEquals("doc-3", hits.get(0).getId());
+        assertEquals("订单号 A-20931 的退款申请已经受理", hits.get(0).getContent());
+
+        assertEquals("doc-2", index.search("向量数据库", 1).get(0).getId());
+
+        // 覆盖写入后旧内容不再命中
+        index.add("doc-3", "订单已完成");
+        assertTrue(index.search("A-20931", 5).isEmpty());
+        assertTrue(index.remove("doc-4"));
+        assertEquals(3, index.size());
+        assertTrue(index.search("天气", 5).isEmpty());
+    }
+
+    @Test
+    public void testAddIfAbsentKeepsNewerContent() {
+        Bm25Index index = new Bm25Index();
+        index.add("doc-1", "订单已完成");
+        // 重建索引读到的旧内容不覆盖已写入的文档
+        assertFalse(index.addIfAbsent("doc-1", "订单号 A-20931 的退款申请已经受理"));
+        assertTrue(index.addIfAbsent("doc-2", "今天北京天气晴朗"));
+        assertEquals(2, index.size());
+        assertTrue(index.search("A-20931", 5).isEmpty());
+        assertEquals("doc-2", index.search("天气", 1).get(0).getId());
+    }
+
+    @Test
+    public void testReciprocalRankFusion() {
+        List<String> dense = Arrays.asList("a", "b", "c");
+        List<String> sparse = Arrays.asList("c", "d", "a");
+        List<Map.Entry<String, Double>> fused = ReciprocalRankFusion.fuse(Arrays.asList(dense, sparse),
+                ReciprocalRankFusion.DEFAULT_K, 3);
+        assertEquals(3, fused.size());
+        assertEquals("a", fused.get(0).getKey());
+        assertEquals("c", fused.get(1).getKey());
+        assertEquals(1.0 / 61 + 1.0 / 63, fused.get(0).getValue(), 1e-12);
+    }
+}
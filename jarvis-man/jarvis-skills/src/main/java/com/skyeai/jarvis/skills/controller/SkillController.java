@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Skill控制器
@@ -157,23 +158,28 @@ public class SkillController {
 
     /**
      * 执行Skill
+     * 以异步请求处理，等待执行期间不占用Servlet线程；被舱壁拒绝时返回503
      * @param skillId Skill ID
      * @param inputParameters 输入参数
      * @return SkillExecution对象
      */
     @PostMapping("/execute/{skillId}")
-    public ResponseEntity<SkillExecution> executeSkill(@PathVariable String skillId, 
+    public CompletableFuture<ResponseEntity<SkillExecution>> executeSkill(@PathVariable String skillId, 
                                                     @RequestBody Map<String, Object> inputParameters) {
         log.info("Executing skill: {}", skillId);
         try {
-            SkillExecution execution = skillService.executeSkill(skillId, inputParameters);
-            return ResponseEntity.ok(execution);
+            return skillService.submitSkill(skillId, inputParameters).thenApply(execution -> {
+                if ("REJECTED".equals(execution.getStatus())) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(execution);
+                }
+                return ResponseEntity.ok(execution);
+            });
         } catch (IllegalArgumentException e) {
             log.error("Error executing skill: {}", skillId, e);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
         } catch (Exception e) {
             log.error("Error executing skill: {}", skillId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         }
     }
 
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.HashMap;
 import java.util.List;
@@ -171,22 +172,43 @@ public class ToolController {
 
     /**
      * 批量执行工具
+     * 超时不使用全局的 spring.mvc.async.request-timeout，而是按依赖链长度和单个工具含重试的最长耗时计算，
+     * 保证批次在全部重试结束前不会被提前返回 503
      */
     @PostMapping("/execute/batch")
-    public ResponseEntity<Map<String, Object>> executeBatch(@RequestBody Map<String, Object> request) {
+    public DeferredResult<ResponseEntity<Map<String, Object>>> executeBatch(@RequestBody Map<String, Object> request) {
         try {
             List<Map<String, Object>> tasks = (List<Map<String, Object>>) request.get("tasks");
             log.info("批量执行工具: {} 个任务", tasks.size());
             
-            List<SkillExecution> results = toolAdapterService.executeBatch(tasks);
-            Map<String, Object> response = new HashMap<>();
-            response.put("results", results);
-            return ResponseEntity.ok(response);
+            long timeoutMillis = toolAdapterService.getBatchTimeoutMillis(tasks);
+            DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>(timeoutMillis);
+            result.onTimeout(() -> {
+                log.error("批量执行工具超时: {} ms", timeoutMillis);
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "批量执行工具超时: " + timeoutMillis + " ms");
+                result.setErrorResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse));
+            });
+            toolAdapterService.executeBatchAsync(tasks).whenComplete((results, error) -> {
+                if (error != null) {
+                    log.error("批量执行工具失败: {}", error.getMessage());
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("error", "批量执行工具失败: " + error.getMessage());
+                    result.setErrorResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse));
+                    return;
+                }
+                Map<String, Object> response = new HashMap<>();
+                response.put("results", results);
+                result.setResult(ResponseEntity.ok(response));
+            });
+            return result;
         } catch (Exception e) {
             log.error("批量执行工具失败: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "批量执行工具失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.badRequest().body(errorResponse));
+            return result;
         }
     }
 
@@ -8,50 +8,103 @@ import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
  * Skill执行引擎
  * 管理Skills的执行过程和生命周期
+ *
+ * 任务在固定大小的平台线程池中执行，线程数为 skills.execution.max-concurrent。
+ *
+ * 每个Skill有独立的舱壁：同时执行数不超过 per-skill-concurrency，超出的任务进入该Skill的有界等待队列，
+ * 队列满时直接拒绝（REJECTED），避免一个慢Skill耗尽全部资源。超时从提交时开始计算，
+ * 超时或取消时中断执行线程并释放舱壁名额。
  */
 @Slf4j
 @Component
 public class SkillExecutor {
 
+    private static final com.fasterxml.jackson.databind.ObjectMapper OBJECT_MAPPER =
+            new com.fasterxml.jackson.databind.ObjectMapper();
+
     @Value("${skills.execution.timeout-seconds:30}")
     private int timeoutSeconds;
 
     @Value("${skills.execution.max-concurrent:10}")
     private int maxConcurrent;
 
-    // 线程池
+    @Value("${skills.execution.per-skill-concurrency:50}")
+    private int perSkillConcurrency;
+
+    @Value("${skills.execution.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 执行线程
     private ExecutorService executorService;
 
-    // 执行中的任务
-    private final Map<String, CompletableFuture<SkillExecution>> runningTasks = new ConcurrentHashMap<>();
+    // 超时调度
+    private ScheduledExecutorService timeoutScheduler;
+
+    // 执行中（含排队）的任务
+    private final Map<String, SkillTask> runningTasks = new ConcurrentHashMap<>();
+
+    // 每个Skill的舱壁
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
 
     /**
      * 初始化方法，在 @Value 注入后执行
      */
     @jakarta.annotation.PostConstruct
     public void init() {
-        // 创建线程池
-        this.executorService = new ThreadPoolExecutor(
-                5, // 核心线程数
-                Math.max(5, maxConcurrent), // 确保最大线程数不小于核心线程数
-                60, TimeUnit.SECONDS, // 空闲线程存活时间
-                new LinkedBlockingQueue<>(), // 队列
-                new ThreadPoolExecutor.CallerRunsPolicy() // 拒绝策略
-        );
+        this.executorService = createExecutorService();
+        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "skill-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Skill executor started with {} threads, per-skill concurrency: {}, queue capacity: {}",
+                maxConcurrent, perSkillConcurrency, queueCapacity);
     }
 
     public SkillExecutor() {
         // 空构造函数
     }
 
+    /**
+     * 提交Skill执行，立即返回，不阻塞调用线程
+     * 返回的Future总是正常完成，结果状态为 SUCCESS / FAILED / TIMEOUT / CANCELLED / REJECTED 之一
+     * @param skill Skill对象
+     * @param inputParameters 输入参数
+     * @param executionFunction 执行函数
+     * @return 执行结果
+     */
+    public CompletableFuture<SkillExecution> submitSkill(Skill skill, Map<String, Object> inputParameters,
+                                                         Function<Map<String, Object>, Map<String, Object>> executionFunction) {
+        return submit(skill, inputParameters, executionFunction, timeoutSeconds, TimeUnit.SECONDS).result;
+    }
+
+    /**
+     * 提交Skill执行，使用调用方指定的超时；超时后任务被中断并以 TIMEOUT 状态完成
+     * @param timeout 超时时间，从提交时开始计算
+     * @param unit 超时时间单位
+     */
+    public CompletableFuture<SkillExecution> submitSkill(Skill skill, Map<String, Object> inputParameters,
+                                                         Function<Map<String, Object>, Map<String, Object>> executionFunction,
+                                                         long timeout, TimeUnit unit) {
+        return submit(skill, inputParameters, executionFunction, timeout, unit).result;
+    }
+
     /**
      * 执行Skill
      * @param skill Skill对象
@@ -59,79 +112,11 @@ public class SkillExecutor {
      * @param executionFunction 执行函数
      * @return SkillExecution对象
      */
-    public SkillExecution executeSkill(Skill skill, Map<String, Object> inputParameters, 
+    public SkillExecution executeSkill(Skill skill, Map<String, Object> inputParameters,
                                       Function<Map<String, Object>, Map<String, Object>> executionFunction) {
         log.info("Executing skill: {} version: {}", skill.getName(), skill.getVersion());
-
-        // 创建执行记录
-        SkillExecution execution = createExecutionRecord(skill, inputParameters);
-
-        // 提交任务
-        CompletableFuture<SkillExecution> future = CompletableFuture.supplyAsync(() -> {
-            try {
-                // 执行Skill
-                Map<String, Object> result = executionFunction.apply(inputParameters);
-
-                // 更新执行记录
-                execution.setStatus("SUCCESS");
-                execution.setOutputResult(mapToJson(result));
-                execution.setEndTime(LocalDateTime.now());
-                execution.setExecutionTimeMs(calculateExecutionTime(execution));
-
-                log.info("Skill executed successfully: {} version: {}", skill.getName(), skill.getVersion());
-            } catch (Exception e) {
-                log.error("Error executing skill: {} version: {}", skill.getName(), skill.getVersion(), e);
-
-                // 更新执行记录
-                execution.setStatus("FAILED");
-                execution.setErrorMessage(e.getMessage());
-                execution.setEndTime(LocalDateTime.now());
-                execution.setExecutionTimeMs(calculateExecutionTime(execution));
-            }
-
-            return execution;
-        }, executorService);
-
-        // 添加到运行任务
-        runningTasks.put(execution.getExecutionId(), future);
-
-        // 处理任务完成
-        future.thenAccept(completedExecution -> {
-            runningTasks.remove(execution.getExecutionId());
-            log.debug("Skill execution completed: {} status: {}", 
-                    completedExecution.getExecutionId(), completedExecution.getStatus());
-        });
-
-        try {
-            // 等待执行完成
-            return future.get(timeoutSeconds, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            log.error("Skill execution timeout: {} version: {}", skill.getName(), skill.getVersion());
-
-            // 更新执行记录
-            execution.setStatus("TIMEOUT");
-            execution.setErrorMessage("Execution timeout");
-            execution.setEndTime(LocalDateTime.now());
-            execution.setExecutionTimeMs(calculateExecutionTime(execution));
-
-            // 从运行任务移除
-            runningTasks.remove(execution.getExecutionId());
-
-            return execution;
-        } catch (Exception e) {
-            log.error("Error waiting for skill execution: {} version: {}", skill.getName(), skill.getVersion(), e);
-
-            // 更新执行记录
-            execution.setStatus("ERROR");
-            execution.setErrorMessage(e.getMessage());
-            execution.setEndTime(LocalDateTime.now());
-            execution.setExecutionTimeMs(calculateExecutionTime(execution));
-
-            // 从运行任务移除
-            runningTasks.remove(execution.getExecutionId());
-
-            return execution;
-        }
+        // 超时由调度线程保证，这里最多等待 timeoutSeconds
+        return submit(skill, inputParameters, executionFunction, timeoutSeconds, TimeUnit.SECONDS).result.join();
     }
 
     /**
@@ -141,94 +126,262 @@ public class SkillExecutor {
      * @param executionFunction 执行函数
      * @return 执行ID
      */
-    public String executeSkillAsync(Skill skill, Map<String, Object> inputParameters, 
+    public String executeSkillAsync(Skill skill, Map<String, Object> inputParameters,
                                    Function<Map<String, Object>, Map<String, Object>> executionFunction) {
         log.info("Executing skill asynchronously: {} version: {}", skill.getName(), skill.getVersion());
+        return submit(skill, inputParameters, executionFunction, timeoutSeconds, TimeUnit.SECONDS).execution.getExecutionId();
+    }
+
+    /**
+     * 获取执行状态
+     * @param executionId 执行ID
+     * @return SkillExecution对象
+     */
+    public SkillExecution getExecutionStatus(String executionId) {
+        SkillTask task = runningTasks.get(executionId);
+        if (task == null) {
+            return null;
+        }
+        if (task.result.isDone()) {
+            return task.result.join();
+        }
+        // 任务仍在排队或执行
+        SkillExecution execution = new SkillExecution();
+        execution.setExecutionId(executionId);
+        execution.setStatus(task.started ? "RUNNING" : "PENDING");
+        return execution;
+    }
+
+    /**
+     * 取消执行，正在执行的任务会被中断
+     * @param executionId 执行ID
+     * @return 是否取消成功
+     */
+    public boolean cancelExecution(String executionId) {
+        SkillTask task = runningTasks.get(executionId);
+        if (task != null && task.abort("CANCELLED", "Execution cancelled")) {
+            log.info("Skill execution cancelled: {}", executionId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 获取执行引擎状态：线程数、各Skill舱壁占用情况和拒绝/超时计数
+     */
+    public Map<String, Object> getExecutorStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("threads", Math.max(1, maxConcurrent));
+        stats.put("inFlight", runningTasks.size());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("timeouts", timeoutCount.get());
+        Map<String, Map<String, Integer>> skills = new HashMap<>();
+        bulkheads.forEach((name, bulkhead) -> skills.put(name, bulkhead.snapshot()));
+        stats.put("bulkheads", skills);
+        return stats;
+    }
 
+    private SkillTask submit(Skill skill, Map<String, Object> inputParameters,
+                             Function<Map<String, Object>, Map<String, Object>> executionFunction,
+                             long timeout, TimeUnit unit) {
         // 创建执行记录
         SkillExecution execution = createExecutionRecord(skill, inputParameters);
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(skill.getName(), name -> new Bulkhead());
+        SkillTask task = new SkillTask(skill, inputParameters, executionFunction, execution, bulkhead);
 
-        // 提交任务
-        CompletableFuture<SkillExecution> future = CompletableFuture.supplyAsync(() -> {
-            try {
-                // 执行Skill
-                Map<String, Object> result = executionFunction.apply(inputParameters);
-
-                // 更新执行记录
-                execution.setStatus("SUCCESS");
-                execution.setOutputResult(mapToJson(result));
-                execution.setEndTime(LocalDateTime.now());
-                execution.setExecutionTimeMs(calculateExecutionTime(execution));
-
-                log.info("Skill executed successfully: {} version: {}", skill.getName(), skill.getVersion());
-            } catch (Exception e) {
-                log.error("Error executing skill: {} version: {}", skill.getName(), skill.getVersion(), e);
-
-                // 更新执行记录
-                execution.setStatus("FAILED");
-                execution.setErrorMessage(e.getMessage());
-                execution.setEndTime(LocalDateTime.now());
-                execution.setExecutionTimeMs(calculateExecutionTime(execution));
+        // 添加到运行任务
+        runningTasks.put(execution.getExecutionId(), task);
+        task.timeout = timeoutScheduler.schedule(() -> {
+            if (task.abort("TIMEOUT", "Execution timeout")) {
+                timeoutCount.incrementAndGet();
+                log.error("Skill execution timeout: {} version: {}", skill.getName(), skill.getVersion());
             }
+        }, timeout, unit);
 
-            return execution;
-        }, executorService);
-
-        // 添加到运行任务
-        runningTasks.put(execution.getExecutionId(), future);
+        if (!bulkhead.offer(task)) {
+            rejectedCount.incrementAndGet();
+            log.warn("Skill execution rejected, bulkhead full: {} version: {}", skill.getName(), skill.getVersion());
+            task.finish("REJECTED", null, "Too many pending executions for skill: " + skill.getName());
+        }
+        return task;
+    }
 
-        // 处理任务完成
-        future.thenAccept(completedExecution -> {
-            runningTasks.remove(execution.getExecutionId());
-            log.debug("Skill execution completed: {} status: {}", 
-                    completedExecution.getExecutionId(), completedExecution.getStatus());
-        });
+    private void dispatch(SkillTask task) {
+        try {
+            executorService.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 执行引擎已关闭
+            task.finish("REJECTED", null, "Skill executor is shut down");
+            task.bulkhead.release();
+        }
+    }
 
-        return execution.getExecutionId();
+    private ExecutorService createExecutorService() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 舱壁已限制排队数量，线程池本身不再拒绝；核心线程数等于最大线程数，空闲时回收
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                Math.max(1, maxConcurrent), Math.max(1, maxConcurrent),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> new Thread(r, "skill-executor-" + threadIndex.incrementAndGet()));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
     }
 
     /**
-     * 获取执行状态
-     * @param executionId 执行ID
-     * @return SkillExecution对象
+     * 单个Skill的舱壁：限制同时执行数，超出的任务在有界队列中等待
+     * 等待中的任务不占用线程，前一个任务结束时才派发
      */
-    public SkillExecution getExecutionStatus(String executionId) {
-        CompletableFuture<SkillExecution> future = runningTasks.get(executionId);
-        if (future != null) {
-            if (future.isDone()) {
-                try {
-                    return future.get();
-                } catch (Exception e) {
-                    log.error("Error getting execution status: {}", executionId, e);
-                    return null;
+    private final class Bulkhead {
+
+        private final ArrayDeque<SkillTask> waiting = new ArrayDeque<>();
+        private int running;
+
+        /**
+         * 提交任务，队列已满时返回false
+         */
+        boolean offer(SkillTask task) {
+            synchronized (this) {
+                if (running >= perSkillConcurrency) {
+                    if (waiting.size() >= queueCapacity) {
+                        return false;
+                    }
+                    waiting.addLast(task);
+                    return true;
+                }
+                running++;
+            }
+            dispatch(task);
+            return true;
+        }
+
+        /**
+         * 任务结束时释放名额，并派发下一个等待中的任务
+         */
+        void release() {
+            SkillTask next;
+            synchronized (this) {
+                next = waiting.pollFirst();
+                if (next == null) {
+                    running--;
+                    return;
                 }
-            } else {
-                // 任务仍在执行
-                SkillExecution execution = new SkillExecution();
-                execution.setExecutionId(executionId);
-                execution.setStatus("RUNNING");
-                return execution;
             }
+            dispatch(next);
+        }
+
+        /**
+         * 从等待队列中移除已结束（超时或取消）的任务
+         */
+        synchronized void remove(SkillTask task) {
+            waiting.remove(task);
+        }
+
+        synchronized Map<String, Integer> snapshot() {
+            Map<String, Integer> snapshot = new HashMap<>();
+            snapshot.put("running", running);
+            snapshot.put("waiting", waiting.size());
+            return snapshot;
         }
-        return null;
     }
 
     /**
-     * 取消执行
-     * @param executionId 执行ID
-     * @return 是否取消成功
+     * 一次Skill执行：由执行线程、超时调度和取消请求竞争完成，先到者写入最终状态
      */
-    public boolean cancelExecution(String executionId) {
-        CompletableFuture<SkillExecution> future = runningTasks.get(executionId);
-        if (future != null && !future.isDone()) {
-            boolean cancelled = future.cancel(true);
-            if (cancelled) {
-                runningTasks.remove(executionId);
-                log.info("Skill execution cancelled: {}", executionId);
+    private final class SkillTask implements Runnable {
+
+        private final Skill skill;
+        private final Map<String, Object> inputParameters;
+        private final Function<Map<String, Object>, Map<String, Object>> executionFunction;
+        private final SkillExecution execution;
+        private final Bulkhead bulkhead;
+        private final CompletableFuture<SkillExecution> result = new CompletableFuture<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timeout;
+        private volatile boolean started;
+        // 正在执行该任务的线程，只在持有本对象锁时读写
+        private Thread runner;
+
+        SkillTask(Skill skill, Map<String, Object> inputParameters,
+                  Function<Map<String, Object>, Map<String, Object>> executionFunction,
+                  SkillExecution execution, Bulkhead bulkhead) {
+            this.skill = skill;
+            this.inputParameters = inputParameters;
+            this.executionFunction = executionFunction;
+            this.execution = execution;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (finished.get()) {
+                        return;
+                    }
+                    runner = Thread.currentThread();
+                }
+                started = true;
+                try {
+                    // 执行Skill
+                    Map<String, Object> output = executionFunction.apply(inputParameters);
+                    if (finish("SUCCESS", mapToJson(output), null)) {
+                        log.info("Skill executed successfully: {} version: {}", skill.getName(), skill.getVersion());
+                    }
+                } catch (Exception e) {
+                    if (finish("FAILED", null, e.getMessage())) {
+                        log.error("Error executing skill: {} version: {}", skill.getName(), skill.getVersion(), e);
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                // 清除超时/取消留下的中断标记，避免影响线程池中的下一个任务
+                Thread.interrupted();
+                bulkhead.release();
             }
-            return cancelled;
         }
-        return false;
+
+        /**
+         * 写入最终状态并完成Future，只有第一次调用生效
+         */
+        boolean finish(String status, String outputResult, String errorMessage) {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            execution.setStatus(status);
+            execution.setOutputResult(outputResult);
+            execution.setErrorMessage(errorMessage);
+            execution.setEndTime(LocalDateTime.now());
+            execution.setExecutionTimeMs(calculateExecutionTime(execution));
+
+            // 从运行任务移除
+            runningTasks.remove(execution.getExecutionId());
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            result.complete(execution);
+            log.debug("Skill execution completed: {} status: {}", execution.getExecutionId(), status);
+            return true;
+        }
+
+        /**
+         * 以超时或取消结束任务：排队中的任务直接出队，执行中的任务被中断
+         */
+        boolean abort(String status, String errorMessage) {
+            if (!finish(status, null, errorMessage)) {
+                return false;
+            }
+            bulkhead.remove(this);
+            synchronized (this) {
+                if (runner != null) {
+                    runner.interrupt();
+                }
+            }
+            return true;
+        }
     }
 
     /**
@@ -267,8 +420,7 @@ public class SkillExecutor {
      */
     private String mapToJson(Map<String, Object> map) {
         try {
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            return mapper.writeValueAsString(map);
+            return OBJECT_MAPPER.writeValueAsString(map);
         } catch (Exception e) {
             log.error("Error converting map to JSON", e);
             return "{}";
@@ -280,6 +432,7 @@ public class SkillExecutor {
      */
     public void shutdown() {
         log.info("Shutting down skill executor");
+        timeoutScheduler.shutdownNow();
         executorService.shutdown();
         try {
             if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
@@ -0,0 +1,310 @@
+package com.skyeai.jarvis.skills.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyeai.jarvis.skills.model.SkillExecution;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 工具调用依赖图
+ * 批量任务格式：
+ * {"id": "weather", "toolName": "http_client", "version": "1.0", "parameters": {...},
+ *  "dependsOn": ["geo"], "inputs": {"city": "geo.output.city"}}
+ * id 缺省为任务下标；inputs 把上游任务输出（outputResult 解析后的JSON）中的字段写入本任务参数，
+ * 引用格式为 "任务ID" 或 "任务ID.字段.子字段"（列表用数字下标），被引用的任务自动成为依赖。
+ * 没有依赖关系的任务并发执行，每个任务在其依赖全部完成后立即启动；上游未成功时下游标记为 SKIPPED，
+ * 未知依赖和循环依赖标记为 ERROR。结果按任务提交顺序返回。
+ */
+@Slf4j
+public class ToolCallGraph {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 单个工具调用的执行入口，返回的Future完成时即该调用结束
+     */
+    @FunctionalInterface
+    public interface ToolInvoker {
+        CompletableFuture<SkillExecution> invoke(String toolName, String version, Map<String, Object> parameters);
+    }
+
+    private final List<ToolCall> calls;
+    private final Map<String, ToolCall> callsById;
+
+    private ToolCallGraph(List<ToolCall> calls, Map<String, ToolCall> callsById) {
+        this.calls = calls;
+        this.callsById = callsById;
+    }
+
+    /**
+     * 解析批量任务并校验依赖关系
+     * @param tasks 任务列表
+     * @param defaultVersion 未指定版本时使用的工具版本
+     */
+    @SuppressWarnings("unchecked")
+    public static ToolCallGraph parse(List<Map<String, Object>> tasks, String defaultVersion) {
+        List<ToolCall> calls = new ArrayList<>(tasks.size());
+        Map<String, ToolCall> callsById = new HashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Map<String, Object> task = tasks.get(i);
+            Object id = task.get("id");
+            ToolCall call = new ToolCall(
+                    id != null ? id.toString() : String.valueOf(i),
+                    (String) task.get("toolName"),
+                    (String) task.getOrDefault("version", defaultVersion),
+                    (Map<String, Object>) task.getOrDefault("parameters", new HashMap<>()));
+
+            Object inputs = task.get("inputs");
+            if (inputs instanceof Map) {
+                ((Map<String, Object>) inputs).forEach((parameter, reference) -> {
+                    String ref = String.valueOf(reference);
+                    call.inputs.put(parameter, ref);
+                    call.dependsOn.add(referencedId(ref));
+                });
+            }
+            Object dependsOn = task.get("dependsOn");
+            if (dependsOn instanceof Collection) {
+                for (Object dependency : (Collection<Object>) dependsOn) {
+                    call.dependsOn.add(String.valueOf(dependency));
+                }
+            }
+
+            if (callsById.putIfAbsent(call.id, call) != null) {
+                call.error = "Duplicate task id: " + call.id;
+            }
+            calls.add(call);
+        }
+
+        for (ToolCall call : calls) {
+            if (call.error == null) {
+                for (String dependency : call.dependsOn) {
+                    if (!callsById.containsKey(dependency) || dependency.equals(call.id)) {
+                        call.error = "Unknown dependency: " + dependency;
+                        break;
+                    }
+                }
+            }
+        }
+        ToolCallGraph graph = new ToolCallGraph(calls, callsById);
+        graph.markCycles();
+        return graph;
+    }
+
+    /**
+     * 最长依赖链上的任务数（无依赖的批次为1），出错的任务不计入
+     */
+    public int depth() {
+        Map<String, Integer> levels = new HashMap<>();
+        int depth = 0;
+        for (ToolCall call : topologicalOrder()) {
+            int level = 1;
+            if (call.error == null) {
+                for (String dependency : call.dependsOn) {
+                    level = Math.max(level, levels.getOrDefault(dependency, 0) + 1);
+                }
+            }
+            levels.put(call.id, level);
+            depth = Math.max(depth, level);
+        }
+        return depth;
+    }
+
+    /**
+     * 执行依赖图
+     * @param invoker 工具调用入口
+     * @return 全部任务结束后完成，结果与任务一一对应
+     */
+    public CompletableFuture<List<SkillExecution>> execute(ToolInvoker invoker) {
+        Map<String, CompletableFuture<SkillExecution>> futures = new HashMap<>();
+        for (ToolCall call : topologicalOrder()) {
+            futures.put(call.id, schedule(call, futures, invoker));
+        }
+        List<CompletableFuture<SkillExecution>> ordered = new ArrayList<>(calls.size());
+        for (ToolCall call : calls) {
+            CompletableFuture<SkillExecution> future = futures.get(call.id);
+            // 重复ID的任务不参与调度
+            ordered.add(future != null && callsById.get(call.id) == call && call.error == null
+                    ? future : CompletableFuture.completedFuture(failure("ERROR", call.error)));
+        }
+        return CompletableFuture.allOf(ordered.toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<SkillExecution> results = new ArrayList<>(ordered.size());
+            for (CompletableFuture<SkillExecution> future : ordered) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    private CompletableFuture<SkillExecution> schedule(ToolCall call, Map<String, CompletableFuture<SkillExecution>> futures,
+                                                       ToolInvoker invoker) {
+        if (call.error != null) {
+            return CompletableFuture.completedFuture(failure("ERROR", call.error));
+        }
+        List<CompletableFuture<SkillExecution>> dependencies = new ArrayList<>(call.dependsOn.size());
+        for (String dependency : call.dependsOn) {
+            dependencies.add(futures.get(dependency));
+        }
+        return CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0])).thenCompose(v -> {
+            Map<String, SkillExecution> upstream = new HashMap<>();
+            for (String dependency : call.dependsOn) {
+                SkillExecution execution = futures.get(dependency).join();
+                if (execution == null || !"SUCCESS".equals(execution.getStatus())) {
+                    return CompletableFuture.completedFuture(failure("SKIPPED", "Dependency not successful: " + dependency));
+                }
+                upstream.put(dependency, execution);
+            }
+            try {
+                Map<String, Object> parameters = wireInputs(call, upstream);
+                return invoker.invoke(call.toolName, call.version, parameters)
+                        .exceptionally(e -> failure("ERROR", "Execution failed: " + rootMessage(e)));
+            } catch (Exception e) {
+                log.error("Error executing batch task for tool: {}", call.toolName, e);
+                return CompletableFuture.completedFuture(failure("ERROR", "Execution failed: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * 把上游输出写入参数
+     */
+    private Map<String, Object> wireInputs(ToolCall call, Map<String, SkillExecution> upstream) throws Exception {
+        if (call.inputs.isEmpty()) {
+            return call.parameters;
+        }
+        Map<String, Object> parameters = new HashMap<>(call.parameters);
+        Map<String, Object> outputs = new HashMap<>();
+        for (Map.Entry<String, String> input : call.inputs.entrySet()) {
+            String reference = input.getValue();
+            String id = referencedId(reference);
+            Object output = outputs.get(id);
+            if (output == null) {
+                String json = upstream.get(id).getOutputResult();
+                output = json == null ? Map.of() : OBJECT_MAPPER.readValue(json, Object.class);
+                outputs.put(id, output);
+            }
+            Object value = output;
+            if (reference.length() > id.length()) {
+                for (String key : reference.substring(id.length() + 1).split("\\.")) {
+                    value = child(value, key);
+                    if (value == null) {
+                        throw new IllegalArgumentException("Unresolved input " + input.getKey() + " <- " + reference);
+                    }
+                }
+            }
+            parameters.put(input.getKey(), value);
+        }
+        return parameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object child(Object value, String key) {
+        if (value instanceof Map) {
+            return ((Map<String, Object>) value).get(key);
+        }
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            try {
+                int index = Integer.parseInt(key);
+                return index >= 0 && index < list.size() ? list.get(index) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Kahn算法：未能排序的任务处于环上或依赖环上的任务
+     */
+    private void markCycles() {
+        Set<ToolCall> ordered = new LinkedHashSet<>(topologicalOrder());
+        for (ToolCall call : calls) {
+            if (call.error == null && !ordered.contains(call)) {
+                call.error = "Dependency cycle involving: " + call.id;
+            }
+        }
+    }
+
+    private List<ToolCall> topologicalOrder() {
+        Map<ToolCall, Integer> pending = new LinkedHashMap<>();
+        Map<String, List<ToolCall>> dependents = new HashMap<>();
+        for (ToolCall call : callsById.values()) {
+            if (call.error != null) {
+                // 出错的任务直接完成，其下游在调度时被标记为 SKIPPED
+                pending.put(call, 0);
+                continue;
+            }
+            pending.put(call, call.dependsOn.size());
+            for (String dependency : call.dependsOn) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(call);
+            }
+        }
+        ArrayDeque<ToolCall> ready = new ArrayDeque<>();
+        pending.forEach((call, count) -> {
+            if (count == 0) {
+                ready.add(call);
+            }
+        });
+        List<ToolCall> order = new ArrayList<>(pending.size());
+        while (!ready.isEmpty()) {
+            ToolCall call = ready.poll();
+            order.add(call);
+            for (ToolCall dependent : dependents.getOrDefault(call.id, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private static String referencedId(String reference) {
+        int dot = reference.indexOf('.');
+        return dot < 0 ? reference : reference.substring(0, dot);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause != cause.getCause()) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static SkillExecution failure(String status, String message) {
+        SkillExecution execution = new SkillExecution();
+        execution.setStatus(status);
+        execution.setErrorMessage(message);
+        execution.setEndTime(LocalDateTime.now());
+        return execution;
+    }
+
+    private static final class ToolCall {
+
+        final String id;
+        final String toolName;
+        final String version;
+        final Map<String, Object> parameters;
+        final Set<String> dependsOn = new LinkedHashSet<>();
+        final Map<String, String> inputs = new LinkedHashMap<>();
+        String error;
+
+        ToolCall(String id, String toolName, String version, Map<String, Object> parameters) {
+            this.id = id;
+            this.toolName = toolName;
+            this.version = version;
+            this.parameters = parameters;
+        }
+    }
+}
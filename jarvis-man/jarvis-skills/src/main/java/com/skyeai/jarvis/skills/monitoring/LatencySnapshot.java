@@ -0,0 +1,71 @@
+package com.skyeai.jarvis.skills.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 某个时间窗口内的延迟分布快照
+ */
+class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long failures;
+    private final long max;
+    private final long windowMillis;
+
+    LatencySnapshot(long[] counts, long count, long failures, long max, long windowMillis) {
+        this.counts = counts;
+        this.count = count;
+        this.failures = failures;
+        this.max = max;
+        this.windowMillis = windowMillis;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * 百分位延迟（毫秒），取所在桶的上界且不超过窗口内的最大值
+     * @param percentile 0-100
+     */
+    long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(SlidingWindowHistogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    double getRatePerSecond() {
+        return windowMillis > 0 ? count * 1000.0 / windowMillis : 0;
+    }
+
+    double getErrorRate() {
+        return count > 0 ? (double) failures / count * 100 : 0;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("ratePerSecond", getRatePerSecond());
+        map.put("errorRate", getErrorRate());
+        map.put("p50", getValueAtPercentile(50));
+        map.put("p95", getValueAtPercentile(95));
+        map.put("p99", getValueAtPercentile(99));
+        map.put("max", max);
+        return map;
+    }
+}
@@ -3,38 +3,54 @@ package com.skyeai.jarvis.skills.monitoring;
 import com.skyeai.jarvis.skills.model.Skill;
 import com.skyeai.jarvis.skills.model.SkillExecution;
 import com.skyeai.jarvis.skills.model.SkillMetric;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Skill监控系统
  * 监控Skills的执行状态、性能和错误率
+ * 除累计计数外，按最近1分钟/5分钟/1小时的滚动窗口统计执行速率、错误率和延迟百分位（p50/p95/p99/max），
+ * 并通过Micrometer导出到Prometheus。窗口包含当前未结束的时间槽，边界精度为一个槽（10秒/1分钟）。
  */
 @Slf4j
 @Component
 public class SkillMonitor {
 
+    // 滚动窗口：名称 -> 所用直方图（fine 为10秒槽，coarse 为1分钟槽）及槽数
+    private static final String[] WINDOWS = {"1m", "5m", "1h"};
+    private static final long FINE_SLOT_MILLIS = 10_000;
+    private static final long COARSE_SLOT_MILLIS = 60_000;
+    private static final double[] PERCENTILES = {50, 95, 99};
+    // 快照缓存时间，避免每次抓取都合并直方图
+    private static final long SNAPSHOT_TTL_MILLIS = 1_000;
+
     @Value("${skills.monitoring.metrics-interval:10}")
     private int metricsInterval;
 
-    // 执行计数器
-    private final Map<String, AtomicLong> executionCounter = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> successCounter = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> failureCounter = new ConcurrentHashMap<>();
-
-    // 性能指标
-    private final Map<String, AtomicLong> totalExecutionTime = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> lastExecutionTime = new ConcurrentHashMap<>();
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
 
-    // 错误统计
-    private final Map<String, Map<String, AtomicLong>> errorCounter = new ConcurrentHashMap<>();
+    // 每个Skill（名称:版本）的统计
+    private final Map<String, SkillStats> skillStats = new ConcurrentHashMap<>();
 
     /**
      * 记录执行开始
@@ -42,7 +58,7 @@ public class SkillMonitor {
      */
     public void recordExecutionStart(Skill skill) {
         String skillKey = getSkillKey(skill);
-        executionCounter.computeIfAbsent(skillKey, k -> new AtomicLong()).incrementAndGet();
+        statsFor(skillKey, skill).executions.increment();
         log.debug("Skill execution started: {}", skillKey);
     }
 
@@ -56,30 +72,41 @@ public class SkillMonitor {
         }
 
         String skillKey = getSkillKey(execution.getSkill());
+        SkillStats stats = statsFor(skillKey, execution.getSkill());
+        String status = execution.getStatus();
+
+        if ("REJECTED".equals(status)) {
+            // 被舱壁拒绝的执行没有运行，不计入延迟分布
+            stats.rejections.increment();
+            log.debug("Skill execution rejected: {}", skillKey);
+            return;
+        }
 
-        if ("SUCCESS".equals(execution.getStatus())) {
-            successCounter.computeIfAbsent(skillKey, k -> new AtomicLong()).incrementAndGet();
-        } else if ("FAILED".equals(execution.getStatus()) || "ERROR".equals(execution.getStatus())) {
-            failureCounter.computeIfAbsent(skillKey, k -> new AtomicLong()).incrementAndGet();
+        boolean failed = false;
+        if ("SUCCESS".equals(status)) {
+            stats.successes.increment();
+        } else if ("FAILED".equals(status) || "ERROR".equals(status) || "TIMEOUT".equals(status)) {
+            failed = true;
+            stats.failures.increment();
 
             // 记录错误
             if (execution.getErrorMessage() != null) {
                 String errorType = getErrorType(execution.getErrorMessage());
-                errorCounter.computeIfAbsent(skillKey, k -> new ConcurrentHashMap<>())
-                        .computeIfAbsent(errorType, k -> new AtomicLong())
-                        .incrementAndGet();
+                stats.errors.computeIfAbsent(errorType, k -> new LongAdder()).increment();
             }
         }
 
         // 记录执行时间
         if (execution.getExecutionTimeMs() != null) {
-            totalExecutionTime.computeIfAbsent(skillKey, k -> new AtomicLong())
-                    .addAndGet(execution.getExecutionTimeMs());
-            lastExecutionTime.computeIfAbsent(skillKey, k -> new AtomicLong())
-                    .set(execution.getExecutionTimeMs());
+            long executionTime = execution.getExecutionTimeMs();
+            long now = System.currentTimeMillis();
+            stats.totalExecutionTime.add(executionTime);
+            stats.lastExecutionTime = executionTime;
+            stats.fineWindow.record(executionTime, failed, now);
+            stats.coarseWindow.record(executionTime, failed, now);
         }
 
-        log.debug("Skill execution completed: {} status: {}", skillKey, execution.getStatus());
+        log.debug("Skill execution completed: {} status: {}", skillKey, status);
     }
 
     /**
@@ -88,34 +115,8 @@ public class SkillMonitor {
      * @return 统计信息
      */
     public Map<String, Object> getExecutionStats(Skill skill) {
-        String skillKey = getSkillKey(skill);
-
-        Map<String, Object> stats = new ConcurrentHashMap<>();
-        stats.put("totalExecutions", executionCounter.getOrDefault(skillKey, new AtomicLong()).get());
-        stats.put("successfulExecutions", successCounter.getOrDefault(skillKey, new AtomicLong()).get());
-        stats.put("failedExecutions", failureCounter.getOrDefault(skillKey, new AtomicLong()).get());
-
-        long totalExec = executionCounter.getOrDefault(skillKey, new AtomicLong()).get();
-        long successExec = successCounter.getOrDefault(skillKey, new AtomicLong()).get();
-        double successRate = totalExec > 0 ? (double) successExec / totalExec * 100 : 0;
-        stats.put("successRate", successRate);
-
-        long totalTime = totalExecutionTime.getOrDefault(skillKey, new AtomicLong()).get();
-        double avgExecutionTime = totalExec > 0 ? (double) totalTime / totalExec : 0;
-        stats.put("averageExecutionTimeMs", avgExecutionTime);
-        stats.put("lastExecutionTimeMs", lastExecutionTime.getOrDefault(skillKey, new AtomicLong()).get());
-
-        // 错误统计
-        Map<String, Long> errorStats = new ConcurrentHashMap<>();
-        Map<String, AtomicLong> skillErrors = errorCounter.get(skillKey);
-        if (skillErrors != null) {
-            for (Map.Entry<String, AtomicLong> entry : skillErrors.entrySet()) {
-                errorStats.put(entry.getKey(), entry.getValue().get());
-            }
-        }
-        stats.put("errors", errorStats);
-
-        return stats;
+        SkillStats stats = skillStats.get(getSkillKey(skill));
+        return toStatsMap(stats != null ? stats : SkillStats.EMPTY, System.currentTimeMillis());
     }
 
     /**
@@ -123,56 +124,68 @@ public class SkillMonitor {
      * @return 统计信息
      */
     public Map<String, Map<String, Object>> getAllExecutionStats() {
-        Map<String, Map<String, Object>> allStats = new ConcurrentHashMap<>();
-
-        for (String skillKey : executionCounter.keySet()) {
-            Map<String, Object> stats = new ConcurrentHashMap<>();
-            stats.put("totalExecutions", executionCounter.getOrDefault(skillKey, new AtomicLong()).get());
-            stats.put("successfulExecutions", successCounter.getOrDefault(skillKey, new AtomicLong()).get());
-            stats.put("failedExecutions", failureCounter.getOrDefault(skillKey, new AtomicLong()).get());
-
-            long totalExec = executionCounter.getOrDefault(skillKey, new AtomicLong()).get();
-            long successExec = successCounter.getOrDefault(skillKey, new AtomicLong()).get();
-            double successRate = totalExec > 0 ? (double) successExec / totalExec * 100 : 0;
-            stats.put("successRate", successRate);
-
-            long totalTime = totalExecutionTime.getOrDefault(skillKey, new AtomicLong()).get();
-            double avgExecutionTime = totalExec > 0 ? (double) totalTime / totalExec : 0;
-            stats.put("averageExecutionTimeMs", avgExecutionTime);
-            stats.put("lastExecutionTimeMs", lastExecutionTime.getOrDefault(skillKey, new AtomicLong()).get());
-
-            allStats.put(skillKey, stats);
-        }
-
+        Map<String, Map<String, Object>> allStats = new HashMap<>();
+        long now = System.currentTimeMillis();
+        skillStats.forEach((skillKey, stats) -> allStats.put(skillKey, toStatsMap(stats, now)));
         return allStats;
     }
 
     /**
-     * 生成性能指标
+     * 生成性能指标：最近1分钟的执行速率，标签中附带各窗口的延迟百分位
      * @param skill Skill对象
      * @return SkillMetric对象
      */
     public SkillMetric generateMetric(Skill skill) {
-        Map<String, Object> stats = getExecutionStats(skill);
+        SkillStats stats = skillStats.get(getSkillKey(skill));
+        Map<String, LatencySnapshot> windows = (stats != null ? stats : SkillStats.EMPTY)
+                .windows(System.currentTimeMillis());
 
         SkillMetric metric = new SkillMetric();
         metric.setSkill(skill);
         metric.setMetricName("execution_rate");
-        metric.setMetricValue((double) stats.getOrDefault("totalExecutions", 0L));
-        metric.setMetricUnit("executions");
-        metric.setMetricType("counter");
+        metric.setMetricValue(windows.get("1m").getRatePerSecond());
+        metric.setMetricUnit("executions/s");
+        metric.setMetricType("gauge");
+        metric.setTags(formatWindows(windows));
         metric.setCollectedAt(LocalDateTime.now());
 
         return metric;
     }
 
     /**
-     * 定期收集指标
+     * 生成所有Skill的性能指标：每个窗口的执行速率、错误率和延迟百分位各一条
+     * @return SkillMetric列表
+     */
+    public List<SkillMetric> generateAllMetrics() {
+        List<SkillMetric> metrics = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        LocalDateTime collectedAt = LocalDateTime.now();
+        for (SkillStats stats : skillStats.values()) {
+            for (Map.Entry<String, LatencySnapshot> entry : stats.windows(now).entrySet()) {
+                String tags = "window=" + entry.getKey();
+                LatencySnapshot window = entry.getValue();
+                metrics.add(metric(stats.skill, "execution_rate", window.getRatePerSecond(), "executions/s", tags, collectedAt));
+                metrics.add(metric(stats.skill, "error_rate", window.getErrorRate(), "percent", tags, collectedAt));
+                for (double percentile : PERCENTILES) {
+                    metrics.add(metric(stats.skill, "latency_p" + (int) percentile,
+                            (double) window.getValueAtPercentile(percentile), "ms", tags, collectedAt));
+                }
+                metrics.add(metric(stats.skill, "latency_max", (double) window.getMax(), "ms", tags, collectedAt));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * 定期收集指标：刷新各Skill的窗口快照，抓取和查询直接使用缓存
      */
-    @Scheduled(fixedRateString = "${skills.monitoring.metrics-interval:10000}")
+    @Scheduled(fixedRateString = "${skills.monitoring.metrics-interval:10}", timeUnit = TimeUnit.SECONDS)
     public void collectMetrics() {
         log.debug("Collecting skill metrics");
-        // 这里可以实现指标的持久化或发送到监控系统
+        long now = System.currentTimeMillis();
+        for (SkillStats stats : skillStats.values()) {
+            stats.refreshWindows(now);
+        }
     }
 
     /**
@@ -181,12 +194,10 @@ public class SkillMonitor {
      */
     public void resetStats(Skill skill) {
         String skillKey = getSkillKey(skill);
-        executionCounter.remove(skillKey);
-        successCounter.remove(skillKey);
-        failureCounter.remove(skillKey);
-        totalExecutionTime.remove(skillKey);
-        lastExecutionTime.remove(skillKey);
-        errorCounter.remove(skillKey);
+        SkillStats stats = skillStats.remove(skillKey);
+        if (stats != null) {
+            removeMeters(stats);
+        }
         log.info("Skill stats reset: {}", skillKey);
     }
 
@@ -194,15 +205,178 @@ public class SkillMonitor {
      * 重置所有统计
      */
     public void resetAllStats() {
-        executionCounter.clear();
-        successCounter.clear();
-        failureCounter.clear();
-        totalExecutionTime.clear();
-        lastExecutionTime.clear();
-        errorCounter.clear();
+        for (String skillKey : skillStats.keySet()) {
+            SkillStats stats = skillStats.remove(skillKey);
+            if (stats != null) {
+                removeMeters(stats);
+            }
+        }
         log.info("All skill stats reset");
     }
 
+    private SkillStats statsFor(String skillKey, Skill skill) {
+        SkillStats stats = skillStats.get(skillKey);
+        if (stats != null) {
+            return stats;
+        }
+        return skillStats.computeIfAbsent(skillKey, k -> {
+            SkillStats created = new SkillStats(skill);
+            registerMeters(created);
+            return created;
+        });
+    }
+
+    private Map<String, Object> toStatsMap(SkillStats stats, long now) {
+        long totalExec = stats.executions.sum();
+        long successExec = stats.successes.sum();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalExecutions", totalExec);
+        result.put("successfulExecutions", successExec);
+        result.put("failedExecutions", stats.failures.sum());
+        result.put("rejectedExecutions", stats.rejections.sum());
+        result.put("successRate", totalExec > 0 ? (double) successExec / totalExec * 100 : 0);
+        result.put("averageExecutionTimeMs", totalExec > 0 ? (double) stats.totalExecutionTime.sum() / totalExec : 0);
+        result.put("lastExecutionTimeMs", stats.lastExecutionTime);
+
+        // 错误统计
+        Map<String, Long> errorStats = new HashMap<>();
+        stats.errors.forEach((type, count) -> errorStats.put(type, count.sum()));
+        result.put("errors", errorStats);
+
+        // 滚动窗口统计
+        Map<String, Object> windowStats = new LinkedHashMap<>();
+        stats.windows(now).forEach((window, snapshot) -> windowStats.put(window, snapshot.toMap()));
+        result.put("windows", windowStats);
+        return result;
+    }
+
+    /**
+     * 注册到Micrometer：累计计数器，以及每个窗口的速率（每秒执行数）、错误率和延迟百分位（秒）
+     * 单位按Prometheus命名规范追加到指标名后，因此速率不设单位，延迟使用基本单位秒
+     */
+    private void registerMeters(SkillStats stats) {
+        if (meterRegistry == null || stats.skill == null) {
+            return;
+        }
+        Tags tags = Tags.of("skill", String.valueOf(stats.skill.getName()),
+                "version", String.valueOf(stats.skill.getVersion()));
+        stats.meters.add(FunctionCounter.builder("skill.executions", stats.executions, LongAdder::sum)
+                .tags(tags).description("Skill executions started").register(meterRegistry));
+        stats.meters.add(FunctionCounter.builder("skill.executions.succeeded", stats.successes, LongAdder::sum)
+                .tags(tags).description("Skill executions that succeeded").register(meterRegistry));
+        stats.meters.add(FunctionCounter.builder("skill.executions.failed", stats.failures, LongAdder::sum)
+                .tags(tags).description("Skill executions that failed or timed out").register(meterRegistry));
+        stats.meters.add(FunctionCounter.builder("skill.executions.rejected", stats.rejections, LongAdder::sum)
+                .tags(tags).description("Skill executions rejected by the bulkhead").register(meterRegistry));
+        for (String window : WINDOWS) {
+            Tags windowTags = tags.and("window", window);
+            stats.meters.add(Gauge.builder("skill.execution.rate", stats,
+                            s -> s.windows(System.currentTimeMillis()).get(window).getRatePerSecond())
+                    .tags(windowTags).description("Skill executions per second").register(meterRegistry));
+            stats.meters.add(Gauge.builder("skill.execution.error.rate", stats,
+                            s -> s.windows(System.currentTimeMillis()).get(window).getErrorRate())
+                    .tags(windowTags).baseUnit("percent").register(meterRegistry));
+            for (double percentile : PERCENTILES) {
+                stats.meters.add(Gauge.builder("skill.execution.latency", stats,
+                                s -> toSeconds(s.windows(System.currentTimeMillis()).get(window).getValueAtPercentile(percentile)))
+                        .tags(windowTags.and("quantile", String.valueOf(percentile / 100)))
+                        .baseUnit("seconds").register(meterRegistry));
+            }
+            stats.meters.add(Gauge.builder("skill.execution.latency", stats,
+                            s -> toSeconds(s.windows(System.currentTimeMillis()).get(window).getMax()))
+                    .tags(windowTags.and("quantile", "max"))
+                    .baseUnit("seconds").register(meterRegistry));
+        }
+    }
+
+    private static double toSeconds(long millis) {
+        return millis / 1000.0;
+    }
+
+    private void removeMeters(SkillStats stats) {
+        if (meterRegistry != null) {
+            for (Meter meter : stats.meters) {
+                meterRegistry.remove(meter);
+            }
+        }
+    }
+
+    private static SkillMetric metric(Skill skill, String name, Double value, String unit, String tags,
+                                      LocalDateTime collectedAt) {
+        SkillMetric metric = new SkillMetric();
+        metric.setSkill(skill);
+        metric.setMetricName(name);
+        metric.setMetricValue(value);
+        metric.setMetricUnit(unit);
+        metric.setMetricType("gauge");
+        metric.setTags(tags);
+        metric.setCollectedAt(collectedAt);
+        return metric;
+    }
+
+    private static String formatWindows(Map<String, LatencySnapshot> windows) {
+        StringBuilder tags = new StringBuilder();
+        windows.forEach((window, snapshot) -> {
+            if (tags.length() > 0) {
+                tags.append(';');
+            }
+            tags.append("window=").append(window)
+                    .append(",count=").append(snapshot.getCount())
+                    .append(",p50=").append(snapshot.getValueAtPercentile(50))
+                    .append(",p95=").append(snapshot.getValueAtPercentile(95))
+                    .append(",p99=").append(snapshot.getValueAtPercentile(99))
+                    .append(",max=").append(snapshot.getMax());
+        });
+        return tags.toString();
+    }
+
+    /**
+     * 单个Skill的统计：LongAdder 分段计数避免高并发下的争用，两个滑动窗口直方图分别覆盖5分钟和1小时
+     */
+    private static final class SkillStats {
+
+        static final SkillStats EMPTY = new SkillStats(null);
+
+        final Skill skill;
+        final LongAdder executions = new LongAdder();
+        final LongAdder successes = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder rejections = new LongAdder();
+        final LongAdder totalExecutionTime = new LongAdder();
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        volatile long lastExecutionTime;
+
+        final SlidingWindowHistogram fineWindow = new SlidingWindowHistogram(FINE_SLOT_MILLIS, 31);
+        final SlidingWindowHistogram coarseWindow = new SlidingWindowHistogram(COARSE_SLOT_MILLIS, 61);
+        final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+        private volatile Map<String, LatencySnapshot> cachedWindows;
+        private volatile long cachedAt;
+
+        SkillStats(Skill skill) {
+            this.skill = skill;
+        }
+
+        Map<String, LatencySnapshot> windows(long now) {
+            Map<String, LatencySnapshot> windows = cachedWindows;
+            if (windows == null || now - cachedAt > SNAPSHOT_TTL_MILLIS) {
+                windows = refreshWindows(now);
+            }
+            return windows;
+        }
+
+        Map<String, LatencySnapshot> refreshWindows(long now) {
+            Map<String, LatencySnapshot> windows = new LinkedHashMap<>();
+            windows.put("1m", fineWindow.snapshot(6, now));
+            windows.put("5m", fineWindow.snapshot(30, now));
+            windows.put("1h", coarseWindow.snapshot(60, now));
+            cachedWindows = windows;
+            cachedAt = now;
+            return windows;
+        }
+    }
+
     /**
      * 获取Skill键
      * @param skill Skill对象
@@ -0,0 +1,134 @@
+package com.skyeai.jarvis.skills.monitoring;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 滑动窗口延迟直方图
+ * 时间按固定长度分槽，槽组成环形数组，每个槽是一个对数线性分桶直方图（与 HdrHistogram 相同的分桶方式，
+ * 每个2的幂区间分16个子桶，相对误差不超过 1/16）。记录只做一次原子自增，查询时合并窗口内的槽。
+ * 槽在被新时间段复用时清零；与清零并发的少量记录可能计入新时间段，对监控用途可以接受。
+ */
+class SlidingWindowHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF;
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final long slotMillis;
+    private final Slot[] slots;
+
+    /**
+     * @param slotMillis 每个槽覆盖的时长
+     * @param slotCount 槽数，最长可查询 slotMillis * (slotCount - 1) 的窗口
+     */
+    SlidingWindowHistogram(long slotMillis, int slotCount) {
+        this.slotMillis = slotMillis;
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * 记录一次执行
+     * @param value 延迟（毫秒）
+     * @param failed 是否失败
+     * @param nowMillis 当前时间
+     */
+    void record(long value, boolean failed, long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        Slot slot = slots[(int) (epoch % slots.length)];
+        if (slot.epoch != epoch) {
+            slot.rotate(epoch);
+        }
+        slot.counts.incrementAndGet(bucketIndex(value));
+        if (failed) {
+            slot.failures.incrementAndGet();
+        }
+        long current;
+        while (value > (current = slot.max.get()) && !slot.max.compareAndSet(current, value)) {
+            // 重试直到写入更大的最大值
+        }
+    }
+
+    /**
+     * 合并最近 windowSlots 个槽（含当前槽）
+     */
+    LatencySnapshot snapshot(int windowSlots, long nowMillis) {
+        int window = Math.min(windowSlots, slots.length - 1);
+        long currentEpoch = nowMillis / slotMillis;
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        long failures = 0;
+        long max = 0;
+        for (Slot slot : slots) {
+            long epoch = slot.epoch;
+            if (epoch > currentEpoch - window && epoch <= currentEpoch) {
+                for (int i = 0; i < BUCKET_COUNT; i++) {
+                    int count = slot.counts.get(i);
+                    if (count != 0) {
+                        counts[i] += count;
+                        total += count;
+                    }
+                }
+                failures += slot.failures.get();
+                max = Math.max(max, slot.max.get());
+            }
+        }
+        return new LatencySnapshot(counts, total, failures, max, window * slotMillis);
+    }
+
+    long getSlotMillis() {
+        return slotMillis;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(0, value);
+        }
+        long clamped = Math.min(value, MAX_VALUE);
+        int exponent = 63 - Long.numberOfLeadingZeros(clamped);
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (clamped >>> shift);
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    /**
+     * 桶内的最大值，用作该桶的代表值
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int exponent = SUB_BUCKET_BITS + offset / SUB_BUCKET_HALF;
+        long subBucket = SUB_BUCKET_HALF + offset % SUB_BUCKET_HALF;
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static final class Slot {
+
+        private volatile long epoch = Long.MIN_VALUE;
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKET_COUNT);
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        synchronized void rotate(long newEpoch) {
+            if (epoch >= newEpoch) {
+                return;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0);
+            }
+            failures.set(0);
+            max.set(0);
+            epoch = newEpoch;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.skyeai.jarvis.skills.model.SkillMetric;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Skill服务接口
@@ -92,6 +94,25 @@ public interface SkillService {
      */
     String executeSkillAsync(String skillId, Map<String, Object> inputParameters);
 
+    /**
+     * 提交Skill执行，不阻塞调用线程
+     * @param skillId Skill ID
+     * @param inputParameters 输入参数
+     * @return 执行完成（含超时、取消、拒绝）时完成的Future
+     */
+    CompletableFuture<SkillExecution> submitSkill(String skillId, Map<String, Object> inputParameters);
+
+    /**
+     * 提交Skill执行并指定超时，超时后执行被取消（中断执行线程、释放舱壁名额），Future以 TIMEOUT 状态完成
+     * @param skillId Skill ID
+     * @param inputParameters 输入参数
+     * @param timeout 超时时间
+     * @param unit 超时时间单位
+     * @return 执行完成（含超时、取消、拒绝）时完成的Future
+     */
+    CompletableFuture<SkillExecution> submitSkill(String skillId, Map<String, Object> inputParameters,
+                                                  long timeout, TimeUnit unit);
+
     /**
      * 获取执行状态
      * @param executionId 执行ID
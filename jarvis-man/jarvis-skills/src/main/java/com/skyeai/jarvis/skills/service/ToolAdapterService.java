@@ -5,6 +5,7 @@ import com.skyeai.jarvis.skills.model.SkillExecution;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 工具适配器服务
@@ -77,6 +78,22 @@ public interface ToolAdapterService {
      */
     List<SkillExecution> executeBatch(List<Map<String, Object>> tasks);
     
+    /**
+     * 按依赖关系并发执行批量任务
+     * 任务可指定 id、dependsOn（依赖的任务ID列表）和 inputs（参数名到上游输出的引用，如 "search.output.url"），
+     * 无依赖关系的任务并发执行，上游未成功的任务被标记为 SKIPPED
+     * @param tasks 任务列表
+     * @return 全部任务结束后完成的Future，结果顺序与任务顺序一致
+     */
+    CompletableFuture<List<SkillExecution>> executeBatchAsync(List<Map<String, Object>> tasks);
+    
+    /**
+     * 批量任务的最长耗时：最长依赖链上的任务数 × 单个工具含全部重试和退避的最长耗时
+     * @param tasks 任务列表
+     * @return 毫秒
+     */
+    long getBatchTimeoutMillis(List<Map<String, Object>> tasks);
+    
     /**
      * 从YAML文件加载工具配置
      * @param yamlPath YAML文件路径
@@ -13,6 +13,8 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -104,27 +106,44 @@ public class SkillServiceImpl implements SkillService {
         // 记录执行开始
         skillMonitor.recordExecutionStart(skill);
 
-        // 创建执行函数
-        Function<Map<String, Object>, Map<String, Object>> executionFunction = params -> {
-            // 这里是Skill的具体执行逻辑
-            // 实际应用中，这里会调用具体的Skill实现
-            log.info("Executing skill: {} with parameters: {}", skill.getName(), params);
+        // 异步执行
+        String executionId = skillExecutor.executeSkillAsync(skill, inputParameters, createExecutionFunction(skill));
 
-            // 模拟执行结果
-            Map<String, Object> result = new java.util.HashMap<>();
-            result.put("status", "success");
-            result.put("message", "Skill executed successfully");
-            result.put("output", "Execution result");
-            result.put("skillName", skill.getName());
-            result.put("skillVersion", skill.getVersion());
+        return executionId;
+    }
 
-            return result;
-        };
+    @Override
+    public CompletableFuture<SkillExecution> submitSkill(String skillId, Map<String, Object> inputParameters) {
+        return submitSkill(skillId, inputParameters, skill ->
+                skillExecutor.submitSkill(skill, inputParameters, createExecutionFunction(skill)));
+    }
 
-        // 异步执行
-        String executionId = skillExecutor.executeSkillAsync(skill, inputParameters, executionFunction);
+    @Override
+    public CompletableFuture<SkillExecution> submitSkill(String skillId, Map<String, Object> inputParameters,
+                                                         long timeout, TimeUnit unit) {
+        return submitSkill(skillId, inputParameters, skill ->
+                skillExecutor.submitSkill(skill, inputParameters, createExecutionFunction(skill), timeout, unit));
+    }
 
-        return executionId;
+    private CompletableFuture<SkillExecution> submitSkill(String skillId, Map<String, Object> inputParameters,
+                                                          Function<Skill, CompletableFuture<SkillExecution>> submitter) {
+        Skill skill = getSkillById(skillId);
+        if (skill == null) {
+            throw new IllegalArgumentException("Skill not found: " + skillId);
+        }
+        if (!"ACTIVE".equals(skill.getStatus())) {
+            throw new IllegalStateException("Skill is not active: " + skill.getName());
+        }
+
+        // 记录执行开始
+        skillMonitor.recordExecutionStart(skill);
+
+        return submitter.apply(skill)
+                .thenApply(execution -> {
+                    // 记录执行完成
+                    skillMonitor.recordExecutionComplete(execution);
+                    return execution;
+                });
     }
 
     @Override
@@ -179,8 +198,7 @@ public class SkillServiceImpl implements SkillService {
 
     @Override
     public List<SkillMetric> getAllMetrics() {
-        // 实际应用中，这里会从数据库或监控系统获取所有指标
-        return List.of();
+        return skillMonitor.generateAllMetrics();
     }
 
     @Override
@@ -226,8 +244,22 @@ public class SkillServiceImpl implements SkillService {
         // 记录执行开始
         skillMonitor.recordExecutionStart(skill);
 
-        // 创建执行函数
-        Function<Map<String, Object>, Map<String, Object>> executionFunction = params -> {
+        // 执行Skill
+        SkillExecution execution = skillExecutor.executeSkill(skill, inputParameters, createExecutionFunction(skill));
+
+        // 记录执行完成
+        skillMonitor.recordExecutionComplete(execution);
+
+        return execution;
+    }
+
+    /**
+     * 创建执行函数
+     * @param skill Skill对象
+     * @return 执行函数
+     */
+    private Function<Map<String, Object>, Map<String, Object>> createExecutionFunction(Skill skill) {
+        return params -> {
             // 这里是Skill的具体执行逻辑
             // 实际应用中，这里会调用具体的Skill实现
             log.info("Executing skill: {} with parameters: {}", skill.getName(), params);
@@ -242,14 +274,6 @@ public class SkillServiceImpl implements SkillService {
 
             return result;
         };
-
-        // 执行Skill
-        SkillExecution execution = skillExecutor.executeSkill(skill, inputParameters, executionFunction);
-
-        // 记录执行完成
-        skillMonitor.recordExecutionComplete(execution);
-
-        return execution;
     }
 
 }
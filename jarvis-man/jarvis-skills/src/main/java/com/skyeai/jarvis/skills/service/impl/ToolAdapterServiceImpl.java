@@ -2,6 +2,7 @@ package com.skyeai.jarvis.skills.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.skyeai.jarvis.skills.execution.ToolCallGraph;
 import com.skyeai.jarvis.skills.model.Skill;
 import com.skyeai.jarvis.skills.model.SkillExecution;
 import com.skyeai.jarvis.skills.service.SkillService;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * 工具适配器服务实现类
@@ -39,12 +41,15 @@ public class ToolAdapterServiceImpl implements ToolAdapterService {
     @Value("${function-call.execution.retry-delay:1000}")
     private int retryDelay;
     
+    @Value("${function-call.execution.retry-max-delay:30000}")
+    private int retryMaxDelay;
+    
     // 工具注册表，支持版本管理
     private final Map<String, Map<String, Skill>> toolsByVersion = new HashMap<>();
     // 默认版本
     private static final String DEFAULT_VERSION = "1.0";
-    // 执行线程池
-    private final ExecutorService executorService;
+    // 定时任务线程（缓存清理、速率限制重置）
+    private final ScheduledExecutorService scheduler;
     // 工具执行结果缓存
     private final Map<String, SkillExecution> executionCache;
     // 缓存过期时间（毫秒）
@@ -57,22 +62,17 @@ public class ToolAdapterServiceImpl implements ToolAdapterService {
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
     
     public ToolAdapterServiceImpl() {
-        // 初始化线程池
-        this.executorService = Executors.newFixedThreadPool(10, new ThreadFactory() {
-            private final AtomicInteger counter = new AtomicInteger(0);
-            @Override
-            public Thread newThread(Runnable r) {
-                return new Thread(r, "tool-executor-" + counter.incrementAndGet());
-            }
-        });
-        
         // 初始化缓存
         this.executionCache = new ConcurrentHashMap<>();
         // 初始化调用计数器
         this.toolCallCounters = new ConcurrentHashMap<>();
         
         // 启动缓存清理任务
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tool-adapter-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
         scheduler.scheduleAtFixedRate(this::cleanupCache, 5, 5, TimeUnit.MINUTES);
         
         // 启动速率限制重置任务
@@ -248,22 +248,35 @@ public class ToolAdapterServiceImpl implements ToolAdapterService {
      * 执行指定版本的工具
      */
     public SkillExecution executeTool(String toolName, String version, Map<String, Object> parameters) {
+        try {
+            return executeToolAsync(toolName, version, parameters).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+    
+    /**
+     * 异步执行指定版本的工具，超时和重试都不占用等待线程
+     * @throws IllegalArgumentException 工具不存在
+     */
+    private CompletableFuture<SkillExecution> executeToolAsync(String toolName, String version, Map<String, Object> parameters) {
         // 检查速率限制
         if (!checkRateLimit(toolName)) {
             SkillExecution execution = new SkillExecution();
             execution.setStatus("ERROR");
             execution.setErrorMessage("Rate limit exceeded");
             execution.setEndTime(java.time.LocalDateTime.now());
-            return execution;
+            return CompletableFuture.completedFuture(execution);
         }
         
         // 生成缓存键
         String cacheKey = generateCacheKey(toolName, version, parameters);
         
         // 检查缓存
-        if (executionCache.containsKey(cacheKey)) {
+        SkillExecution cached = executionCache.get(cacheKey);
+        if (cached != null) {
             log.info("Using cached result for tool: {}", toolName);
-            return executionCache.get(cacheKey);
+            return CompletableFuture.completedFuture(cached);
         }
         
         // 获取工具
@@ -272,62 +285,66 @@ public class ToolAdapterServiceImpl implements ToolAdapterService {
             throw new IllegalArgumentException("Tool not found: " + toolName);
         }
         
-        // 执行工具（带超时和重试）
-        SkillExecution execution = executeWithRetry(skill, parameters);
-        
-        // 缓存结果
-        if (execution != null && "SUCCESS".equals(execution.getStatus())) {
-            executionCache.put(cacheKey, execution);
-        }
-        
-        return execution;
+        // 执行工具（带超时和重试），成功后缓存结果
+        return executeWithRetry(skill, parameters, 0).thenApply(execution -> {
+            if (execution != null && "SUCCESS".equals(execution.getStatus())) {
+                executionCache.put(cacheKey, execution);
+            }
+            return execution;
+        });
     }
     
     /**
      * 带重试的工具执行
+     * 超时、被拒绝（执行队列已满）和异常会重试，工具自身返回的失败不重试；
+     * 超时交给 SkillService 处理，超时的执行先被取消（中断并释放舱壁名额）再安排重试，不会与重试同时运行；
+     * 重试通过延迟调度实现，退避时间按指数增长并加入随机抖动，避免并发批次同时重试
      */
-    private SkillExecution executeWithRetry(Skill skill, Map<String, Object> parameters) {
-        int retries = 0;
-        while (retries <= maxRetries) {
-            try {
-                // 执行工具（带超时）
-                Future<SkillExecution> future = executorService.submit(() -> 
-                        skillService.executeSkill(skill.getId(), parameters)
-                );
-                
-                // 等待执行完成，设置超时
-                return future.get(executionTimeout, TimeUnit.SECONDS);
-            } catch (TimeoutException e) {
-                log.warn("Tool execution timed out: {}", skill.getName());
-                retries++;
-                if (retries <= maxRetries) {
-                    log.info("Retrying tool execution: {} ({} of {})", skill.getName(), retries, maxRetries);
-                    try {
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error executing tool: {}", skill.getName(), e);
-                retries++;
-                if (retries <= maxRetries) {
-                    log.info("Retrying tool execution: {} ({} of {})", skill.getName(), retries, maxRetries);
-                    try {
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
+    private CompletableFuture<SkillExecution> executeWithRetry(Skill skill, Map<String, Object> parameters, int retries) {
+        CompletableFuture<SkillExecution> attempt;
+        try {
+            attempt = skillService.submitSkill(skill.getId(), parameters, executionTimeout, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            attempt = CompletableFuture.failedFuture(e);
         }
         
-        // 重试失败
-        SkillExecution execution = new SkillExecution();
-        execution.setStatus("ERROR");
-            execution.setErrorMessage("Execution failed after " + maxRetries + " retries");
-            execution.setEndTime(java.time.LocalDateTime.now());
-        return execution;
+        return attempt.handle((execution, error) -> {
+            if (error == null && !isRetryable(execution)) {
+                return CompletableFuture.completedFuture(execution);
+            }
+            if (error != null) {
+                log.error("Error executing tool: {}", skill.getName(), error);
+            } else {
+                log.warn("Tool execution {}: {}", execution.getStatus(), skill.getName());
+            }
+            
+            if (retries >= maxRetries) {
+                // 重试失败
+                SkillExecution failed = new SkillExecution();
+                failed.setStatus("ERROR");
+                failed.setErrorMessage("Execution failed after " + maxRetries + " retries");
+                failed.setEndTime(java.time.LocalDateTime.now());
+                return CompletableFuture.completedFuture(failed);
+            }
+            long delay = backoffDelay(retries);
+            log.info("Retrying tool execution: {} ({} of {}) in {} ms", skill.getName(), retries + 1, maxRetries, delay);
+            Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+            return CompletableFuture.runAsync(() -> { }, delayed)
+                    .thenCompose(v -> executeWithRetry(skill, parameters, retries + 1));
+        }).thenCompose(Function.identity());
+    }
+    
+    private static boolean isRetryable(SkillExecution execution) {
+        return execution != null && ("TIMEOUT".equals(execution.getStatus()) || "REJECTED".equals(execution.getStatus()));
+    }
+    
+    /**
+     * 指数退避加抖动：retryDelay * 2^retries，封顶 retryMaxDelay，实际延迟在其一半到全额之间随机
+     */
+    private long backoffDelay(int retries) {
+        long delay = Math.min(retryMaxDelay, (long) retryDelay << Math.min(retries, 20));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
     }
     
     /**
@@ -344,26 +361,34 @@ public class ToolAdapterServiceImpl implements ToolAdapterService {
     /**
      * 批量执行工具
      */
+    @Override
     public List<SkillExecution> executeBatch(List<Map<String, Object>> tasks) {
-        List<SkillExecution> results = new ArrayList<>();
-        for (Map<String, Object> task : tasks) {
-            String toolName = (String) task.get("toolName");
-            String version = (String) task.getOrDefault("version", DEFAULT_VERSION);
-            Map<String, Object> parameters = (Map<String, Object>) task.getOrDefault("parameters", new HashMap<>());
-            
-            try {
-                SkillExecution execution = executeTool(toolName, version, parameters);
-                results.add(execution);
-            } catch (Exception e) {
-                log.error("Error executing batch task for tool: {}", toolName, e);
-                SkillExecution execution = new SkillExecution();
-                execution.setStatus("ERROR");
-                execution.setErrorMessage("Execution failed: " + e.getMessage());
-                execution.setEndTime(java.time.LocalDateTime.now());
-                results.add(execution);
-            }
+        return executeBatchAsync(tasks).join();
+    }
+    
+    /**
+     * 按依赖图并发执行批量任务，互不依赖的任务同时执行，总耗时取决于最长的依赖链而不是所有任务之和
+     */
+    @Override
+    public CompletableFuture<List<SkillExecution>> executeBatchAsync(List<Map<String, Object>> tasks) {
+        return ToolCallGraph.parse(tasks, DEFAULT_VERSION).execute(this::executeToolAsync);
+    }
+    
+    @Override
+    public long getBatchTimeoutMillis(List<Map<String, Object>> tasks) {
+        int depth = Math.max(1, ToolCallGraph.parse(tasks, DEFAULT_VERSION).depth());
+        return depth * maxExecutionMillis();
+    }
+    
+    /**
+     * 单个工具调用的最长耗时：maxRetries+1 次超时加上每次重试的最大退避
+     */
+    private long maxExecutionMillis() {
+        long total = executionTimeout * 1000L * (maxRetries + 1);
+        for (int retries = 0; retries < maxRetries; retries++) {
+            total += Math.min(retryMaxDelay, (long) retryDelay << Math.min(retries, 20));
         }
-        return results;
+        return total;
     }
     
     /**
@@ -506,14 +531,6 @@ public class ToolAdapterServiceImpl implements ToolAdapterService {
      * 关闭资源
      */
     public void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        scheduler.shutdownNow();
     }
 }
@@ -0,0 +1,90 @@
+package com.skyeai.jarvis.skills.execution;
+
+import com.skyeai.jarvis.skills.model.Skill;
+import com.skyeai.jarvis.skills.model.SkillExecution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Skill执行引擎基准：1万个同时提交的I/O型任务（每个阻塞 IO_MILLIS），对比不同线程数下的总耗时和峰值并发
+ * 默认关闭，使用 -Dskills.benchmark=true 运行
+ */
+public class SkillExecutorBenchmarkTest {
+
+    private static final int TASKS = 10_000;
+    private static final long IO_MILLIS = 50;
+
+    @Test
+    @EnabledIfSystemProperty(named = "skills.benchmark", matches = "true")
+    public void benchmarkConcurrentIoBoundSkills(TestReporter reporter) {
+        for (int threads : new int[]{10, 200, 1000}) {
+            SkillExecutor executor = executor(threads);
+            try {
+                AtomicInteger running = new AtomicInteger();
+                AtomicInteger peak = new AtomicInteger();
+                Skill skill = skill();
+                long start = System.nanoTime();
+                List<CompletableFuture<SkillExecution>> futures = new ArrayList<>(TASKS);
+                for (int i = 0; i < TASKS; i++) {
+                    futures.add(executor.submitSkill(skill, Map.of("i", i), input -> {
+                        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(IO_MILLIS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException(e);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                        return Map.of("ok", true);
+                    }));
+                }
+                int succeeded = 0;
+                for (CompletableFuture<SkillExecution> future : futures) {
+                    if ("SUCCESS".equals(future.join().getStatus())) {
+                        succeeded++;
+                    }
+                }
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                reporter.publishEntry("threads=" + threads,
+                        elapsedMs + " ms, " + TASKS * 1000L / Math.max(1, elapsedMs) + " tasks/s, peak concurrency " + peak.get());
+
+                assertEquals(TASKS, succeeded);
+                assertTrue(peak.get() <= threads);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static SkillExecutor executor(int threads) {
+        SkillExecutor executor = new SkillExecutor();
+        ReflectionTestUtils.setField(executor, "timeoutSeconds", 300);
+        ReflectionTestUtils.setField(executor, "maxConcurrent", threads);
+        ReflectionTestUtils.setField(executor, "perSkillConcurrency", TASKS);
+        ReflectionTestUtils.setField(executor, "queueCapacity", TASKS);
+        executor.init();
+        return executor;
+    }
+
+    private static Skill skill() {
+        Skill skill = new Skill();
+        skill.setId("io-bound");
+        skill.setName("io-bound");
+        skill.setVersion("1.0");
+        skill.setStatus("ACTIVE");
+        return skill;
+    }
+}
@@ -0,0 +1,148 @@
+package com.skyeai.jarvis.skills.execution;
+
+import com.skyeai.jarvis.skills.model.SkillExecution;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 工具调用依赖图测试：无依赖任务同时启动、上游输出写入下游参数、失败传播、未知依赖与循环依赖、依赖链深度
+ */
+public class ToolCallGraphTest {
+
+    @Test
+    public void testIndependentCallsStartTogether() throws Exception {
+        List<Map<String, Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(task(null, "search", Map.of("q", i)));
+        }
+        // 调用入口只登记不完成：若任务串行执行，第一个调用结束前不会出现第二个调用
+        Map<Object, CompletableFuture<SkillExecution>> inFlight = new ConcurrentHashMap<>();
+        CompletableFuture<List<SkillExecution>> batch = ToolCallGraph.parse(tasks, "1.0").execute((tool, version, parameters) -> {
+            CompletableFuture<SkillExecution> future = new CompletableFuture<>();
+            inFlight.put(parameters.get("q"), future);
+            return future;
+        });
+
+        assertEquals(20, inFlight.size());
+        assertFalse(batch.isDone());
+        inFlight.forEach((q, future) -> future.complete(success("{\"q\":" + q + "}")));
+
+        List<SkillExecution> results = batch.get(5, TimeUnit.SECONDS);
+        assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            // 结果按提交顺序返回
+            assertEquals("{\"q\":" + i + "}", results.get(i).getOutputResult());
+        }
+        assertEquals(1, ToolCallGraph.parse(tasks, "1.0").depth());
+    }
+
+    @Test
+    public void testInputsWireUpstreamOutputAndWaitForIt() throws Exception {
+        List<Map<String, Object>> tasks = List.of(
+                task("geo", "geocode", Map.of("address", "北京")),
+                task("weather", "http_client", Map.of("unit", "c"), Map.of("city", "geo.result.cities.0")));
+        Map<String, CompletableFuture<SkillExecution>> started = new ConcurrentHashMap<>();
+        Map<String, Map<String, Object>> received = new ConcurrentHashMap<>();
+        CompletableFuture<List<SkillExecution>> batch = ToolCallGraph.parse(tasks, "1.0").execute((tool, version, parameters) -> {
+            CompletableFuture<SkillExecution> future = new CompletableFuture<>();
+            started.put(tool, future);
+            received.put(tool, parameters);
+            return future;
+        });
+
+        // 下游在上游完成前不启动
+        assertEquals(List.of("geocode"), new ArrayList<>(started.keySet()));
+        started.get("geocode").complete(success("{\"result\":{\"cities\":[\"Beijing\",\"Tianjin\"]}}"));
+        assertTrue(started.containsKey("http_client"));
+        assertEquals(Map.of("unit", "c", "city", "Beijing"), received.get("http_client"));
+
+        started.get("http_client").complete(success("{}"));
+        List<SkillExecution> results = batch.get(5, TimeUnit.SECONDS);
+        assertEquals("SUCCESS", results.get(1).getStatus());
+        assertEquals(2, ToolCallGraph.parse(tasks, "1.0").depth());
+    }
+
+    @Test
+    public void testFailedUpstreamSkipsDependents() throws Exception {
+        List<Map<String, Object>> tasks = List.of(
+                task("a", "fails", Map.of()),
+                task("b", "never", Map.of(), Map.of("x", "a.value")),
+                task("c", "independent", Map.of()));
+        List<String> invoked = new ArrayList<>();
+        List<SkillExecution> results = ToolCallGraph.parse(tasks, "1.0").execute((tool, version, parameters) -> {
+            synchronized (invoked) {
+                invoked.add(tool);
+            }
+            if ("fails".equals(tool)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+            }
+            return CompletableFuture.completedFuture(success("{}"));
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals("ERROR", results.get(0).getStatus());
+        assertEquals("Execution failed: boom", results.get(0).getErrorMessage());
+        assertEquals("SKIPPED", results.get(1).getStatus());
+        assertEquals("SUCCESS", results.get(2).getStatus());
+        assertFalse(invoked.contains("never"));
+    }
+
+    @Test
+    public void testUnknownAndCyclicDependenciesAreErrors() throws Exception {
+        Map<String, Object> unknown = task("u", "tool", Map.of());
+        unknown.put("dependsOn", List.of("missing"));
+        Map<String, Object> x = task("x", "tool", Map.of());
+        x.put("dependsOn", List.of("y"));
+        Map<String, Object> y = task("y", "tool", Map.of());
+        y.put("dependsOn", List.of("x"));
+        Map<String, Object> downstream = task("z", "tool", Map.of());
+        downstream.put("dependsOn", List.of("x"));
+
+        List<String> invoked = new ArrayList<>();
+        ToolCallGraph graph = ToolCallGraph.parse(List.of(unknown, x, y, downstream), "1.0");
+        List<SkillExecution> results = graph.execute((tool, version, parameters) -> {
+            invoked.add(tool);
+            return CompletableFuture.completedFuture(success("{}"));
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Unknown dependency: missing", results.get(0).getErrorMessage());
+        assertEquals("Dependency cycle involving: x", results.get(1).getErrorMessage());
+        assertEquals("Dependency cycle involving: y", results.get(2).getErrorMessage());
+        assertEquals("ERROR", results.get(3).getStatus());
+        assertTrue(invoked.isEmpty());
+    }
+
+    private static Map<String, Object> task(String id, String toolName, Map<String, Object> parameters) {
+        Map<String, Object> task = new HashMap<>();
+        if (id != null) {
+            task.put("id", id);
+        }
+        task.put("toolName", toolName);
+        task.put("parameters", parameters);
+        return task;
+    }
+
+    private static Map<String, Object> task(String id, String toolName, Map<String, Object> parameters,
+                                            Map<String, Object> inputs) {
+        Map<String, Object> task = task(id, toolName, parameters);
+        task.put("inputs", inputs);
+        return task;
+    }
+
+    private static SkillExecution success(String output) {
+        SkillExecution execution = new SkillExecution();
+        execution.setStatus("SUCCESS");
+        execution.setOutputResult(output);
+        return execution;
+    }
+}
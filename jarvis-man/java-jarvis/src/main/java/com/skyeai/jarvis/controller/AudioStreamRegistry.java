@@ -0,0 +1,93 @@
+package com.skyeai.jarvis.controller;
+
+import api.EdgeServiceGrpc;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 每个 WebSocket 会话当前的音频流
+ * 识别结束（完成、出错或取消）后流从表中移除；因积压被取消的流仍留在表中作为已取消标记，
+ * 其后的分片被丢弃，避免按默认参数开始新的识别，直到 audio_end 或新的 audio_start。
+ */
+class AudioStreamRegistry {
+
+    private final ConcurrentHashMap<String, AudioStreamSession> streams = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Supplier<EdgeServiceGrpc.EdgeServiceStub> edgeServiceStub;
+
+    /**
+     * @param edgeServiceStub 边缘服务客户端，开始音频流时获取（gRPC 客户端在控制器创建后才注入）
+     */
+    AudioStreamRegistry(ObjectMapper objectMapper, Supplier<EdgeServiceGrpc.EdgeServiceStub> edgeServiceStub) {
+        this.objectMapper = objectMapper;
+        this.edgeServiceStub = edgeServiceStub;
+    }
+
+    /**
+     * 开始一个音频流，同一会话中未结束的上一个流先结束输入
+     */
+    AudioStreamSession start(WebSocketSession session, JsonNode jsonNode, String defaultFormat,
+                             boolean partialResults, long maxPendingBytes) {
+        String model = jsonNode.has("model") ? jsonNode.get("model").asText() : "aliyun";
+        String format = jsonNode.has("format") ? jsonNode.get("format").asText() : defaultFormat;
+        int sampleRate = jsonNode.has("sample_rate") ? jsonNode.get("sample_rate").asInt() : 16000;
+        int channels = jsonNode.has("channels") ? jsonNode.get("channels").asInt() : 1;
+
+        AudioStreamSession audioStream = new AudioStreamSession(session, objectMapper, model, format,
+                sampleRate, channels, partialResults, maxPendingBytes,
+                finished -> {
+                    // 积压取消后保留为已取消标记，避免后续分片按默认参数开始新的识别
+                    if (!finished.isOverflowed()) {
+                        streams.remove(session.getId(), finished);
+                    }
+                });
+        AudioStreamSession previous = streams.put(session.getId(), audioStream);
+        if (previous != null) {
+            previous.finish();
+        }
+        // 调用go-edge的音频处理服务（gRPC双向流）
+        audioStream.start(edgeServiceStub.get());
+        System.out.println("音频流已开始: " + session.getId() + ", 格式: " + format);
+        return audioStream;
+    }
+
+    /**
+     * 发送音频分片（二进制帧），没有显式开始的流按默认参数开始
+     */
+    void sendChunk(WebSocketSession session, ByteString chunk) {
+        AudioStreamSession audioStream = streams.get(session.getId());
+        if (audioStream == null) {
+            audioStream = start(session, objectMapper.createObjectNode(), "pcm", true,
+                    AudioStreamSession.DEFAULT_MAX_PENDING_BYTES);
+        }
+        audioStream.sendChunk(chunk);
+    }
+
+    /**
+     * 音频输入结束（audio_end），并清除积压取消留下的标记
+     */
+    void end(String sessionId) {
+        AudioStreamSession audioStream = streams.get(sessionId);
+        if (audioStream != null) {
+            audioStream.finish();
+            if (audioStream.isOverflowed()) {
+                streams.remove(sessionId, audioStream);
+            }
+        }
+    }
+
+    /**
+     * 取消并移除会话的音频流，例如连接关闭
+     */
+    void cancel(String sessionId, String reason) {
+        AudioStreamSession audioStream = streams.remove(sessionId);
+        if (audioStream != null) {
+            audioStream.cancel(reason);
+        }
+    }
+}
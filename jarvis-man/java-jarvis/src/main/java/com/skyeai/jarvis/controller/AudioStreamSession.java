@@ -0,0 +1,206 @@
+package com.skyeai.jarvis.controller;
+
+import api.Edge;
+import api.EdgeServiceGrpc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * WebSocket 音频流与边缘服务 StreamAudio 双向流之间的桥接
+ * 客户端的音频分片（PCM/Opus）到达后立即作为 AudioRequest 写入 gRPC 请求流，识别结果随到随推给客户端。
+ * gRPC 请求流未就绪（isReady 为 false）时分片暂存在有界队列中，由 onReady 回调继续发送；
+ * 积压超过上限说明边缘服务跟不上，直接取消本次识别；取消后的分片一律丢弃，由调用方保留该会话直到客户端发送 audio_end 或新的 audio_start。
+ */
+class AudioStreamSession implements ClientResponseObserver<Edge.AudioRequest, Edge.AudioResponse> {
+
+    // 默认积压上限：16kHz 单声道 16bit PCM 约 30 秒
+    static final int DEFAULT_MAX_PENDING_BYTES = 1024 * 1024;
+
+    private final WebSocketSession session;
+    private final ObjectMapper objectMapper;
+    private final String model;
+    private final String format;
+    private final int sampleRate;
+    private final int channels;
+    private final boolean partialResults;
+    private final long maxPendingBytes;
+    private final Consumer<AudioStreamSession> onClose;
+
+    // 以下状态由 this 保护：WebSocket 线程写入分片，gRPC 线程在 onReady 时继续发送
+    private final ArrayDeque<ByteString> pending = new ArrayDeque<>();
+    private long pendingBytes;
+    private boolean finishRequested;
+    private boolean halfClosed;
+    private boolean cancelled;
+    private boolean overflowed;
+    private ClientCallStreamObserver<Edge.AudioRequest> requestStream;
+
+    // 以下状态只在 gRPC 回调中访问，回调按顺序执行
+    private final StringBuilder transcript = new StringBuilder();
+    private float confidence;
+    private long firstTranscriptMillis = -1;
+
+    private volatile long firstChunkNanos;
+
+    /**
+     * @param session 线程安全的 WebSocket 会话（gRPC 回调线程会直接发送消息）
+     * @param partialResults 是否逐条推送部分识别结果；为 false 时只在结束后推送完整结果
+     * @param maxPendingBytes 请求流未就绪时允许积压的音频字节数
+     * @param onClose 识别结束（完成、出错或取消）后的回调
+     */
+    AudioStreamSession(WebSocketSession session, ObjectMapper objectMapper, String model, String format,
+                       int sampleRate, int channels, boolean partialResults, long maxPendingBytes, Consumer<AudioStreamSession> onClose) {
+        this.session = session;
+        this.objectMapper = objectMapper;
+        this.model = model;
+        this.format = format;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.partialResults = partialResults;
+        this.maxPendingBytes = maxPendingBytes;
+        this.onClose = onClose;
+    }
+
+    /**
+     * 打开到边缘服务的双向流
+     */
+    void start(EdgeServiceGrpc.EdgeServiceStub stub) {
+        stub.streamAudio(this);
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<Edge.AudioRequest> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(this::drain);
+    }
+
+    /**
+     * 发送一个音频分片，请求流就绪时直接写出，否则排队
+     */
+    synchronized void sendChunk(ByteString chunk) {
+        if (cancelled || finishRequested) {
+            return;
+        }
+        if (firstChunkNanos == 0) {
+            firstChunkNanos = System.nanoTime();
+        }
+        pending.add(chunk);
+        pendingBytes += chunk.size();
+        if (pendingBytes > maxPendingBytes) {
+            overflowed = true;
+            cancel("音频积压超过 " + maxPendingBytes + " 字节，边缘服务处理过慢");
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * 音频输入结束，排队的分片发送完后关闭请求流
+     */
+    synchronized void finish() {
+        finishRequested = true;
+        drain();
+    }
+
+    /**
+     * 取消识别，例如客户端断开连接
+     */
+    synchronized void cancel(String reason) {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        pending.clear();
+        pendingBytes = 0;
+        requestStream.cancel(reason, null);
+    }
+
+    /**
+     * 是否因积压超过上限被取消
+     */
+    synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    private synchronized void drain() {
+        if (cancelled || halfClosed) {
+            return;
+        }
+        while (!pending.isEmpty() && requestStream.isReady()) {
+            ByteString chunk = pending.poll();
+            pendingBytes -= chunk.size();
+            requestStream.onNext(Edge.AudioRequest.newBuilder()
+                    .setAudioData(chunk)
+                    .setFormat(format)
+                    .setSampleRate(sampleRate)
+                    .setChannels(channels)
+                    .build());
+        }
+        if (finishRequested && pending.isEmpty()) {
+            halfClosed = true;
+            requestStream.onCompleted();
+        }
+    }
+
+    @Override
+    public void onNext(Edge.AudioResponse response) {
+        transcript.append(response.getResult());
+        confidence = response.getConfidence();
+        if (firstTranscriptMillis < 0 && firstChunkNanos != 0) {
+            firstTranscriptMillis = (System.nanoTime() - firstChunkNanos) / 1_000_000;
+        }
+        if (partialResults) {
+            ObjectNode message = objectMapper.createObjectNode();
+            message.put("type", "transcript");
+            message.put("partial", true);
+            message.put("model", model);
+            message.put("text", response.getResult());
+            message.put("confidence", response.getConfidence());
+            send(message);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        System.err.println("音频处理失败: " + t.getMessage());
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("type", "audio_error");
+        message.put("model", model);
+        message.put("error", "音频处理失败: " + t.getMessage());
+        send(message);
+        onClose.accept(this);
+    }
+
+    @Override
+    public void onCompleted() {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("type", "transcript");
+        message.put("partial", false);
+        message.put("model", model);
+        message.put("response", transcript.toString());
+        message.put("confidence", confidence);
+        message.put("firstTranscriptMs", firstTranscriptMillis);
+        send(message);
+        onClose.accept(this);
+    }
+
+    private void send(ObjectNode message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException e) {
+            System.err.println("发送音频识别结果失败: " + e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.skyeai.jarvis.controller;
 import com.alibaba.dashscope.exception.ApiException;
 import com.alibaba.dashscope.exception.InputRequiredException;
 import com.alibaba.dashscope.exception.NoApiKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -12,27 +13,29 @@ import com.skyeai.jarvis.service.ServiceClient;
 import com.skyeai.jarvis.service.nlp.ConversationResult;
 import com.skyeai.jarvis.service.nlp.EnhancedLanguageResult;
 import io.grpc.ManagedChannel;
-import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.client.inject.GrpcClient;
 import api.EdgeServiceGrpc;
-import api.Edge;
 import java.util.Base64;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -48,27 +51,50 @@ public class ChatController implements WebSocketConfigurer {
     
     private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
     
+    // 解析和生成流式事件的JSON数据
+    private static final ObjectMapper STREAM_MAPPER = new ObjectMapper();
+    
+    // 会话发送超时与发送缓冲上限：gRPC 回调线程和消息处理线程会同时向同一会话推送
+    private static final int SEND_TIME_LIMIT_MS = 10000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+    // 旧协议整段音频拆分发送的分片大小
+    private static final int AUDIO_CHUNK_SIZE = 32 * 1024;
+    
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(new ChatWebSocketHandler(), "/ws/chat").setAllowedOrigins("*");
     }
     
-    private class ChatWebSocketHandler extends TextWebSocketHandler {
+    /**
+     * 聊天WebSocket处理器
+     * 流式音频协议：文本帧 {"type":"audio_start","format":"pcm","sample_rate":16000,"channels":1} 开始，
+     * 随后每个二进制帧是一个音频分片（建议 20~100ms，不超过容器默认的 8KB 帧缓冲），文本帧 {"type":"audio_end"} 结束；
+     * 识别过程中推送 {"type":"transcript","partial":true,"text":...}，结束时推送 partial 为 false 的完整结果。
+     * 旧的 {"type":"audio","audio":"<Base64>"} 整段音频消息仍然支持。
+     * 文本消息带 "stream":true 时流式返回ReAct过程：逐条推送 {"type":"step|thought|action|observation|answer",...}，
+     * 结束时推送 {"type":"done","response":...}。
+     */
+    private class ChatWebSocketHandler extends AbstractWebSocketHandler {
         // 使用Jackson进行JSON处理
         private final ObjectMapper objectMapper = new ObjectMapper();
         
+        // 每个会话当前的音频流
+        private final AudioStreamRegistry audioStreams = new AudioStreamRegistry(objectMapper, () -> edgeServiceStub);
         
+        // 每个会话当前的流式聊天订阅
+        private final ConcurrentHashMap<String, Disposable> chatStreams = new ConcurrentHashMap<>();
         
         @Override
         public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-            sessions.put(session.getId(), session);
+            sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_SIZE_LIMIT));
             System.out.println("WebSocket连接已建立: " + session.getId());
         }
         
         @Override
-        protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        protected void handleTextMessage(WebSocketSession rawSession, TextMessage message) throws Exception {
+            WebSocketSession session = sessions.getOrDefault(rawSession.getId(), rawSession);
             String payload = message.getPayload();
-            System.out.println("收到WebSocket消息: " + payload);
+            System.out.println("收到WebSocket消息: " + (payload.length() > 200 ? payload.substring(0, 200) + "..." : payload));
             
             try {
                 // 使用Jackson解析JSON消息
@@ -76,7 +102,11 @@ public class ChatController implements WebSocketConfigurer {
                 
                 // 检查消息类型
                 JsonNode typeNode = jsonNode.get("type");
-                if (typeNode != null && "audio".equals(typeNode.asText())) {
+                if (typeNode != null && "audio_start".equals(typeNode.asText())) {
+                    audioStreams.start(session, jsonNode, "pcm", true, AudioStreamSession.DEFAULT_MAX_PENDING_BYTES);
+                } else if (typeNode != null && "audio_end".equals(typeNode.asText())) {
+                    audioStreams.end(session.getId());
+                } else if (typeNode != null && "audio".equals(typeNode.asText())) {
                     // 处理音频消息
                     handleAudioMessage(session, jsonNode);
                 } else if (typeNode != null && "image".equals(typeNode.asText())) {
@@ -96,82 +126,34 @@ public class ChatController implements WebSocketConfigurer {
         }
         
         /**
-         * 处理音频消息
+         * 处理音频分片（二进制帧），没有显式开始的流按默认参数开始；
+         * 因积压被取消的流仍留在表中，其后的分片被丢弃，直到 audio_end 或新的 audio_start
+         */
+        @Override
+        protected void handleBinaryMessage(WebSocketSession rawSession, BinaryMessage message) throws Exception {
+            WebSocketSession session = sessions.getOrDefault(rawSession.getId(), rawSession);
+            audioStreams.sendChunk(session, com.google.protobuf.ByteString.copyFrom(message.getPayload()));
+        }
+        
+        /**
+         * 处理音频消息（整段Base64音频）
          */
         private void handleAudioMessage(WebSocketSession session, JsonNode jsonNode) throws Exception {
-            String model = jsonNode.has("model") ? jsonNode.get("model").asText() : "aliyun";
             String audioBase64 = jsonNode.has("audio") ? jsonNode.get("audio").asText() : "";
-            String format = jsonNode.has("format") ? jsonNode.get("format").asText() : "wav";
-            int sampleRate = jsonNode.has("sample_rate") ? jsonNode.get("sample_rate").asInt() : 16000;
-            int channels = jsonNode.has("channels") ? jsonNode.get("channels").asInt() : 1;
             
-            System.out.println("收到音频数据，长度: " + audioBase64.length() + " chars, 格式: " + format);
+            System.out.println("收到音频数据，长度: " + audioBase64.length() + " chars");
             
             // 解码Base64音频数据
             byte[] audioData = Base64.getDecoder().decode(audioBase64);
             System.out.println("解码后音频大小: " + audioData.length + " bytes");
             
-            // 创建音频请求
-            Edge.AudioRequest audioRequest = Edge.AudioRequest.newBuilder()
-                    .setAudioData(com.google.protobuf.ByteString.copyFrom(audioData))
-                    .setFormat(format)
-                    .setSampleRate(sampleRate)
-                    .setChannels(channels)
-                    .build();
-            
-            // 调用go-edge的音频处理服务
-            StringBuilder responseBuilder = new StringBuilder();
-            float[] confidenceArray = {0.0f}; // 使用数组作为容器，绕过final限制
-            
-            // 创建响应观察者
-            StreamObserver<Edge.AudioResponse> responseObserver = new StreamObserver<Edge.AudioResponse>() {
-                @Override
-                public void onNext(Edge.AudioResponse response) {
-                    responseBuilder.append(response.getResult());
-                    confidenceArray[0] = response.getConfidence();
-                    System.out.println("音频处理结果: " + response.getResult() + ", 置信度: " + confidenceArray[0]);
-                }
-                
-                @Override
-                public void onError(Throwable t) {
-                    System.err.println("音频处理失败: " + t.getMessage());
-                    // 发送错误响应
-                    try {
-                        ObjectNode errorResponse = objectMapper.createObjectNode();
-                        errorResponse.put("model", model);
-                        errorResponse.put("error", "音频处理失败: " + t.getMessage());
-                        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
-                    } catch (IOException e) {
-                        System.err.println("发送错误响应失败: " + e.getMessage());
-                    }
-                }
-                
-                @Override
-                public void onCompleted() {
-                    try {
-                        // 构建响应JSON
-                        ObjectNode response = objectMapper.createObjectNode();
-                        response.put("model", model);
-                        response.put("response", responseBuilder.toString());
-                        response.put("confidence", confidenceArray[0]);
-                        
-                        // 发送响应
-                        String responseJson = objectMapper.writeValueAsString(response);
-                        session.sendMessage(new TextMessage(responseJson));
-                    } catch (IOException e) {
-                        System.err.println("发送响应失败: " + e.getMessage());
-                    }
-                }
-            };
-            
-            // 调用gRPC双向流方法
-            StreamObserver<Edge.AudioRequest> requestObserver = edgeServiceStub.streamAudio(responseObserver);
-            
-            // 发送音频数据
-            requestObserver.onNext(audioRequest);
-            
-            // 结束流
-            requestObserver.onCompleted();
+            // 整段音频已在内存中，按分片写入请求流，不限制积压；只推送最终结果以保持原有响应格式
+            AudioStreamSession audioStream = audioStreams.start(session, jsonNode, "wav", false, Long.MAX_VALUE);
+            for (int offset = 0; offset < audioData.length; offset += AUDIO_CHUNK_SIZE) {
+                int length = Math.min(AUDIO_CHUNK_SIZE, audioData.length - offset);
+                audioStream.sendChunk(com.google.protobuf.ByteString.copyFrom(audioData, offset, length));
+            }
+            audioStream.finish();
         }
         
         /**
@@ -219,6 +201,10 @@ public class ChatController implements WebSocketConfigurer {
         private void handleTextChatMessage(WebSocketSession session, JsonNode jsonNode) throws Exception {
             String model = jsonNode.has("model") ? jsonNode.get("model").asText() : "aliyun";
             String query = jsonNode.has("query") ? jsonNode.get("query").asText() : "";
+            if (jsonNode.path("stream").asBoolean(false)) {
+                streamTextChatMessage(session, model, query);
+                return;
+            }
             
             // 调用认知服务执行ReAct决策流程
             Map<String, Object> request = Map.of("query", query);
@@ -235,9 +221,47 @@ public class ChatController implements WebSocketConfigurer {
             session.sendMessage(new TextMessage(responseJson));
         }
         
+        /**
+         * 流式处理文本消息，ReAct过程事件逐条转发；同一会话的新请求会取消尚未结束的旧请求
+         */
+        private void streamTextChatMessage(WebSocketSession session, String model, String query) {
+            Disposable subscription = ChatController.this.serviceClient.streamCognitionService("/react/stream", Map.of("query", query))
+                    .subscribe(event -> sendStreamFrame(session, model, event.event(), event.data()),
+                            e -> sendStreamFrame(session, model, "error",
+                                    streamData(Map.of("error", "流式聊天失败: " + e.getMessage()))));
+            Disposable previous = chatStreams.put(session.getId(), subscription);
+            if (previous != null) {
+                previous.dispose();
+            }
+        }
+        
+        private void sendStreamFrame(WebSocketSession session, String model, String type, String data) {
+            try {
+                ObjectNode frame = objectMapper.createObjectNode();
+                JsonNode payload = data != null ? objectMapper.readTree(data) : null;
+                if (payload != null && payload.isObject()) {
+                    frame.setAll((ObjectNode) payload);
+                }
+                frame.put("type", type != null ? type : "message");
+                frame.put("model", model);
+                if ("done".equals(type)) {
+                    // 与非流式响应的字段保持一致
+                    frame.put("response", frame.path("answer").asText());
+                }
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+            } catch (Exception e) {
+                System.err.println("发送流式响应失败: " + e.getMessage());
+            }
+        }
+        
         @Override
         public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
             sessions.remove(session.getId());
+            Disposable chatStream = chatStreams.remove(session.getId());
+            if (chatStream != null) {
+                chatStream.dispose();
+            }
+            audioStreams.cancel(session.getId(), "WebSocket连接已关闭");
             System.out.println("WebSocket连接已关闭: " + session.getId());
         }
     }
@@ -295,6 +319,63 @@ public class ChatController implements WebSocketConfigurer {
         return ResponseEntity.ok(responseMap);
     }
 
+    /**
+     * 流式聊天接口（SSE）
+     * 先转发认知服务的ReAct过程事件（step、thought、action、observation、answer），ReAct结束时推送 react 事件，
+     * 随后与 /chat 一样由LLM服务组织最终回答，逐个推送 token 事件，最后推送 done {"response","model"}。
+     * 客户端断开时取消订阅，上游的生成随之中止
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> chatStream(@RequestBody Map<String, Object> request) {
+        String query = request.getOrDefault("query", "").toString();
+        String model = request.getOrDefault("model", "aliyun").toString();
+        System.out.println("接收到的流式查询内容: " + query + "，模型: " + model);
+
+        return serviceClient.streamCognitionService("/react/stream", Map.of("query", query))
+                .concatMap(event -> {
+                    if (!"done".equals(event.event())) {
+                        return Flux.just(event);
+                    }
+                    Map<String, Object> llmRequest = Map.of(
+                            "prompt", readField(event.data(), "answer"),
+                            "model", model,
+                            "systemPrompt", "你是一个有帮助的助手，请用中文回答用户的问题。"
+                    );
+                    Flux<ServerSentEvent<String>> answer = serviceClient.streamLlmService("/generate/text/stream", llmRequest)
+                            .map(llmEvent -> "done".equals(llmEvent.event())
+                                    ? streamEvent("done", Map.of("response", readField(llmEvent.data(), "result"), "model", model))
+                                    : llmEvent);
+                    return Flux.concat(Flux.just(ServerSentEvent.builder(event.data()).event("react").build()), answer);
+                })
+                .onErrorResume(e -> {
+                    System.err.println("流式聊天失败: " + e.getMessage());
+                    return Flux.just(streamEvent("error", Map.of("error", "流式聊天失败: " + e.getMessage(), "model", model)));
+                });
+    }
+
+    private static ServerSentEvent<String> streamEvent(String name, Map<String, Object> data) {
+        return ServerSentEvent.builder(streamData(data)).event(name).build();
+    }
+
+    private static String streamData(Map<String, Object> data) {
+        try {
+            return STREAM_MAPPER.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readField(String json, String field) {
+        if (json == null) {
+            return "";
+        }
+        try {
+            return STREAM_MAPPER.readTree(json).path(field).asText();
+        } catch (JsonProcessingException e) {
+            return "";
+        }
+    }
+
     // 通用音频处理接口
     @PostMapping("/chat/audio/{model}")
     public ResponseEntity<Map<String, Object>> chatWithAudio(@PathVariable String model, @RequestBody Map<String, String> request) {
@@ -112,9 +112,10 @@ public class GatewayController {
      * 更新节点心跳
      */
     @PostMapping("/nodes/heartbeat")
-    public ResponseEntity<?> updateNodeHeartbeat(@RequestBody Map<String, String> request) {
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<?> updateNodeHeartbeat(@RequestBody Map<String, Object> request) {
         try {
-            String nodeId = request.get("nodeId");
+            String nodeId = (String) request.get("nodeId");
             if (nodeId == null || nodeId.isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of(
                         "status", "error",
@@ -122,7 +123,11 @@ public class GatewayController {
                 ));
             }
 
-            boolean success = gatewayService.updateNodeHeartbeat(nodeId);
+            // 心跳可携带最新的资源利用率，用于刷新节点负载
+            Object resources = request.get("resources");
+            boolean success = resources instanceof Map
+                    ? gatewayService.updateNodeHeartbeat(nodeId, (Map<String, Object>) resources)
+                    : gatewayService.updateNodeHeartbeat(nodeId);
             if (success) {
                 return ResponseEntity.ok(Map.of(
                         "status", "success",
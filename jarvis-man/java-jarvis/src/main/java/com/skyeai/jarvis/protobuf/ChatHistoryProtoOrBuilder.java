@@ -80,4 +80,40 @@ public interface ChatHistoryProtoOrBuilder extends
    */
   com.google.protobuf.ByteString
       getSessionIdBytes();
+
+  /**
+   * <code>string content_type = 7;</code>
+   * @return The contentType.
+   */
+  java.lang.String getContentType();
+  /**
+   * <code>string content_type = 7;</code>
+   * @return The bytes for contentType.
+   */
+  com.google.protobuf.ByteString
+      getContentTypeBytes();
+
+  /**
+   * <code>string media_url = 8;</code>
+   * @return The mediaUrl.
+   */
+  java.lang.String getMediaUrl();
+  /**
+   * <code>string media_url = 8;</code>
+   * @return The bytes for mediaUrl.
+   */
+  com.google.protobuf.ByteString
+      getMediaUrlBytes();
+
+  /**
+   * <code>string metadata = 9;</code>
+   * @return The metadata.
+   */
+  java.lang.String getMetadata();
+  /**
+   * <code>string metadata = 9;</code>
+   * @return The bytes for metadata.
+   */
+  com.google.protobuf.ByteString
+      getMetadataBytes();
 }
@@ -483,6 +483,316 @@ public final class DataServiceGrpc {
     return getDeleteUserPreferenceMethod;
   }
 
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse> getCleanExpiredChatHistoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "CleanExpiredChatHistory",
+      requestType = com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse> getCleanExpiredChatHistoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest, com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse> getCleanExpiredChatHistoryMethod;
+    if ((getCleanExpiredChatHistoryMethod = DataServiceGrpc.getCleanExpiredChatHistoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getCleanExpiredChatHistoryMethod = DataServiceGrpc.getCleanExpiredChatHistoryMethod) == null) {
+          DataServiceGrpc.getCleanExpiredChatHistoryMethod = getCleanExpiredChatHistoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest, com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "CleanExpiredChatHistory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("CleanExpiredChatHistory"))
+              .build();
+        }
+      }
+    }
+    return getCleanExpiredChatHistoryMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ResetUserMemoryRequest,
+      com.skyeai.jarvis.protobuf.ResetUserMemoryResponse> getResetUserMemoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "ResetUserMemory",
+      requestType = com.skyeai.jarvis.protobuf.ResetUserMemoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.ResetUserMemoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ResetUserMemoryRequest,
+      com.skyeai.jarvis.protobuf.ResetUserMemoryResponse> getResetUserMemoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ResetUserMemoryRequest, com.skyeai.jarvis.protobuf.ResetUserMemoryResponse> getResetUserMemoryMethod;
+    if ((getResetUserMemoryMethod = DataServiceGrpc.getResetUserMemoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getResetUserMemoryMethod = DataServiceGrpc.getResetUserMemoryMethod) == null) {
+          DataServiceGrpc.getResetUserMemoryMethod = getResetUserMemoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.ResetUserMemoryRequest, com.skyeai.jarvis.protobuf.ResetUserMemoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "ResetUserMemory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ResetUserMemoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ResetUserMemoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("ResetUserMemory"))
+              .build();
+        }
+      }
+    }
+    return getResetUserMemoryMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest,
+      com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse> getGetUserPreferencesByTypeMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "GetUserPreferencesByType",
+      requestType = com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest,
+      com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse> getGetUserPreferencesByTypeMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest, com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse> getGetUserPreferencesByTypeMethod;
+    if ((getGetUserPreferencesByTypeMethod = DataServiceGrpc.getGetUserPreferencesByTypeMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getGetUserPreferencesByTypeMethod = DataServiceGrpc.getGetUserPreferencesByTypeMethod) == null) {
+          DataServiceGrpc.getGetUserPreferencesByTypeMethod = getGetUserPreferencesByTypeMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest, com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "GetUserPreferencesByType"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("GetUserPreferencesByType"))
+              .build();
+        }
+      }
+    }
+    return getGetUserPreferencesByTypeMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest,
+      com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse> getGetRecentInteractionsMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "GetRecentInteractions",
+      requestType = com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest,
+      com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse> getGetRecentInteractionsMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest, com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse> getGetRecentInteractionsMethod;
+    if ((getGetRecentInteractionsMethod = DataServiceGrpc.getGetRecentInteractionsMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getGetRecentInteractionsMethod = DataServiceGrpc.getGetRecentInteractionsMethod) == null) {
+          DataServiceGrpc.getGetRecentInteractionsMethod = getGetRecentInteractionsMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest, com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "GetRecentInteractions"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("GetRecentInteractions"))
+              .build();
+        }
+      }
+    }
+    return getGetRecentInteractionsMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse> getSearchSimilarChatHistoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "SearchSimilarChatHistory",
+      requestType = com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse> getSearchSimilarChatHistoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest, com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse> getSearchSimilarChatHistoryMethod;
+    if ((getSearchSimilarChatHistoryMethod = DataServiceGrpc.getSearchSimilarChatHistoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getSearchSimilarChatHistoryMethod = DataServiceGrpc.getSearchSimilarChatHistoryMethod) == null) {
+          DataServiceGrpc.getSearchSimilarChatHistoryMethod = getSearchSimilarChatHistoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest, com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "SearchSimilarChatHistory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("SearchSimilarChatHistory"))
+              .build();
+        }
+      }
+    }
+    return getSearchSimilarChatHistoryMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest,
+      com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> getSearchSimilarUserPreferencesMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "SearchSimilarUserPreferences",
+      requestType = com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest,
+      com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> getSearchSimilarUserPreferencesMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest, com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> getSearchSimilarUserPreferencesMethod;
+    if ((getSearchSimilarUserPreferencesMethod = DataServiceGrpc.getSearchSimilarUserPreferencesMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getSearchSimilarUserPreferencesMethod = DataServiceGrpc.getSearchSimilarUserPreferencesMethod) == null) {
+          DataServiceGrpc.getSearchSimilarUserPreferencesMethod = getSearchSimilarUserPreferencesMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest, com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "SearchSimilarUserPreferences"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("SearchSimilarUserPreferences"))
+              .build();
+        }
+      }
+    }
+    return getSearchSimilarUserPreferencesMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> getSaveChatHistoryBatchMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "SaveChatHistoryBatch",
+      requestType = com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> getSaveChatHistoryBatchMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest, com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> getSaveChatHistoryBatchMethod;
+    if ((getSaveChatHistoryBatchMethod = DataServiceGrpc.getSaveChatHistoryBatchMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getSaveChatHistoryBatchMethod = DataServiceGrpc.getSaveChatHistoryBatchMethod) == null) {
+          DataServiceGrpc.getSaveChatHistoryBatchMethod = getSaveChatHistoryBatchMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest, com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "SaveChatHistoryBatch"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("SaveChatHistoryBatch"))
+              .build();
+        }
+      }
+    }
+    return getSaveChatHistoryBatchMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> getSaveUserPreferencesBatchMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "SaveUserPreferencesBatch",
+      requestType = com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest,
+      com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> getSaveUserPreferencesBatchMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest, com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> getSaveUserPreferencesBatchMethod;
+    if ((getSaveUserPreferencesBatchMethod = DataServiceGrpc.getSaveUserPreferencesBatchMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getSaveUserPreferencesBatchMethod = DataServiceGrpc.getSaveUserPreferencesBatchMethod) == null) {
+          DataServiceGrpc.getSaveUserPreferencesBatchMethod = getSaveUserPreferencesBatchMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest, com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "SaveUserPreferencesBatch"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("SaveUserPreferencesBatch"))
+              .build();
+        }
+      }
+    }
+    return getSaveUserPreferencesBatchMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ListChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ListChatHistoryResponse> getListChatHistoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "ListChatHistory",
+      requestType = com.skyeai.jarvis.protobuf.ListChatHistoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.ListChatHistoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.UNARY)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ListChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ListChatHistoryResponse> getListChatHistoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ListChatHistoryRequest, com.skyeai.jarvis.protobuf.ListChatHistoryResponse> getListChatHistoryMethod;
+    if ((getListChatHistoryMethod = DataServiceGrpc.getListChatHistoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getListChatHistoryMethod = DataServiceGrpc.getListChatHistoryMethod) == null) {
+          DataServiceGrpc.getListChatHistoryMethod = getListChatHistoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.ListChatHistoryRequest, com.skyeai.jarvis.protobuf.ListChatHistoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "ListChatHistory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ListChatHistoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ListChatHistoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("ListChatHistory"))
+              .build();
+        }
+      }
+    }
+    return getListChatHistoryMethod;
+  }
+
+  private static volatile io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> getExportChatHistoryMethod;
+
+  @io.grpc.stub.annotations.RpcMethod(
+      fullMethodName = SERVICE_NAME + '/' + "ExportChatHistory",
+      requestType = com.skyeai.jarvis.protobuf.ExportChatHistoryRequest.class,
+      responseType = com.skyeai.jarvis.protobuf.ExportChatHistoryResponse.class,
+      methodType = io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING)
+  public static io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest,
+      com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> getExportChatHistoryMethod() {
+    io.grpc.MethodDescriptor<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest, com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> getExportChatHistoryMethod;
+    if ((getExportChatHistoryMethod = DataServiceGrpc.getExportChatHistoryMethod) == null) {
+      synchronized (DataServiceGrpc.class) {
+        if ((getExportChatHistoryMethod = DataServiceGrpc.getExportChatHistoryMethod) == null) {
+          DataServiceGrpc.getExportChatHistoryMethod = getExportChatHistoryMethod =
+              io.grpc.MethodDescriptor.<com.skyeai.jarvis.protobuf.ExportChatHistoryRequest, com.skyeai.jarvis.protobuf.ExportChatHistoryResponse>newBuilder()
+              .setType(io.grpc.MethodDescriptor.MethodType.SERVER_STREAMING)
+              .setFullMethodName(generateFullMethodName(SERVICE_NAME, "ExportChatHistory"))
+              .setSampledToLocalTracing(true)
+              .setRequestMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ExportChatHistoryRequest.getDefaultInstance()))
+              .setResponseMarshaller(io.grpc.protobuf.ProtoUtils.marshaller(
+                  com.skyeai.jarvis.protobuf.ExportChatHistoryResponse.getDefaultInstance()))
+              .setSchemaDescriptor(new DataServiceMethodDescriptorSupplier("ExportChatHistory"))
+              .build();
+        }
+      }
+    }
+    return getExportChatHistoryMethod;
+  }
+
   /**
    * Creates a new async stub that supports all call types for the service
    */
@@ -653,6 +963,85 @@ public final class DataServiceGrpc {
         io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.DeleteUserPreferenceResponse> responseObserver) {
       io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getDeleteUserPreferenceMethod(), responseObserver);
     }
+
+    /**
+     * <pre>
+     * 记忆系统专用方法
+     * </pre>
+     */
+    default void cleanExpiredChatHistory(com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getCleanExpiredChatHistoryMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void resetUserMemory(com.skyeai.jarvis.protobuf.ResetUserMemoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ResetUserMemoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getResetUserMemoryMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void getUserPreferencesByType(com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getGetUserPreferencesByTypeMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void getRecentInteractions(com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getGetRecentInteractionsMethod(), responseObserver);
+    }
+
+    /**
+     * <pre>
+     * 向量搜索相关方法
+     * </pre>
+     */
+    default void searchSimilarChatHistory(com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSearchSimilarChatHistoryMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void searchSimilarUserPreferences(com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSearchSimilarUserPreferencesMethod(), responseObserver);
+    }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    default void saveChatHistoryBatch(com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSaveChatHistoryBatchMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void saveUserPreferencesBatch(com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getSaveUserPreferencesBatchMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void listChatHistory(com.skyeai.jarvis.protobuf.ListChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ListChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getListChatHistoryMethod(), responseObserver);
+    }
+
+    /**
+     */
+    default void exportChatHistory(com.skyeai.jarvis.protobuf.ExportChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ServerCalls.asyncUnimplementedUnaryCall(getExportChatHistoryMethod(), responseObserver);
+    }
   }
 
   /**
@@ -822,6 +1211,95 @@ public final class DataServiceGrpc {
       io.grpc.stub.ClientCalls.asyncUnaryCall(
           getChannel().newCall(getDeleteUserPreferenceMethod(), getCallOptions()), request, responseObserver);
     }
+
+    /**
+     * <pre>
+     * 记忆系统专用方法
+     * </pre>
+     */
+    public void cleanExpiredChatHistory(com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getCleanExpiredChatHistoryMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void resetUserMemory(com.skyeai.jarvis.protobuf.ResetUserMemoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ResetUserMemoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getResetUserMemoryMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void getUserPreferencesByType(com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getGetUserPreferencesByTypeMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void getRecentInteractions(com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getGetRecentInteractionsMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     * <pre>
+     * 向量搜索相关方法
+     * </pre>
+     */
+    public void searchSimilarChatHistory(com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getSearchSimilarChatHistoryMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void searchSimilarUserPreferences(com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getSearchSimilarUserPreferencesMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    public void saveChatHistoryBatch(com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getSaveChatHistoryBatchMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void saveUserPreferencesBatch(com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getSaveUserPreferencesBatchMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void listChatHistory(com.skyeai.jarvis.protobuf.ListChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ListChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncUnaryCall(
+          getChannel().newCall(getListChatHistoryMethod(), getCallOptions()), request, responseObserver);
+    }
+
+    /**
+     */
+    public void exportChatHistory(com.skyeai.jarvis.protobuf.ExportChatHistoryRequest request,
+        io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> responseObserver) {
+      io.grpc.stub.ClientCalls.asyncServerStreamingCall(
+          getChannel().newCall(getExportChatHistoryMethod(), getCallOptions()), request, responseObserver);
+    }
   }
 
   /**
@@ -962,6 +1440,86 @@ public final class DataServiceGrpc {
       return io.grpc.stub.ClientCalls.blockingUnaryCall(
           getChannel(), getDeleteUserPreferenceMethod(), getCallOptions(), request);
     }
+
+    /**
+     * <pre>
+     * 记忆系统专用方法
+     * </pre>
+     */
+    public com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse cleanExpiredChatHistory(com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getCleanExpiredChatHistoryMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.ResetUserMemoryResponse resetUserMemory(com.skyeai.jarvis.protobuf.ResetUserMemoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getResetUserMemoryMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse getUserPreferencesByType(com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getGetUserPreferencesByTypeMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse getRecentInteractions(com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getGetRecentInteractionsMethod(), getCallOptions(), request);
+    }
+
+    /**
+     * <pre>
+     * 向量搜索相关方法
+     * </pre>
+     */
+    public com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse searchSimilarChatHistory(com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getSearchSimilarChatHistoryMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse searchSimilarUserPreferences(com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getSearchSimilarUserPreferencesMethod(), getCallOptions(), request);
+    }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    public com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse saveChatHistoryBatch(com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getSaveChatHistoryBatchMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse saveUserPreferencesBatch(com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getSaveUserPreferencesBatchMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public com.skyeai.jarvis.protobuf.ListChatHistoryResponse listChatHistory(com.skyeai.jarvis.protobuf.ListChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingUnaryCall(
+          getChannel(), getListChatHistoryMethod(), getCallOptions(), request);
+    }
+
+    /**
+     */
+    public java.util.Iterator<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse> exportChatHistory(
+        com.skyeai.jarvis.protobuf.ExportChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.blockingServerStreamingCall(
+          getChannel(), getExportChatHistoryMethod(), getCallOptions(), request);
+    }
   }
 
   /**
@@ -1117,6 +1675,87 @@ public final class DataServiceGrpc {
       return io.grpc.stub.ClientCalls.futureUnaryCall(
           getChannel().newCall(getDeleteUserPreferenceMethod(), getCallOptions()), request);
     }
+
+    /**
+     * <pre>
+     * 记忆系统专用方法
+     * </pre>
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse> cleanExpiredChatHistory(
+        com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getCleanExpiredChatHistoryMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.ResetUserMemoryResponse> resetUserMemory(
+        com.skyeai.jarvis.protobuf.ResetUserMemoryRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getResetUserMemoryMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse> getUserPreferencesByType(
+        com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getGetUserPreferencesByTypeMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse> getRecentInteractions(
+        com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getGetRecentInteractionsMethod(), getCallOptions()), request);
+    }
+
+    /**
+     * <pre>
+     * 向量搜索相关方法
+     * </pre>
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse> searchSimilarChatHistory(
+        com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getSearchSimilarChatHistoryMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse> searchSimilarUserPreferences(
+        com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getSearchSimilarUserPreferencesMethod(), getCallOptions()), request);
+    }
+
+    /**
+     * <pre>
+     * 批量与分页方法
+     * </pre>
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse> saveChatHistoryBatch(
+        com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getSaveChatHistoryBatchMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse> saveUserPreferencesBatch(
+        com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getSaveUserPreferencesBatchMethod(), getCallOptions()), request);
+    }
+
+    /**
+     */
+    public com.google.common.util.concurrent.ListenableFuture<com.skyeai.jarvis.protobuf.ListChatHistoryResponse> listChatHistory(
+        com.skyeai.jarvis.protobuf.ListChatHistoryRequest request) {
+      return io.grpc.stub.ClientCalls.futureUnaryCall(
+          getChannel().newCall(getListChatHistoryMethod(), getCallOptions()), request);
+    }
   }
 
   private static final int METHODID_SAVE_CHAT_HISTORY = 0;
@@ -1134,6 +1773,16 @@ public final class DataServiceGrpc {
   private static final int METHODID_SAVE_USER_PREFERENCE = 12;
   private static final int METHODID_GET_USER_PREFERENCES = 13;
   private static final int METHODID_DELETE_USER_PREFERENCE = 14;
+  private static final int METHODID_CLEAN_EXPIRED_CHAT_HISTORY = 15;
+  private static final int METHODID_RESET_USER_MEMORY = 16;
+  private static final int METHODID_GET_USER_PREFERENCES_BY_TYPE = 17;
+  private static final int METHODID_GET_RECENT_INTERACTIONS = 18;
+  private static final int METHODID_SEARCH_SIMILAR_CHAT_HISTORY = 19;
+  private static final int METHODID_SEARCH_SIMILAR_USER_PREFERENCES = 20;
+  private static final int METHODID_SAVE_CHAT_HISTORY_BATCH = 21;
+  private static final int METHODID_SAVE_USER_PREFERENCES_BATCH = 22;
+  private static final int METHODID_LIST_CHAT_HISTORY = 23;
+  private static final int METHODID_EXPORT_CHAT_HISTORY = 24;
 
   private static final class MethodHandlers<Req, Resp> implements
       io.grpc.stub.ServerCalls.UnaryMethod<Req, Resp>,
@@ -1212,6 +1861,46 @@ public final class DataServiceGrpc {
           serviceImpl.deleteUserPreference((com.skyeai.jarvis.protobuf.DeleteUserPreferenceRequest) request,
               (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.DeleteUserPreferenceResponse>) responseObserver);
           break;
+        case METHODID_CLEAN_EXPIRED_CHAT_HISTORY:
+          serviceImpl.cleanExpiredChatHistory((com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse>) responseObserver);
+          break;
+        case METHODID_RESET_USER_MEMORY:
+          serviceImpl.resetUserMemory((com.skyeai.jarvis.protobuf.ResetUserMemoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ResetUserMemoryResponse>) responseObserver);
+          break;
+        case METHODID_GET_USER_PREFERENCES_BY_TYPE:
+          serviceImpl.getUserPreferencesByType((com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse>) responseObserver);
+          break;
+        case METHODID_GET_RECENT_INTERACTIONS:
+          serviceImpl.getRecentInteractions((com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse>) responseObserver);
+          break;
+        case METHODID_SEARCH_SIMILAR_CHAT_HISTORY:
+          serviceImpl.searchSimilarChatHistory((com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse>) responseObserver);
+          break;
+        case METHODID_SEARCH_SIMILAR_USER_PREFERENCES:
+          serviceImpl.searchSimilarUserPreferences((com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse>) responseObserver);
+          break;
+        case METHODID_SAVE_CHAT_HISTORY_BATCH:
+          serviceImpl.saveChatHistoryBatch((com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse>) responseObserver);
+          break;
+        case METHODID_SAVE_USER_PREFERENCES_BATCH:
+          serviceImpl.saveUserPreferencesBatch((com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse>) responseObserver);
+          break;
+        case METHODID_LIST_CHAT_HISTORY:
+          serviceImpl.listChatHistory((com.skyeai.jarvis.protobuf.ListChatHistoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ListChatHistoryResponse>) responseObserver);
+          break;
+        case METHODID_EXPORT_CHAT_HISTORY:
+          serviceImpl.exportChatHistory((com.skyeai.jarvis.protobuf.ExportChatHistoryRequest) request,
+              (io.grpc.stub.StreamObserver<com.skyeai.jarvis.protobuf.ExportChatHistoryResponse>) responseObserver);
+          break;
         default:
           throw new AssertionError();
       }
@@ -1335,6 +2024,76 @@ public final class DataServiceGrpc {
               com.skyeai.jarvis.protobuf.DeleteUserPreferenceRequest,
               com.skyeai.jarvis.protobuf.DeleteUserPreferenceResponse>(
                 service, METHODID_DELETE_USER_PREFERENCE)))
+        .addMethod(
+          getCleanExpiredChatHistoryMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryRequest,
+              com.skyeai.jarvis.protobuf.CleanExpiredChatHistoryResponse>(
+                service, METHODID_CLEAN_EXPIRED_CHAT_HISTORY)))
+        .addMethod(
+          getResetUserMemoryMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.ResetUserMemoryRequest,
+              com.skyeai.jarvis.protobuf.ResetUserMemoryResponse>(
+                service, METHODID_RESET_USER_MEMORY)))
+        .addMethod(
+          getGetUserPreferencesByTypeMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeRequest,
+              com.skyeai.jarvis.protobuf.GetUserPreferencesByTypeResponse>(
+                service, METHODID_GET_USER_PREFERENCES_BY_TYPE)))
+        .addMethod(
+          getGetRecentInteractionsMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.GetRecentInteractionsRequest,
+              com.skyeai.jarvis.protobuf.GetRecentInteractionsResponse>(
+                service, METHODID_GET_RECENT_INTERACTIONS)))
+        .addMethod(
+          getSearchSimilarChatHistoryMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryRequest,
+              com.skyeai.jarvis.protobuf.SearchSimilarChatHistoryResponse>(
+                service, METHODID_SEARCH_SIMILAR_CHAT_HISTORY)))
+        .addMethod(
+          getSearchSimilarUserPreferencesMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesRequest,
+              com.skyeai.jarvis.protobuf.SearchSimilarUserPreferencesResponse>(
+                service, METHODID_SEARCH_SIMILAR_USER_PREFERENCES)))
+        .addMethod(
+          getSaveChatHistoryBatchMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.SaveChatHistoryBatchRequest,
+              com.skyeai.jarvis.protobuf.SaveChatHistoryBatchResponse>(
+                service, METHODID_SAVE_CHAT_HISTORY_BATCH)))
+        .addMethod(
+          getSaveUserPreferencesBatchMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchRequest,
+              com.skyeai.jarvis.protobuf.SaveUserPreferencesBatchResponse>(
+                service, METHODID_SAVE_USER_PREFERENCES_BATCH)))
+        .addMethod(
+          getListChatHistoryMethod(),
+          io.grpc.stub.ServerCalls.asyncUnaryCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.ListChatHistoryRequest,
+              com.skyeai.jarvis.protobuf.ListChatHistoryResponse>(
+                service, METHODID_LIST_CHAT_HISTORY)))
+        .addMethod(
+          getExportChatHistoryMethod(),
+          io.grpc.stub.ServerCalls.asyncServerStreamingCall(
+            new MethodHandlers<
+              com.skyeai.jarvis.protobuf.ExportChatHistoryRequest,
+              com.skyeai.jarvis.protobuf.ExportChatHistoryResponse>(
+                service, METHODID_EXPORT_CHAT_HISTORY)))
         .build();
   }
 
@@ -1398,6 +2157,16 @@ public final class DataServiceGrpc {
               .addMethod(getSaveUserPreferenceMethod())
               .addMethod(getGetUserPreferencesMethod())
               .addMethod(getDeleteUserPreferenceMethod())
+              .addMethod(getCleanExpiredChatHistoryMethod())
+              .addMethod(getResetUserMemoryMethod())
+              .addMethod(getGetUserPreferencesByTypeMethod())
+              .addMethod(getGetRecentInteractionsMethod())
+              .addMethod(getSearchSimilarChatHistoryMethod())
+              .addMethod(getSearchSimilarUserPreferencesMethod())
+              .addMethod(getSaveChatHistoryBatchMethod())
+              .addMethod(getSaveUserPreferencesBatchMethod())
+              .addMethod(getListChatHistoryMethod())
+              .addMethod(getExportChatHistoryMethod())
               .build();
         }
       }
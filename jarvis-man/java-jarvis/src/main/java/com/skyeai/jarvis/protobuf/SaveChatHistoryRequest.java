@@ -24,6 +24,10 @@ private static final long serialVersionUID = 0L;
     content_ = "";
     role_ = "";
     sessionId_ = "";
+    contentType_ = "";
+    mediaUrl_ = "";
+    metadata_ = "";
+    createdAt_ = "";
   }
 
   @java.lang.Override
@@ -207,6 +211,170 @@ private static final long serialVersionUID = 0L;
     }
   }
 
+  public static final int CONTENT_TYPE_FIELD_NUMBER = 5;
+  @SuppressWarnings("serial")
+  private volatile java.lang.Object contentType_ = "";
+  /**
+   * <code>string content_type = 5;</code>
+   * @return The contentType.
+   */
+  @java.lang.Override
+  public java.lang.String getContentType() {
+    java.lang.Object ref = contentType_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = 
+          (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      contentType_ = s;
+      return s;
+    }
+  }
+  /**
+   * <code>string content_type = 5;</code>
+   * @return The bytes for contentType.
+   */
+  @java.lang.Override
+  public com.google.protobuf.ByteString
+      getContentTypeBytes() {
+    java.lang.Object ref = contentType_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b = 
+          com.google.protobuf.ByteString.copyFromUtf8(
+              (java.lang.String) ref);
+      contentType_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int MEDIA_URL_FIELD_NUMBER = 6;
+  @SuppressWarnings("serial")
+  private volatile java.lang.Object mediaUrl_ = "";
+  /**
+   * <code>string media_url = 6;</code>
+   * @return The mediaUrl.
+   */
+  @java.lang.Override
+  public java.lang.String getMediaUrl() {
+    java.lang.Object ref = mediaUrl_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = 
+          (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      mediaUrl_ = s;
+      return s;
+    }
+  }
+  /**
+   * <code>string media_url = 6;</code>
+   * @return The bytes for mediaUrl.
+   */
+  @java.lang.Override
+  public com.google.protobuf.ByteString
+      getMediaUrlBytes() {
+    java.lang.Object ref = mediaUrl_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b = 
+          com.google.protobuf.ByteString.copyFromUtf8(
+              (java.lang.String) ref);
+      mediaUrl_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int METADATA_FIELD_NUMBER = 7;
+  @SuppressWarnings("serial")
+  private volatile java.lang.Object metadata_ = "";
+  /**
+   * <code>string metadata = 7;</code>
+   * @return The metadata.
+   */
+  @java.lang.Override
+  public java.lang.String getMetadata() {
+    java.lang.Object ref = metadata_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = 
+          (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      metadata_ = s;
+      return s;
+    }
+  }
+  /**
+   * <code>string metadata = 7;</code>
+   * @return The bytes for metadata.
+   */
+  @java.lang.Override
+  public com.google.protobuf.ByteString
+      getMetadataBytes() {
+    java.lang.Object ref = metadata_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b = 
+          com.google.protobuf.ByteString.copyFromUtf8(
+              (java.lang.String) ref);
+      metadata_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int CREATED_AT_FIELD_NUMBER = 8;
+  @SuppressWarnings("serial")
+  private volatile java.lang.Object createdAt_ = "";
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The createdAt.
+   */
+  @java.lang.Override
+  public java.lang.String getCreatedAt() {
+    java.lang.Object ref = createdAt_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = 
+          (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      createdAt_ = s;
+      return s;
+    }
+  }
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The bytes for createdAt.
+   */
+  @java.lang.Override
+  public com.google.protobuf.ByteString
+      getCreatedAtBytes() {
+    java.lang.Object ref = createdAt_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b = 
+          com.google.protobuf.ByteString.copyFromUtf8(
+              (java.lang.String) ref);
+      createdAt_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
   private byte memoizedIsInitialized = -1;
   @java.lang.Override
   public final boolean isInitialized() {
@@ -233,6 +401,18 @@ private static final long serialVersionUID = 0L;
     if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(sessionId_)) {
       com.google.protobuf.GeneratedMessageV3.writeString(output, 4, sessionId_);
     }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(contentType_)) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 5, contentType_);
+    }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(mediaUrl_)) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 6, mediaUrl_);
+    }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(metadata_)) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 7, metadata_);
+    }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(createdAt_)) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 8, createdAt_);
+    }
     getUnknownFields().writeTo(output);
   }
 
@@ -254,6 +434,18 @@ private static final long serialVersionUID = 0L;
     if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(sessionId_)) {
       size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, sessionId_);
     }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(contentType_)) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, contentType_);
+    }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(mediaUrl_)) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, mediaUrl_);
+    }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(metadata_)) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(7, metadata_);
+    }
+    if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(createdAt_)) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(8, createdAt_);
+    }
     size += getUnknownFields().getSerializedSize();
     memoizedSize = size;
     return size;
@@ -277,6 +469,14 @@ private static final long serialVersionUID = 0L;
         .equals(other.getRole())) return false;
     if (!getSessionId()
         .equals(other.getSessionId())) return false;
+    if (!getContentType()
+        .equals(other.getContentType())) return false;
+    if (!getMediaUrl()
+        .equals(other.getMediaUrl())) return false;
+    if (!getMetadata()
+        .equals(other.getMetadata())) return false;
+    if (!getCreatedAt()
+        .equals(other.getCreatedAt())) return false;
     if (!getUnknownFields().equals(other.getUnknownFields())) return false;
     return true;
   }
@@ -296,6 +496,14 @@ private static final long serialVersionUID = 0L;
     hash = (53 * hash) + getRole().hashCode();
     hash = (37 * hash) + SESSION_ID_FIELD_NUMBER;
     hash = (53 * hash) + getSessionId().hashCode();
+    hash = (37 * hash) + CONTENT_TYPE_FIELD_NUMBER;
+    hash = (53 * hash) + getContentType().hashCode();
+    hash = (37 * hash) + MEDIA_URL_FIELD_NUMBER;
+    hash = (53 * hash) + getMediaUrl().hashCode();
+    hash = (37 * hash) + METADATA_FIELD_NUMBER;
+    hash = (53 * hash) + getMetadata().hashCode();
+    hash = (37 * hash) + CREATED_AT_FIELD_NUMBER;
+    hash = (53 * hash) + getCreatedAt().hashCode();
     hash = (29 * hash) + getUnknownFields().hashCode();
     memoizedHashCode = hash;
     return hash;
@@ -433,6 +641,10 @@ private static final long serialVersionUID = 0L;
       content_ = "";
       role_ = "";
       sessionId_ = "";
+      contentType_ = "";
+      mediaUrl_ = "";
+      metadata_ = "";
+      createdAt_ = "";
       return this;
     }
 
@@ -478,6 +690,18 @@ private static final long serialVersionUID = 0L;
       if (((from_bitField0_ & 0x00000008) != 0)) {
         result.sessionId_ = sessionId_;
       }
+      if (((from_bitField0_ & 0x00000010) != 0)) {
+        result.contentType_ = contentType_;
+      }
+      if (((from_bitField0_ & 0x00000020) != 0)) {
+        result.mediaUrl_ = mediaUrl_;
+      }
+      if (((from_bitField0_ & 0x00000040) != 0)) {
+        result.metadata_ = metadata_;
+      }
+      if (((from_bitField0_ & 0x00000080) != 0)) {
+        result.createdAt_ = createdAt_;
+      }
     }
 
     @java.lang.Override
@@ -544,6 +768,26 @@ private static final long serialVersionUID = 0L;
         bitField0_ |= 0x00000008;
         onChanged();
       }
+      if (!other.getContentType().isEmpty()) {
+        contentType_ = other.contentType_;
+        bitField0_ |= 0x00000010;
+        onChanged();
+      }
+      if (!other.getMediaUrl().isEmpty()) {
+        mediaUrl_ = other.mediaUrl_;
+        bitField0_ |= 0x00000020;
+        onChanged();
+      }
+      if (!other.getMetadata().isEmpty()) {
+        metadata_ = other.metadata_;
+        bitField0_ |= 0x00000040;
+        onChanged();
+      }
+      if (!other.getCreatedAt().isEmpty()) {
+        createdAt_ = other.createdAt_;
+        bitField0_ |= 0x00000080;
+        onChanged();
+      }
       this.mergeUnknownFields(other.getUnknownFields());
       onChanged();
       return this;
@@ -590,6 +834,26 @@ private static final long serialVersionUID = 0L;
               bitField0_ |= 0x00000008;
               break;
             } // case 34
+            case 42: {
+              contentType_ = input.readStringRequireUtf8();
+              bitField0_ |= 0x00000010;
+              break;
+            } // case 42
+            case 50: {
+              mediaUrl_ = input.readStringRequireUtf8();
+              bitField0_ |= 0x00000020;
+              break;
+            } // case 50
+            case 58: {
+              metadata_ = input.readStringRequireUtf8();
+              bitField0_ |= 0x00000040;
+              break;
+            } // case 58
+            case 66: {
+              createdAt_ = input.readStringRequireUtf8();
+              bitField0_ |= 0x00000080;
+              break;
+            } // case 66
             default: {
               if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                 done = true; // was an endgroup tag
@@ -894,6 +1158,314 @@ private static final long serialVersionUID = 0L;
       onChanged();
       return this;
     }
+
+    private java.lang.Object contentType_ = "";
+    /**
+     * <code>string content_type = 5;</code>
+     * @return The contentType.
+     */
+    public java.lang.String getContentType() {
+      java.lang.Object ref = contentType_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs =
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        contentType_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /**
+     * <code>string content_type = 5;</code>
+     * @return The bytes for contentType.
+     */
+    public com.google.protobuf.ByteString
+        getContentTypeBytes() {
+      java.lang.Object ref = contentType_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        contentType_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /**
+     * <code>string content_type = 5;</code>
+     * @param value The contentType to set.
+     * @return This builder for chaining.
+     */
+    public Builder setContentType(
+        java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      contentType_ = value;
+      bitField0_ |= 0x00000010;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>string content_type = 5;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearContentType() {
+      contentType_ = getDefaultInstance().getContentType();
+      bitField0_ = (bitField0_ & ~0x00000010);
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>string content_type = 5;</code>
+     * @param value The bytes for contentType to set.
+     * @return This builder for chaining.
+     */
+    public Builder setContentTypeBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) { throw new NullPointerException(); }
+      checkByteStringIsUtf8(value);
+      contentType_ = value;
+      bitField0_ |= 0x00000010;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object mediaUrl_ = "";
+    /**
+     * <code>string media_url = 6;</code>
+     * @return The mediaUrl.
+     */
+    public java.lang.String getMediaUrl() {
+      java.lang.Object ref = mediaUrl_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs =
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        mediaUrl_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /**
+     * <code>string media_url = 6;</code>
+     * @return The bytes for mediaUrl.
+     */
+    public com.google.protobuf.ByteString
+        getMediaUrlBytes() {
+      java.lang.Object ref = mediaUrl_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        mediaUrl_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /**
+     * <code>string media_url = 6;</code>
+     * @param value The mediaUrl to set.
+     * @return This builder for chaining.
+     */
+    public Builder setMediaUrl(
+        java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      mediaUrl_ = value;
+      bitField0_ |= 0x00000020;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>string media_url = 6;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearMediaUrl() {
+      mediaUrl_ = getDefaultInstance().getMediaUrl();
+      bitField0_ = (bitField0_ & ~0x00000020);
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>string media_url = 6;</code>
+     * @param value The bytes for mediaUrl to set.
+     * @return This builder for chaining.
+     */
+    public Builder setMediaUrlBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) { throw new NullPointerException(); }
+      checkByteStringIsUtf8(value);
+      mediaUrl_ = value;
+      bitField0_ |= 0x00000020;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object metadata_ = "";
+    /**
+     * <code>string metadata = 7;</code>
+     * @return The metadata.
+     */
+    public java.lang.String getMetadata() {
+      java.lang.Object ref = metadata_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs =
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        metadata_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /**
+     * <code>string metadata = 7;</code>
+     * @return The bytes for metadata.
+     */
+    public com.google.protobuf.ByteString
+        getMetadataBytes() {
+      java.lang.Object ref = metadata_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        metadata_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /**
+     * <code>string metadata = 7;</code>
+     * @param value The metadata to set.
+     * @return This builder for chaining.
+     */
+    public Builder setMetadata(
+        java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      metadata_ = value;
+      bitField0_ |= 0x00000040;
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>string metadata = 7;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearMetadata() {
+      metadata_ = getDefaultInstance().getMetadata();
+      bitField0_ = (bitField0_ & ~0x00000040);
+      onChanged();
+      return this;
+    }
+    /**
+     * <code>string metadata = 7;</code>
+     * @param value The bytes for metadata to set.
+     * @return This builder for chaining.
+     */
+    public Builder setMetadataBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) { throw new NullPointerException(); }
+      checkByteStringIsUtf8(value);
+      metadata_ = value;
+      bitField0_ |= 0x00000040;
+      onChanged();
+      return this;
+    }
+
+    private java.lang.Object createdAt_ = "";
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @return The createdAt.
+     */
+    public java.lang.String getCreatedAt() {
+      java.lang.Object ref = createdAt_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs =
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        createdAt_ = s;
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @return The bytes for createdAt.
+     */
+    public com.google.protobuf.ByteString
+        getCreatedAtBytes() {
+      java.lang.Object ref = createdAt_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        createdAt_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @param value The createdAt to set.
+     * @return This builder for chaining.
+     */
+    public Builder setCreatedAt(
+        java.lang.String value) {
+      if (value == null) { throw new NullPointerException(); }
+      createdAt_ = value;
+      bitField0_ |= 0x00000080;
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @return This builder for chaining.
+     */
+    public Builder clearCreatedAt() {
+      createdAt_ = getDefaultInstance().getCreatedAt();
+      bitField0_ = (bitField0_ & ~0x00000080);
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+     * </pre>
+     *
+     * <code>string created_at = 8;</code>
+     * @param value The bytes for createdAt to set.
+     * @return This builder for chaining.
+     */
+    public Builder setCreatedAtBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) { throw new NullPointerException(); }
+      checkByteStringIsUtf8(value);
+      createdAt_ = value;
+      bitField0_ |= 0x00000080;
+      onChanged();
+      return this;
+    }
     @java.lang.Override
     public final Builder setUnknownFields(
         final com.google.protobuf.UnknownFieldSet unknownFields) {
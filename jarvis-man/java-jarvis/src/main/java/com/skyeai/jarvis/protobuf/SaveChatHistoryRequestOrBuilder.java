@@ -54,4 +54,60 @@ public interface SaveChatHistoryRequestOrBuilder extends
    */
   com.google.protobuf.ByteString
       getSessionIdBytes();
+
+  /**
+   * <code>string content_type = 5;</code>
+   * @return The contentType.
+   */
+  java.lang.String getContentType();
+  /**
+   * <code>string content_type = 5;</code>
+   * @return The bytes for contentType.
+   */
+  com.google.protobuf.ByteString
+      getContentTypeBytes();
+
+  /**
+   * <code>string media_url = 6;</code>
+   * @return The mediaUrl.
+   */
+  java.lang.String getMediaUrl();
+  /**
+   * <code>string media_url = 6;</code>
+   * @return The bytes for mediaUrl.
+   */
+  com.google.protobuf.ByteString
+      getMediaUrlBytes();
+
+  /**
+   * <code>string metadata = 7;</code>
+   * @return The metadata.
+   */
+  java.lang.String getMetadata();
+  /**
+   * <code>string metadata = 7;</code>
+   * @return The bytes for metadata.
+   */
+  com.google.protobuf.ByteString
+      getMetadataBytes();
+
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The createdAt.
+   */
+  java.lang.String getCreatedAt();
+  /**
+   * <pre>
+   * 可选，导入历史记录时保留原始时间，使用ISO 8601格式字符串
+   * </pre>
+   *
+   * <code>string created_at = 8;</code>
+   * @return The bytes for createdAt.
+   */
+  com.google.protobuf.ByteString
+      getCreatedAtBytes();
 }
@@ -1,11 +1,26 @@
 package com.skyeai.jarvis.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 @Service
@@ -19,14 +34,65 @@ public class GatewayService {
     @Value("${gateway.host}")
     private String gatewayHost;
 
+    // 任务执行线程数
+    @Value("${gateway.task.workers:16}")
+    private int taskWorkers;
+
+    // 排队和执行中的任务总数上限，达到上限后提交方阻塞等待（背压）
+    @Value("${gateway.task.queue-capacity:1000}")
+    private int taskQueueCapacity;
+
+    // 提交任务时等待队列空位的最长时间
+    @Value("${gateway.task.submit-timeout-ms:5000}")
+    private long submitTimeoutMs;
+
+    // 已结束任务的保留时间
+    @Value("${gateway.task.ttl-ms:600000}")
+    private long taskTtlMs;
+
+    @Value("${gateway.task.cleanup-interval-ms:30000}")
+    private long cleanupIntervalMs;
+
+    // 模拟任务执行耗时与节点故障率
+    @Value("${gateway.task.simulated-latency-ms:1000}")
+    private long simulatedLatencyMs;
+
+    @Value("${gateway.task.simulated-failure-rate:0.1}")
+    private double simulatedFailureRate;
+
+    // 节点选择策略：power-of-two 或 least-loaded
+    @Value("${gateway.scheduler.strategy:power-of-two}")
+    private String schedulerStrategy;
+
+    // 每个进行中任务折算的负载（按节点容量缩放）
+    @Value("${gateway.scheduler.in-flight-weight:10.0}")
+    private double schedulerInFlightWeight;
+
+    // 预热节点的负载比最优节点高出不超过该值时，优先选用预热节点
+    @Value("${gateway.scheduler.affinity-slack:15.0}")
+    private double schedulerAffinitySlack;
+
+    public static final int DEFAULT_PRIORITY = 5;
+
     // 节点注册表
-    private final Map<String, NodeInfo> nodes = new HashMap<>();
+    private final Map<String, NodeInfo> nodes = new ConcurrentHashMap<>();
 
     // 技能注册表
-    private final Map<String, SkillInfo> skills = new HashMap<>();
+    private final Map<String, SkillInfo> skills = new ConcurrentHashMap<>();
+
+    // 任务表
+    private final Map<String, TaskInfo> tasks = new ConcurrentHashMap<>();
 
-    // 任务队列
-    private final Map<String, TaskInfo> tasks = new HashMap<>();
+    // 已结束的任务按结束顺序排列，过期后从任务表移除
+    private final ConcurrentLinkedQueue<TaskInfo> finishedTasks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong taskSequence = new AtomicLong();
+    private final AtomicBoolean initialized = new AtomicBoolean();
+
+    private volatile NodeScheduler nodeScheduler;
+    private Semaphore taskPermits;
+    private ThreadPoolExecutor taskExecutor;
+    private ScheduledExecutorService maintenanceExecutor;
 
     /**
      * 节点信息实体类
@@ -36,9 +102,9 @@ public class GatewayService {
         private String host;
         private int port;
         private String type;
-        private boolean online;
-        private long lastHeartbeat;
-        private Map<String, Object> resources;
+        private volatile boolean online;
+        private volatile long lastHeartbeat;
+        private volatile Map<String, Object> resources;
 
         // Getters and Setters
         public String getNodeId() {
@@ -174,12 +240,13 @@ public class GatewayService {
     public static class TaskInfo {
         private String taskId;
         private String type;
-        private String status;
+        private volatile String status;
         private Map<String, Object> parameters;
-        private String nodeId;
+        private int priority;
+        private volatile String nodeId;
         private long startTime;
-        private long endTime;
-        private Object result;
+        private volatile long endTime;
+        private volatile Object result;
 
         // Getters and Setters
         public String getTaskId() {
@@ -214,6 +281,14 @@ public class GatewayService {
             this.parameters = parameters;
         }
 
+        public int getPriority() {
+            return priority;
+        }
+
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+
         public String getNodeId() {
             return nodeId;
         }
@@ -247,11 +322,56 @@ public class GatewayService {
         }
     }
 
+    /**
+     * 创建任务执行器与维护线程
+     */
+    @PostConstruct
+    public void start() {
+        if (nodeScheduler == null) {
+            NodeScheduler.Strategy strategy = "least-loaded".equalsIgnoreCase(schedulerStrategy)
+                    ? NodeScheduler.Strategy.LEAST_LOADED : NodeScheduler.Strategy.POWER_OF_TWO;
+            this.nodeScheduler = new NodeScheduler(strategy, schedulerInFlightWeight, schedulerAffinitySlack);
+            for (NodeInfo nodeInfo : nodes.values()) {
+                refreshNode(nodeInfo);
+            }
+        }
+        this.taskPermits = new Semaphore(taskQueueCapacity);
+        AtomicInteger workerCounter = new AtomicInteger();
+        // 优先级队列本身无界，容量由 taskPermits 控制
+        this.taskExecutor = new ThreadPoolExecutor(taskWorkers, taskWorkers, 60L, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "gateway-task-" + workerCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.taskExecutor.prestartAllCoreThreads();
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gateway-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenanceExecutor.scheduleWithFixedDelay(this::evictExpiredTasks,
+                cleanupIntervalMs, cleanupIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+        if (taskExecutor != null) {
+            taskExecutor.shutdownNow();
+        }
+    }
+
     /**
      * 初始化网关服务
      */
     public void initialize() {
         logger.info("初始化网关服务，监听地址: " + gatewayHost + ":" + gatewayPort);
+        if (!initialized.compareAndSet(false, true)) {
+            return;
+        }
         
         // 启动心跳检测
         startHeartbeatMonitor();
@@ -297,6 +417,7 @@ public class GatewayService {
             nodeInfo.setLastHeartbeat(System.currentTimeMillis());
             
             nodes.put(nodeInfo.getNodeId(), nodeInfo);
+            refreshNode(nodeInfo);
             
             return true;
         } catch (Exception e) {
@@ -313,6 +434,9 @@ public class GatewayService {
             logger.info("注销节点: " + nodeId);
             
             nodes.remove(nodeId);
+            if (nodeScheduler != null) {
+                nodeScheduler.remove(nodeId);
+            }
             
             return true;
         } catch (Exception e) {
@@ -325,11 +449,22 @@ public class GatewayService {
      * 更新节点心跳
      */
     public boolean updateNodeHeartbeat(String nodeId) {
+        return updateNodeHeartbeat(nodeId, null);
+    }
+
+    /**
+     * 更新节点心跳，并在携带资源信息时刷新节点负载
+     */
+    public boolean updateNodeHeartbeat(String nodeId, Map<String, Object> resources) {
         try {
-            if (nodes.containsKey(nodeId)) {
-                NodeInfo nodeInfo = nodes.get(nodeId);
+            NodeInfo nodeInfo = nodes.get(nodeId);
+            if (nodeInfo != null) {
                 nodeInfo.setLastHeartbeat(System.currentTimeMillis());
+                if (resources != null) {
+                    nodeInfo.setResources(resources);
+                }
                 nodeInfo.setOnline(true);
+                refreshNode(nodeInfo);
                 logger.fine("更新节点心跳: " + nodeId);
                 return true;
             } else {
@@ -375,74 +510,135 @@ public class GatewayService {
     }
 
     /**
-     * 提交任务
+     * 提交任务，优先级取 parameters 中的 priority（缺省为 DEFAULT_PRIORITY）
      */
     public CompletableFuture<TaskInfo> submitTask(String taskType, Map<String, Object> parameters) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String taskId = "task-" + System.currentTimeMillis();
-                logger.info("提交任务: " + taskId + " (" + taskType + ")");
-                
-                // 创建任务信息
-                TaskInfo taskInfo = new TaskInfo();
-                taskInfo.setTaskId(taskId);
-                taskInfo.setType(taskType);
-                taskInfo.setStatus("pending");
-                taskInfo.setParameters(parameters);
-                taskInfo.setStartTime(System.currentTimeMillis());
-                
-                // 选择节点
-                String nodeId = selectNodeForTask(taskType, parameters);
-                if (nodeId == null) {
-                    taskInfo.setStatus("failed");
-                    taskInfo.setEndTime(System.currentTimeMillis());
-                    throw new RuntimeException("没有可用的节点");
-                }
-                
-                taskInfo.setNodeId(nodeId);
-                taskInfo.setStatus("running");
-                
-                // 保存任务
-                tasks.put(taskId, taskInfo);
-                
-                // 执行任务
-                Object result = executeTaskOnNode(nodeId, taskType, parameters);
-                
-                // 更新任务状态
-                taskInfo.setStatus("completed");
-                taskInfo.setResult(result);
-                taskInfo.setEndTime(System.currentTimeMillis());
-                
-                logger.info("任务完成: " + taskId);
-                
-                return taskInfo;
-            } catch (Exception e) {
-                logger.severe("提交任务失败: " + e.getMessage());
-                throw new RuntimeException("提交任务失败: " + e.getMessage());
+        Object priority = parameters == null ? null : parameters.get("priority");
+        return submitTask(taskType, parameters, priority instanceof Number ? ((Number) priority).intValue() : DEFAULT_PRIORITY);
+    }
+
+    /**
+     * 提交任务
+     * 任务进入优先级队列（数值大的先执行，同优先级先进先出），队列满时最多阻塞 submitTimeoutMs
+     */
+    public CompletableFuture<TaskInfo> submitTask(String taskType, Map<String, Object> parameters, int priority) {
+        CompletableFuture<TaskInfo> future = new CompletableFuture<>();
+        long sequence = taskSequence.incrementAndGet();
+        String taskId = "task-" + System.currentTimeMillis() + "-" + sequence;
+
+        // 创建任务信息
+        TaskInfo taskInfo = new TaskInfo();
+        taskInfo.setTaskId(taskId);
+        taskInfo.setType(taskType);
+        taskInfo.setStatus("pending");
+        taskInfo.setParameters(parameters);
+        taskInfo.setPriority(priority);
+        taskInfo.setStartTime(System.currentTimeMillis());
+
+        try {
+            if (!taskPermits.tryAcquire(submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.warning("任务队列已满，拒绝任务: " + taskId + " (" + taskType + ")");
+                future.completeExceptionally(new RejectedExecutionException("任务队列已满"));
+                return future;
             }
-        });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new RejectedExecutionException("提交任务被中断"));
+            return future;
+        }
+
+        logger.fine("提交任务: " + taskId + " (" + taskType + ", priority=" + priority + ")");
+        tasks.put(taskId, taskInfo);
+        try {
+            taskExecutor.execute(new PrioritizedTask(priority, sequence, () -> runTask(taskInfo, future)));
+        } catch (RejectedExecutionException e) {
+            taskPermits.release();
+            tasks.remove(taskId);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 在任务线程中选择节点并执行任务
+     */
+    private void runTask(TaskInfo taskInfo, CompletableFuture<TaskInfo> future) {
+        try {
+            // 选择节点
+            String nodeId = selectNodeForTask(taskInfo.getType(), taskInfo.getParameters());
+            if (nodeId == null) {
+                throw new RuntimeException("没有可用的节点");
+            }
+
+            taskInfo.setNodeId(nodeId);
+            taskInfo.setStatus("running");
+
+            // 执行任务，故障转移时 taskInfo 的节点随之更新
+            Object result = executeTaskOnNode(taskInfo);
+
+            // 更新任务状态
+            taskInfo.setResult(result);
+            taskInfo.setEndTime(System.currentTimeMillis());
+            taskInfo.setStatus("completed");
+
+            logger.fine("任务完成: " + taskInfo.getTaskId());
+            future.complete(taskInfo);
+        } catch (Exception e) {
+            taskInfo.setEndTime(System.currentTimeMillis());
+            taskInfo.setStatus("failed");
+            logger.severe("提交任务失败: " + e.getMessage());
+            future.completeExceptionally(new RuntimeException("提交任务失败: " + e.getMessage()));
+        } finally {
+            if (taskInfo.getNodeId() != null) {
+                nodeScheduler.release(taskInfo.getNodeId(),
+                        "completed".equals(taskInfo.getStatus()) ? taskInfo.getType() : null);
+            }
+            finishedTasks.add(taskInfo);
+            taskPermits.release();
+        }
+    }
+
+    /**
+     * 移除超过保留时间的已结束任务
+     * 结束时间基本按入队顺序递增，只需从队头检查
+     */
+    private void evictExpiredTasks() {
+        long expireBefore = System.currentTimeMillis() - taskTtlMs;
+        TaskInfo head;
+        while ((head = finishedTasks.peek()) != null && head.getEndTime() <= expireBefore) {
+            finishedTasks.poll();
+            tasks.remove(head.getTaskId(), head);
+        }
     }
 
     /**
      * 选择节点执行任务（负载均衡）
+     * 由 NodeScheduler 按资源得分与进行中任务数选择，选中后计入该节点的进行中任务，
+     * 任务结束时在 runTask 中释放
      */
     private String selectNodeForTask(String taskType, Map<String, Object> parameters) {
-        // 实现基于资源利用率的负载均衡算法
-        String bestNodeId = null;
-        double bestScore = Double.MAX_VALUE;
-        
-        for (String nodeId : nodes.keySet()) {
-            NodeInfo nodeInfo = nodes.get(nodeId);
-            if (nodeInfo.isOnline()) {
-                // 计算节点得分（资源利用率越低得分越好）
-                double score = calculateNodeScore(nodeInfo);
-                if (score < bestScore) {
-                    bestScore = score;
-                    bestNodeId = nodeId;
-                }
-            }
+        return nodeScheduler.acquire(taskType);
+    }
+
+    /**
+     * 将节点的资源得分与在线状态同步到调度器（注册、心跳时调用）
+     */
+    private void refreshNode(NodeInfo nodeInfo) {
+        NodeScheduler scheduler = nodeScheduler;
+        if (scheduler == null) {
+            return;
+        }
+        Map<String, Object> resources = nodeInfo.getResources();
+        Object capacity = resources == null ? null : resources.get("capacity");
+        scheduler.update(nodeInfo.getNodeId(), calculateNodeScore(nodeInfo),
+                capacity instanceof Number ? ((Number) capacity).doubleValue() : 1.0, nodeInfo.isOnline());
+    }
+
+    private void markNodeOffline(NodeInfo nodeInfo) {
+        nodeInfo.setOnline(false);
+        if (nodeScheduler != null) {
+            nodeScheduler.setOnline(nodeInfo.getNodeId(), false);
         }
-        return bestNodeId;
     }
 
     /**
@@ -466,24 +662,29 @@ public class GatewayService {
     /**
      * 在节点上执行任务（带故障转移）
      */
-    private Object executeTaskOnNode(String nodeId, String taskType, Map<String, Object> parameters) {
+    private Object executeTaskOnNode(TaskInfo taskInfo) {
+        String nodeId = taskInfo.getNodeId();
+        String taskType = taskInfo.getType();
+        Map<String, Object> parameters = taskInfo.getParameters();
         // 实现故障转移机制
         int maxRetries = 3;
         int retryCount = 0;
         
         while (retryCount < maxRetries) {
             try {
-                logger.info("在节点 " + nodeId + " 上执行任务: " + taskType);
+                logger.fine("在节点 " + nodeId + " 上执行任务: " + taskType);
                 
                 // 模拟任务执行
-                try {
-                    Thread.sleep(1000); // 模拟执行时间
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                if (simulatedLatencyMs > 0) {
+                    try {
+                        Thread.sleep(simulatedLatencyMs); // 模拟执行时间
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
                 }
                 
-                // 模拟节点故障（10%概率）
-                if (Math.random() < 0.1 && retryCount == 0) {
+                // 模拟节点故障
+                if (ThreadLocalRandom.current().nextDouble() < simulatedFailureRate && retryCount == 0) {
                     throw new RuntimeException("节点 " + nodeId + " 执行任务失败");
                 }
                 
@@ -498,9 +699,9 @@ public class GatewayService {
                 logger.warning("节点 " + nodeId + " 执行任务失败，尝试第 " + retryCount + " 次重试: " + e.getMessage());
                 
                 // 标记节点为离线
-                if (nodes.containsKey(nodeId)) {
-                    NodeInfo nodeInfo = nodes.get(nodeId);
-                    nodeInfo.setOnline(false);
+                NodeInfo nodeInfo = nodes.get(nodeId);
+                if (nodeInfo != null) {
+                    markNodeOffline(nodeInfo);
                     logger.warning("节点 " + nodeId + " 已标记为离线");
                 }
                 
@@ -511,7 +712,9 @@ public class GatewayService {
                         throw new RuntimeException("没有可用的节点执行任务");
                     }
                 } else {
+                    nodeScheduler.release(nodeId, null);
                     nodeId = newNodeId;
+                    taskInfo.setNodeId(nodeId);
                     logger.info("故障转移到节点 " + nodeId);
                 }
             }
@@ -528,17 +731,7 @@ public class GatewayService {
         logger.info("启动节点心跳检测");
         
         // 每30秒检查一次节点状态
-        CompletableFuture.runAsync(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(30000);
-                    checkNodeHeartbeats();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::checkNodeHeartbeats, 30, 30, TimeUnit.SECONDS);
     }
 
     /**
@@ -548,11 +741,10 @@ public class GatewayService {
         long currentTime = System.currentTimeMillis();
         long heartbeatTimeout = 60000; // 60秒超时
         
-        for (String nodeId : nodes.keySet()) {
-            NodeInfo nodeInfo = nodes.get(nodeId);
+        for (NodeInfo nodeInfo : nodes.values()) {
             if (nodeInfo.isOnline() && (currentTime - nodeInfo.getLastHeartbeat() > heartbeatTimeout)) {
-                logger.warning("节点 " + nodeId + " 心跳超时，标记为离线");
-                nodeInfo.setOnline(false);
+                logger.warning("节点 " + nodeInfo.getNodeId() + " 心跳超时，标记为离线");
+                markNodeOffline(nodeInfo);
             }
         }
     }
@@ -618,8 +810,39 @@ public class GatewayService {
         status.put("totalSkills", skills.size());
         status.put("runningTasks", runningTasks);
         status.put("totalTasks", tasks.size());
+        status.put("queuedTasks", taskExecutor.getQueue().size());
+        status.put("activeWorkers", taskExecutor.getActiveCount());
+        status.put("availableCapacity", taskPermits.availablePermits());
         status.put("gatewayAddress", gatewayHost + ":" + gatewayPort);
         
         return status;
     }
+
+    /**
+     * 带优先级的任务：优先级高的先执行，同优先级按提交顺序
+     */
+    private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final int priority;
+        private final long sequence;
+        private final Runnable task;
+
+        PrioritizedTask(int priority, long sequence, Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
 }
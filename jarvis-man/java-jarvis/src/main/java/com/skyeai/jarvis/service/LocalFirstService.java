@@ -1,5 +1,7 @@
 package com.skyeai.jarvis.service;
 
+import com.skyeai.jarvis.service.store.LogStructuredStore;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -9,9 +11,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class LocalFirstService {
@@ -30,6 +35,20 @@ public class LocalFirstService {
     @Value("${ollama.base.url}")
     private String ollamaBaseUrl;
 
+    // 本地数据/缓存存储：段文件大小、压缩阈值与触发段压缩的垃圾占比
+    @Value("${local.store.segment-bytes:67108864}")
+    private long storeSegmentBytes;
+
+    @Value("${local.store.compress-threshold:512}")
+    private int storeCompressThreshold;
+
+    @Value("${local.store.compaction-ratio:0.5}")
+    private double storeCompactionRatio;
+
+    // 数据写入后立即刷盘，缓存可以丢失所以不刷盘
+    private LogStructuredStore dataStore;
+    private LogStructuredStore cacheStore;
+
     // 本地模型注册表
     private final Map<String, ModelInfo> localModels = new HashMap<>();
 
@@ -96,6 +115,14 @@ public class LocalFirstService {
         
         // 创建必要的目录
         createDirectories();
+
+        // 打开本地数据与缓存存储
+        try {
+            getDataStore();
+            getCacheStore();
+        } catch (IOException e) {
+            logger.severe("打开本地存储失败: " + e.getMessage());
+        }
         
         // 加载本地模型
         loadLocalModels();
@@ -132,6 +159,59 @@ public class LocalFirstService {
         }
     }
 
+    synchronized LogStructuredStore getDataStore() throws IOException {
+        if (dataStore == null) {
+            dataStore = openStore(dataPath, ".json", true);
+        }
+        return dataStore;
+    }
+
+    synchronized LogStructuredStore getCacheStore() throws IOException {
+        if (cacheStore == null) {
+            cacheStore = openStore(cachePath, ".cache", false);
+        }
+        return cacheStore;
+    }
+
+    /**
+     * 打开目录下的日志结构存储，并把旧版每键一个文件的数据迁移进来
+     */
+    private LogStructuredStore openStore(String path, String legacySuffix, boolean syncOnWrite) throws IOException {
+        Path directory = Paths.get(path);
+        LogStructuredStore store = LogStructuredStore.open(directory.resolve("store"), storeSegmentBytes,
+                storeCompressThreshold, storeCompactionRatio, syncOnWrite);
+        List<Path> legacyFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            legacyFiles = files.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(legacySuffix))
+                    .collect(Collectors.toList());
+        }
+        for (Path file : legacyFiles) {
+            String name = file.getFileName().toString();
+            store.put(name.substring(0, name.length() - legacySuffix.length()), Files.readAllBytes(file));
+            Files.delete(file);
+        }
+        if (!legacyFiles.isEmpty()) {
+            logger.info("迁移旧版本地文件到存储: " + path + " (" + legacyFiles.size() + " 个)");
+        }
+        return store;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (LogStructuredStore store : new LogStructuredStore[]{dataStore, cacheStore}) {
+            if (store != null) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    logger.warning("关闭本地存储失败: " + e.getMessage());
+                }
+            }
+        }
+        dataStore = null;
+        cacheStore = null;
+    }
+
     /**
      * 加载本地模型
      */
@@ -279,8 +359,7 @@ public class LocalFirstService {
      */
     public boolean saveDataLocally(String key, String data) {
         try {
-            Path dataFile = Paths.get(dataPath, key + ".json");
-            Files.writeString(dataFile, data);
+            getDataStore().put(key, data);
             logger.info("数据保存到本地: " + key);
             return true;
         } catch (Exception e) {
@@ -294,9 +373,8 @@ public class LocalFirstService {
      */
     public String loadDataFromLocal(String key) {
         try {
-            Path dataFile = Paths.get(dataPath, key + ".json");
-            if (Files.exists(dataFile)) {
-                String data = Files.readString(dataFile);
+            String data = getDataStore().getString(key);
+            if (data != null) {
                 logger.info("从本地加载数据: " + key);
                 return data;
             } else {
@@ -314,8 +392,7 @@ public class LocalFirstService {
      */
     public boolean cacheData(String key, String data) {
         try {
-            Path cacheFile = Paths.get(cachePath, key + ".cache");
-            Files.writeString(cacheFile, data);
+            getCacheStore().put(key, data);
             logger.fine("数据缓存到本地: " + key);
             return true;
         } catch (Exception e) {
@@ -329,9 +406,8 @@ public class LocalFirstService {
      */
     public String loadFromCache(String key) {
         try {
-            Path cacheFile = Paths.get(cachePath, key + ".cache");
-            if (Files.exists(cacheFile)) {
-                String data = Files.readString(cacheFile);
+            String data = getCacheStore().getString(key);
+            if (data != null) {
                 logger.fine("从缓存加载数据: " + key);
                 return data;
             } else {
@@ -348,19 +424,8 @@ public class LocalFirstService {
      */
     public void clearCache() {
         try {
-            Path cacheDir = Paths.get(cachePath);
-            if (Files.exists(cacheDir)) {
-                Files.list(cacheDir)
-                        .filter(Files::isRegularFile)
-                        .forEach(file -> {
-                            try {
-                                Files.delete(file);
-                            } catch (Exception e) {
-                                logger.warning("删除缓存文件失败: " + file.getFileName() + ": " + e.getMessage());
-                            }
-                        });
-                logger.info("缓存已清除");
-            }
+            getCacheStore().clear();
+            logger.info("缓存已清除");
         } catch (Exception e) {
             logger.severe("清除缓存失败: " + e.getMessage());
         }
@@ -383,18 +448,22 @@ public class LocalFirstService {
 
     /**
      * 获取本地存储使用情况
+     * 模型大小取自加载时统计的模型信息，数据和缓存取自存储索引的计数，不遍历目录
      */
     public Map<String, Object> getStorageUsage() {
         Map<String, Object> usage = new HashMap<>();
         
         try {
-            Path modelsDir = Paths.get(modelsPath);
-            Path dataDir = Paths.get(dataPath);
-            Path cacheDir = Paths.get(cachePath);
-
-            usage.put("models", calculateDirectorySize(modelsDir));
-            usage.put("data", calculateDirectorySize(dataDir));
-            usage.put("cache", calculateDirectorySize(cacheDir));
+            LogStructuredStore data = getDataStore();
+            LogStructuredStore cache = getCacheStore();
+
+            usage.put("models", localModels.values().stream().mapToLong(ModelInfo::getSize).sum());
+            usage.put("data", data.diskBytes());
+            usage.put("cache", cache.diskBytes());
+            usage.put("dataEntries", data.size());
+            usage.put("cacheEntries", cache.size());
+            usage.put("dataLiveBytes", data.liveBytes());
+            usage.put("cacheLiveBytes", cache.liveBytes());
             usage.put("total", (
                     (long) usage.get("models") + 
                     (long) usage.get("data") + 
@@ -0,0 +1,242 @@
+package com.skyeai.jarvis.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 网关节点调度器
+ * 在线节点按有效负载保存在索引最小堆中（节点记录自身在堆中的下标），
+ * 心跳、任务开始和结束时只调整对应节点，选择节点不再遍历全部节点。
+ * 有效负载 = 资源负载 + inFlightWeight * 进行中任务数 / 节点容量
+ */
+public class NodeScheduler {
+
+    /**
+     * 选择策略
+     */
+    public enum Strategy {
+        // 直接取堆顶
+        LEAST_LOADED,
+        // 随机取两个在线节点，选负载较低者，避免所有请求同时涌向同一节点
+        POWER_OF_TWO
+    }
+
+    private final Strategy strategy;
+    private final double inFlightWeight;
+    private final double affinitySlack;
+
+    private final Map<String, NodeEntry> entries = new HashMap<>();
+    // 任务类型 -> 执行过该类型任务的节点（技能已预热）
+    private final Map<String, List<NodeEntry>> warmNodes = new HashMap<>();
+    private NodeEntry[] heap = new NodeEntry[16];
+    private int heapSize;
+
+    /**
+     * @param strategy 选择策略
+     * @param inFlightWeight 每个进行中任务折算的负载
+     * @param affinitySlack 预热节点的负载比全局最优高出不超过该值时优先选用
+     */
+    public NodeScheduler(Strategy strategy, double inFlightWeight, double affinitySlack) {
+        this.strategy = strategy;
+        this.inFlightWeight = inFlightWeight;
+        this.affinitySlack = affinitySlack;
+    }
+
+    /**
+     * 注册或更新节点（注册、心跳时调用）
+     * @param baseLoad 资源负载得分，越低越好
+     * @param capacity 节点容量，进行中任务按容量折算
+     */
+    public synchronized void update(String nodeId, double baseLoad, double capacity, boolean online) {
+        NodeEntry entry = entries.computeIfAbsent(nodeId, NodeEntry::new);
+        entry.baseLoad = baseLoad;
+        entry.capacity = capacity > 0 ? capacity : 1.0;
+        setOnline(entry, online);
+        if (entry.heapIndex >= 0) {
+            fix(entry.heapIndex);
+        }
+    }
+
+    public synchronized void setOnline(String nodeId, boolean online) {
+        NodeEntry entry = entries.get(nodeId);
+        if (entry != null) {
+            setOnline(entry, online);
+        }
+    }
+
+    public synchronized void remove(String nodeId) {
+        NodeEntry entry = entries.remove(nodeId);
+        if (entry != null) {
+            setOnline(entry, false);
+        }
+    }
+
+    /**
+     * 为任务选择节点并计入进行中任务
+     * @return 节点ID，没有在线节点时返回null
+     */
+    public synchronized String acquire(String taskType) {
+        if (heapSize == 0) {
+            return null;
+        }
+        NodeEntry chosen = strategy == Strategy.POWER_OF_TWO ? pickTwo() : heap[0];
+        NodeEntry warm = pickWarm(taskType);
+        if (warm != null && warm.load() <= chosen.load() + affinitySlack) {
+            chosen = warm;
+        }
+        chosen.inFlight++;
+        fix(chosen.heapIndex);
+        return chosen.nodeId;
+    }
+
+    /**
+     * 任务结束，释放进行中计数并把节点记为该任务类型的预热节点
+     * @param taskType 任务类型，执行失败时传null不记录亲和
+     */
+    public synchronized void release(String nodeId, String taskType) {
+        NodeEntry entry = entries.get(nodeId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.inFlight > 0) {
+            entry.inFlight--;
+        }
+        if (entry.heapIndex >= 0) {
+            fix(entry.heapIndex);
+            if (taskType != null && entry.warmTypes.add(taskType)) {
+                warmNodes.computeIfAbsent(taskType, t -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    public synchronized int getInFlight(String nodeId) {
+        NodeEntry entry = entries.get(nodeId);
+        return entry == null ? 0 : entry.inFlight;
+    }
+
+    public synchronized int onlineCount() {
+        return heapSize;
+    }
+
+    private NodeEntry pickTwo() {
+        if (heapSize == 1) {
+            return heap[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        NodeEntry a = heap[random.nextInt(heapSize)];
+        NodeEntry b = heap[random.nextInt(heapSize)];
+        return a.load() <= b.load() ? a : b;
+    }
+
+    private NodeEntry pickWarm(String taskType) {
+        if (taskType == null) {
+            return null;
+        }
+        List<NodeEntry> warm = warmNodes.get(taskType);
+        if (warm == null || warm.isEmpty()) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        NodeEntry a = warm.get(random.nextInt(warm.size()));
+        NodeEntry b = warm.get(random.nextInt(warm.size()));
+        return a.load() <= b.load() ? a : b;
+    }
+
+    private void setOnline(NodeEntry entry, boolean online) {
+        if (online && entry.heapIndex < 0) {
+            if (heapSize == heap.length) {
+                NodeEntry[] grown = new NodeEntry[heap.length * 2];
+                System.arraycopy(heap, 0, grown, 0, heapSize);
+                heap = grown;
+            }
+            heap[heapSize] = entry;
+            entry.heapIndex = heapSize++;
+            siftUp(entry.heapIndex);
+        } else if (!online && entry.heapIndex >= 0) {
+            int index = entry.heapIndex;
+            NodeEntry last = heap[--heapSize];
+            heap[heapSize] = null;
+            entry.heapIndex = -1;
+            if (index < heapSize) {
+                heap[index] = last;
+                last.heapIndex = index;
+                fix(index);
+            }
+            // 离线节点不再参与亲和选择
+            for (String taskType : entry.warmTypes) {
+                List<NodeEntry> warm = warmNodes.get(taskType);
+                if (warm != null) {
+                    warm.remove(entry);
+                }
+            }
+            entry.warmTypes.clear();
+        }
+    }
+
+    private void fix(int index) {
+        if (!siftUp(index)) {
+            siftDown(index);
+        }
+    }
+
+    private boolean siftUp(int index) {
+        NodeEntry entry = heap[index];
+        double load = entry.load();
+        int start = index;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].load() <= load) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = entry;
+        entry.heapIndex = index;
+        return index != start;
+    }
+
+    private void siftDown(int index) {
+        NodeEntry entry = heap[index];
+        double load = entry.load();
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && heap[right].load() < heap[child].load()) {
+                child = right;
+            }
+            if (load <= heap[child].load()) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = entry;
+        entry.heapIndex = index;
+    }
+
+    private final class NodeEntry {
+        final String nodeId;
+        final Set<String> warmTypes = new HashSet<>();
+        double baseLoad;
+        double capacity = 1.0;
+        int inFlight;
+        int heapIndex = -1;
+
+        NodeEntry(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        double load() {
+            return baseLoad + inFlightWeight * inFlight / capacity;
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.skyeai.jarvis.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 
 import java.util.Map;
 
@@ -13,8 +18,14 @@ import java.util.Map;
 @Service
 public class ServiceClient {
 
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<ServerSentEvent<String>>() {};
+
     private final RestTemplate restTemplate;
 
+    // 流式（SSE）调用使用非阻塞客户端，取消订阅即断开上游连接
+    private final WebClient webClient;
+
     @Value("${llm.service.url:http://localhost:8081}")
     private String llmServiceUrl;
 
@@ -43,8 +54,9 @@ public class ServiceClient {
     private String pluginServiceUrl;
 
     @Autowired
-    public ServiceClient(RestTemplate restTemplate) {
+    public ServiceClient(RestTemplate restTemplate, WebClient.Builder webClientBuilder) {
         this.restTemplate = restTemplate;
+        this.webClient = webClientBuilder.build();
     }
 
     // LLM服务调用
@@ -53,6 +65,12 @@ public class ServiceClient {
         return restTemplate.postForObject(url, request, Map.class);
     }
 
+    // LLM服务流式调用（SSE）
+    public Flux<ServerSentEvent<String>> streamLlmService(String endpoint, Map<String, Object> request) {
+        String url = llmServiceUrl + "/api/llm" + endpoint;
+        return streamEvents(url, request);
+    }
+
     // 知识服务调用
     public Map<String, Object> callKnowledgeService(String endpoint, Map<String, Object> request) {
         String url = knowledgeServiceUrl + "/api/knowledge" + endpoint;
@@ -89,6 +107,12 @@ public class ServiceClient {
         return restTemplate.postForObject(url, request, String.class);
     }
 
+    // 认知服务流式调用（ReAct过程事件）
+    public Flux<ServerSentEvent<String>> streamCognitionService(String endpoint, Map<String, Object> request) {
+        String url = cognitionServiceUrl + "/api/llm" + endpoint;
+        return streamEvents(url, request);
+    }
+
     // 知识服务GET调用
     public Map<String, Object> getFromKnowledgeService(String endpoint) {
         String url = knowledgeServiceUrl + "/api/knowledge" + endpoint;
@@ -142,4 +166,14 @@ public class ServiceClient {
         String url = pluginServiceUrl + "/api/plugin" + endpoint;
         return restTemplate.getForObject(url, Map.class);
     }
+
+    private Flux<ServerSentEvent<String>> streamEvents(String url, Map<String, Object> request) {
+        return webClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(SSE_TYPE);
+    }
 }
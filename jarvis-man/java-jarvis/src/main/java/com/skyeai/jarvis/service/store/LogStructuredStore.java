@@ -0,0 +1,745 @@
+package com.skyeai.jarvis.service.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 追加写的日志结构键值存储
+ * 所有写入追加到当前段文件 segment-N.log，内存索引记录每个键的最新位置；
+ * 段写满后封存为只读内存映射，读取直接从映射拷贝。
+ * 记录格式：[长度 int][CRC32 int][操作 byte][键长度 short][键][原始长度 int][值]，
+ * 超过压缩阈值的值按块用 Deflater 压缩，压缩后不变小则原样存储。
+ *
+ * 压缩把已封存段中的存活记录复制到 segment-B.compact（B 为参与压缩的最大段号），
+ * 写完刷盘后原子重命名为 segment-B.compacted 作为完成标记，再删除旧段并改名为 segment-B.log。
+ * 清空前先写入 segment-N.cleared 标记（N 为新活动段号），表示段号小于 N 的文件均已作废。
+ * 旧段可能仍被读取方的内存映射引用，Windows 上无法删除，此时保留标记，下次打开时补删。
+ * 启动时遇到 .cleared / .compacted 会补做删除与改名，遇到 .compact 则丢弃，末尾不完整的记录会被截断。
+ */
+public class LogStructuredStore implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(LogStructuredStore.class.getName());
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_PUT_COMPRESSED = 2;
+    private static final byte OP_DELETE = 3;
+    // 长度 + CRC
+    private static final int HEADER_BYTES = 8;
+    // 操作 + 键长度 + 原始长度
+    private static final int BODY_FIXED_BYTES = 1 + 2 + 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String COMPACTED_SUFFIX = ".compacted";
+    private static final String CLEARED_SUFFIX = ".cleared";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int compressThreshold;
+    private final double compactionRatio;
+    private final boolean syncOnWrite;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 压缩与清空互斥，获取顺序固定为 compactionLock -> writeLock
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    // 读取与关闭段文件互斥：get 持读锁，clear/close 在 writeLock 之后取写锁再关闭段
+    private final ReentrantReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private final ExecutorService compactionExecutor;
+    private final CRC32 crc = new CRC32();
+
+    // 已封存的段，按段号升序，只在 writeLock 下修改
+    private final List<Segment> sealed = new ArrayList<>();
+    private Segment active;
+
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private volatile boolean closed;
+
+    private LogStructuredStore(Path directory, long segmentBytes, int compressThreshold,
+                               double compactionRatio, boolean syncOnWrite) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.compressThreshold = compressThreshold;
+        this.compactionRatio = compactionRatio;
+        this.syncOnWrite = syncOnWrite;
+        String threadName = "store-compaction-" + directory.getFileName();
+        this.compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 打开（或创建）存储目录并重建索引
+     * @param segmentBytes 单个段文件的大小上限
+     * @param compressThreshold 值达到该字节数才尝试压缩
+     * @param compactionRatio 已封存段中的垃圾占比超过该值时触发压缩
+     * @param syncOnWrite 每次写入后是否刷盘
+     */
+    public static LogStructuredStore open(Path directory, long segmentBytes, int compressThreshold,
+                                          double compactionRatio, boolean syncOnWrite) throws IOException {
+        if (segmentBytes <= 0 || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentBytes must be in (0, 2GB): " + segmentBytes);
+        }
+        Files.createDirectories(directory);
+        LogStructuredStore store = new LogStructuredStore(directory, segmentBytes, compressThreshold,
+                compactionRatio, syncOnWrite);
+        store.recover();
+        return store;
+    }
+
+    public void put(String key, byte[] value) throws IOException {
+        byte[] stored = value;
+        byte op = OP_PUT;
+        if (value.length >= compressThreshold) {
+            byte[] compressed = compress(value);
+            if (compressed.length < value.length) {
+                stored = compressed;
+                op = OP_PUT_COMPRESSED;
+            }
+        }
+        append(op, key, stored, value.length);
+    }
+
+    public void put(String key, String value) throws IOException {
+        put(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 键不存在时返回null
+     */
+    public byte[] get(String key) throws IOException {
+        byte[] record;
+        Location location;
+        // 持读锁查索引并读取，清空或关闭不会在读取途中关闭活动段的文件通道
+        segmentLock.readLock().lock();
+        try {
+            location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            record = location.segment.read(location.offset, location.length);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+        int keyLength = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN).getShort(HEADER_BYTES + 1) & 0xffff;
+        int valueOffset = HEADER_BYTES + BODY_FIXED_BYTES + keyLength;
+        if (record[HEADER_BYTES] == OP_PUT_COMPRESSED) {
+            return decompress(record, valueOffset, record.length - valueOffset, location.rawLength);
+        }
+        byte[] value = new byte[record.length - valueOffset];
+        System.arraycopy(record, valueOffset, value, 0, value.length);
+        return value;
+    }
+
+    public String getString(String key) throws IOException {
+        byte[] value = get(key);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * 写入删除标记
+     * @return 键是否存在
+     */
+    public boolean delete(String key) throws IOException {
+        if (!index.containsKey(key)) {
+            return false;
+        }
+        append(OP_DELETE, key, new byte[0], 0);
+        return true;
+    }
+
+    /**
+     * 删除全部数据和段文件
+     * 新活动段使用更大的段号，未能立即删除的旧段由标记文件在下次打开时清理
+     */
+    public void clear() throws IOException {
+        compactionLock.lock();
+        writeLock.lock();
+        try {
+            int nextId = active.id + 1;
+            Path marker = directory.resolve(SEGMENT_PREFIX + nextId + CLEARED_SUFFIX);
+            try (FileChannel channel = FileChannel.open(marker, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            boolean deleted = true;
+            segmentLock.writeLock().lock();
+            try {
+                for (Segment segment : sealed) {
+                    segment.close();
+                    deleted &= deleteReplaced(segment.path);
+                }
+                sealed.clear();
+                active.close();
+                deleted &= deleteReplaced(active.path);
+                index.clear();
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+            liveBytes.set(0);
+            rawBytes.set(0);
+            diskBytes.set(0);
+            active = Segment.create(directory, nextId);
+            if (deleted) {
+                Files.deleteIfExists(marker);
+            }
+        } finally {
+            writeLock.unlock();
+            compactionLock.unlock();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 存活记录占用的磁盘字节数（压缩后）
+     */
+    public long liveBytes() {
+        return liveBytes.get();
+    }
+
+    /**
+     * 段文件总字节数，包含尚未压缩掉的旧版本与删除标记
+     */
+    public long diskBytes() {
+        return diskBytes.get();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        writeLock.lock();
+        try {
+            stats.put("segments", sealed.size() + 1);
+        } finally {
+            writeLock.unlock();
+        }
+        stats.put("entries", index.size());
+        stats.put("live_bytes", liveBytes.get());
+        stats.put("raw_bytes", rawBytes.get());
+        stats.put("disk_bytes", diskBytes.get());
+        stats.put("compactions", compactions.get());
+        return stats;
+    }
+
+    /**
+     * 已封存段的垃圾占比超过阈值时压缩
+     * @return 是否执行了压缩
+     */
+    public boolean compactIfNeeded() throws IOException {
+        compactionLock.lock();
+        try {
+            List<Segment> inputs;
+            writeLock.lock();
+            try {
+                if (closed || sealed.isEmpty()) {
+                    return false;
+                }
+                long sealedBytes = 0;
+                long sealedLive = 0;
+                for (Segment segment : sealed) {
+                    sealedBytes += segment.size;
+                    sealedLive += segment.liveBytes;
+                }
+                if (sealedBytes == 0 || 1.0 - (double) sealedLive / sealedBytes < compactionRatio) {
+                    return false;
+                }
+                inputs = new ArrayList<>(sealed);
+            } finally {
+                writeLock.unlock();
+            }
+            compact(inputs);
+            return true;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactionExecutor.shutdownNow();
+        compactionLock.lock();
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            active.force();
+            segmentLock.writeLock().lock();
+            try {
+                for (Segment segment : sealed) {
+                    segment.close();
+                }
+                active.close();
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+        } finally {
+            writeLock.unlock();
+            compactionLock.unlock();
+        }
+    }
+
+    private void append(byte op, String key, byte[] value, int rawLength) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xffff) {
+            throw new IllegalArgumentException("key too long: " + keyBytes.length + " bytes");
+        }
+        int bodyLength = BODY_FIXED_BYTES + keyBytes.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + bodyLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(bodyLength).putInt(0);
+        buffer.put(op).putShort((short) keyBytes.length).put(keyBytes).putInt(rawLength).put(value);
+
+        boolean rolled = false;
+        writeLock.lock();
+        try {
+            if (closed) {
+                throw new IOException("store is closed: " + directory);
+            }
+            crc.reset();
+            crc.update(buffer.array(), HEADER_BYTES, bodyLength);
+            buffer.putInt(4, (int) crc.getValue());
+            buffer.flip();
+
+            long offset = active.append(buffer);
+            if (syncOnWrite) {
+                active.force();
+            }
+            int length = HEADER_BYTES + bodyLength;
+            diskBytes.addAndGet(length);
+            if (op == OP_DELETE) {
+                release(index.remove(key));
+            } else {
+                Location location = new Location(active, offset, length, rawLength);
+                active.liveBytes += length;
+                liveBytes.addAndGet(length);
+                rawBytes.addAndGet(rawLength);
+                release(index.put(key, location));
+            }
+            if (active.size >= segmentBytes) {
+                active.seal();
+                sealed.add(active);
+                active = Segment.create(directory, active.id + 1);
+                rolled = true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (rolled) {
+            compactionExecutor.execute(() -> {
+                try {
+                    compactIfNeeded();
+                } catch (Exception e) {
+                    logger.warning("段压缩失败: " + directory + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void release(Location previous) {
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.length;
+            liveBytes.addAndGet(-previous.length);
+            rawBytes.addAndGet(-previous.rawLength);
+        }
+    }
+
+    /**
+     * 复制输入段中的存活记录到新段，刷盘后替换旧段
+     */
+    private void compact(List<Segment> inputs) throws IOException {
+        int targetId = inputs.get(inputs.size() - 1).id;
+        Path compactPath = directory.resolve(SEGMENT_PREFIX + targetId + COMPACT_SUFFIX);
+        Path compactedPath = directory.resolve(SEGMENT_PREFIX + targetId + COMPACTED_SUFFIX);
+        Map<Segment, Boolean> inputSet = new HashMap<>();
+        for (Segment segment : inputs) {
+            inputSet.put(segment, Boolean.TRUE);
+        }
+
+        Map<String, Location[]> moved = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(compactPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                if (!inputSet.containsKey(location.segment)) {
+                    continue;
+                }
+                ByteBuffer record = ByteBuffer.wrap(location.segment.read(location.offset, location.length));
+                while (record.hasRemaining()) {
+                    position += channel.write(record, position);
+                }
+                moved.put(entry.getKey(), new Location[]{location,
+                        new Location(null, position - location.length, location.length, location.rawLength)});
+            }
+            channel.force(true);
+        }
+        Files.move(compactPath, compactedPath, StandardCopyOption.ATOMIC_MOVE);
+
+        Segment output = Segment.openSealed(compactedPath, targetId);
+        writeLock.lock();
+        try {
+            for (Map.Entry<String, Location[]> entry : moved.entrySet()) {
+                Location previous = entry.getValue()[0];
+                Location next = entry.getValue()[1];
+                Location relocated = new Location(output, next.offset, next.length, next.rawLength);
+                // 压缩期间被覆盖或删除的键保持新位置
+                if (index.replace(entry.getKey(), previous, relocated)) {
+                    output.liveBytes += relocated.length;
+                }
+            }
+            long removedBytes = 0;
+            for (Segment segment : inputs) {
+                removedBytes += segment.size;
+            }
+            sealed.removeAll(inputs);
+            sealed.add(0, output);
+            diskBytes.addAndGet(output.size - removedBytes);
+        } finally {
+            writeLock.unlock();
+        }
+
+        // 旧段的映射在读取方不再引用后由GC回收，这里只关闭文件并删除；
+        // 有旧段删除失败时保留 .compacted 完成标记，下次打开时补删并改名
+        boolean deleted = true;
+        for (Segment segment : inputs) {
+            segment.close();
+            deleted &= deleteReplaced(segment.path);
+        }
+        if (deleted) {
+            Path finalPath = directory.resolve(SEGMENT_PREFIX + targetId + SEGMENT_SUFFIX);
+            Files.move(compactedPath, finalPath, StandardCopyOption.ATOMIC_MOVE);
+            output.path = finalPath;
+        }
+        compactions.incrementAndGet();
+        logger.info("段压缩完成: " + directory + " (" + inputs.size() + " 个段 -> " + output.size + " 字节)");
+    }
+
+    /**
+     * 删除已被压缩或清空替换的段文件
+     * @return 文件仍被占用（如 Windows 上仍有内存映射）而删除失败时返回false
+     */
+    private boolean deleteReplaced(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            logger.warning("段文件仍被占用，下次打开时删除: " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 完成中断的清空和压缩，按段号重放全部段重建索引
+     */
+    private void recover() throws IOException {
+        List<Integer> segmentIds = new ArrayList<>();
+        List<Integer> compactedIds = new ArrayList<>();
+        List<Path> clearedMarkers = new ArrayList<>();
+        int clearedBelow = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(SEGMENT_PREFIX)) {
+                    continue;
+                }
+                if (name.endsWith(COMPACT_SUFFIX)) {
+                    Files.delete(file);
+                } else if (name.endsWith(COMPACTED_SUFFIX)) {
+                    compactedIds.add(parseId(name, COMPACTED_SUFFIX));
+                } else if (name.endsWith(CLEARED_SUFFIX)) {
+                    clearedBelow = Math.max(clearedBelow, parseId(name, CLEARED_SUFFIX));
+                    clearedMarkers.add(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    segmentIds.add(parseId(name, SEGMENT_SUFFIX));
+                }
+            }
+        }
+        if (clearedBelow >= 0) {
+            // 清空时未能删除的旧段
+            deleteBelow(segmentIds, SEGMENT_SUFFIX, clearedBelow - 1);
+            deleteBelow(compactedIds, COMPACTED_SUFFIX, clearedBelow - 1);
+        }
+        if (!compactedIds.isEmpty()) {
+            // 压缩结果已完整落盘，补做删除旧段；连续多次压缩都未改名时以段号最大的结果为准
+            int compactedId = compactedIds.stream().max(Integer::compare).get();
+            deleteBelow(segmentIds, SEGMENT_SUFFIX, compactedId);
+            deleteBelow(compactedIds, COMPACTED_SUFFIX, compactedId - 1);
+            Files.move(directory.resolve(SEGMENT_PREFIX + compactedId + COMPACTED_SUFFIX),
+                    directory.resolve(SEGMENT_PREFIX + compactedId + SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            segmentIds.add(compactedId);
+        }
+        for (Path marker : clearedMarkers) {
+            Files.delete(marker);
+        }
+        segmentIds.sort(Integer::compare);
+
+        for (int i = 0; i < segmentIds.size(); i++) {
+            Path path = directory.resolve(SEGMENT_PREFIX + segmentIds.get(i) + SEGMENT_SUFFIX);
+            boolean last = i == segmentIds.size() - 1;
+            Segment segment = last ? Segment.openActive(path, segmentIds.get(i)) : Segment.openSealed(path, segmentIds.get(i));
+            long valid = replay(segment);
+            if (valid < segment.size) {
+                logger.warning("段文件末尾记录不完整，截断: " + path + " (" + segment.size + " -> " + valid + ")");
+                segment.truncate(valid);
+            }
+            diskBytes.addAndGet(segment.size);
+            if (last) {
+                active = segment;
+            } else {
+                sealed.add(segment);
+            }
+        }
+        if (active == null) {
+            active = Segment.create(directory, Math.max(1, clearedBelow));
+        }
+    }
+
+    private long replay(Segment segment) throws IOException {
+        ByteBuffer buffer = segment.mapForReplay();
+        CRC32 checksum = new CRC32();
+        int position = 0;
+        int limit = buffer.limit();
+        while (position + HEADER_BYTES <= limit) {
+            int bodyLength = buffer.getInt(position);
+            int expectedCrc = buffer.getInt(position + 4);
+            int body = position + HEADER_BYTES;
+            if (bodyLength < BODY_FIXED_BYTES || body + bodyLength > limit) {
+                break;
+            }
+            checksum.reset();
+            checksum.update(buffer.slice(body, bodyLength));
+            if ((int) checksum.getValue() != expectedCrc) {
+                break;
+            }
+            byte op = buffer.get(body);
+            int keyLength = buffer.getShort(body + 1) & 0xffff;
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(body + 3, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            int rawLength = buffer.getInt(body + 3 + keyLength);
+            int length = HEADER_BYTES + bodyLength;
+
+            if (op == OP_DELETE) {
+                release(index.remove(key));
+            } else {
+                segment.liveBytes += length;
+                liveBytes.addAndGet(length);
+                rawBytes.addAndGet(rawLength);
+                release(index.put(key, new Location(segment, position, length, rawLength)));
+            }
+            position = body + bodyLength;
+        }
+        return position;
+    }
+
+    /**
+     * 删除段号不大于 maxId 的文件，并从列表中移除
+     */
+    private void deleteBelow(List<Integer> ids, String suffix, int maxId) throws IOException {
+        for (Integer id : new ArrayList<>(ids)) {
+            if (id <= maxId) {
+                Files.delete(directory.resolve(SEGMENT_PREFIX + id + suffix));
+                ids.remove(id);
+            }
+        }
+    }
+
+    private static int parseId(String name, String suffix) {
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - suffix.length()));
+    }
+
+    private static byte[] compress(byte[] value) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            byte[] output = new byte[value.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    byte[] grown = new byte[output.length * 2];
+                    System.arraycopy(output, 0, grown, 0, length);
+                    output = grown;
+                }
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            byte[] compressed = new byte[length];
+            System.arraycopy(output, 0, compressed, 0, length);
+            return compressed;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] source, int offset, int length, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(source, offset, length);
+            byte[] value = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(value, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IOException("corrupted compressed record: expected " + rawLength + " bytes, got " + read);
+            }
+            return value;
+        } catch (DataFormatException e) {
+            throw new IOException("corrupted compressed record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 记录位置，直接引用所在段，压缩替换段后旧位置仍可读
+     */
+    private static final class Location {
+        final Segment segment;
+        final long offset;
+        final int length;
+        final int rawLength;
+
+        Location(Segment segment, long offset, int length, int rawLength) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.rawLength = rawLength;
+        }
+    }
+
+    /**
+     * 段文件：活动段通过文件通道追加和读取，封存后改为只读内存映射
+     */
+    private static final class Segment {
+        final int id;
+        volatile Path path;
+        final FileChannel channel;
+        volatile MappedByteBuffer mapped;
+        volatile long size;
+        // 存活记录字节数，只在 writeLock 下修改
+        long liveBytes;
+
+        private Segment(int id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment create(Path directory, int id) throws IOException {
+            return openActive(directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX), id);
+        }
+
+        static Segment openActive(Path path, int id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.size());
+        }
+
+        static Segment openSealed(Path path, int id) throws IOException {
+            Segment segment = openActive(path, id);
+            segment.seal();
+            return segment;
+        }
+
+        long append(ByteBuffer buffer) throws IOException {
+            long offset = size;
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            size = position;
+            return offset;
+        }
+
+        byte[] read(long offset, int length) throws IOException {
+            byte[] bytes = new byte[length];
+            MappedByteBuffer buffer = mapped;
+            if (buffer != null) {
+                buffer.get((int) offset, bytes);
+                return bytes;
+            }
+            ByteBuffer target = ByteBuffer.wrap(bytes);
+            long position = offset;
+            while (target.hasRemaining()) {
+                int n = channel.read(target, position);
+                if (n < 0) {
+                    throw new IOException("unexpected end of segment " + path + " at " + position);
+                }
+                position += n;
+            }
+            return bytes;
+        }
+
+        void seal() throws IOException {
+            channel.force(false);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            mapped = buffer;
+        }
+
+        ByteBuffer mapForReplay() throws IOException {
+            if (mapped != null) {
+                return mapped;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void truncate(long length) throws IOException {
+            channel.truncate(length);
+            size = length;
+            if (mapped != null) {
+                seal();
+            }
+        }
+
+        void force() throws IOException {
+            channel.force(false);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.skyeai.jarvis.controller;
+
+import api.Edge;
+import api.EdgeServiceGrpc;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 音频流表的回归测试：边缘服务不读取请求时积压超过上限，流被取消；
+ * 取消后的分片不能按默认参数开始新的识别，直到 audio_end 或新的 audio_start
+ */
+public class AudioStreamRegistryTest {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 边缘服务收到的 StreamAudio 调用数和各请求的音频格式
+    private final AtomicInteger edgeStreams = new AtomicInteger();
+    private final List<String> edgeFormats = new CopyOnWriteArrayList<>();
+    private final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+    private volatile boolean edgeStalled = true;
+    private Server server;
+    private ManagedChannel channel;
+    private AudioStreamRegistry audioStreams;
+    private WebSocketSession session;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).addService(new EdgeServiceGrpc.EdgeServiceImplBase() {
+            @Override
+            public StreamObserver<Edge.AudioRequest> streamAudio(StreamObserver<Edge.AudioResponse> responseObserver) {
+                edgeStreams.incrementAndGet();
+                if (edgeStalled) {
+                    // 不请求任何消息，客户端请求流一直未就绪
+                    ((ServerCallStreamObserver<Edge.AudioResponse>) responseObserver).disableAutoRequest();
+                }
+                return new StreamObserver<>() {
+                    @Override
+                    public void onNext(Edge.AudioRequest request) {
+                        edgeFormats.add(request.getFormat());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onNext(Edge.AudioResponse.newBuilder().setResult("ok").build());
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        }).build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        EdgeServiceGrpc.EdgeServiceStub stub = EdgeServiceGrpc.newStub(channel);
+        audioStreams = new AudioStreamRegistry(objectMapper, () -> stub);
+        session = session("ws-1");
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testOverflowCancelledStreamIsKeptUntilAudioEnd() throws Exception {
+        audioStreams.start(session, objectMapper.readTree("{\"type\":\"audio_start\",\"format\":\"opus\"}"),
+                "pcm", true, AudioStreamSession.DEFAULT_MAX_PENDING_BYTES);
+        overflow();
+        assertEquals(1, edgeStreams.get());
+
+        // 取消后的分片被丢弃，不开始新的识别
+        edgeStalled = false;
+        for (int i = 0; i < 10; i++) {
+            audioStreams.sendChunk(session, ByteString.copyFrom(new byte[CHUNK_SIZE]));
+        }
+        Thread.sleep(100);
+        assertEquals(1, edgeStreams.get());
+        assertEquals(1, messages("audio_error"));
+
+        // audio_end 清除标记，之后的分片按默认参数开始新的识别
+        audioStreams.end(session.getId());
+        audioStreams.sendChunk(session, ByteString.copyFrom(new byte[CHUNK_SIZE]));
+        audioStreams.end(session.getId());
+        awaitMessages("transcript", 2);
+        assertEquals(2, edgeStreams.get());
+        assertEquals(List.of("pcm"), edgeFormats);
+    }
+
+    @Test
+    public void testAudioStartReplacesOverflowCancelledStream() throws Exception {
+        audioStreams.start(session, objectMapper.createObjectNode(), "pcm", true,
+                AudioStreamSession.DEFAULT_MAX_PENDING_BYTES);
+        overflow();
+
+        edgeStalled = false;
+        audioStreams.start(session, objectMapper.readTree("{\"type\":\"audio_start\",\"format\":\"opus\"}"),
+                "pcm", true, AudioStreamSession.DEFAULT_MAX_PENDING_BYTES);
+        audioStreams.sendChunk(session, ByteString.copyFrom(new byte[CHUNK_SIZE]));
+        audioStreams.end(session.getId());
+        awaitMessages("transcript", 2);
+        assertEquals(2, edgeStreams.get());
+        assertEquals(List.of("opus"), edgeFormats);
+    }
+
+    /**
+     * 持续发送分片直到积压超过上限，等待客户端收到 audio_error
+     */
+    private void overflow() throws Exception {
+        int chunks = (int) (AudioStreamSession.DEFAULT_MAX_PENDING_BYTES / CHUNK_SIZE) + 1;
+        for (int i = 0; i < chunks; i++) {
+            audioStreams.sendChunk(session, ByteString.copyFrom(new byte[CHUNK_SIZE]));
+        }
+        awaitMessages("audio_error", 1);
+        assertTrue(edgeFormats.isEmpty());
+    }
+
+    private void awaitMessages(String type, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (messages(type) < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, messages(type), "messages: " + sent);
+    }
+
+    private long messages(String type) {
+        return sent.stream().filter(message -> type.equals(message.path("type").asText())).count();
+    }
+
+    /**
+     * 只记录发出消息的 WebSocket 会话
+     */
+    private WebSocketSession session(String id) {
+        return (WebSocketSession) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebSocketSession.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getId":
+                            return id;
+                        case "isOpen":
+                            return true;
+                        case "sendMessage":
+                            sent.add(objectMapper.readTree(((TextMessage) args[0]).getPayload()));
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,221 @@
+package com.skyeai.jarvis.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 流式聊天压测：模拟认知服务（两步ReAct，每步先等待首个片段再逐个生成），
+ * 并发对比整段调用 /react 与流式调用 /react/stream 的首字延迟（TTFT）和总延迟
+ * 延迟对比默认关闭，使用 -Dchat.benchmark=true 运行，结果通过 TestReporter 输出
+ */
+public class ChatStreamLoadTest {
+
+    private static final int CLIENTS = 32;
+    private static final int REQUESTS = 256;
+    private static final int STEPS = 2;
+    private static final int TOKENS_PER_STEP = 40;
+    private static final long FIRST_TOKEN_DELAY_MS = 60;
+    private static final long TOKEN_DELAY_MS = 4;
+    private static final String ANSWER = "北京今天晴，最高气温25度。";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ServiceClient serviceClient;
+    private final AtomicInteger abortedStreams = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/llm/react/stream", this::handleStream);
+        server.createContext("/api/llm/react", this::handleBlocking);
+        server.start();
+
+        serviceClient = new ServiceClient(new RestTemplate(), WebClient.builder());
+        ReflectionTestUtils.setField(serviceClient, "cognitionServiceUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "chat.benchmark", matches = "true")
+    public void benchmarkTimeToFirstToken(TestReporter reporter) throws Exception {
+        // 预热连接和JIT
+        serviceClient.callCognitionService("/react", Map.of("query", "warmup"));
+        serviceClient.streamCognitionService("/react/stream", Map.of("query", "warmup")).blockLast(Duration.ofSeconds(10));
+
+        List<long[]> blocking = run(() -> {
+            long start = System.nanoTime();
+            String answer = serviceClient.callCognitionService("/react", Map.of("query", "天气"));
+            long total = System.nanoTime() - start;
+            assertEquals(ANSWER, answer);
+            // 整段调用在全部生成结束后才有第一个字
+            return new long[]{total, total};
+        });
+        List<long[]> streaming = run(() -> {
+            long start = System.nanoTime();
+            long[] firstToken = {0};
+            StringBuilder answer = new StringBuilder();
+            serviceClient.streamCognitionService("/react/stream", Map.of("query", "天气"))
+                    .doOnNext(event -> {
+                        if (firstToken[0] == 0 && "thought".equals(event.event())) {
+                            firstToken[0] = System.nanoTime() - start;
+                        }
+                        if ("answer".equals(event.event())) {
+                            try {
+                                answer.append(objectMapper.readTree(event.data()).path("text").asText());
+                            } catch (IOException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    })
+                    .blockLast(Duration.ofSeconds(30));
+            assertEquals(ANSWER, answer.toString());
+            return new long[]{firstToken[0], System.nanoTime() - start};
+        });
+
+        reporter.publishEntry("blocking", summary(blocking));
+        reporter.publishEntry("streaming", summary(streaming));
+    }
+
+    @Test
+    public void testCancellingSubscriptionAbortsUpstream() throws Exception {
+        CountDownLatch firstEvent = new CountDownLatch(1);
+        Disposable subscription = serviceClient.streamCognitionService("/react/stream", Map.of("query", "slow"))
+                .subscribe(event -> firstEvent.countDown());
+        assertTrue(firstEvent.await(10, TimeUnit.SECONDS));
+        subscription.dispose();
+
+        // 上游继续写入时发现连接已关闭，提前结束生成
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (abortedStreams.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, abortedStreams.get());
+    }
+
+    private List<long[]> run(Sample sample) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(clients.submit(sample::measure));
+        }
+        List<long[]> samples = new ArrayList<>(REQUESTS);
+        for (Future<long[]> future : futures) {
+            samples.add(future.get(60, TimeUnit.SECONDS));
+        }
+        clients.shutdown();
+        return samples;
+    }
+
+    private static String summary(List<long[]> samples) {
+        return "TTFT p50=" + percentile(samples, 0, 50) + "ms p95=" + percentile(samples, 0, 95)
+                + "ms, total p50=" + percentile(samples, 1, 50) + "ms p95=" + percentile(samples, 1, 95) + "ms";
+    }
+
+    private static long percentile(List<long[]> samples, int index, int percentile) {
+        List<Long> values = new ArrayList<>(samples.size());
+        for (long[] sample : samples) {
+            values.add(sample[index]);
+        }
+        Collections.sort(values);
+        int position = Math.min(values.size() - 1, (int) Math.ceil(percentile / 100.0 * values.size()) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(values.get(position));
+    }
+
+    @FunctionalInterface
+    private interface Sample {
+        long[] measure() throws Exception;
+    }
+
+    private void handleBlocking(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        for (int step = 1; step <= STEPS; step++) {
+            sleep(FIRST_TOKEN_DELAY_MS + TOKEN_DELAY_MS * TOKENS_PER_STEP);
+        }
+        byte[] body = ANSWER.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void handleStream(HttpExchange exchange) throws IOException {
+        boolean slow = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).contains("slow");
+        int tokens = slow ? 5000 : TOKENS_PER_STEP;
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int step = 1; step <= STEPS; step++) {
+                write(out, "step", "{\"step\":" + step + "}");
+                sleep(FIRST_TOKEN_DELAY_MS);
+                boolean last = step == STEPS;
+                for (int i = 0; i < tokens; i++) {
+                    sleep(TOKEN_DELAY_MS);
+                    write(out, "thought", "{\"step\":" + step + ",\"text\":\"t\"}");
+                }
+                write(out, "action", "{\"step\":" + step + ",\"action\":\"" + (last ? "finish" : "search") + "\",\"actionInput\":\"\"}");
+                if (last) {
+                    for (int i = 0; i < ANSWER.length(); i++) {
+                        write(out, "answer", "{\"text\":\"" + ANSWER.charAt(i) + "\"}");
+                    }
+                } else {
+                    write(out, "observation", "{\"step\":" + step + ",\"observation\":\"ok\"}");
+                }
+            }
+            write(out, "done", "{\"success\":true,\"answer\":\"" + ANSWER + "\"}");
+        } catch (IOException e) {
+            abortedStreams.incrementAndGet();
+        }
+    }
+
+    private static void write(OutputStream out, String event, String data) throws IOException {
+        out.write(("event:" + event + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
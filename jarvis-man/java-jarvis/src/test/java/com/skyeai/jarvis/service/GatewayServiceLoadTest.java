@@ -0,0 +1,144 @@
+package com.skyeai.jarvis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 网关任务队列压测：并发提交任务，校验任务ID唯一、背压和TTL清理
+ * 10k 任务的吞吐统计默认关闭，使用 -Dchat.benchmark=true 运行，结果通过 TestReporter 输出
+ */
+public class GatewayServiceLoadTest {
+
+    private static final int TASKS = 10_000;
+    private static final int SUBMITTERS = 32;
+
+    private GatewayService gatewayService;
+
+    @BeforeEach
+    public void setUp() {
+        gatewayService = new GatewayService();
+        ReflectionTestUtils.setField(gatewayService, "gatewayHost", "localhost");
+        ReflectionTestUtils.setField(gatewayService, "gatewayPort", 8080);
+        ReflectionTestUtils.setField(gatewayService, "taskWorkers", 16);
+        // 容量远小于任务数，提交方需要等待队列空位
+        ReflectionTestUtils.setField(gatewayService, "taskQueueCapacity", 256);
+        ReflectionTestUtils.setField(gatewayService, "submitTimeoutMs", 30_000L);
+        ReflectionTestUtils.setField(gatewayService, "taskTtlMs", 60_000L);
+        ReflectionTestUtils.setField(gatewayService, "cleanupIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(gatewayService, "simulatedLatencyMs", 1L);
+        ReflectionTestUtils.setField(gatewayService, "simulatedFailureRate", 0.0);
+        gatewayService.start();
+
+        for (int i = 0; i < 8; i++) {
+            GatewayService.NodeInfo node = new GatewayService.NodeInfo();
+            node.setNodeId("node-" + i);
+            node.setHost("10.0.0." + i);
+            node.setPort(9000);
+            Map<String, Object> resources = new HashMap<>();
+            resources.put("cpuUsage", i * 10);
+            node.setResources(resources);
+            gatewayService.registerNode(node);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gatewayService.shutdown();
+    }
+
+    @Test
+    public void testConcurrentSubmissionUnderBackpressure() throws Exception {
+        // 任务数仍是队列容量的数倍，覆盖提交方等待空位的路径
+        submitConcurrently(1_000);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "chat.benchmark", matches = "true")
+    public void benchmarkConcurrentSubmissionThroughput(TestReporter reporter) throws Exception {
+        double seconds = submitConcurrently(TASKS);
+        reporter.publishEntry("gateway", String.format("%d tasks from %d submitters in %.2fs (%.0f tasks/s)",
+                TASKS, SUBMITTERS, seconds, TASKS / seconds));
+    }
+
+    /**
+     * 并发提交 tasks 个任务并等待全部完成，返回耗时（秒）
+     */
+    private double submitConcurrently(int tasks) throws Exception {
+        ExecutorService submitters = Executors.newFixedThreadPool(SUBMITTERS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<CompletableFuture<CompletableFuture<GatewayService.TaskInfo>>> submissions = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            final int index = i;
+            submissions.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                Map<String, Object> parameters = new HashMap<>();
+                parameters.put("index", index);
+                return gatewayService.submitTask("load-test", parameters, index % 10);
+            }, submitters));
+        }
+
+        long start = System.nanoTime();
+        ready.countDown();
+        Set<String> taskIds = new HashSet<>();
+        for (CompletableFuture<CompletableFuture<GatewayService.TaskInfo>> submission : submissions) {
+            GatewayService.TaskInfo taskInfo = submission.get(60, TimeUnit.SECONDS).get(60, TimeUnit.SECONDS);
+            assertEquals("completed", taskInfo.getStatus());
+            taskIds.add(taskInfo.getTaskId());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        submitters.shutdown();
+
+        assertEquals(tasks, taskIds.size());
+        assertEquals(tasks, gatewayService.getAllTasks().size());
+        assertEquals(256, gatewayService.getServiceStatus().get("availableCapacity"));
+        return seconds;
+    }
+
+    @Test
+    public void testHigherPriorityRunsFirstAndFinishedTasksExpire() throws Exception {
+        ReflectionTestUtils.setField(gatewayService, "taskTtlMs", 0L);
+        ReflectionTestUtils.setField(gatewayService, "simulatedLatencyMs", 20L);
+        gatewayService.shutdown();
+        ReflectionTestUtils.setField(gatewayService, "taskWorkers", 1);
+        ReflectionTestUtils.setField(gatewayService, "cleanupIntervalMs", 50L);
+        gatewayService.start();
+
+        // 占住唯一的工作线程，后续任务在队列中按优先级排序
+        CompletableFuture<GatewayService.TaskInfo> blocker = gatewayService.submitTask("blocker", new HashMap<>(), 0);
+        Thread.sleep(5);
+        CompletableFuture<GatewayService.TaskInfo> low = gatewayService.submitTask("low", new HashMap<>(), 1);
+        CompletableFuture<GatewayService.TaskInfo> high = gatewayService.submitTask("high", new HashMap<>(), 9);
+        blocker.get(5, TimeUnit.SECONDS);
+        GatewayService.TaskInfo highInfo = high.get(5, TimeUnit.SECONDS);
+        GatewayService.TaskInfo lowInfo = low.get(5, TimeUnit.SECONDS);
+        assertTrue(highInfo.getEndTime() <= lowInfo.getEndTime());
+
+        Thread.sleep(300);
+        assertNull(gatewayService.getTaskStatus(lowInfo.getTaskId()));
+        assertEquals(0, gatewayService.getAllTasks().size());
+    }
+}
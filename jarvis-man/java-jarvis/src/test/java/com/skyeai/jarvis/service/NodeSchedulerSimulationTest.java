@@ -0,0 +1,219 @@
+package com.skyeai.jarvis.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 节点调度器测试与 1k 节点调度仿真
+ * 仿真中每个节点是单服务台FIFO队列，服务时间随资源负载增大，
+ * 对比原线性扫描（只看资源得分）、最小堆最低负载和二选一策略的选择耗时与平均响应时间
+ * 仿真默认关闭，使用 -Dchat.benchmark=true 运行，结果通过 TestReporter 输出
+ */
+public class NodeSchedulerSimulationTest {
+
+    private static final int NODES = 1000;
+    private static final int TASKS = 50_000;
+    private static final int TASK_TYPES = 20;
+
+    @Test
+    public void testLeastLoadedAccountsForInFlightTasks() {
+        NodeScheduler scheduler = new NodeScheduler(NodeScheduler.Strategy.LEAST_LOADED, 10.0, Double.NEGATIVE_INFINITY);
+        scheduler.update("a", 10.0, 1.0, true);
+        scheduler.update("b", 25.0, 1.0, true);
+        scheduler.update("c", 5.0, 1.0, false);
+
+        // a: 10 -> 20 -> 30，第三个任务应转到 b
+        assertEquals("a", scheduler.acquire("t"));
+        assertEquals("a", scheduler.acquire("t"));
+        assertEquals("b", scheduler.acquire("t"));
+        assertEquals(2, scheduler.getInFlight("a"));
+
+        // 心跳刷新资源得分后重新排序
+        scheduler.update("b", 80.0, 1.0, true);
+        scheduler.release("a", "t");
+        scheduler.release("a", "t");
+        assertEquals("a", scheduler.acquire("t"));
+
+        // 容量越大，进行中任务折算的负载越小
+        scheduler.update("c", 5.0, 4.0, true);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("c", scheduler.acquire("t"));
+        }
+
+        scheduler.setOnline("a", false);
+        scheduler.remove("c");
+        assertEquals(1, scheduler.onlineCount());
+        assertEquals("b", scheduler.acquire("t"));
+        scheduler.setOnline("b", false);
+        assertNull(scheduler.acquire("t"));
+    }
+
+    @Test
+    public void testAffinityPrefersWarmNode() {
+        NodeScheduler scheduler = new NodeScheduler(NodeScheduler.Strategy.LEAST_LOADED, 10.0, 15.0);
+        scheduler.update("warm", 20.0, 1.0, true);
+        scheduler.update("cold", 10.0, 1.0, true);
+
+        scheduler.release("warm", "browser");
+        // 预热节点只比最优节点高 10，仍在允许范围内
+        assertEquals("warm", scheduler.acquire("browser"));
+        // 预热节点已升到 30，超出范围后回到最低负载节点
+        assertEquals("cold", scheduler.acquire("browser"));
+        // 其他任务类型不受影响
+        assertEquals("cold", scheduler.acquire("sandbox"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "chat.benchmark", matches = "true")
+    public void benchmarkSimulationWith1kNodes(TestReporter reporter) {
+        Random random = new Random(42);
+        double[] baseLoads = new double[NODES];
+        double[] meanService = new double[NODES];
+        double capacity = 0;
+        for (int i = 0; i < NODES; i++) {
+            baseLoads[i] = random.nextDouble() * 80;
+            meanService[i] = 1.0 + baseLoads[i] / 40.0;
+            capacity += 1.0 / meanService[i];
+        }
+        // 到达率为总处理能力的 70%
+        double arrivalRate = capacity * 0.7;
+
+        SimulationResult legacy = simulate(null, baseLoads, meanService, arrivalRate, Double.NEGATIVE_INFINITY);
+        SimulationResult leastLoaded = simulate(NodeScheduler.Strategy.LEAST_LOADED, baseLoads, meanService,
+                arrivalRate, Double.NEGATIVE_INFINITY);
+        SimulationResult powerOfTwo = simulate(NodeScheduler.Strategy.POWER_OF_TWO, baseLoads, meanService,
+                arrivalRate, Double.NEGATIVE_INFINITY);
+        SimulationResult affinity = simulate(NodeScheduler.Strategy.POWER_OF_TWO, baseLoads, meanService,
+                arrivalRate, 15.0);
+
+        reporter.publishEntry("linear scan", summary(legacy));
+        reporter.publishEntry("least-loaded heap", summary(leastLoaded));
+        reporter.publishEntry("power-of-two", summary(powerOfTwo));
+        reporter.publishEntry("power-of-two + affinity", summary(affinity));
+
+        assertTrue(leastLoaded.meanResponse < legacy.meanResponse);
+        assertTrue(powerOfTwo.meanResponse < legacy.meanResponse);
+        assertTrue(affinity.warmHitRate > powerOfTwo.warmHitRate);
+    }
+
+    private static String summary(SimulationResult result) {
+        return String.format("select %.0f ns/op, mean response %.2f, max in-flight %d, warm hits %.2f",
+                result.selectNanos, result.meanResponse, result.maxInFlight, result.warmHitRate);
+    }
+
+    /**
+     * @param strategy 为null时使用原先的线性扫描
+     */
+    private static SimulationResult simulate(NodeScheduler.Strategy strategy, double[] baseLoads, double[] meanService,
+                                             double arrivalRate, double affinitySlack) {
+        Random random = new Random(7);
+        NodeScheduler scheduler = new NodeScheduler(strategy == null ? NodeScheduler.Strategy.LEAST_LOADED : strategy,
+                10.0, affinitySlack);
+        Map<String, Integer> indexById = new HashMap<>();
+        List<Map<String, Object>> legacyResources = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            String nodeId = "node-" + i;
+            indexById.put(nodeId, i);
+            scheduler.update(nodeId, baseLoads[i], 1.0, true);
+            Map<String, Object> resources = new HashMap<>();
+            resources.put("cpuUsage", baseLoads[i] / 0.8);
+            legacyResources.add(resources);
+        }
+
+        double[] busyUntil = new double[NODES];
+        int[] inFlight = new int[NODES];
+        List<Set<Integer>> warmTypes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            warmTypes.add(new HashSet<>());
+        }
+        // 完成事件：{结束时间, 节点下标, 任务类型}
+        PriorityQueue<double[]> completions = new PriorityQueue<>((x, y) -> Double.compare(x[0], y[0]));
+
+        double now = 0;
+        double totalResponse = 0;
+        long selectNanos = 0;
+        int maxInFlight = 0;
+        int warmHits = 0;
+        for (int task = 0; task < TASKS; task++) {
+            now += -Math.log(1 - random.nextDouble()) / arrivalRate;
+            while (!completions.isEmpty() && completions.peek()[0] <= now) {
+                double[] done = completions.poll();
+                int node = (int) done[1];
+                inFlight[node]--;
+                warmTypes.get(node).add((int) done[2]);
+                scheduler.release("node-" + node, "type-" + (int) done[2]);
+            }
+
+            int taskType = random.nextInt(TASK_TYPES);
+            long start = System.nanoTime();
+            int node;
+            if (strategy == null) {
+                node = legacySelect(legacyResources);
+            } else {
+                node = indexById.get(scheduler.acquire("type-" + taskType));
+            }
+            selectNanos += System.nanoTime() - start;
+
+            if (warmTypes.get(node).contains(taskType)) {
+                warmHits++;
+            }
+            // 预热节点省去技能加载时间
+            double service = -Math.log(1 - random.nextDouble()) * meanService[node]
+                    + (warmTypes.get(node).contains(taskType) ? 0 : 0.5);
+            double finish = Math.max(now, busyUntil[node]) + service;
+            busyUntil[node] = finish;
+            totalResponse += finish - now;
+            inFlight[node]++;
+            maxInFlight = Math.max(maxInFlight, inFlight[node]);
+            completions.add(new double[]{finish, node, taskType});
+        }
+
+        SimulationResult result = new SimulationResult();
+        result.selectNanos = selectNanos / (double) TASKS;
+        result.meanResponse = totalResponse / TASKS;
+        result.maxInFlight = maxInFlight;
+        result.warmHitRate = warmHits / (double) TASKS;
+        return result;
+    }
+
+    /**
+     * 原 selectNodeForTask 的做法：每次遍历全部节点，从资源Map中重新计算得分
+     */
+    private static int legacySelect(List<Map<String, Object>> nodes) {
+        int best = -1;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < nodes.size(); i++) {
+            Map<String, Object> resources = nodes.get(i);
+            double cpuUsage = resources.containsKey("cpuUsage") ? ((Number) resources.get("cpuUsage")).doubleValue() : 0;
+            double memoryUsage = resources.containsKey("memoryUsage") ? ((Number) resources.get("memoryUsage")).doubleValue() : 0;
+            double networkUsage = resources.containsKey("networkUsage") ? ((Number) resources.get("networkUsage")).doubleValue() : 0;
+            double score = (cpuUsage * 0.4) + (memoryUsage * 0.4) + (networkUsage * 0.2);
+            if (score < bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static class SimulationResult {
+        double selectNanos;
+        double meanResponse;
+        int maxInFlight;
+        double warmHitRate;
+    }
+}
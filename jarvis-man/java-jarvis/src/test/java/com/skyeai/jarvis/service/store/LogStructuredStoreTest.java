@@ -0,0 +1,222 @@
+package com.skyeai.jarvis.service.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 日志结构存储测试：读写、压缩存储、重启恢复、段压缩与崩溃恢复、清空时的并发读取
+ */
+public class LogStructuredStoreTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("lss-test");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testPutGetDeleteAndReopen() throws IOException {
+        String large = "{\"message\":\"" + "本地优先数据".repeat(200) + "\"}";
+        try (LogStructuredStore store = open(1 << 20)) {
+            store.put("small", "{\"a\":1}");
+            store.put("large", large);
+            store.put("gone", "x");
+            assertTrue(store.delete("gone"));
+            assertFalse(store.delete("missing"));
+            store.put("small", "{\"a\":2}");
+
+            assertEquals("{\"a\":2}", store.getString("small"));
+            assertEquals(large, store.getString("large"));
+            assertNull(store.getString("gone"));
+            assertEquals(2, store.size());
+            // 重复文本压缩后明显小于原文
+            assertTrue(store.liveBytes() < large.getBytes("UTF-8").length / 4);
+        }
+
+        try (LogStructuredStore store = open(1 << 20)) {
+            assertEquals(2, store.size());
+            assertEquals("{\"a\":2}", store.getString("small"));
+            assertEquals(large, store.getString("large"));
+            assertNull(store.getString("gone"));
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsLatestValues() throws IOException {
+        try (LogStructuredStore store = open(4096)) {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 50; i++) {
+                    store.put("key-" + i, "value-" + round + "-" + i);
+                }
+            }
+            store.delete("key-0");
+            // 段滚动时已在后台触发压缩，这里再同步检查一次
+            store.compactIfNeeded();
+            assertTrue((long) store.stats().get("compactions") > 0);
+            assertTrue(store.diskBytes() < 10_000, "disk bytes after compaction: " + store.diskBytes());
+            assertEquals(49, store.size());
+            assertEquals("value-19-7", store.getString("key-7"));
+        }
+
+        try (LogStructuredStore store = open(4096)) {
+            assertEquals(49, store.size());
+            assertNull(store.getString("key-0"));
+            for (int i = 1; i < 50; i++) {
+                assertEquals("value-19-" + i, store.getString("key-" + i));
+            }
+        }
+    }
+
+    @Test
+    public void testRecoversFromTornWriteAndInterruptedCompaction() throws IOException {
+        try (LogStructuredStore store = open(1 << 20)) {
+            store.put("a", "1");
+            store.put("b", "2");
+        }
+        Path segment = directory.resolve("segment-1.log");
+        // 模拟写入一半时崩溃
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42, 0, 0, 0, 1, 2}));
+        }
+        // 未完成的压缩临时文件应被丢弃
+        Files.write(directory.resolve("segment-1.compact"), new byte[]{1, 2, 3});
+
+        try (LogStructuredStore store = open(1 << 20)) {
+            assertEquals("1", store.getString("a"));
+            assertEquals("2", store.getString("b"));
+            store.put("c", "3");
+        }
+        assertFalse(Files.exists(directory.resolve("segment-1.compact")));
+
+        // 已完成但未改名的压缩结果优先于旧段
+        Files.copy(segment, directory.resolve("segment-1.compacted"));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[64]));
+        }
+        try (LogStructuredStore store = open(1 << 20)) {
+            assertEquals(3, store.size());
+            assertEquals("3", store.getString("c"));
+        }
+        assertFalse(Files.exists(directory.resolve("segment-1.compacted")));
+    }
+
+    @Test
+    public void testClearRemovesEverything() throws IOException {
+        try (LogStructuredStore store = open(1024)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("cache-" + i, "cached value " + i);
+            }
+            store.clear();
+            assertEquals(0, store.size());
+            assertEquals(0, store.diskBytes());
+            store.put("cache-1", "again");
+            assertEquals("again", store.getString("cache-1"));
+        }
+    }
+
+    @Test
+    public void testConcurrentGetDuringClear() throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try (LogStructuredStore store = open(1 << 20)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("cache-" + i, "cached value " + i);
+            }
+            // 读取方不断读活动段中的键，清空关闭旧活动段时不能抛出 ClosedChannelException
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(readers.submit(() -> {
+                    int reads = 0;
+                    while (running.get()) {
+                        for (int i = 0; i < 100; i++) {
+                            String value = store.getString("cache-" + i);
+                            if (value != null) {
+                                assertEquals("cached value " + i, value);
+                                reads++;
+                            }
+                        }
+                    }
+                    return reads;
+                }));
+            }
+            for (int round = 0; round < 200; round++) {
+                store.clear();
+                for (int i = 0; i < 100; i++) {
+                    store.put("cache-" + i, "cached value " + i);
+                }
+            }
+            running.set(false);
+            int reads = 0;
+            for (Future<Integer> future : futures) {
+                reads += future.get(10, TimeUnit.SECONDS);
+            }
+            assertTrue(reads > 0);
+        } finally {
+            running.set(false);
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRecoveryFinishesDeferredClear() throws IOException {
+        try (LogStructuredStore store = open(1024)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("cache-" + i, "cached value " + i);
+            }
+        }
+        int segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = (int) files.count();
+        }
+        assertTrue(segments > 1);
+        // 模拟清空时旧段仍被映射而未能删除：只留下标记和旧段
+        Path marker = directory.resolve("segment-" + (segments + 1) + ".cleared");
+        Files.write(marker, new byte[0]);
+
+        try (LogStructuredStore store = open(1024)) {
+            assertEquals(0, store.size());
+            assertEquals(0, store.diskBytes());
+            store.put("cache-1", "again");
+        }
+        assertFalse(Files.exists(marker));
+        assertFalse(Files.exists(directory.resolve("segment-1.log")));
+        try (LogStructuredStore store = open(1024)) {
+            assertEquals(1, store.size());
+            assertEquals("again", store.getString("cache-1"));
+        }
+    }
+
+    private LogStructuredStore open(long segmentBytes) throws IOException {
+        return LogStructuredStore.open(directory, segmentBytes, 256, 0.3, false);
+    }
+}